@@ -28,17 +28,20 @@ import java.net.InetAddress;
 import java.net.URI;
 import java.net.UnknownHostException;
 import java.security.GeneralSecurityException;
+import java.util.List;
 import java.util.Map;
 
 import javax.net.ssl.SSLContext;
 import javax.security.auth.callback.CallbackHandler;
 
 import org.jboss.as.controller.client.helpers.ContextualModelControllerClient;
+import org.jboss.as.controller.client.impl.OperationPipeline;
 import org.jboss.as.controller.client.impl.RemotingModelControllerClient;
 import org.jboss.as.controller.client.logging.ControllerClientLogger;
 import org.jboss.dmr.ModelNode;
 import org.jboss.threads.AsyncFuture;
 import org.wildfly.client.config.ConfigXMLParseException;
+import org.wildfly.common.Assert;
 import org.wildfly.common.context.Contextual;
 import org.wildfly.security.auth.client.ElytronXmlParser;
 
@@ -178,6 +181,30 @@ public interface ModelControllerClient extends Closeable {
      */
     AsyncFuture<OperationResponse> executeOperationAsync(Operation operation, OperationMessageHandler messageHandler);
 
+    /**
+     * Execute a number of independent operations asynchronously, sending each one without waiting for the responses
+     * to the ones before it. At most {@code maxOutstanding} operations are awaiting their response at any time; the
+     * others are sent as earlier ones complete. This method returns once the first of them have been sent, and the
+     * operations may complete in any order, so callers wanting each response as soon as it is available should add a
+     * listener to its future.
+     * <p>
+     * The input streams attached to each operation are sent with it, and the streams attached to each response are
+     * available from the {@link OperationResponse}, which the caller must close.
+     * <p>
+     * Unlike the steps of a {@code composite} operation, the operations are not executed as a unit; each one
+     * succeeds or fails on its own. Cancelling the future of an operation which has not been sent yet means it is
+     * never sent.
+     *
+     * @param operations the operations to execute
+     * @param maxOutstanding the maximum number of operations awaiting their response at any time. Must be at least {@code 1}
+     * @return the future responses to the operations, in the same order as {@code operations}
+     */
+    default List<AsyncFuture<OperationResponse>> executeOperationsAsync(List<Operation> operations, int maxOutstanding) {
+        Assert.checkNotNullParam("operations", operations);
+        Assert.checkMinimumParameter("maxOutstanding", 1, maxOutstanding);
+        return OperationPipeline.execute(this, operations, maxOutstanding);
+    }
+
     /** Factory methods for creating a {@code ModelControllerClient}. */
     class Factory {
 
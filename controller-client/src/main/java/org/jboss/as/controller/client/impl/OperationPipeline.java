@@ -0,0 +1,183 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+
+package org.jboss.as.controller.client.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.as.controller.client.ModelControllerClient;
+import org.jboss.as.controller.client.Operation;
+import org.jboss.as.controller.client.OperationMessageHandler;
+import org.jboss.as.controller.client.OperationResponse;
+import org.jboss.threads.AsyncFuture;
+import org.jboss.threads.AsyncFutureTask;
+
+/**
+ * Sends a list of independent operations through a {@link ModelControllerClient}, keeping a bounded number of them
+ * awaiting their response. Each operation after the first window is sent once an earlier one completes, from the
+ * thread completing it, so the caller is never blocked.
+ *
+ * @see ModelControllerClient#executeOperationsAsync(List, int)
+ */
+public final class OperationPipeline {
+
+    private static final Executor directExecutor = Runnable::run;
+
+    private final ModelControllerClient client;
+    private final List<Operation> operations;
+    private final List<PipelinedFuture> futures;
+    // operations to send; only the thread which took it from 0 sends, so an operation completing while
+    // another one is sent neither recurses nor sends concurrently
+    private final AtomicInteger sendsRequested = new AtomicInteger();
+    // guarded by sendsRequested
+    private int next;
+
+    private OperationPipeline(final ModelControllerClient client, final List<Operation> operations) {
+        this.client = client;
+        this.operations = new ArrayList<>(operations);
+        final List<PipelinedFuture> futures = new ArrayList<>(operations.size());
+        for (int i = 0; i < operations.size(); i++) {
+            futures.add(new PipelinedFuture());
+        }
+        this.futures = Collections.unmodifiableList(futures);
+    }
+
+    /**
+     * Starts sending the operations.
+     *
+     * @param client the client to send the operations with
+     * @param operations the operations to send
+     * @param maxOutstanding the maximum number of operations awaiting their response at any time
+     * @return the future responses to the operations, in the same order as {@code operations}
+     */
+    public static List<AsyncFuture<OperationResponse>> execute(final ModelControllerClient client, final List<Operation> operations,
+                                                               final int maxOutstanding) {
+        final OperationPipeline pipeline = new OperationPipeline(client, operations);
+        for (int i = 0; i < maxOutstanding && i < operations.size(); i++) {
+            pipeline.sendNext();
+        }
+        return Collections.unmodifiableList(pipeline.futures);
+    }
+
+    private void sendNext() {
+        if (sendsRequested.getAndIncrement() != 0) {
+            return;
+        }
+        do {
+            send();
+        } while (sendsRequested.decrementAndGet() != 0);
+    }
+
+    private void send() {
+        while (next < operations.size()) {
+            final PipelinedFuture future = futures.get(next);
+            final Operation operation = operations.get(next++);
+            if (future.getStatus() != AsyncFuture.Status.WAITING) {
+                // cancelled before it was sent
+                continue;
+            }
+            try {
+                future.sent(client.executeOperationAsync(operation, OperationMessageHandler.DISCARD));
+            } catch (RuntimeException e) {
+                future.failed(e);
+                continue;
+            }
+            return;
+        }
+    }
+
+    /**
+     * The future response to an operation, which may not have been sent yet.
+     */
+    private final class PipelinedFuture extends AsyncFutureTask<OperationResponse> implements AsyncFuture.Listener<OperationResponse, Void> {
+
+        // guarded by this
+        private AsyncFuture<OperationResponse> delegate;
+        private boolean cancelRequested;
+        private boolean interruptionDesired;
+
+        private PipelinedFuture() {
+            super(directExecutor);
+        }
+
+        void sent(final AsyncFuture<OperationResponse> delegate) {
+            final boolean cancel;
+            synchronized (this) {
+                this.delegate = delegate;
+                cancel = cancelRequested;
+            }
+            if (cancel) {
+                delegate.asyncCancel(interruptionDesired);
+            }
+            delegate.addListener(this, null);
+        }
+
+        void failed(final Throwable cause) {
+            setFailed(cause);
+        }
+
+        @Override
+        public void asyncCancel(final boolean interruptionDesired) {
+            final AsyncFuture<OperationResponse> delegate;
+            synchronized (this) {
+                delegate = this.delegate;
+                if (delegate == null) {
+                    cancelRequested = true;
+                    this.interruptionDesired = interruptionDesired;
+                }
+            }
+            if (delegate != null) {
+                delegate.asyncCancel(interruptionDesired);
+            } else {
+                // not sent yet, so it never will be
+                setCancelled();
+            }
+        }
+
+        @Override
+        public void handleComplete(final AsyncFuture<? extends OperationResponse> future, final Void attachment) {
+            try {
+                setResult(future.get());
+            } catch (Exception e) {
+                setFailed(e);
+            }
+            sendNext();
+        }
+
+        @Override
+        public void handleFailed(final AsyncFuture<? extends OperationResponse> future, final Throwable cause, final Void attachment) {
+            setFailed(cause);
+            sendNext();
+        }
+
+        @Override
+        public void handleCancelled(final AsyncFuture<? extends OperationResponse> future, final Void attachment) {
+            setCancelled();
+            sendNext();
+        }
+    }
+}
@@ -0,0 +1,609 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ACCESS_MECHANISM;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ATTRIBUTES_ONLY;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.CALLER_TYPE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.CHILD_TYPE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.HOST;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.IF_NONE_MATCH_GENERATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.IF_NONE_MATCH_INSTANCE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.INCLUDE_ALIASES;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.INCLUDE_DEFAULTS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.INCLUDE_MODEL_GENERATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.INCLUDE_RUNTIME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.INCLUDE_SINGLETONS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OPERATION_HEADERS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OUTCOME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.PROCESS_STATE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.PROXIES;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_ATTRIBUTE_OPERATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_CHILDREN_NAMES_OPERATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_RESOURCE_OPERATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RECURSIVE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RECURSIVE_DEPTH;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESOLVE_EXPRESSIONS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESPONSE_HEADERS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESULT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SERVER_GROUP;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUCCESS;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Supplier;
+
+import org.jboss.as.controller.access.Action;
+import org.jboss.as.controller.access.AuthorizationResult;
+import org.jboss.as.controller.access.Authorizer;
+import org.jboss.as.controller.access.Caller;
+import org.jboss.as.controller.access.Environment;
+import org.jboss.as.controller.access.TargetAttribute;
+import org.jboss.as.controller.access.TargetResource;
+import org.jboss.as.controller.descriptions.DefaultResourceDescriptionProvider;
+import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
+import org.jboss.as.controller.operations.common.Util;
+import org.jboss.as.controller.operations.global.ReadAttributeHandler;
+import org.jboss.as.controller.operations.global.ReadChildrenNamesHandler;
+import org.jboss.as.controller.operations.global.ReadResourceHandler;
+import org.jboss.as.controller.registry.AttributeAccess;
+import org.jboss.as.controller.registry.ImmutableManagementResourceRegistration;
+import org.jboss.as.controller.registry.OperationEntry;
+import org.jboss.as.controller.registry.Resource;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.wildfly.security.auth.server.SecurityIdentity;
+
+/**
+ * Executes simple model reads ({@code read-attribute}, non-recursive {@code read-resource} and
+ * {@code read-children-names}) directly against the published {@link Resource} tree, without creating an
+ * {@link OperationContextImpl}.
+ * <p>
+ * Only requests whose outcome is fully determined by the persistent model are handled: the target must be a
+ * single, existing, local resource, every attribute read must be stored in the configuration model without a
+ * custom read handler, and the caller must be permitted to read everything involved. Any request outside that
+ * envelope, including any request that would fail or whose response would be filtered by access control, is
+ * declined by returning {@code null} so the caller can execute it in the normal fashion. That keeps the
+ * responses produced here identical to the ones produced by the standard global operation handlers.
+ */
+final class DirectReadOperationExecutor {
+
+    /** Operation headers that do not affect how a read executes; anything else requires the full context */
+    private static final Set<String> IGNORABLE_HEADERS = new HashSet<>(Arrays.asList(ACCESS_MECHANISM, CALLER_TYPE,
+            INCLUDE_MODEL_GENERATION, IF_NONE_MATCH_GENERATION, IF_NONE_MATCH_INSTANCE));
+
+    private static final Set<String> READ_ATTRIBUTE_PARAMETERS = parameters(NAME, INCLUDE_DEFAULTS, RESOLVE_EXPRESSIONS);
+    private static final Set<String> READ_RESOURCE_PARAMETERS = parameters(RECURSIVE, PROXIES, INCLUDE_RUNTIME,
+            INCLUDE_DEFAULTS, ATTRIBUTES_ONLY, INCLUDE_ALIASES, RESOLVE_EXPRESSIONS);
+    private static final Set<String> READ_CHILDREN_NAMES_PARAMETERS = parameters(CHILD_TYPE, INCLUDE_SINGLETONS);
+
+    private final ProcessType processType;
+    private final ControlledProcessState processState;
+    private final Authorizer authorizer;
+    private final Supplier<SecurityIdentity> securityIdentitySupplier;
+
+    DirectReadOperationExecutor(final ProcessType processType, final ControlledProcessState processState,
+                                final Authorizer authorizer, final Supplier<SecurityIdentity> securityIdentitySupplier) {
+        this.processType = processType;
+        this.processState = processState;
+        this.authorizer = authorizer;
+        this.securityIdentitySupplier = securityIdentitySupplier;
+    }
+
+    /**
+     * Attempts to execute the given operation directly against the given model.
+     *
+     * @param operation the operation. Cannot be {@code null}
+     * @param model a snapshot of the published management model. Cannot be {@code null}
+     * @return the response to the operation, or {@code null} if the operation needs to be executed
+     *         using a full {@link OperationContext}
+     */
+    ModelNode execute(final ModelNode operation, final ManagementModel model) {
+        if (!hasOnlyIgnorableHeaders(operation)) {
+            return null;
+        }
+        final PathAddress address;
+        try {
+            address = PathAddress.pathAddress(operation.get(OP_ADDR));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        if (address.isMultiTarget()) {
+            return null;
+        }
+        final String operationName = operation.get(OP).asString();
+        final ImmutableManagementResourceRegistration rootRegistration = model.getRootResourceRegistration();
+        final OperationEntry entry = rootRegistration.getOperationEntry(address, operationName);
+        if (entry == null || entry.getType() != OperationEntry.EntryType.PUBLIC) {
+            return null;
+        }
+        final ImmutableManagementResourceRegistration registration = rootRegistration.getSubModel(address);
+        if (registration == null || registration.isRemote() || registration.isRuntimeOnly() || registration.isAlias()) {
+            return null;
+        }
+        final Resource resource = navigate(model.getRootResource(), address);
+        if (resource == null || resource.isProxy() || resource.isRuntime()) {
+            return null;
+        }
+
+        final OperationStepHandler handler = entry.getOperationHandler();
+        final ModelNode result;
+        if (READ_ATTRIBUTE_OPERATION.equals(operationName)
+                && (handler == ReadAttributeHandler.INSTANCE || handler == ReadAttributeHandler.RESOLVE_INSTANCE)) {
+            result = readAttribute(operation, entry, address, registration, resource, model);
+        } else if (READ_RESOURCE_OPERATION.equals(operationName)
+                && (handler == ReadResourceHandler.INSTANCE || handler == ReadResourceHandler.RESOLVE_INSTANCE)) {
+            result = readResource(operation, entry, address, registration, resource, model);
+        } else if (READ_CHILDREN_NAMES_OPERATION.equals(operationName)
+                && handler != null && handler.getClass() == ReadChildrenNamesHandler.class) {
+            result = readChildrenNames(operation, entry, address, registration, resource, model);
+        } else {
+            result = null;
+        }
+        if (result == null) {
+            return null;
+        }
+
+        final ModelNode response = new ModelNode();
+        response.get(OUTCOME).set(SUCCESS);
+        response.get(RESULT).set(result);
+        ControlledProcessState.State state = processState.getState();
+        switch (state) {
+            case RELOAD_REQUIRED:
+            case RESTART_REQUIRED:
+                response.get(RESPONSE_HEADERS, PROCESS_STATE).set(state.toString());
+                break;
+            default:
+                break;
+        }
+        return response;
+    }
+
+    /**
+     * Determines whether the response to the given read, possibly recursive, depends only on the persistent model,
+     * so that it cannot change before a newer model than the given one is published. This is the case for reads of
+     * a single, existing, local resource that do not include runtime attributes, proxies or resolved expressions, and
+     * where no attribute read, including those of child resources read recursively, has a read handler.
+     * The caller must also be permitted to execute the operation on the target resource.
+     *
+     * @param operation the operation. Cannot be {@code null}
+     * @param model a snapshot of the published management model. Cannot be {@code null}
+     * @return {@code true} if the response only changes with the model generation
+     */
+    boolean isModelRead(final ModelNode operation, final ManagementModel model) {
+        if (!hasOnlyIgnorableHeaders(operation)) {
+            return false;
+        }
+        final PathAddress address;
+        try {
+            address = PathAddress.pathAddress(operation.get(OP_ADDR));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        if (address.isMultiTarget()) {
+            return false;
+        }
+        final String operationName = operation.get(OP).asString();
+        final ImmutableManagementResourceRegistration rootRegistration = model.getRootResourceRegistration();
+        final OperationEntry entry = rootRegistration.getOperationEntry(address, operationName);
+        if (entry == null || entry.getType() != OperationEntry.EntryType.PUBLIC) {
+            return false;
+        }
+        final ImmutableManagementResourceRegistration registration = rootRegistration.getSubModel(address);
+        if (registration == null || registration.isRemote() || registration.isRuntimeOnly() || registration.isAlias()) {
+            return false;
+        }
+        final Resource resource = navigate(model.getRootResource(), address);
+        if (resource == null || resource.isProxy() || resource.isRuntime()) {
+            return false;
+        }
+
+        final OperationStepHandler handler = entry.getOperationHandler();
+        if (READ_ATTRIBUTE_OPERATION.equals(operationName)
+                && (handler == ReadAttributeHandler.INSTANCE || handler == ReadAttributeHandler.RESOLVE_INSTANCE)) {
+            final ModelNode nameNode = operation.get(NAME);
+            if (nameNode.getType() != ModelType.STRING || !isFalse(operation, RESOLVE_EXPRESSIONS)) {
+                return false;
+            }
+            final String attributeName = nameNode.asString();
+            if (attributeName.isEmpty() || attributeName.indexOf('.') >= 0 || attributeName.indexOf('[') >= 0
+                    || !isModelOnly(registration.getAttributeAccess(PathAddress.EMPTY_ADDRESS, attributeName))) {
+                return false;
+            }
+        } else if (READ_RESOURCE_OPERATION.equals(operationName)
+                && (handler == ReadResourceHandler.INSTANCE || handler == ReadResourceHandler.RESOLVE_INSTANCE)) {
+            if (!isFalse(operation, INCLUDE_RUNTIME) || !isFalse(operation, PROXIES) || !isFalse(operation, RESOLVE_EXPRESSIONS)) {
+                return false;
+            }
+            final boolean recursive = operation.get(RECURSIVE).asBoolean(false) || operation.get(RECURSIVE_DEPTH).asInt(0) > 0;
+            if (!hasOnlyModelAttributes(registration, recursive)) {
+                return false;
+            }
+        } else if (!READ_CHILDREN_NAMES_OPERATION.equals(operationName)
+                || handler == null || handler.getClass() != ReadChildrenNamesHandler.class) {
+            return false;
+        }
+
+        final TargetResource target = getTargetResource(address, registration, resource, operation, model);
+        return isPermitted(authorizer.authorize(getCaller(), new Environment(processState, processType),
+                new Action(operation, entry), target));
+    }
+
+    private ModelNode readAttribute(final ModelNode operation, final OperationEntry entry, final PathAddress address,
+                                    final ImmutableManagementResourceRegistration registration, final Resource resource,
+                                    final ManagementModel model) {
+        if (!hasOnlyParameters(operation, READ_ATTRIBUTE_PARAMETERS)
+                || !isFlag(operation, INCLUDE_DEFAULTS) || !isFalse(operation, RESOLVE_EXPRESSIONS)) {
+            return null;
+        }
+        final ModelNode nameNode = operation.get(NAME);
+        if (nameNode.getType() != ModelType.STRING) {
+            return null;
+        }
+        final String attributeName = nameNode.asString();
+        // Enhanced syntax (list and map element access) is left to the standard handler
+        if (attributeName.isEmpty() || attributeName.indexOf('.') >= 0 || attributeName.indexOf('[') >= 0) {
+            return null;
+        }
+        final AttributeAccess access = registration.getAttributeAccess(PathAddress.EMPTY_ADDRESS, attributeName);
+        if (!isModelOnly(access)) {
+            return null;
+        }
+
+        final boolean defaults = operation.get(INCLUDE_DEFAULTS).asBoolean(true);
+        final ModelNode value = readValue(resource.getModel(), access.getAttributeDefinition(), defaults);
+
+        final Caller caller = getCaller();
+        final Environment environment = new Environment(processState, processType);
+        final Action action = new Action(operation, entry);
+        final TargetResource target = getTargetResource(address, registration, resource, operation, model);
+        if (!isPermitted(authorizer.authorize(caller, environment, action, target))
+                || !isPermitted(authorizer.authorize(caller, environment, action,
+                    new TargetAttribute(attributeName, access, value, target)))) {
+            return null;
+        }
+        return value;
+    }
+
+    private ModelNode readResource(final ModelNode operation, final OperationEntry entry, final PathAddress address,
+                                   final ImmutableManagementResourceRegistration registration, final Resource resource,
+                                   final ManagementModel model) {
+        if (!hasOnlyParameters(operation, READ_RESOURCE_PARAMETERS)
+                || !isFalse(operation, RECURSIVE) || !isFlag(operation, PROXIES) || !isFalse(operation, INCLUDE_RUNTIME)
+                || !isFlag(operation, INCLUDE_DEFAULTS) || !isFlag(operation, ATTRIBUTES_ONLY)
+                || !isFalse(operation, INCLUDE_ALIASES) || !isFalse(operation, RESOLVE_EXPRESSIONS)) {
+            return null;
+        }
+        final boolean defaults = operation.get(INCLUDE_DEFAULTS).asBoolean(true);
+        final boolean attributesOnly = operation.get(ATTRIBUTES_ONLY).asBoolean(false);
+        // With defaults requested the standard handler also reports defaults of attributes that are only
+        // described, not registered; only the default description provider guarantees there are none
+        if (defaults && !(registration.getModelDescription(PathAddress.EMPTY_ADDRESS) instanceof DefaultResourceDescriptionProvider)) {
+            return null;
+        }
+        final OperationEntry readAttributeEntry = registration.getOperationEntry(PathAddress.EMPTY_ADDRESS, READ_ATTRIBUTE_OPERATION);
+        if (readAttributeEntry == null
+                || (readAttributeEntry.getOperationHandler() != ReadAttributeHandler.INSTANCE
+                    && readAttributeEntry.getOperationHandler() != ReadAttributeHandler.RESOLVE_INSTANCE)) {
+            return null;
+        }
+
+        final Map<String, Set<String>> childrenByType = getChildren(registration, resource, null);
+        if (childrenByType == null) {
+            return null;
+        }
+
+        final Caller caller = getCaller();
+        final Environment environment = new Environment(processState, processType);
+        final TargetResource target = getTargetResource(address, registration, resource, operation, model);
+        if (!isPermitted(authorizer.authorize(caller, environment, new Action(operation, entry), target))) {
+            return null;
+        }
+
+        final ModelNode resourceModel = resource.getModel();
+        final Set<String> attributeNames = registration.getAttributeNames(PathAddress.EMPTY_ADDRESS);
+        final Set<String> readAttributes = new HashSet<>();
+        final Action readAttributeAction = new Action(Util.createEmptyOperation(READ_ATTRIBUTE_OPERATION, address), readAttributeEntry);
+        final Map<AttributeDefinition.NameAndGroup, ModelNode> sortedAttributes = new TreeMap<>();
+        for (String attributeName : attributeNames) {
+            final AttributeAccess access = registration.getAttributeAccess(PathAddress.EMPTY_ADDRESS, attributeName);
+            if (access.getFlags().contains(AttributeAccess.Flag.ALIAS)
+                    || access.getStorageType() != AttributeAccess.Storage.CONFIGURATION) {
+                // The standard handler still reads an excluded attribute if its description declares a default
+                if (defaults && access.getAttributeDefinition() != null
+                        && access.getAttributeDefinition().getDefaultValue() != null
+                        && access.getAttributeDefinition().getDefaultValue().isDefined()) {
+                    return null;
+                }
+                continue;
+            }
+            if (!isModelOnly(access)) {
+                return null;
+            }
+            final AttributeDefinition definition = access.getAttributeDefinition();
+            final ModelNode value = readValue(resourceModel, definition, defaults);
+            if (!isPermitted(authorizer.authorize(caller, environment, readAttributeAction,
+                    new TargetAttribute(attributeName, access, value, target)))) {
+                return null;
+            }
+            sortedAttributes.put(new AttributeDefinition.NameAndGroup(definition), value);
+            readAttributes.add(attributeName);
+        }
+        if (resourceModel.isDefined()) {
+            for (String key : resourceModel.keys()) {
+                // Any other model content is read via read-attribute by the standard handler
+                if (!readAttributes.contains(key) && !childrenByType.containsKey(key)) {
+                    return null;
+                }
+            }
+        }
+
+        final Map<String, ModelNode> sortedChildren = new TreeMap<>();
+        if (!attributesOnly) {
+            for (Map.Entry<String, Set<String>> childType : childrenByType.entrySet()) {
+                ModelNode children = new ModelNode();
+                for (String child : childType.getValue()) {
+                    if (!isAddressable(caller, environment, model, address.append(childType.getKey(), child))) {
+                        return null;
+                    }
+                    children.get(child);
+                }
+                sortedChildren.put(childType.getKey(), children);
+            }
+        }
+
+        final ModelNode result = new ModelNode();
+        result.setEmptyObject();
+        for (Map.Entry<AttributeDefinition.NameAndGroup, ModelNode> attribute : sortedAttributes.entrySet()) {
+            result.get(attribute.getKey().getName()).set(attribute.getValue());
+        }
+        for (Map.Entry<String, ModelNode> children : sortedChildren.entrySet()) {
+            result.get(children.getKey()).set(children.getValue());
+        }
+        return result;
+    }
+
+    private ModelNode readChildrenNames(final ModelNode operation, final OperationEntry entry, final PathAddress address,
+                                        final ImmutableManagementResourceRegistration registration, final Resource resource,
+                                        final ManagementModel model) {
+        if (!hasOnlyParameters(operation, READ_CHILDREN_NAMES_PARAMETERS) || !isFalse(operation, INCLUDE_SINGLETONS)) {
+            return null;
+        }
+        final ModelNode childTypeNode = operation.get(CHILD_TYPE);
+        if (childTypeNode.getType() != ModelType.STRING) {
+            return null;
+        }
+        final String childType = childTypeNode.asString();
+        final Map<String, Set<String>> childrenByType = getChildren(registration, resource, childType);
+        final Set<String> childNames = childrenByType == null ? null : childrenByType.get(childType);
+        if (childNames == null) {
+            return null;
+        }
+
+        final Caller caller = getCaller();
+        final Environment environment = new Environment(processState, processType);
+        final TargetResource target = getTargetResource(address, registration, resource, operation, model);
+        if (!isPermitted(authorizer.authorize(caller, environment, new Action(operation, entry), target))) {
+            return null;
+        }
+
+        final ModelNode result = new ModelNode();
+        result.setEmptyList();
+        for (String childName : new TreeSet<>(childNames)) {
+            if (!isAddressable(caller, environment, model, address.append(childType, childName))) {
+                return null;
+            }
+            result.add(childName);
+        }
+        return result;
+    }
+
+    /**
+     * Gets the names of the children of the given resource, by type, in the same form as the standard global
+     * operation handlers report them.
+     *
+     * @return the children, or {@code null} if a child type is an alias or proxy whose children must be resolved
+     *         via an {@link OperationContext}
+     */
+    private static Map<String, Set<String>> getChildren(final ImmutableManagementResourceRegistration registration,
+                                                        final Resource resource, final String validChildType) {
+        final Map<String, Set<String>> result = new TreeMap<>();
+        for (String childType : registration.getChildNames(PathAddress.EMPTY_ADDRESS)) {
+            if (validChildType == null || validChildType.equals(childType)) {
+                final Set<String> children = new LinkedHashSet<>();
+                for (String child : resource.getChildrenNames(childType)) {
+                    if (registration.getSubModel(PathAddress.pathAddress(childType, child)) != null) {
+                        children.add(child);
+                    }
+                }
+                result.put(childType, children);
+            }
+        }
+        for (PathElement path : registration.getChildAddresses(PathAddress.EMPTY_ADDRESS)) {
+            if (validChildType == null || validChildType.equals(path.getKey())) {
+                final ImmutableManagementResourceRegistration child = registration.getSubModel(PathAddress.pathAddress(path));
+                if (child != null && (child.isAlias() || child.isRemote())) {
+                    return null;
+                }
+            }
+        }
+        return result;
+    }
+
+    private boolean isAddressable(final Caller caller, final Environment environment, final ManagementModel model,
+                                  final PathAddress childAddress) {
+        final ImmutableManagementResourceRegistration childRegistration = model.getRootResourceRegistration().getSubModel(childAddress);
+        final OperationEntry readResource = childRegistration == null
+                ? null : childRegistration.getOperationEntry(PathAddress.EMPTY_ADDRESS, READ_RESOURCE_OPERATION);
+        if (readResource == null) {
+            return false;
+        }
+        final ModelNode operation = Util.createEmptyOperation(READ_RESOURCE_OPERATION, childAddress);
+        final Resource childResource = navigate(model.getRootResource(), childAddress);
+        final TargetResource target = getTargetResource(childAddress, childRegistration,
+                childResource == null ? Resource.Factory.create() : childResource, operation, model);
+        final Action action = new Action(operation, readResource).limitAction(Action.ActionEffect.ADDRESS);
+        return isPermitted(authorizer.authorize(caller, environment, action, target));
+    }
+
+    private TargetResource getTargetResource(final PathAddress address, final ImmutableManagementResourceRegistration registration,
+                                             final Resource resource, final ModelNode operation, final ManagementModel model) {
+        if (processType.isManagedDomain()) {
+            // Only servers get here; a host controller uses its own prepare step and never reads directly
+            final ModelNode rootModel = model.getRootResource().getModel();
+            final HostServerGroupTracker.HostServerGroupEffect effect = HostServerGroupTracker.HostServerGroupEffect.forServer(address,
+                    rootModel.get(SERVER_GROUP).asString(), rootModel.get(HOST).asString());
+            return TargetResource.forDomain(address, registration, resource, effect, effect);
+        }
+        return TargetResource.forStandalone(address, registration, resource);
+    }
+
+    private Caller getCaller() {
+        return SecurityActions.getCaller(null, securityIdentitySupplier.get());
+    }
+
+    private static ModelNode readValue(final ModelNode model, final AttributeDefinition definition, final boolean defaults) {
+        final String name = definition.getName();
+        if (model.hasDefined(name)) {
+            return model.get(name);
+        } else if (defaults && definition.getDefaultValue() != null) {
+            return definition.getDefaultValue();
+        }
+        return new ModelNode();
+    }
+
+    /**
+     * Checks that no attribute of the given registration, or of any registration below it if the read is recursive,
+     * has a read handler or is stored at runtime, as such values change without a new model being published.
+     */
+    private static boolean hasOnlyModelAttributes(final ImmutableManagementResourceRegistration registration, final boolean recursive) {
+        for (String attributeName : registration.getAttributeNames(PathAddress.EMPTY_ADDRESS)) {
+            final AttributeAccess access = registration.getAttributeAccess(PathAddress.EMPTY_ADDRESS, attributeName);
+            if (!access.getFlags().contains(AttributeAccess.Flag.ALIAS) && !isModelOnly(access)) {
+                return false;
+            }
+        }
+        if (recursive) {
+            for (PathElement path : registration.getChildAddresses(PathAddress.EMPTY_ADDRESS)) {
+                final ImmutableManagementResourceRegistration child = registration.getSubModel(PathAddress.pathAddress(path));
+                if (child == null || child.isAlias() || child.isRemote()) {
+                    // not read unless aliases or proxies are included
+                    continue;
+                }
+                if (child.isRuntimeOnly() || !hasOnlyModelAttributes(child, true)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static boolean isModelOnly(final AttributeAccess access) {
+        return access != null
+                && access.getReadHandler() == null
+                && access.getStorageType() == AttributeAccess.Storage.CONFIGURATION
+                && access.getAccessType() != AttributeAccess.AccessType.METRIC
+                && access.getAttributeDefinition() != null;
+    }
+
+    private static Resource navigate(final Resource root, final PathAddress address) {
+        Resource resource = root;
+        for (PathElement element : address) {
+            resource = resource.getChild(element);
+            if (resource == null) {
+                return null;
+            }
+        }
+        return resource;
+    }
+
+    private static boolean isPermitted(final AuthorizationResult result) {
+        return result.getDecision() == AuthorizationResult.Decision.PERMIT;
+    }
+
+    private static boolean hasOnlyIgnorableHeaders(final ModelNode operation) {
+        if (!operation.has(OPERATION_HEADERS)) {
+            return true;
+        }
+        final ModelNode headers = operation.get(OPERATION_HEADERS);
+        if (!headers.isDefined()) {
+            return true;
+        }
+        if (headers.getType() != ModelType.OBJECT) {
+            return false;
+        }
+        for (String key : headers.keys()) {
+            if (!IGNORABLE_HEADERS.contains(key)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean hasOnlyParameters(final ModelNode operation, final Set<String> parameters) {
+        for (String key : operation.keys()) {
+            if (!parameters.contains(key)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Whether the given parameter is undefined, a boolean or a string form of a boolean (as sent by HTTP GET) */
+    private static boolean isFlag(final ModelNode operation, final String parameter) {
+        if (!operation.hasDefined(parameter)) {
+            return true;
+        }
+        final ModelNode value = operation.get(parameter);
+        switch (value.getType()) {
+            case BOOLEAN:
+                return true;
+            case STRING:
+                return "true".equalsIgnoreCase(value.asString()) || "false".equalsIgnoreCase(value.asString());
+            default:
+                return false;
+        }
+    }
+
+    /** Whether the given parameter is undefined or boolean {@code false} */
+    private static boolean isFalse(final ModelNode operation, final String parameter) {
+        return isFlag(operation, parameter) && !operation.get(parameter).asBoolean(false);
+    }
+
+    private static Set<String> parameters(final String... names) {
+        final List<String> all = new ArrayList<>(Arrays.asList(names));
+        Collections.addAll(all, OP, OP_ADDR, OPERATION_HEADERS, ModelDescriptionConstants.OPERATION_NAME);
+        return new HashSet<>(all);
+    }
+}
@@ -21,7 +21,12 @@
 */
 package org.jboss.as.controller;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Stack;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.jboss.as.controller.logging.ControllerLogger;
 import org.jboss.dmr.ModelNode;
@@ -40,6 +45,19 @@ public class ExpressionResolverImpl implements ExpressionResolver {
     private static final int GOT_DOLLAR = 1;
     private static final int GOT_OPEN_BRACE = 2;
 
+    /**
+     * Maximum number of expression strings whose parsed form is kept. Once reached, the cache is cleared so that it
+     * fills again with the strings in use, rather than keeping the first ones resolved, such as those of the boot
+     * operations, forever.
+     */
+    private static final int MAX_PARSED_EXPRESSIONS = 4096;
+
+    /** The parsed form of the expression strings resolved so far, which does not depend on the resolver. */
+    private static final ConcurrentMap<String, ParsedExpression> PARSED_EXPRESSIONS = new ConcurrentHashMap<>();
+
+    /** Marks expression strings that {@link ParsedExpression} cannot represent; they go through {@link #parseAndResolve}. */
+    private static final ParsedExpression UNPARSEABLE = new ParsedExpression(null, null, null, null, false);
+
     private final boolean lenient;
 
     /**
@@ -78,6 +96,19 @@ public class ExpressionResolverImpl implements ExpressionResolver {
             return node;
         }
 
+        ModelType type = node.getType();
+        if (type != ModelType.EXPRESSION && !containsExpression(node)) {
+            // Nothing to resolve; complex nodes are still copied as the caller may modify what it gets back
+            return type == ModelType.OBJECT || type == ModelType.LIST || type == ModelType.PROPERTY ? node.clone() : node;
+        }
+        return resolveContainedExpressions(node);
+    }
+
+    /**
+     * Resolves the expressions within a node already known to contain some, without checking its children again
+     * before resolving them.
+     */
+    private ModelNode resolveContainedExpressions(final ModelNode node) throws OperationFailedException {
         ModelType type = node.getType();
         ModelNode resolved;
         if (type == ModelType.EXPRESSION) {
@@ -85,19 +116,17 @@ public class ExpressionResolverImpl implements ExpressionResolver {
         } else if (type == ModelType.OBJECT) {
             resolved = node.clone();
             for (Property prop : resolved.asPropertyList()) {
-                resolved.get(prop.getName()).set(resolveExpressionsRecursively(prop.getValue()));
+                resolved.get(prop.getName()).set(resolveContainedExpressions(prop.getValue()));
             }
         } else if (type == ModelType.LIST) {
-            resolved = node.clone();
-            ModelNode list = new ModelNode();
-            list.setEmptyList();
-            for (ModelNode current : resolved.asList()) {
-                list.add(resolveExpressionsRecursively(current));
+            resolved = new ModelNode();
+            resolved.setEmptyList();
+            for (ModelNode current : node.asList()) {
+                resolved.add(resolveContainedExpressions(current));
             }
-            resolved = list;
         } else if (type == ModelType.PROPERTY) {
             resolved = node.clone();
-            resolved.set(resolved.asProperty().getName(), resolveExpressionsRecursively(resolved.asProperty().getValue()));
+            resolved.set(resolved.asProperty().getName(), resolveContainedExpressions(resolved.asProperty().getValue()));
         } else {
             resolved = node;
         }
@@ -105,6 +134,31 @@ public class ExpressionResolverImpl implements ExpressionResolver {
         return resolved;
     }
 
+    private static boolean containsExpression(final ModelNode node) {
+        switch (node.getType()) {
+            case EXPRESSION:
+                return true;
+            case OBJECT:
+                for (String key : node.keys()) {
+                    if (containsExpression(node.get(key))) {
+                        return true;
+                    }
+                }
+                return false;
+            case LIST:
+                for (ModelNode element : node.asList()) {
+                    if (containsExpression(element)) {
+                        return true;
+                    }
+                }
+                return false;
+            case PROPERTY:
+                return containsExpression(node.asProperty().getValue());
+            default:
+                return false;
+        }
+    }
+
     /**
      * Attempt to resolve the expression {@link org.jboss.dmr.ModelNode#asString() encapsulated in the given node},
      * setting the value of {@code node} to the resolved string if successful, or leaving {@code node} unaltered
@@ -140,7 +194,7 @@ public class ExpressionResolverImpl implements ExpressionResolver {
      */
     private ModelNode resolveExpressionStringRecursively(final String expressionString, final boolean ignoreDMRResolutionFailure,
                                                          final boolean initial) throws OperationFailedException {
-        ParseAndResolveResult resolved = parseAndResolve(expressionString, ignoreDMRResolutionFailure);
+        ParseAndResolveResult resolved = resolve(expressionString, ignoreDMRResolutionFailure);
         if (resolved.recursive) {
             // Some part of expressionString resolved into a different expression.
             // So, start over, ignoring failures. Ignore failures because we don't require
@@ -165,6 +219,66 @@ public class ExpressionResolverImpl implements ExpressionResolver {
         }
     }
 
+    private ParseAndResolveResult resolve(final String value, final boolean lenient) throws OperationFailedException {
+        ParsedExpression parsed = PARSED_EXPRESSIONS.get(value);
+        if (parsed == null) {
+            if (value.indexOf('$') < 0) {
+                return new ParseAndResolveResult(value, false, false);
+            }
+            parsed = ParsedExpression.parse(value);
+            if (PARSED_EXPRESSIONS.size() >= MAX_PARSED_EXPRESSIONS) {
+                // Start over rather than keep strings that may no longer be resolved, such as those only used during boot
+                PARSED_EXPRESSIONS.clear();
+            }
+            PARSED_EXPRESSIONS.putIfAbsent(value, parsed);
+        }
+        return parsed == UNPARSEABLE ? parseAndResolve(value, lenient) : resolveParsed(parsed, lenient);
+    }
+
+    /**
+     * Resolves a parsed expression string the same way {@link #parseAndResolve(String, boolean)} resolves the string.
+     */
+    private ParseAndResolveResult resolveParsed(final ParsedExpression parsed, final boolean lenient) throws OperationFailedException {
+        final String[] expressions = parsed.expressions;
+        if (expressions.length == 0) {
+            return new ParseAndResolveResult(parsed.literals[0], parsed.escaped, false);
+        }
+        StringBuilder builder = null;
+        String result = null;
+        for (int i = 0; i < expressions.length; i++) {
+            final String toResolve = expressions[i];
+            final String resolved = resolveExpressionString(toResolve);
+            if (toResolve.equals(resolved)) {
+                if (lenient) {
+                    return new ParseAndResolveResult(parsed.value, false, false);
+                }
+                throw ControllerLogger.ROOT_LOGGER.cannotResolveExpression(parsed.value);
+            }
+            if (EXPRESSION_PATTERN.matcher(resolved).matches()) {
+                // Another pass is needed. As in createRecursiveResult, the text around the expression is taken
+                // from the original string so escaped $ sequences keep their escape char
+                final String value = parsed.value;
+                final int start = parsed.bounds[2 * i];
+                final int end = parsed.bounds[2 * i + 1];
+                return new ParseAndResolveResult(value.substring(0, start) + resolved + value.substring(end), true, true);
+            }
+            final String literal = parsed.literals[i];
+            if (expressions.length == 1 && literal.isEmpty() && parsed.literals[1].isEmpty()) {
+                // Typical case; the whole string is a single expression
+                result = resolved;
+            } else {
+                if (builder == null) {
+                    builder = new StringBuilder(parsed.value.length());
+                }
+                builder.append(literal).append(resolved);
+            }
+        }
+        if (builder != null) {
+            result = builder.append(parsed.literals[expressions.length]).toString();
+        }
+        return new ParseAndResolveResult(result, true, false);
+    }
+
     private ParseAndResolveResult parseAndResolve(final String initialValue, boolean lenient) throws OperationFailedException {
 
 
@@ -471,6 +585,110 @@ public class ExpressionResolverImpl implements ExpressionResolver {
         }
     }
 
+    /**
+     * An expression string split into literal text and the expressions to resolve, which the literal text is
+     * interleaved with. Strings with nested expressions are not represented, as the outer expression depends on what
+     * the nested ones resolve to, nor are strings with incomplete expressions.
+     */
+    private static final class ParsedExpression {
+        private final String value;
+        /** The text before each expression, followed by the text after the last one, with escaped $ sequences unescaped. */
+        private final String[] literals;
+        private final String[] expressions;
+        /** The start index and the index after the end of each expression in {@code value}. */
+        private final int[] bounds;
+        /** Whether an escaped $ sequence was unescaped. */
+        private final boolean escaped;
+
+        private ParsedExpression(String value, String[] literals, String[] expressions, int[] bounds, boolean escaped) {
+            this.value = value;
+            this.literals = literals;
+            this.expressions = expressions;
+            this.bounds = bounds;
+            this.escaped = escaped;
+        }
+
+        /**
+         * Parses the given string following the states of {@link ExpressionResolverImpl#parseAndResolve(String, boolean)}.
+         *
+         * @return the parsed string, or {@link ExpressionResolverImpl#UNPARSEABLE} if it cannot be represented
+         */
+        private static ParsedExpression parse(final String value) {
+            final List<String> literals = new ArrayList<>();
+            final List<String> expressions = new ArrayList<>();
+            int[] bounds = new int[4];
+            final StringBuilder literal = new StringBuilder();
+            final int len = value.length();
+            int state = INITIAL;
+            int ignoreBraceLevel = 0;
+            int start = -1;
+            boolean escaped = false;
+            for (int i = 0; i < len; i = value.offsetByCodePoints(i, 1)) {
+                final int ch = value.codePointAt(i);
+                switch (state) {
+                    case INITIAL: {
+                        if (ch == '$') {
+                            start = i;
+                            state = GOT_DOLLAR;
+                        } else {
+                            literal.appendCodePoint(ch);
+                        }
+                        break;
+                    }
+                    case GOT_DOLLAR: {
+                        if (ch == '{') {
+                            state = GOT_OPEN_BRACE;
+                        } else {
+                            if (ch != '$') {
+                                // Preceding $ wasn't an escape, so restore it
+                                literal.append('$');
+                            } else {
+                                escaped = true;
+                            }
+                            literal.appendCodePoint(ch);
+                            state = INITIAL;
+                        }
+                        break;
+                    }
+                    case GOT_OPEN_BRACE: {
+                        if (ch == '$') {
+                            return UNPARSEABLE;
+                        } else if (ch == '{') {
+                            ignoreBraceLevel++;
+                        } else if (ch == '}') {
+                            if (ignoreBraceLevel > 0) {
+                                ignoreBraceLevel--;
+                            } else {
+                                int index = expressions.size();
+                                if (bounds.length < 2 * index + 2) {
+                                    bounds = Arrays.copyOf(bounds, bounds.length * 2);
+                                }
+                                bounds[2 * index] = start;
+                                bounds[2 * index + 1] = i + 1;
+                                literals.add(literal.toString());
+                                literal.setLength(0);
+                                expressions.add(value.substring(start, i + 1));
+                                state = INITIAL;
+                            }
+                        }
+                        break;
+                    }
+                    default:
+                        throw new IllegalStateException();
+                }
+            }
+            if (state == GOT_OPEN_BRACE) {
+                // Let parseAndResolve report it once the preceding expressions are resolved
+                return UNPARSEABLE;
+            } else if (state == GOT_DOLLAR) {
+                literal.append('$');
+            }
+            literals.add(literal.toString());
+            return new ParsedExpression(value, literals.toArray(new String[literals.size()]),
+                    expressions.toArray(new String[expressions.size()]), bounds, escaped);
+        }
+    }
+
     private static class OpenExpression {
         private final int startIndex;
         private int endIndex = -1;
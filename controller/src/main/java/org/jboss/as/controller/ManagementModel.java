@@ -55,4 +55,15 @@ public interface ManagementModel {
      */
     RuntimeCapabilityRegistry getCapabilityRegistry();
 
+    /**
+     * Gets the generation of the concrete configuration model exposed by {@link #getRootResource()}. Each time
+     * the controller publishes a modified model the generation is incremented, so two reads that report the
+     * same generation were made against the same model.
+     *
+     * @return the generation, or {@code -1} if this model is not versioned
+     */
+    default long getGeneration() {
+        return -1;
+    }
+
 }
@@ -26,19 +26,25 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ACT
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ATTACHED_STREAMS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.CALLER_TYPE;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.CORE_SERVICE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.DISCARDED_NOTIFICATIONS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.FAILED;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.FAILURE_DESCRIPTION;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.HOST;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MANAGEMENT;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MANAGEMENT_OPERATIONS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MIME_TYPE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MODEL_GENERATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MODEL_INSTANCE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NOT_MODIFIED;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OPERATION_HEADERS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OUTCOME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.PENDING_NOTIFICATIONS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.PROCESS_STATE;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESPONSE_HEADERS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SERVICE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUCCESS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.USER;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.UUID;
 import static org.jboss.as.controller.logging.ControllerLogger.MGMT_OP_LOGGER;
@@ -62,6 +68,7 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Supplier;
 
@@ -118,6 +125,13 @@ class ModelControllerImpl implements ModelController {
     private final ModelControllerLock controllerLock = new ModelControllerLock();
     private final ContainerStateMonitor stateMonitor;
     private final AtomicReference<ManagementModelImpl> managementModel = new AtomicReference<>();
+    /** Source of the {@link ManagementModel#getGeneration() generation} of each published model */
+    private final AtomicLong modelGeneration = new AtomicLong();
+    /**
+     * Identifies this controller instance. Generations restart with each instance, so a generation only identifies a
+     * model together with the instance that published it.
+     */
+    private final String modelInstance = java.util.UUID.randomUUID().toString();
     private final ConfigurationPersister persister;
     private final ProcessType processType;
     private final RunningModeControl runningModeControl;
@@ -133,6 +147,8 @@ class ModelControllerImpl implements ModelController {
     private final Random random = new Random();
     private final ManagedAuditLogger auditLogger;
     private final BootErrorCollector bootErrorCollector;
+    /** Executes simple model reads without an operation context; only used by servers */
+    private final DirectReadOperationExecutor directReadExecutor;
 
     private final NotificationSupport notificationSupport;
 
@@ -202,6 +218,8 @@ class ModelControllerImpl implements ModelController {
         if (processType.isServer()) {
             this.modelControllerResourceAddress = MODEL_CONTROLLER_ADDRESS;
         }
+        this.directReadExecutor = processType.isServer()
+                ? new DirectReadOperationExecutor(processType, processState, authorizer, securityIdentitySupplier) : null;
         auditLogger.startBoot();
     }
 
@@ -355,6 +373,10 @@ class ModelControllerImpl implements ModelController {
             return OperationHeaders.fromFailure(ofe);
         }
 
+        // Pin the model as it is now; its generation is what we report, as nothing read by the operation can
+        // be older than it
+        final ManagementModel modelSnapshot = getModelSnapshot();
+
         // Report the correct operation response, otherwise the preparedResult would only contain
         // the result of the last active step in a composite operation
         final OperationTransactionControl originalResultTxControl = control == null ? null : new OperationTransactionControl() {
@@ -394,6 +416,40 @@ class ModelControllerImpl implements ModelController {
             return handleExternalRequestDuringBoot();
         }
 
+        // Simple model reads can be answered from the published model without the step machinery,
+        // as long as nothing would observe the difference (custom prepare step, locking, transaction
+        // control, read-only auditing)
+        final boolean directRead = directReadExecutor != null && !attemptLock && !bootingFlag.get()
+                && prepareStep instanceof DefaultPrepareStepHandler
+                && (control == null || control == OperationTransactionControl.COMMIT)
+                && !auditLogger.isLogReadOnly();
+
+        // A caller that holds the response to a model-only read as of some generation of this controller instance
+        // can be told it is still current without executing the read again. The generation is only reported for
+        // such reads, so the caller knows which responses it can revalidate this way
+        final Long knownGeneration = headers.getIfNoneMatchGeneration();
+        final boolean modelRead = knownGeneration != null && directRead && directReadExecutor.isModelRead(operation, modelSnapshot);
+        if (modelRead && knownGeneration == modelSnapshot.getGeneration()
+                && modelInstance.equals(headers.getIfNoneMatchInstance())) {
+            responseNode.get(OUTCOME).set(SUCCESS);
+            responseNode.get(RESPONSE_HEADERS, NOT_MODIFIED).set(true);
+            responseNode.get(RESPONSE_HEADERS, MODEL_GENERATION).set(knownGeneration);
+            responseNode.get(RESPONSE_HEADERS, MODEL_INSTANCE).set(modelInstance);
+            return OperationResponse.Factory.createSimple(responseNode);
+        }
+        final boolean reportGeneration = headers.isIncludeModelGeneration() || modelRead;
+
+        if (directRead) {
+            final ModelNode directResponse = directReadExecutor.execute(operation, modelSnapshot);
+            if (directResponse != null) {
+                if (reportGeneration) {
+                    directResponse.get(RESPONSE_HEADERS, MODEL_GENERATION).set(modelSnapshot.getGeneration());
+                    directResponse.get(RESPONSE_HEADERS, MODEL_INSTANCE).set(modelInstance);
+                }
+                return OperationResponse.Factory.createSimple(directResponse);
+            }
+        }
+
         for (;;) {
             responseStreams = null;
             // Create a random operation-id
@@ -442,6 +498,10 @@ class ModelControllerImpl implements ModelController {
                                 break;
                         }
                     }
+                    if (reportGeneration) {
+                        responseNode.get(RESPONSE_HEADERS, MODEL_GENERATION).set(modelSnapshot.getGeneration());
+                        responseNode.get(RESPONSE_HEADERS, MODEL_INSTANCE).set(modelInstance);
+                    }
 
                     if (shouldUnlock) {
                         controllerLock.unlock(operationID);
@@ -680,6 +740,18 @@ class ModelControllerImpl implements ModelController {
         return managementModel.get();
     }
 
+    /**
+     * Gets an immutable view of the most recently published model. Unlike {@link #getManagementModel()}, whose
+     * root resource always reflects whichever model is current, the view keeps exposing the resource tree and
+     * generation it was published with, so a reader can use it for the duration of an operation without
+     * taking the controller lock.
+     *
+     * @return the published model. Will not be {@code null}
+     */
+    ManagementModel getModelSnapshot() {
+        return managementModel.get().snapshot;
+    }
+
     Resource.ResourceEntry getModelControllerResource() {
         return modelControllerResource;
     }
@@ -1000,6 +1072,19 @@ class ModelControllerImpl implements ModelController {
             super(SERVICE, MANAGEMENT_OPERATIONS);
         }
 
+        @Override
+        public ModelNode getModel() {
+            final ModelNode model = new ModelNode();
+            model.get(PENDING_NOTIFICATIONS).set(notificationSupport.getPendingNotificationCount());
+            model.get(DISCARDED_NOTIFICATIONS).set(notificationSupport.getDiscardedNotificationCount());
+            return model;
+        }
+
+        @Override
+        public boolean isModelDefined() {
+            return true;
+        }
+
         @Override
         public boolean hasChild(PathElement element) {
             try {
@@ -1087,6 +1172,10 @@ class ModelControllerImpl implements ModelController {
         private final CapabilityRegistry capabilityRegistry;
 
         private volatile boolean published;
+        // The generation we were published with or, until then, the generation of the model we were cloned from
+        private volatile long generation = -1;
+        // What getModelSnapshot exposes once we are published
+        private volatile ManagementModel snapshot;
 
         ManagementModelImpl(final ManagementResourceRegistration resourceRegistration,
                             final Resource rootResource,
@@ -1143,6 +1232,12 @@ class ModelControllerImpl implements ModelController {
             return capabilityRegistry;
         }
 
+        @Override
+        public long getGeneration() {
+            // Consistent with getRootResource(), once published we report on whatever is current
+            return published ? ModelControllerImpl.this.managementModel.get().generation : generation;
+        }
+
         /**
          * Creates a new {@code ManagementModelImpl} that uses a clone of this one's root {@link ManagementResourceRegistration}.
          * The caller can safely modify that {@code ManagementResourceRegistration} without changes being exposed
@@ -1203,6 +1298,7 @@ class ModelControllerImpl implements ModelController {
             }
             Resource clone = currentResource.clone();
             ManagementModelImpl result = new ManagementModelImpl(mrr, clone, currentCaps);
+            result.generation = getGeneration();
             ControllerLogger.MGMT_OP_LOGGER.tracef("cloned to %s to create %s and %s", currentResource, clone, result);
             return result;
         }
@@ -1226,6 +1322,8 @@ class ModelControllerImpl implements ModelController {
             }
         }
         private void publish() {
+            generation = modelGeneration.incrementAndGet();
+            snapshot = new ModelSnapshot(resourceRegistration, rootResource, capabilityRegistry, generation);
             ModelControllerImpl.this.managementModel.set(this);
             published = true;
             ControllerLogger.MGMT_OP_LOGGER.tracef("published %s", this);
@@ -1243,6 +1341,45 @@ class ModelControllerImpl implements ModelController {
         }
     }
 
+    /**
+     * A published {@link ManagementModel} that, unlike {@link ManagementModelImpl}, does not follow later publications.
+     */
+    private static final class ModelSnapshot implements ManagementModel {
+
+        private final ManagementResourceRegistration resourceRegistration;
+        private final Resource rootResource;
+        private final RuntimeCapabilityRegistry capabilityRegistry;
+        private final long generation;
+
+        private ModelSnapshot(ManagementResourceRegistration resourceRegistration, Resource rootResource,
+                              RuntimeCapabilityRegistry capabilityRegistry, long generation) {
+            this.resourceRegistration = resourceRegistration;
+            this.rootResource = rootResource;
+            this.capabilityRegistry = capabilityRegistry;
+            this.generation = generation;
+        }
+
+        @Override
+        public ManagementResourceRegistration getRootResourceRegistration() {
+            return resourceRegistration;
+        }
+
+        @Override
+        public Resource getRootResource() {
+            return rootResource;
+        }
+
+        @Override
+        public RuntimeCapabilityRegistry getCapabilityRegistry() {
+            return capabilityRegistry;
+        }
+
+        @Override
+        public long getGeneration() {
+            return generation;
+        }
+    }
+
     private static class OperationResponseImpl implements OperationResponse {
 
         private final ModelNode simpleResponse;
@@ -637,6 +637,17 @@ public interface OperationContext extends ExpressionResolver {
      */
     boolean isModelAffected();
 
+    /**
+     * Gets the {@link ManagementModel#getGeneration() generation} of the model this operation reads, as long as
+     * the operation has not modified it. Reads made while the generation stays the same see the same model, so
+     * the generation can be used to share data derived from the model between operations.
+     *
+     * @return the generation, or {@code -1} if it is not known or the model was affected by this operation
+     */
+    default long getModelGeneration() {
+        return -1;
+    }
+
     /**
      * Determine whether the {@link ManagementResourceRegistration management resource registry} has thus far been affected by this operation.
      *
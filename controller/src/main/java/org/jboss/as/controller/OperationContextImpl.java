@@ -1141,6 +1141,12 @@ final class OperationContextImpl extends AbstractOperationContext {
         return affectsResourceTree;
     }
 
+    @Override
+    public long getModelGeneration() {
+        // Once modified, our model is no longer the published one the generation refers to
+        return affectsResourceTree ? -1 : managementModel.getGeneration();
+    }
+
     @Override
     public boolean isRuntimeAffected() {
         return affectsRuntime;
@@ -22,6 +22,9 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.BLO
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.DOMAIN_UUID;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.FAILED;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.FAILURE_DESCRIPTION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.IF_NONE_MATCH_GENERATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.IF_NONE_MATCH_INSTANCE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.INCLUDE_MODEL_GENERATION;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OPERATION_HEADERS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OUTCOME;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ROLLBACK_ON_RUNTIME_FAILURE;
@@ -58,7 +61,20 @@ final class OperationHeaders {
             .setRequired(false)
             .build();
 
-    private static final OperationHeaders INTERNAL = new OperationHeaders(EnumSet.noneOf(OperationContextImpl.ContextFlag.class), null, null, null, null);
+    private static final AttributeDefinition GENERATION = SimpleAttributeDefinitionBuilder.create(INCLUDE_MODEL_GENERATION, ModelType.BOOLEAN)
+            .setRequired(false)
+            .setDefaultValue(new ModelNode(false))
+            .build();
+
+    private static final AttributeDefinition KNOWN_GENERATION = SimpleAttributeDefinitionBuilder.create(IF_NONE_MATCH_GENERATION, ModelType.LONG)
+            .setRequired(false)
+            .build();
+
+    private static final AttributeDefinition KNOWN_INSTANCE = SimpleAttributeDefinitionBuilder.create(IF_NONE_MATCH_INSTANCE, ModelType.STRING)
+            .setRequired(false)
+            .build();
+
+    private static final OperationHeaders INTERNAL = new OperationHeaders(EnumSet.noneOf(OperationContextImpl.ContextFlag.class), null, null, null, null, false, null, null);
 
     /**
      * Gets a headers object for use by internal calls where the caller knows there will be none of the
@@ -76,6 +92,9 @@ final class OperationHeaders {
         String warningLevel = null;
         String domainUUID = null;
         AccessMechanism accessMechanism = null;
+        boolean includeModelGeneration = false;
+        Long ifNoneMatchGeneration = null;
+        String ifNoneMatchInstance = null;
         if (operation.hasDefined(OPERATION_HEADERS)) {
             final ModelNode headers = operation.get(OPERATION_HEADERS).clone();
 
@@ -100,18 +119,24 @@ final class OperationHeaders {
             warningLevel = headers.hasDefined(WARNING_LEVEL) ? headers.get(WARNING_LEVEL).asString() : null;
             domainUUID = headers.hasDefined(DOMAIN_UUID) ? headers.get(DOMAIN_UUID).asString() : null;
             accessMechanism = headers.hasDefined(ACCESS_MECHANISM) ? AccessMechanism.valueOf(headers.get(ACCESS_MECHANISM).asString()) : null;
+            includeModelGeneration = GENERATION.resolveModelAttribute(ExpressionResolver.REJECTING, headers).asBoolean();
+            final ModelNode knownGeneration = KNOWN_GENERATION.resolveModelAttribute(ExpressionResolver.REJECTING, headers);
+            ifNoneMatchGeneration = knownGeneration.isDefined() ? knownGeneration.asLong() : null;
+            final ModelNode knownInstance = KNOWN_INSTANCE.resolveModelAttribute(ExpressionResolver.REJECTING, headers);
+            ifNoneMatchInstance = knownInstance.isDefined() ? knownInstance.asString() : null;
         } else {
             contextFlags = EnumSet.of(AbstractOperationContext.ContextFlag.ROLLBACK_ON_FAIL);
         }
 
-        return new OperationHeaders(contextFlags, blockingTimeout, warningLevel, domainUUID, accessMechanism);
+        return new OperationHeaders(contextFlags, blockingTimeout, warningLevel, domainUUID, accessMechanism, includeModelGeneration,
+                ifNoneMatchGeneration, ifNoneMatchInstance);
     }
 
     static OperationHeaders forBoot(boolean rollbackOnRuntimeFailure) {
         EnumSet<OperationContextImpl.ContextFlag> contextFlags = rollbackOnRuntimeFailure
                 ? EnumSet.of(AbstractOperationContext.ContextFlag.ROLLBACK_ON_FAIL)
                 : EnumSet.noneOf(OperationContextImpl.ContextFlag.class);
-        return new OperationHeaders(contextFlags, null, null, null, null);
+        return new OperationHeaders(contextFlags, null, null, null, null, false, null, null);
     }
 
     static OperationResponse fromFailure(OperationFailedException ofe) {
@@ -126,14 +151,21 @@ final class OperationHeaders {
     private final String warningLevel;
     private final String domainUUID;
     private final AccessMechanism accessMechanism;
+    private final boolean includeModelGeneration;
+    private final Long ifNoneMatchGeneration;
+    private final String ifNoneMatchInstance;
 
     private OperationHeaders(EnumSet<AbstractOperationContext.ContextFlag> contextFlags, Integer blockingTimeout,
-                             String warningLevel, String domainUUID, AccessMechanism accessMechanism) {
+                             String warningLevel, String domainUUID, AccessMechanism accessMechanism,
+                             boolean includeModelGeneration, Long ifNoneMatchGeneration, String ifNoneMatchInstance) {
         this.contextFlags = contextFlags;
         this.blockingTimeout = blockingTimeout;
         this.warningLevel = warningLevel;
         this.domainUUID = domainUUID;
         this.accessMechanism = accessMechanism;
+        this.includeModelGeneration = includeModelGeneration;
+        this.ifNoneMatchGeneration = ifNoneMatchGeneration;
+        this.ifNoneMatchInstance = ifNoneMatchInstance;
     }
 
     EnumSet<AbstractOperationContext.ContextFlag> getContextFlags() {
@@ -155,4 +187,16 @@ final class OperationHeaders {
     AccessMechanism getAccessMechanism() {
         return  accessMechanism;
     }
+
+    boolean isIncludeModelGeneration() {
+        return includeModelGeneration;
+    }
+
+    Long getIfNoneMatchGeneration() {
+        return ifNoneMatchGeneration;
+    }
+
+    String getIfNoneMatchInstance() {
+        return ifNoneMatchInstance;
+    }
 }
@@ -25,9 +25,13 @@ package org.jboss.as.controller;
 import static org.jboss.as.controller.logging.ControllerLogger.MGMT_OP_LOGGER;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
@@ -44,11 +48,23 @@ import org.wildfly.security.auth.server.SecurityRealm;
 
 /**
  * Special handler that executes subsystem boot operations in parallel.
+ * <p>
+ * The operations of each subsystem are executed by their own task. In the runtime stage, the operations of the
+ * children of a subsystem whose type is
+ * {@link ImmutableManagementResourceRegistration#getParallelBootChildTypes() declared as independent} are executed
+ * by a task per child, once the tasks of all subsystems have prepared. The time taken by each stage and its slowest
+ * tasks are logged at info level, and the time taken by every task at debug level. Operations on other resources,
+ * deployments included, are not handled here; they are executed serially after the subsystem operations, in the order
+ * of the boot operations. Deployments are not worth booting in parallel: the add operation of a deployment only
+ * installs the services that deploy it, which then run concurrently, and the operations around it in the
+ * configuration, such as those of deployment overlays, rely on being executed in order with it.
  *
  * @author Brian Stansberry (c) 2011 Red Hat Inc.
  */
 public class ParallelBootOperationStepHandler implements OperationStepHandler {
 
+    private static final int SLOWEST_TASKS_LOGGED = 5;
+
     private final Executor executor;
     private final ImmutableManagementResourceRegistration rootRegistration;
     private final ControlledProcessState processState;
@@ -102,6 +118,38 @@ public class ParallelBootOperationStepHandler implements OperationStepHandler {
         return key;
     }
 
+    /**
+     * Splits the runtime operations of the subsystems with independent child types into a task per child.
+     */
+    private Map<String, List<ParsedBootOp>> getRuntimeTasks(final Map<String, List<ParsedBootOp>> runtimeOpsBySubsystem) {
+        final Map<String, List<ParsedBootOp>> runtimeOpsByTask = new LinkedHashMap<String, List<ParsedBootOp>>();
+        for (Map.Entry<String, List<ParsedBootOp>> entry : runtimeOpsBySubsystem.entrySet()) {
+            final String subsystemName = entry.getKey();
+            final Set<String> childTypes = getParallelBootChildTypes(subsystemName);
+            final List<ParsedBootOp> subsystemOps = new ArrayList<ParsedBootOp>();
+            runtimeOpsByTask.put(subsystemName, subsystemOps);
+            for (ParsedBootOp op : entry.getValue()) {
+                final PathElement child = op.address.size() > 1 ? op.address.getElement(1) : null;
+                if (child != null && childTypes.contains(child.getKey())) {
+                    runtimeOpsByTask.computeIfAbsent(subsystemName + '/' + child.getKey() + '=' + child.getValue(), name -> new ArrayList<ParsedBootOp>()).add(op);
+                } else {
+                    subsystemOps.add(op);
+                }
+            }
+        }
+        return runtimeOpsByTask;
+    }
+
+    private Set<String> getParallelBootChildTypes(final String subsystemName) {
+        final ImmutableManagementResourceRegistration registration = rootRegistration.getSubModel(
+                PathAddress.pathAddress(ModelDescriptionConstants.SUBSYSTEM, subsystemName));
+        return registration != null ? registration.getParallelBootChildTypes() : Collections.<String>emptySet();
+    }
+
+    private static boolean isChildTask(final String taskName) {
+        return taskName.indexOf('/') >= 0;
+    }
+
     @Override
     public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
 
@@ -155,6 +203,7 @@ public class ParallelBootOperationStepHandler implements OperationStepHandler {
         // Wait for all subsystem ops to complete
         try {
             preparedLatch.await();
+            logTaskTimings(transactionControls, OperationContext.Stage.MODEL, start);
 
             // See if all subsystems succeeded; if not report a failure to context
             checkForSubsystemFailures(context, transactionControls, OperationContext.Stage.MODEL);
@@ -248,6 +297,31 @@ public class ParallelBootOperationStepHandler implements OperationStepHandler {
         }
     }
 
+    private void logTaskTimings(final Map<String, ParallelBootTransactionControl> transactionControls, final OperationContext.Stage stage,
+                                final long start) {
+        if (transactionControls.isEmpty()) {
+            return;
+        }
+        final List<Map.Entry<String, ParallelBootTransactionControl>> tasks = new ArrayList<Map.Entry<String, ParallelBootTransactionControl>>(transactionControls.entrySet());
+        tasks.sort(Comparator.comparingLong((Map.Entry<String, ParallelBootTransactionControl> task) -> task.getValue().elapsedTime).reversed());
+        final StringBuilder slowest = new StringBuilder();
+        for (int i = 0; i < Math.min(SLOWEST_TASKS_LOGGED, tasks.size()); i++) {
+            if (i > 0) {
+                slowest.append(", ");
+            }
+            slowest.append(tasks.get(i).getKey()).append(" (")
+                    .append(TimeUnit.NANOSECONDS.toMillis(tasks.get(i).getValue().elapsedTime)).append(" ms)");
+        }
+        MGMT_OP_LOGGER.parallelBootTaskTimings(stage, tasks.size(), System.currentTimeMillis() - start, slowest.toString());
+        if (MGMT_OP_LOGGER.isDebugEnabled()) {
+            for (Map.Entry<String, ParallelBootTransactionControl> task : tasks) {
+                final ParallelBootTransactionControl txControl = task.getValue();
+                MGMT_OP_LOGGER.debugf("Stage %s boot operations for %s ran in [%d] ms after waiting [%d] ms", stage, task.getKey(),
+                        TimeUnit.NANOSECONDS.toMillis(txControl.elapsedTime), TimeUnit.NANOSECONDS.toMillis(txControl.queueTime));
+            }
+        }
+    }
+
     private void notifySubsystemTransactions(final Map<String, ParallelBootTransactionControl> transactionControls,
                                              final boolean rollback,
                                              final CountDownLatch committedLatch,
@@ -284,14 +358,27 @@ public class ParallelBootOperationStepHandler implements OperationStepHandler {
                 context.getServiceRegistry(true);
 
                 final Map<String, ParallelBootTransactionControl> transactionControls = new LinkedHashMap<String, ParallelBootTransactionControl>();
-
-                final CountDownLatch preparedLatch = new CountDownLatch(runtimeOpsBySubsystem.size());
+                final Map<String, List<ParsedBootOp>> runtimeOpsByTask = getRuntimeTasks(runtimeOpsBySubsystem);
+
+                // The children of a subsystem may depend on what the operations of the subsystem itself installed,
+                // so the tasks for the children are only started once all the subsystem tasks have prepared
+                int childTaskCount = 0;
+                for (String taskName : runtimeOpsByTask.keySet()) {
+                    if (isChildTask(taskName)) {
+                        childTaskCount++;
+                    }
+                }
+                final CountDownLatch subsystemsPreparedLatch = new CountDownLatch(runtimeOpsByTask.size() - childTaskCount);
+                final CountDownLatch childrenPreparedLatch = new CountDownLatch(childTaskCount);
                 final CountDownLatch committedLatch = new CountDownLatch(1);
-                final CountDownLatch completeLatch = new CountDownLatch(runtimeOpsBySubsystem.size());
+                final CountDownLatch completeLatch = new CountDownLatch(runtimeOpsByTask.size());
 
-                for (Map.Entry<String, List<ParsedBootOp>> entry : runtimeOpsBySubsystem.entrySet()) {
+                final List<ParallelBootTask> childTasks = new ArrayList<ParallelBootTask>();
+                for (Map.Entry<String, List<ParsedBootOp>> entry : runtimeOpsByTask.entrySet()) {
                     String subsystemName = entry.getKey();
-                    final ParallelBootTransactionControl txControl = new ParallelBootTransactionControl(preparedLatch, committedLatch, completeLatch);
+                    final boolean childTask = isChildTask(subsystemName);
+                    final ParallelBootTransactionControl txControl = new ParallelBootTransactionControl(
+                            childTask ? childrenPreparedLatch : subsystemsPreparedLatch, committedLatch, completeLatch);
                     transactionControls.put(subsystemName, txControl);
 
                     // Execute the subsystem's ops in another thread
@@ -300,12 +387,25 @@ public class ParallelBootOperationStepHandler implements OperationStepHandler {
                         ? null
                         : createOperationContext(primaryContext, bootSecurityDomain, txControl, null);
                     ParallelBootTask subsystemTask = new ParallelBootTask(subsystemName, bootOps, OperationContext.Stage.RUNTIME, txControl, pboc);
-                    executor.execute(subsystemTask);
+                    if (childTask) {
+                        childTasks.add(subsystemTask);
+                    } else {
+                        executor.execute(subsystemTask);
+                    }
                 }
 
                 // Wait for all subsystem ops to complete
                 try {
-                    preparedLatch.await();
+                    try {
+                        subsystemsPreparedLatch.await();
+                    } finally {
+                        // every task must run for the complete latch to be released
+                        for (ParallelBootTask childTask : childTasks) {
+                            executor.execute(childTask);
+                        }
+                    }
+                    childrenPreparedLatch.await();
+                    logTaskTimings(transactionControls, OperationContext.Stage.RUNTIME, start);
 
                     // See if all subsystems succeeded; if not report a failure to context
                     checkForSubsystemFailures(context, transactionControls, OperationContext.Stage.RUNTIME);
@@ -364,6 +464,7 @@ public class ParallelBootOperationStepHandler implements OperationStepHandler {
 
         @Override
         public void run() {
+            transactionControl.started();
             try {
 
                 if (pboc == null) {
@@ -424,9 +525,14 @@ public class ParallelBootOperationStepHandler implements OperationStepHandler {
         private final CountDownLatch preparedLatch;
         private final CountDownLatch committedLatch;
         private final CountDownLatch completeLatch;
+        private final long createdTime = System.nanoTime();
         private OperationResponse response;
         private ModelController.OperationTransaction transaction;
         private boolean signalled;
+        // written by the task before it counts down the prepared latch
+        private long startTime;
+        private long queueTime;
+        private long elapsedTime;
 
         ParallelBootTransactionControl(CountDownLatch preparedLatch, CountDownLatch committedLatch, CountDownLatch completeLatch) {
             this.preparedLatch = preparedLatch;
@@ -434,9 +540,15 @@ public class ParallelBootOperationStepHandler implements OperationStepHandler {
             this.completeLatch = completeLatch;
         }
 
+        void started() {
+            startTime = System.nanoTime();
+            queueTime = startTime - createdTime;
+        }
+
         @Override
         public void operationFailed(ModelNode response) {
             if (!signalled) {
+                elapsedTime = System.nanoTime() - startTime;
                 this.response = OperationResponse.Factory.createSimple(response);
                 preparedLatch.countDown();
                 completeLatch.countDown();
@@ -447,6 +559,7 @@ public class ParallelBootOperationStepHandler implements OperationStepHandler {
         @Override
         public void operationPrepared(ModelController.OperationTransaction transaction, ModelNode result) {
             if (!signalled) {
+                elapsedTime = System.nanoTime() - startTime;
                 this.transaction = transaction;
                 preparedLatch.countDown();
                 signalled = true;
@@ -149,6 +149,7 @@ public class ModelDescriptionConstants {
     public static final String DISABLED_TIME = "disabled-time";
     public static final String DISABLED_TIMESTAMP = "disabled-timestamp";
     public static final String DISABLED_DUE_TO_FAILURE = "disabled-due-to-failure";
+    public static final String DISCARDED_NOTIFICATIONS = "discarded-notifications";
     public static final String DISCOVERY_OPTION = "discovery-option";
     public static final String DISCOVERY_OPTIONS = "discovery-options";
     public static final String DOMAIN = "domain";
@@ -234,6 +235,8 @@ public class ModelDescriptionConstants {
     public static final String HTTP_UPGRADE_ENABLED = "http-upgrade-enabled";
     public static final String HTTP_INTERFACE = "http-interface";
     public static final String IDENTITY = "identity";
+    public static final String IF_NONE_MATCH_GENERATION = "if-none-match-generation";
+    public static final String IF_NONE_MATCH_INSTANCE = "if-none-match-instance";
     public static final String IGNORED = "ignored-by-unaffected-host-controller";
     public static final String IGNORED_RESOURCES = "ignored-resources";
     public static final String IGNORED_RESOURCE_TYPE = "ignored-resource-type";
@@ -246,6 +249,7 @@ public class ModelDescriptionConstants {
     public static final String INCLUDE_ALIASES = "include-aliases";
     public static final String INCLUDE_DATE = "include-date";
     public static final String INCLUDE_DEFAULTS = "include-defaults";
+    public static final String INCLUDE_MODEL_GENERATION = "include-model-generation";
     public static final String INCLUDE_RUNTIME = "include-runtime";
     public static final String INCLUDE_SINGLETONS = "include-singletons";
     public static final String INET_ADDRESS = "inet-address";
@@ -304,6 +308,8 @@ public class ModelDescriptionConstants {
     public static final String MIN_OCCURS = "min-occurs";
     public static final String MISSING_TRANSITIVE_DEPENDENCY_PROBLEMS = "missing-transitive-dependency-problems";
     public static final String MODEL_DESCRIPTION = "model-description";
+    public static final String MODEL_GENERATION = "model-generation";
+    public static final String MODEL_INSTANCE = "model-instance";
     public static final String MODULE = "module";
     public static final String MODULE_LOADING = "module-loading";
     public static final String MULTICAST_ADDRESS = "multicast-address";
@@ -320,6 +326,7 @@ public class ModelDescriptionConstants {
     public static final String NIL_SIGNIFICANT = "nil-significant";
     public static final String NO_SERVICES = "no-services";
     public static final String NOT = "not";
+    public static final String NOT_MODIFIED = "not-modified";
     public static final String NOTIFICATION = "notification";
     public static final String NOTIFICATION_DATA_TYPE = "data-type";
     public static final String NOTIFICATION_TYPE = "notification-type";
@@ -345,6 +352,7 @@ public class ModelDescriptionConstants {
     public static final String PASSWORD = "password";
     public static final String PATH = "path";
     public static final String PATHS = "paths";
+    public static final String PENDING_NOTIFICATIONS = "pending-notifications";
     public static final String PERIODIC_ROTATING_FILE_HANDLER = "periodic-rotating-file-handler";
     public static final String PERMISSION_COMBINATION_POLICY = "permission-combination-policy";
     public static final String PERSIST_NAME = "persist-name";
@@ -504,6 +512,7 @@ public class ModelDescriptionConstants {
     public static final String STANDARD_ROLE_NAMES = "standard-role-names";
     public static final String START = "start";
     public static final String START_MODE = "start-mode";
+    public static final String START_PRIORITY = "start-priority";
     public static final String START_SERVERS = "start-servers";
     public static final String STATIC_DISCOVERY = "static-discovery";
     public static final String STATISTICS_ENABLED = "statistics-enabled";
@@ -58,6 +58,8 @@ import org.jboss.as.controller.capability.registry.RegistrationPoint;
 import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
 import org.jboss.as.controller.interfaces.InterfaceCriteria;
 import org.jboss.as.controller.notification.Notification;
+import org.jboss.as.controller.notification.NotificationHandler;
+import org.jboss.as.controller.notification.NotificationSupport;
 import org.jboss.as.controller.parsing.Element;
 import org.jboss.as.controller.persistence.ConfigurationPersistenceException;
 import org.jboss.as.controller.registry.OperationEntry;
@@ -3520,4 +3522,66 @@ public interface ControllerLogger extends BasicLogger {
     @Message(id = 448, value = "%s additional services are down due to their dependencies being missing or failed")
     String servicesWithTransitiveUnavailability(int count);
 
+    /**
+     * Creates an exception indicating a model node was written with a compact encoding version this process does not support.
+     *
+     * @param version the version of the encoding
+     *
+     * @return an {@link IOException} for the error.
+     */
+    @Message(id = 449, value = "Unsupported model encoding version %d")
+    IOException unsupportedModelEncodingVersion(int version);
+
+    /**
+     * Creates an exception indicating an unknown value type was read from a compactly encoded model node.
+     *
+     * @param type the type found
+     *
+     * @return an {@link IOException} for the error.
+     */
+    @Message(id = 450, value = "Invalid model encoding, unknown value type %d")
+    IOException invalidModelEncodingType(int type);
+
+    /**
+     * Logs a warning message indicating the delivery queue of a notification handler is full.
+     *
+     * @param handler  the notification handler
+     * @param capacity the capacity of its queue
+     * @param policy   the overflow policy
+     */
+    @LogMessage(level = WARN)
+    @Message(id = 451, value = "Notification handler %s is not keeping up, its queue of %d notifications is full. Notifications will be discarded (%s)")
+    void notificationHandlerQueueFull(NotificationHandler handler, int capacity, NotificationSupport.OverflowPolicy policy);
+
+    /**
+     * Creates an exception indicating a variable length integer read from a compactly encoded model node does not
+     * end within 64 bits.
+     *
+     * @return an {@link IOException} for the error.
+     */
+    @Message(id = 452, value = "Invalid model encoding, variable length integer is longer than 64 bits")
+    IOException invalidModelEncodingVarLong();
+
+    /**
+     * Creates an exception indicating a negative chunk length was read from a compactly encoded model node.
+     *
+     * @param length the length found
+     *
+     * @return an {@link IOException} for the error.
+     */
+    @Message(id = 453, value = "Invalid model encoding, negative chunk length %d")
+    IOException invalidModelEncodingChunkLength(int length);
+
+    /**
+     * Logs an informational message summarizing the parallel execution of a stage of the boot operations.
+     *
+     * @param stage   the stage of the boot operations
+     * @param tasks   the number of parallel tasks
+     * @param elapsed the time taken by the stage, in milliseconds
+     * @param slowest the slowest tasks and their times
+     */
+    @LogMessage(level = INFO)
+    @Message(id = 454, value = "%s stage boot operations ran in %d parallel tasks in %d ms, the slowest were %s")
+    void parallelBootTaskTimings(OperationContext.Stage stage, int tasks, long elapsed, String slowest);
+
 }
@@ -22,6 +22,11 @@
 
 package org.jboss.as.controller.notification;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
 /**
  * A filter to let {@link NotificationHandler} filters out notifications they are not interested to handle.
  *
@@ -31,10 +36,41 @@ public interface NotificationFilter {
 
     boolean isNotificationEnabled(Notification notification);
 
+    /**
+     * Get the types of the notifications this filter can enable. The notification registry indexes handlers by these
+     * types and only calls {@link #isNotificationEnabled(Notification)} for notifications of one of them.
+     *
+     * @return the notification types, or {@code null} if notifications of any type can be enabled
+     */
+    default Set<String> getNotificationTypes() {
+        return null;
+    }
+
     NotificationFilter ALL = new NotificationFilter() {
         @Override
         public boolean isNotificationEnabled(Notification notification) {
             return true;
         }
     };
+
+    /**
+     * Create a filter that enables the notifications of the given types.
+     *
+     * @param types the notification types
+     * @return the filter
+     */
+    static NotificationFilter forTypes(String... types) {
+        final Set<String> notificationTypes = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(types)));
+        return new NotificationFilter() {
+            @Override
+            public boolean isNotificationEnabled(Notification notification) {
+                return notificationTypes.contains(notification.getType());
+            }
+
+            @Override
+            public Set<String> getNotificationTypes() {
+                return notificationTypes;
+            }
+        };
+    }
 }
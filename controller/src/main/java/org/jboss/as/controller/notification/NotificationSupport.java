@@ -22,9 +22,11 @@
 
 package org.jboss.as.controller.notification;
 
+import java.util.Locale;
 import java.util.concurrent.ExecutorService;
 
 import org.jboss.as.controller.registry.NotificationHandlerRegistration;
+import org.wildfly.security.manager.WildFlySecurityManager;
 
 /**
  * The NotificationSupport can be used to emit notifications.
@@ -45,22 +47,102 @@ public interface NotificationSupport {
      */
     void emit(final Notification... notifications);
 
+    /**
+     * Get the number of notifications emitted but not yet delivered to their handlers.
+     *
+     * @return the number of pending notifications, always {@code 0} if notifications are delivered synchronously
+     */
+    default int getPendingNotificationCount() {
+        return 0;
+    }
+
+    /**
+     * Get the number of notifications that were not delivered to a handler because its queue was full.
+     * A notification discarded for several handlers is counted once per handler.
+     *
+     * @return the number of discarded notifications, always {@code 0} if notifications are delivered synchronously
+     */
+    default long getDiscardedNotificationCount() {
+        return 0;
+    }
+
+    /**
+     * What to do with a notification for a handler whose delivery queue is full.
+     */
+    enum OverflowPolicy {
+        /**
+         * Discard the notification being delivered.
+         */
+        DISCARD_NEWEST,
+        /**
+         * Discard the oldest notification waiting in the queue to make room for the one being delivered.
+         */
+        DISCARD_OLDEST,
+    }
+
     class Factory {
+
+        /**
+         * System property to set the maximum number of notifications waiting to be delivered to a single handler.
+         */
+        public static final String QUEUE_CAPACITY_PROPERTY = "jboss.as.management.notification.queue-capacity";
+        /**
+         * System property to set the {@link OverflowPolicy} applied when the queue of a handler is full.
+         */
+        public static final String OVERFLOW_POLICY_PROPERTY = "jboss.as.management.notification.overflow-policy";
+
+        public static final int DEFAULT_QUEUE_CAPACITY = 10_000;
+        public static final OverflowPolicy DEFAULT_OVERFLOW_POLICY = OverflowPolicy.DISCARD_NEWEST;
+
         private Factory() {
         }
 
         /**
          * If the {@code executorService} parameter is null, the notifications will be emitted synchronously
          * and may be subject to handlers blocking the execution.
+         * Otherwise each handler has its own queue of notifications, whose capacity and overflow policy are read from
+         * the {@link #QUEUE_CAPACITY_PROPERTY} and {@link #OVERFLOW_POLICY_PROPERTY} system properties.
          *
          * @param executorService can be {@code null}.
          */
         public static NotificationSupport create(ExecutorService executorService) {
+            int queueCapacity = DEFAULT_QUEUE_CAPACITY;
+            OverflowPolicy overflowPolicy = DEFAULT_OVERFLOW_POLICY;
+            String capacity = WildFlySecurityManager.getPropertyPrivileged(QUEUE_CAPACITY_PROPERTY, null);
+            if (capacity != null) {
+                try {
+                    queueCapacity = Integer.parseInt(capacity.trim());
+                } catch (NumberFormatException ignored) {
+                    // keep the default
+                }
+            }
+            String policy = WildFlySecurityManager.getPropertyPrivileged(OVERFLOW_POLICY_PROPERTY, null);
+            if (policy != null) {
+                try {
+                    overflowPolicy = OverflowPolicy.valueOf(policy.trim().toUpperCase(Locale.ENGLISH).replace('-', '_'));
+                } catch (IllegalArgumentException ignored) {
+                    // keep the default
+                }
+            }
+            return create(executorService, queueCapacity > 0 ? queueCapacity : DEFAULT_QUEUE_CAPACITY, overflowPolicy);
+        }
+
+        /**
+         * If the {@code executorService} parameter is null, the notifications will be emitted synchronously
+         * and may be subject to handlers blocking the execution.
+         * Otherwise the notifications are delivered to each handler in order from its own queue, so that a slow handler
+         * only delays its own notifications.
+         *
+         * @param executorService can be {@code null}.
+         * @param queueCapacity the maximum number of notifications waiting to be delivered to a single handler
+         * @param overflowPolicy what to do with a notification for a handler whose queue is full
+         */
+        public static NotificationSupport create(ExecutorService executorService, int queueCapacity, OverflowPolicy overflowPolicy) {
             NotificationHandlerRegistration registry = NotificationHandlerRegistration.Factory.create();
             if (executorService == null) {
                 return new NotificationSupports.BlockingNotificationSupport(registry);
             } else {
-                return new NotificationSupports.NonBlockingNotificationSupport(registry, executorService);
+                return new NotificationSupports.NonBlockingNotificationSupport(registry, executorService, queueCapacity, overflowPolicy);
             }
         }
     }
@@ -22,12 +22,17 @@
 
 package org.jboss.as.controller.notification;
 
-import java.util.Arrays;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.jboss.as.controller.logging.ControllerLogger;
 import org.jboss.as.controller.registry.NotificationHandlerRegistration;
@@ -41,6 +46,8 @@ import org.jboss.as.controller.registry.NotificationHandlerRegistration;
  * The {@code NonBlockingNotificationSupport} will fire the notifications in a separate thread (provided by its {@code
  *  executorService}.
  * Its {@code emit()} method will return immediately and will not block the code execution.
+ * Each handler has its own bounded queue of notifications, drained by a task of the {@code executorService}, so
+ * handlers receive their notifications in parallel and a slow handler does not delay the others.
  *
  * @author <a href="http://jmesnil.net/">Jeff Mesnil</a> (c) 2014 Red Hat inc.
  */
@@ -67,54 +74,201 @@ class NotificationSupports {
 
     static class NonBlockingNotificationSupport implements  NotificationSupport {
 
+        /**
+         * The maximum number of notifications a handler queue delivers before it gives its thread back to the executor.
+         */
+        private static final int MAX_DELIVERIES_PER_RUN = 64;
+
         private final NotificationHandlerRegistration registry;
         private final ExecutorService executor;
+        private final int queueCapacity;
+        private final OverflowPolicy overflowPolicy;
 
         /**
          * Use a concurrent queue to put the notifications in it when {@code emit()} is called.
-         * The queue will be drained in a separate thread and the notifications effectively delivered to the handlers.
+         * The queue will be drained in a separate thread, which hands each notification over to the queues of its
+         * matching handlers.
          *
-         * This ensures that the notifications will be delivered in the same order they were emitted.
+         * This ensures that the notifications will be delivered to each handler in the same order they were emitted.
          */
-        private final Queue<Notification> queue = new ConcurrentLinkedQueue<Notification>();
+        private final Queue<Notification[]> queue = new ConcurrentLinkedQueue<>();
 
         /**
-         * use the lock's exclusive writeLock to ensure only one thread can drain the queue at a given time.
+         * Whether a task draining the queue is scheduled, so that only one thread drains it at a given time.
          */
-        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private final AtomicBoolean dispatching = new AtomicBoolean();
+
+        /**
+         * The queues of the handlers with pending notifications. A queue is removed once it is drained.
+         */
+        private final ConcurrentMap<NotificationHandler, HandlerQueue> handlerQueues = new ConcurrentHashMap<>();
+
+        private final AtomicInteger pending = new AtomicInteger();
+        private final LongAdder discarded = new LongAdder();
 
-        public NonBlockingNotificationSupport(NotificationHandlerRegistration registry, ExecutorService executor) {
+        public NonBlockingNotificationSupport(NotificationHandlerRegistration registry, ExecutorService executor, int queueCapacity, OverflowPolicy overflowPolicy) {
             this.registry = registry;
             this.executor = executor;
+            this.queueCapacity = queueCapacity;
+            this.overflowPolicy = overflowPolicy;
         }
 
         @Override
-        public synchronized void emit(Notification... notifications) {
-            queue.addAll(Arrays.asList(notifications));
+        public void emit(Notification... notifications) {
+            queue.add(notifications);
+            scheduleDispatch();
+        }
 
-            executor.execute(new Runnable() {
-                @Override
-                public void run() {
-                    lock.writeLock().lock();
-                    try {
-                        while (true) {
-                            Notification notification = queue.poll();
-                            if (notification == null) {
-                                break;
+        private void scheduleDispatch() {
+            if (dispatching.compareAndSet(false, true)) {
+                try {
+                    executor.execute(this::dispatch);
+                } catch (RejectedExecutionException e) {
+                    dispatching.set(false);
+                    throw e;
+                }
+            }
+        }
+
+        private void dispatch() {
+            try {
+                Notification[] notifications;
+                while ((notifications = queue.poll()) != null) {
+                    for (Notification notification : notifications) {
+                        try {
+                            // each notification may have a different subset of handlers depending on their filters
+                            for (NotificationHandler handler : registry.findMatchingNotificationHandlers(notification)) {
+                                enqueue(handler, notification);
                             }
-                            fireNotifications(registry, notification);
+                        } catch (Throwable t) {
+                            ControllerLogger.ROOT_LOGGER.failedToEmitNotification(notification, t);
                         }
-                    } finally {
-                        lock.writeLock().unlock();
                     }
                 }
-            });
+            } finally {
+                dispatching.set(false);
+            }
+            // notifications emitted after the last poll but before the flag was cleared
+            if (!queue.isEmpty()) {
+                scheduleDispatch();
+            }
+        }
+
+        private void enqueue(NotificationHandler handler, Notification notification) {
+            while (true) {
+                HandlerQueue handlerQueue = handlerQueues.computeIfAbsent(handler, HandlerQueue::new);
+                if (handlerQueue.offer(notification)) {
+                    return;
+                }
+                // the queue was drained and retired in the meantime
+            }
+        }
+
+        @Override
+        public int getPendingNotificationCount() {
+            return pending.get();
+        }
+
+        @Override
+        public long getDiscardedNotificationCount() {
+            return discarded.sum();
         }
 
         @Override
         public NotificationHandlerRegistration getNotificationRegistry() {
             return registry;
         }
+
+        /**
+         * The notifications waiting to be delivered to a handler. At most one thread delivers them at a given time.
+         */
+        private class HandlerQueue implements Runnable {
+            private final NotificationHandler handler;
+            // guarded by this
+            private final Deque<Notification> notifications = new ArrayDeque<>();
+            private boolean scheduled;
+            private boolean retired;
+            private boolean overflowed;
+
+            HandlerQueue(NotificationHandler handler) {
+                this.handler = handler;
+            }
+
+            /**
+             * @return {@code false} if this queue has been retired and the notification must go to a new queue
+             */
+            boolean offer(Notification notification) {
+                synchronized (this) {
+                    if (retired) {
+                        return false;
+                    }
+                    if (notifications.size() >= queueCapacity) {
+                        discarded.increment();
+                        if (!overflowed) {
+                            overflowed = true;
+                            ControllerLogger.ROOT_LOGGER.notificationHandlerQueueFull(handler, queueCapacity, overflowPolicy);
+                        }
+                        if (overflowPolicy == OverflowPolicy.DISCARD_NEWEST) {
+                            return true;
+                        }
+                        notifications.poll();
+                        pending.decrementAndGet();
+                    }
+                    notifications.add(notification);
+                    pending.incrementAndGet();
+                    if (scheduled) {
+                        return true;
+                    }
+                    scheduled = true;
+                }
+                schedule();
+                return true;
+            }
+
+            private void schedule() {
+                try {
+                    executor.execute(this);
+                } catch (RejectedExecutionException e) {
+                    // the executor is shutting down, the pending notifications are lost
+                    synchronized (this) {
+                        ControllerLogger.ROOT_LOGGER.failedToEmitNotification(notifications.peek(), e);
+                        pending.addAndGet(-notifications.size());
+                        notifications.clear();
+                        retire();
+                    }
+                }
+            }
+
+            @Override
+            public void run() {
+                for (int i = 0; i < MAX_DELIVERIES_PER_RUN; i++) {
+                    Notification notification;
+                    synchronized (this) {
+                        notification = notifications.poll();
+                        if (notification == null) {
+                            retire();
+                            return;
+                        }
+                    }
+                    try {
+                        handler.handleNotification(notification);
+                    } catch (Throwable t) {
+                        ControllerLogger.ROOT_LOGGER.failedToEmitNotification(notification, t);
+                    } finally {
+                        pending.decrementAndGet();
+                    }
+                }
+                // give the other handlers a chance before delivering the rest
+                schedule();
+            }
+
+            // must be called holding the lock
+            private void retire() {
+                retired = true;
+                scheduled = false;
+                handlerQueues.remove(handler, this);
+            }
+        }
     }
 
 
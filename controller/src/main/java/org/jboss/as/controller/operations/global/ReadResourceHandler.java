@@ -22,11 +22,14 @@
 
 package org.jboss.as.controller.operations.global;
 
+import static org.jboss.as.controller.access.Action.ActionEffect.ADDRESS;
+import static org.jboss.as.controller.access.Action.ActionEffect.READ_CONFIG;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ACCESS_CONTROL;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ATTRIBUTES;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.DEFAULT;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.FAILURE_DESCRIPTION;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OPERATION_HEADERS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_ATTRIBUTE_OPERATION;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_RESOURCE_OPERATION;
@@ -49,6 +52,7 @@ import java.util.Set;
 import java.util.TreeMap;
 
 import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.ExpressionResolver;
 import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationDefinition;
 import org.jboss.as.controller.OperationFailedException;
@@ -62,6 +66,7 @@ import org.jboss.as.controller.UnauthorizedException;
 import org.jboss.as.controller.access.Action;
 import org.jboss.as.controller.access.AuthorizationResult;
 import org.jboss.as.controller.access.ResourceNotAddressableException;
+import org.jboss.as.controller.descriptions.DefaultResourceDescriptionProvider;
 import org.jboss.as.controller.descriptions.DescriptionProvider;
 import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
 import org.jboss.as.controller.descriptions.common.ControllerResolver;
@@ -112,6 +117,8 @@ public class ReadResourceHandler extends GlobalOperationHandlers.AbstractMultiTa
 
     public static final OperationStepHandler RESOLVE_INSTANCE = new ReadResourceHandler(true);
 
+    private static final Set<Action.ActionEffect> ADDRESS_READ_CONFIG = EnumSet.of(ADDRESS, READ_CONFIG);
+
     private final ParametersValidator validator = new ParametersValidator() {
 
         @Override
@@ -251,6 +258,11 @@ public class ReadResourceHandler extends GlobalOperationHandlers.AbstractMultiTa
 
         // Get the model for this resource.
         final Resource resource = nullSafeReadResource(context, registry);
+        // Whether attributes without a read handler can be read here rather than in a read-attribute step
+        final boolean directAttributes = registry != null && !registry.isRemote() && getReadAttributeOverride(registry) == null;
+        // What we read directly must be authorized with the same headers, e.g. run-as roles, as the steps would be
+        final ModelNode headers = operation.hasDefined(OPERATION_HEADERS) ? operation.get(OPERATION_HEADERS).clone() : new ModelNode();
+        final ModelNode readAttributeOperation = createOperation(READ_ATTRIBUTE_OPERATION, address, headers);
 
         final Map<String, Set<String>> childrenByType = registry != null ? GlobalOperationHandlers.getChildAddresses(context, address, registry, resource, null) : Collections.<String, Set<String>>emptyMap();
         if (!attributesOnly) {
@@ -306,6 +318,14 @@ public class ReadResourceHandler extends GlobalOperationHandlers.AbstractMultiTa
                                 // not an override
                                 overrideHandler = null;
                             }
+                            if (overrideHandler == null) {
+                                // Avoid a step per resource and attribute if we can read the whole subtree here
+                                ModelNode childResult = readResourceDirectly(context, rrOp, headers, absoluteChildAddr, childReg);
+                                if (childResult != null) {
+                                    rrRsp.get(RESULT).set(childResult);
+                                    continue;
+                                }
+                            }
                             OperationStepHandler rrHandler = new ReadResourceHandler(localFilteredData, overrideHandler, resolvable);
 
                             context.addStep(rrRsp, rrOp, rrHandler, OperationContext.Stage.MODEL, true);
@@ -344,7 +364,16 @@ public class ReadResourceHandler extends GlobalOperationHandlers.AbstractMultiTa
 
                 AttributeDefinition ad = access.getAttributeDefinition();
                 AttributeDefinition.NameAndGroup nag = ad == null ? new AttributeDefinition.NameAndGroup(attributeName) : new AttributeDefinition.NameAndGroup(ad);
-                addReadAttributeStep(context, address, defaults, resolve, localFilteredData, registry, nag, responseMap);
+                ModelNode value = directAttributes
+                        ? readAttributeDirectly(context, readAttributeOperation, access, resource.getModel(), defaults, resolve)
+                        : null;
+                if (value != null) {
+                    ModelNode attrResponse = new ModelNode();
+                    attrResponse.get(RESULT).set(value);
+                    responseMap.put(nag, new GlobalOperationHandlers.AvailableResponse(attrResponse));
+                } else {
+                    addReadAttributeStep(context, address, defaults, resolve, localFilteredData, registry, nag, responseMap);
+                }
 
             }
         }
@@ -409,12 +438,7 @@ public class ReadResourceHandler extends GlobalOperationHandlers.AbstractMultiTa
                                       ImmutableManagementResourceRegistration registry,
                                       AttributeDefinition.NameAndGroup attributeKey, Map<AttributeDefinition.NameAndGroup, GlobalOperationHandlers.AvailableResponse> responseMap) {
         // See if there was an override registered for the standard :read-attribute handling (unlikely!!!)
-        OperationStepHandler overrideHandler = registry.getOperationHandler(PathAddress.EMPTY_ADDRESS, READ_ATTRIBUTE_OPERATION);
-        if (overrideHandler != null &&
-                (overrideHandler == ReadAttributeHandler.INSTANCE || overrideHandler == ReadAttributeHandler.RESOLVE_INSTANCE)) {
-            // not an override
-            overrideHandler = null;
-        }
+        OperationStepHandler overrideHandler = getReadAttributeOverride(registry);
 
         OperationStepHandler readAttributeHandler = new ReadAttributeHandler(localFilteredData, overrideHandler, (resolve && resolvable));
 
@@ -431,6 +455,230 @@ public class ReadResourceHandler extends GlobalOperationHandlers.AbstractMultiTa
         context.addStep(attrResponse, attributeOperation, wrapper, OperationContext.Stage.MODEL, true);
     }
 
+    private static OperationStepHandler getReadAttributeOverride(final ImmutableManagementResourceRegistration registry) {
+        OperationStepHandler overrideHandler = registry.getOperationHandler(PathAddress.EMPTY_ADDRESS, READ_ATTRIBUTE_OPERATION);
+        if (overrideHandler == ReadAttributeHandler.INSTANCE || overrideHandler == ReadAttributeHandler.RESOLVE_INSTANCE) {
+            // not an override
+            return null;
+        }
+        return overrideHandler;
+    }
+
+    /**
+     * Reads a child resource, and within the requested depth its own children, in a single pass over the model
+     * instead of through a {@code read-resource} step per resource and a {@code read-attribute} step per attribute.
+     * That is only possible if no attribute in the subtree has a read handler, no resource in it has an override
+     * of the global read handlers, and the caller may read all of it; otherwise the subtree is left to the steps,
+     * which also take care of reporting anything filtered by access control. Either way the result is the same.
+     *
+     * @param context the operation context
+     * @param operation the {@code read-resource} operation a step for the child would execute
+     * @param headers the headers of the operation being executed
+     * @param address the address of the child
+     * @param registry the registration of the child
+     * @return the {@code read-resource} result for the child, or {@code null} if it needs to be read by a step
+     *
+     * @throws OperationFailedException if the operation parameters cannot be resolved
+     */
+    private ModelNode readResourceDirectly(final OperationContext context, final ModelNode operation, final ModelNode headers,
+                                           final PathAddress address, final ImmutableManagementResourceRegistration registry) throws OperationFailedException {
+        final OperationStepHandler readResourceHandler = registry.getOperationHandler(PathAddress.EMPTY_ADDRESS, READ_RESOURCE_OPERATION);
+        if (registry.isRemote() || registry.isRuntimeOnly() || registry.isAlias()
+                || (readResourceHandler != null && readResourceHandler.getClass() != getClass())
+                || getReadAttributeOverride(registry) != null
+                || context.authorize(createOperation(READ_RESOURCE_OPERATION, address, headers), ADDRESS_READ_CONFIG).getDecision() != AuthorizationResult.Decision.PERMIT) {
+            return null;
+        }
+        final Resource resource;
+        final Map<String, Set<String>> childrenByType;
+        try {
+            resource = context.readResourceFromRoot(address, false);
+            childrenByType = GlobalOperationHandlers.getChildAddresses(context, address, registry, resource, null);
+        } catch (Resource.NoSuchResourceException | UnauthorizedException e) {
+            return null;
+        }
+
+        final boolean recursive = GlobalOperationHandlers.getRecursive(context, operation);
+        final boolean queryRuntime = operation.get(ModelDescriptionConstants.INCLUDE_RUNTIME).asBoolean(false);
+        final boolean proxies = operation.get(ModelDescriptionConstants.PROXIES).asBoolean(false);
+        final boolean aliases = operation.get(ModelDescriptionConstants.INCLUDE_ALIASES).asBoolean(false);
+        final boolean defaults = operation.get(ModelDescriptionConstants.INCLUDE_DEFAULTS).asBoolean(true);
+        final boolean resolve = RESOLVE.resolveModelAttribute(context, operation).asBoolean();
+
+        // Attributes, selected as in doExecuteInternal
+        final ModelNode model = resource.getModel();
+        final ModelNode readAttributeOperation = createOperation(READ_ATTRIBUTE_OPERATION, address, headers);
+        final Map<AttributeDefinition.NameAndGroup, ModelNode> sortedAttributes = new TreeMap<>();
+        final Set<String> readAttributes = new HashSet<>();
+        for (String attributeName : registry.getAttributeNames(PathAddress.EMPTY_ADDRESS)) {
+            final AttributeAccess access = registry.getAttributeAccess(PathAddress.EMPTY_ADDRESS, attributeName);
+            if ((aliases || !access.getFlags().contains(AttributeAccess.Flag.ALIAS))
+                    && (queryRuntime || access.getStorageType() == AttributeAccess.Storage.CONFIGURATION)) {
+                final ModelNode value = readAttributeDirectly(context, readAttributeOperation, access, model, defaults, resolve);
+                if (value == null) {
+                    return null;
+                }
+                sortedAttributes.put(new AttributeDefinition.NameAndGroup(access.getAttributeDefinition()), value);
+                readAttributes.add(attributeName);
+            }
+        }
+        if (model.isDefined()) {
+            for (String key : model.keys()) {
+                // Unregistered model content is left to ReadAttributeHandler
+                if (!readAttributes.contains(key) && !childrenByType.containsKey(key)) {
+                    return null;
+                }
+            }
+        }
+        if (defaults && hasDescribedDefaults(context, operation, registry, readAttributes, childrenByType.keySet())) {
+            return null;
+        }
+
+        // Children, selected as in doExecuteInternal
+        final Map<String, ModelNode> sortedChildren = new TreeMap<>();
+        if (!operation.get(ModelDescriptionConstants.ATTRIBUTES_ONLY).asBoolean(false)) {
+            for (Map.Entry<String, Set<String>> entry : childrenByType.entrySet()) {
+                final String childType = entry.getKey();
+                // Whether the type is reported as undefined if we end up with no children of it
+                boolean nonExistent = aliases || !entry.getValue().isEmpty() || !isGlobalAlias(registry, childType);
+                ModelNode children = null;
+                for (String child : entry.getValue()) {
+                    final PathElement childPE = PathElement.pathElement(childType, child);
+                    final PathAddress childAddress = address.append(childPE);
+                    final ModelNode rrOp = createOperation(READ_RESOURCE_OPERATION, childAddress, headers);
+                    if (recursive) {
+                        final ImmutableManagementResourceRegistration childReg = registry.getSubModel(PathAddress.pathAddress(childPE));
+                        if (childReg == null) {
+                            continue;
+                        }
+                        final boolean proxy = childReg.isRemote();
+                        boolean getChild = !childReg.isRuntimeOnly() || (queryRuntime && !proxy) || (proxies && proxy);
+                        if (!aliases && childReg.isAlias()) {
+                            nonExistent = false;
+                            getChild = false;
+                        }
+                        if (getChild) {
+                            nonExistent = false;
+                            GlobalOperationHandlers.setNextRecursive(context, operation, rrOp);
+                            rrOp.get(ModelDescriptionConstants.PROXIES).set(proxies);
+                            rrOp.get(ModelDescriptionConstants.INCLUDE_RUNTIME).set(queryRuntime);
+                            rrOp.get(ModelDescriptionConstants.INCLUDE_ALIASES).set(aliases);
+                            rrOp.get(ModelDescriptionConstants.INCLUDE_DEFAULTS).set(defaults);
+                            final ModelNode childResult = readResourceDirectly(context, rrOp, headers, childAddress, childReg);
+                            if (childResult == null) {
+                                return null;
+                            }
+                            if (children == null) {
+                                children = new ModelNode();
+                            }
+                            children.get(child).set(childResult);
+                        }
+                    } else {
+                        if (context.authorize(rrOp, EnumSet.of(ADDRESS)).getDecision() == AuthorizationResult.Decision.DENY) {
+                            return null;
+                        }
+                        nonExistent = false;
+                        if (children == null) {
+                            children = new ModelNode();
+                            children.setEmptyObject();
+                        }
+                        children.get(child);
+                    }
+                }
+                if (children != null) {
+                    sortedChildren.put(childType, children);
+                } else if (nonExistent) {
+                    sortedChildren.put(childType, new ModelNode());
+                }
+            }
+        }
+
+        final ModelNode result = new ModelNode();
+        result.setEmptyObject();
+        for (Map.Entry<AttributeDefinition.NameAndGroup, ModelNode> entry : sortedAttributes.entrySet()) {
+            result.get(entry.getKey().getName()).set(entry.getValue());
+        }
+        for (Map.Entry<String, ModelNode> entry : sortedChildren.entrySet()) {
+            result.get(entry.getKey()).set(entry.getValue());
+        }
+        return result;
+    }
+
+    private static ModelNode createOperation(final String operationName, final PathAddress address, final ModelNode headers) {
+        final ModelNode operation = Util.createEmptyOperation(operationName, address);
+        if (headers.isDefined()) {
+            operation.get(OPERATION_HEADERS).set(headers);
+        }
+        return operation;
+    }
+
+    /**
+     * Reads an attribute without a read handler straight from the model, the way {@link ReadAttributeHandler} would.
+     *
+     * @return the value, or {@code null} if the attribute needs to be read by a {@code read-attribute} step
+     */
+    private static ModelNode readAttributeDirectly(final OperationContext context, final ModelNode readAttributeOperation,
+                                                   final AttributeAccess access, final ModelNode model,
+                                                   final boolean defaults, final boolean resolve) {
+        final AttributeDefinition definition = access.getAttributeDefinition();
+        if (definition == null || access.getReadHandler() != null) {
+            return null;
+        }
+        final String name = definition.getName();
+        ModelNode value;
+        if (model.hasDefined(name)) {
+            value = model.get(name).clone();
+        } else if (defaults && definition.getDefaultValue() != null) {
+            value = definition.getDefaultValue().clone();
+        } else {
+            value = new ModelNode();
+        }
+        if (resolve) {
+            try {
+                // As in ReadAttributeHandler.ResolveAttributeHandler
+                value = ExpressionResolver.SIMPLE_LENIENT.resolveExpressions(value);
+            } catch (OperationFailedException e) {
+                // let the step report it
+                return null;
+            }
+        }
+        // Reads that are not permitted are left to the step, which reports them as filtered
+        return context.authorize(readAttributeOperation, name, value).getDecision() == AuthorizationResult.Decision.PERMIT
+                ? value : null;
+    }
+
+    /**
+     * Gets whether the description of a resource declares a default value for an attribute other than the given
+     * ones, which {@link #doExecuteInternal} would read as well.
+     */
+    private static boolean hasDescribedDefaults(final OperationContext context, final ModelNode operation,
+                                                final ImmutableManagementResourceRegistration registry,
+                                                final Set<String> readAttributes, final Set<String> childTypes) throws OperationFailedException {
+        final DescriptionProvider descriptionProvider = registry.getModelDescription(PathAddress.EMPTY_ADDRESS);
+        if (descriptionProvider instanceof DefaultResourceDescriptionProvider) {
+            // Its attribute descriptions come from the registered definitions, so avoid building the description
+            for (String attributeName : registry.getAttributeNames(PathAddress.EMPTY_ADDRESS)) {
+                if (!readAttributes.contains(attributeName) && !childTypes.contains(attributeName)) {
+                    final AttributeDefinition definition = registry.getAttributeAccess(PathAddress.EMPTY_ADDRESS, attributeName).getAttributeDefinition();
+                    if (definition != null && definition.getDefaultValue() != null && definition.getDefaultValue().isDefined()) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+        final ModelNode nodeDescription = descriptionProvider.getModelDescription(GlobalOperationHandlers.getLocale(context, operation));
+        if (nodeDescription.hasDefined(ATTRIBUTES)) {
+            for (Property attribute : nodeDescription.get(ATTRIBUTES).asPropertyList()) {
+                if (!readAttributes.contains(attribute.getName()) && !childTypes.contains(attribute.getName())
+                        && attribute.getValue().hasDefined(DEFAULT)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
     /**
      * Provides a resource for the current step, either from the context, if the context doesn't have one
      * and {@code registry} is runtime-only, it creates a dummy resource.
@@ -190,6 +190,7 @@ public enum Attribute {
     SOURCE_PORT("source-port"),
     SSL_CONTEXT("ssl-context"),
     SSL_PROTOCOL("ssl-protocol"),
+    START_PRIORITY("start-priority"),
     SUFFIX("suffix"),
     SYSLOG_FORMAT ("syslog-format"),
     TRUNCATE("truncate"),
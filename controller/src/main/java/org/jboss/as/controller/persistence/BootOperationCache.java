@@ -0,0 +1,237 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.persistence;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ADD;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.EXTENSION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
+import static org.jboss.as.controller.logging.ControllerLogger.ROOT_LOGGER;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.CodeSource;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jboss.as.controller.Extension;
+import org.jboss.as.controller.HashUtil;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.remote.CompactModelNodeEncoding;
+import org.jboss.dmr.ModelNode;
+import org.jboss.modules.Module;
+import org.jboss.modules.ModuleIdentifier;
+import org.jboss.modules.ModuleLoadException;
+import org.jboss.modules.ModuleLoader;
+import org.jboss.modules.Resource;
+import org.jboss.modules.Version;
+
+/**
+ * A binary cache of the boot operations parsed from a configuration file, so that an unchanged configuration file
+ * does not need to be parsed again on the next boot.
+ * <p>
+ * The cached operations are only used if the configuration file has the same digest, the parsers are loaded from
+ * the same archives and the extension modules referenced by the operations still resolve to the same archives as
+ * when they were cached. Otherwise the configuration file is parsed and the cache is replaced. The operations are
+ * written with the {@link CompactModelNodeEncoding}.
+ */
+public final class BootOperationCache {
+
+    private static final int MAGIC = 0x424f4f54;
+    private static final int FORMAT = 2;
+    private static final String EXTENSION_SERVICES = "META-INF/services/" + Extension.class.getName();
+
+    private final File cacheFile;
+    private final ModuleLoader moduleLoader;
+    private final String parsersFingerprint;
+
+    /**
+     * @param cacheFile the file the operations are cached in
+     * @param moduleLoader the loader of the extension modules
+     * @param parsers the classes parsing the configuration file, a change to their archives invalidates the cache
+     */
+    public BootOperationCache(final File cacheFile, final ModuleLoader moduleLoader, final Class<?>... parsers) {
+        this.cacheFile = cacheFile;
+        this.moduleLoader = moduleLoader;
+        final StringBuilder fingerprint = new StringBuilder(Integer.toString(CompactModelNodeEncoding.VERSION));
+        for (Class<?> parser : parsers) {
+            final CodeSource codeSource = parser.getProtectionDomain().getCodeSource();
+            fingerprint.append('|').append(parser.getName()).append('@').append(codeSource == null ? null : fingerprint(codeSource.getLocation()));
+        }
+        this.parsersFingerprint = fingerprint.toString();
+    }
+
+    /**
+     * Loads the operations cached for a configuration file.
+     *
+     * @param configurationFile the configuration file
+     * @return the operations, or {@code null} if none are cached or the configuration has changed since they were
+     */
+    List<ModelNode> load(final File configurationFile) {
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(cacheFile)))) {
+            if (input.readInt() != MAGIC || input.readInt() != FORMAT
+                    || !input.readUTF().equals(parsersFingerprint)
+                    || !input.readUTF().equals(digest(configurationFile))) {
+                ROOT_LOGGER.debugf("Cached boot operations %s are out of date", cacheFile);
+                return null;
+            }
+            for (int count = input.readInt(); count > 0; count--) {
+                final String module = input.readUTF();
+                if (!input.readUTF().equals(moduleFingerprint(module))) {
+                    ROOT_LOGGER.debugf("Cached boot operations %s are out of date, extension %s has changed", cacheFile, module);
+                    return null;
+                }
+            }
+            final List<ModelNode> operations = CompactModelNodeEncoding.readModelNode(input).asList();
+            ROOT_LOGGER.debugf("Loaded %d boot operations from %s", operations.size(), cacheFile);
+            return new ArrayList<>(operations);
+        } catch (FileNotFoundException e) {
+            return null;
+        } catch (IOException | RuntimeException e) {
+            ROOT_LOGGER.debugf(e, "Failed to load the cached boot operations %s", cacheFile);
+            return null;
+        }
+    }
+
+    /**
+     * Caches the operations parsed from a configuration file, replacing the operations cached so far.
+     *
+     * @param configurationFile the configuration file
+     * @param operations the operations parsed from the configuration file
+     */
+    void store(final File configurationFile, final List<ModelNode> operations) {
+        final File parent = cacheFile.getAbsoluteFile().getParentFile();
+        File temp = null;
+        try {
+            final Map<String, String> modules = new LinkedHashMap<>();
+            final ModelNode list = new ModelNode().setEmptyList();
+            for (ModelNode operation : operations) {
+                if (operation.get(OP).asString().equals(ADD)) {
+                    final PathAddress address = PathAddress.pathAddress(operation.get(OP_ADDR));
+                    if (address.size() == 1 && address.getElement(0).getKey().equals(EXTENSION)) {
+                        final String module = address.getElement(0).getValue();
+                        modules.put(module, moduleFingerprint(module));
+                    }
+                }
+                list.add(operation);
+            }
+            parent.mkdirs();
+            temp = File.createTempFile(cacheFile.getName(), ".tmp", parent);
+            try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+                output.writeInt(MAGIC);
+                output.writeInt(FORMAT);
+                output.writeUTF(parsersFingerprint);
+                output.writeUTF(digest(configurationFile));
+                output.writeInt(modules.size());
+                for (Map.Entry<String, String> module : modules.entrySet()) {
+                    output.writeUTF(module.getKey());
+                    output.writeUTF(module.getValue());
+                }
+                CompactModelNodeEncoding.writeModelNode(list, output);
+            }
+            Files.move(temp.toPath(), cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            ROOT_LOGGER.debugf("Cached %d boot operations in %s", operations.size(), cacheFile);
+        } catch (IOException | RuntimeException e) {
+            ROOT_LOGGER.debugf(e, "Failed to cache the boot operations in %s", cacheFile);
+            if (temp != null) {
+                temp.delete();
+            }
+        }
+    }
+
+    /**
+     * @return the archives providing the extensions of a module, or an empty string if the module cannot be loaded
+     */
+    @SuppressWarnings("deprecation")
+    private String moduleFingerprint(final String name) {
+        try {
+            final Module module = moduleLoader.loadModule(ModuleIdentifier.fromString(name));
+            final Version version = module.getVersion();
+            final StringBuilder fingerprint = new StringBuilder(version == null ? "" : version.toString());
+            for (Resource resource : module.getClassLoader().loadResourceLocal(EXTENSION_SERVICES)) {
+                fingerprint.append('|').append(fingerprint(resource.getURL()));
+            }
+            return fingerprint.toString();
+        } catch (ModuleLoadException e) {
+            return "";
+        }
+    }
+
+    /**
+     * @return the location of a resource along with the last modification time of the archive or file it is in
+     */
+    private static String fingerprint(final URL url) {
+        if (url == null) {
+            return null;
+        }
+        String location = url.toExternalForm();
+        if (location.startsWith("jar:")) {
+            final int separator = location.indexOf("!/");
+            location = location.substring(4, separator < 0 ? location.length() : separator);
+        }
+        try {
+            final URI uri = new URI(location);
+            if ("file".equals(uri.getScheme())) {
+                final File file = new File(uri);
+                return url.toExternalForm() + '@' + file.lastModified() + ':' + file.length();
+            }
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            // not a local file, its location has to do
+        }
+        return url.toExternalForm();
+    }
+
+    private static String digest(final File file) throws IOException {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        final byte[] buffer = new byte[8192];
+        try (InputStream input = new FileInputStream(file)) {
+            int read;
+            while ((read = input.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return HashUtil.bytesToHexString(digest.digest());
+    }
+}
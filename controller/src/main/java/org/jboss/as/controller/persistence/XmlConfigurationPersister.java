@@ -60,6 +60,7 @@ public class XmlConfigurationPersister extends AbstractConfigurationPersister {
     private final XMLElementReader<List<ModelNode>> rootParser;
     private final Map<QName, XMLElementReader<List<ModelNode>>> additionalParsers;
     private final boolean suppressLoad;
+    private volatile BootOperationCache bootOperationCache;
 
     /**
      * Construct a new instance.
@@ -97,6 +98,16 @@ public class XmlConfigurationPersister extends AbstractConfigurationPersister {
         }
     }
 
+    /**
+     * Sets the cache of the operations parsed from the configuration file, so that the file is only parsed again
+     * once it or the parsers change.
+     *
+     * @param bootOperationCache the cache, or {@code null} to always parse the configuration file
+     */
+    public void setBootOperationCache(final BootOperationCache bootOperationCache) {
+        this.bootOperationCache = bootOperationCache;
+    }
+
     /** {@inheritDoc} */
     @Override
     public PersistenceResource store(final ModelNode model, Set<PathAddress> affectedAddresses) throws ConfigurationPersistenceException {
@@ -109,6 +120,13 @@ public class XmlConfigurationPersister extends AbstractConfigurationPersister {
         if (suppressLoad) {
             return new ArrayList<>();
         }
+        final BootOperationCache cache = bootOperationCache;
+        if (cache != null) {
+            final List<ModelNode> cached = cache.load(fileName);
+            if (cached != null) {
+                return cached;
+            }
+        }
 
         final XMLMapper mapper = XMLMapper.Factory.create();
         mapper.registerRootElement(rootElement, rootParser);
@@ -144,6 +162,9 @@ public class XmlConfigurationPersister extends AbstractConfigurationPersister {
         } catch (Exception e) {
             throw ControllerLogger.ROOT_LOGGER.failedToParseConfiguration(e);
         }
+        if (cache != null) {
+            cache.store(fileName, updates);
+        }
         return updates;
     }
 
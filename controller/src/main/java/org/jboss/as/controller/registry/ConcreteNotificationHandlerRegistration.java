@@ -26,7 +26,8 @@ import java.util.Collection;
 import java.util.HashSet;
 import java.util.ListIterator;
 import java.util.Set;
-import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.PathElement;
@@ -42,15 +43,20 @@ import org.jboss.as.controller.notification.NotificationHandler;
 class ConcreteNotificationHandlerRegistration implements NotificationHandlerRegistration {
 
     /**
-     * The root registry.
+     * The root registry of the entries registered against address patterns.
      */
     NotificationHandlerNodeRegistry rootRegistry = new NotificationHandlerNodeRegistry(null, null);
 
+    /**
+     * The entries registered against concrete addresses, by address. An address is removed once it has no entries left.
+     */
+    final ConcurrentMap<PathAddress, EntryIndex> concreteAddressEntries = new ConcurrentHashMap<>();
+
     /**
      * All the {@link org.jboss.as.controller.registry.ConcreteNotificationHandlerRegistration.NotificationHandlerEntry} registered against {@link org.jboss.as.controller.registry.NotificationHandlerRegistration#ANY_ADDRESS}
      * that are added to {#findMatchingNotificationHandlers} (after filtering them out).
      */
-    Set<NotificationHandlerEntry> anyAddressEntries = new CopyOnWriteArraySet<NotificationHandlerEntry>();
+    final EntryIndex anyAddressEntries = new EntryIndex();
 
     @Override
     public void registerNotificationHandler(PathAddress source, NotificationHandler handler, NotificationFilter filter) {
@@ -59,6 +65,16 @@ class ConcreteNotificationHandlerRegistration implements NotificationHandlerRegi
             anyAddressEntries.add(entry);
             return;
         }
+        if (!source.isMultiTarget()) {
+            concreteAddressEntries.compute(source, (address, entries) -> {
+                if (entries == null) {
+                    entries = new EntryIndex();
+                }
+                entries.add(entry);
+                return entries;
+            });
+            return;
+        }
 
         ListIterator<PathElement> iterator = source.iterator();
         rootRegistry.registerEntry(iterator, entry);
@@ -71,6 +87,13 @@ class ConcreteNotificationHandlerRegistration implements NotificationHandlerRegi
             anyAddressEntries.remove(entry);
             return;
         }
+        if (!source.isMultiTarget()) {
+            concreteAddressEntries.computeIfPresent(source, (address, entries) -> {
+                entries.remove(entry);
+                return entries.isEmpty() ? null : entries;
+            });
+            return;
+        }
 
         ListIterator<PathElement> iterator = source.iterator();
         rootRegistry.unregisterEntry(iterator, entry);
@@ -79,17 +102,88 @@ class ConcreteNotificationHandlerRegistration implements NotificationHandlerRegi
     @Override
     public Collection<NotificationHandler> findMatchingNotificationHandlers(Notification notification) {
         Collection<NotificationHandler> handlers = new HashSet<>();
-        // collect all the handlers that match the notifications for the registry tree...
-        ListIterator<PathElement> iterator = notification.getSource().iterator();
-        rootRegistry.findEntries(iterator, handlers, notification);
+        // collect the handlers registered against the notification source...
+        EntryIndex entries = concreteAddressEntries.get(notification.getSource());
+        if (entries != null) {
+            entries.findHandlers(notification, handlers);
+        }
+
+        // ... the handlers registered against a matching address pattern...
+        if (!rootRegistry.isEmpty()) {
+            ListIterator<PathElement> iterator = notification.getSource().iterator();
+            rootRegistry.findEntries(iterator, handlers, notification);
+        }
 
         // ... and also the filtered handlers registered against ANY_ADRESS
-        for (NotificationHandlerEntry anyAddressEntry : anyAddressEntries) {
-            if (anyAddressEntry.getFilter().isNotificationEnabled(notification)) {
-                handlers.add(anyAddressEntry.getHandler());
+        anyAddressEntries.findHandlers(notification, handlers);
+        return handlers;
+    }
+
+    /**
+     * The entries registered against an address, indexed by the {@linkplain NotificationFilter#getNotificationTypes()
+     * notification types} of their filters so that only the filters which can enable a notification are called.
+     */
+    static class EntryIndex {
+        /**
+         * The entries whose filter can enable notifications of any type.
+         */
+        private final Set<NotificationHandlerEntry> anyTypeEntries = ConcurrentHashMap.newKeySet();
+        private final ConcurrentMap<String, Set<NotificationHandlerEntry>> entriesByType = new ConcurrentHashMap<>();
+
+        void add(NotificationHandlerEntry entry) {
+            Set<String> types = entry.getFilter().getNotificationTypes();
+            if (types == null) {
+                anyTypeEntries.add(entry);
+            } else {
+                for (String type : types) {
+                    // add within the map operation, so the set cannot be dropped by a concurrent remove
+                    entriesByType.compute(type, (t, entries) -> {
+                        if (entries == null) {
+                            entries = ConcurrentHashMap.newKeySet();
+                        }
+                        entries.add(entry);
+                        return entries;
+                    });
+                }
+            }
+        }
+
+        void remove(NotificationHandlerEntry entry) {
+            Set<String> types = entry.getFilter().getNotificationTypes();
+            if (types == null) {
+                anyTypeEntries.remove(entry);
+            } else {
+                for (String type : types) {
+                    entriesByType.computeIfPresent(type, (t, entries) -> {
+                        entries.remove(entry);
+                        return entries.isEmpty() ? null : entries;
+                    });
+                }
+            }
+        }
+
+        boolean isEmpty() {
+            return anyTypeEntries.isEmpty() && entriesByType.isEmpty();
+        }
+
+        /**
+         * Collect the handlers of the entries whose filter enables the {@code notification}.
+         */
+        void findHandlers(Notification notification, Collection<NotificationHandler> handlers) {
+            findHandlers(anyTypeEntries, notification, handlers);
+            Set<NotificationHandlerEntry> entries = entriesByType.get(notification.getType());
+            if (entries != null) {
+                findHandlers(entries, notification, handlers);
+            }
+        }
+
+        private static void findHandlers(Set<NotificationHandlerEntry> entries, Notification notification, Collection<NotificationHandler> handlers) {
+            for (NotificationHandlerEntry entry : entries) {
+                if (entry.getFilter().isNotificationEnabled(notification)) {
+                    handlers.add(entry.getHandler());
+                }
             }
         }
-        return handlers;
     }
 
     /**
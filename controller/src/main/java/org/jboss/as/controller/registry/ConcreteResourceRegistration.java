@@ -72,6 +72,8 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
 
     private Set <String> orderedChildTypes;
 
+    private Set<String> parallelBootChildTypes;
+
     private boolean runtimeOnly;
     private final boolean ordered;
     private final AccessConstraintUtilizationRegistry constraintUtilizationRegistry;
@@ -937,6 +939,31 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
         return null;
     }
 
+    @Override
+    public void registerParallelBootChildType(String childType) {
+        checkPermission();
+        writeLock.lock();
+        try {
+            if (parallelBootChildTypes == null) {
+                parallelBootChildTypes = new HashSet<>();
+            }
+            parallelBootChildTypes.add(childType);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public Set<String> getParallelBootChildTypes() {
+        checkPermission();
+        readLock.lock();
+        try {
+            return parallelBootChildTypes == null ? Collections.emptySet() : new HashSet<>(parallelBootChildTypes);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
     @Override
     protected void setOrderedChild(String type) {
         writeLock.lock();
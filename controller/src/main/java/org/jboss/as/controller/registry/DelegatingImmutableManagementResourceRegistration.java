@@ -191,6 +191,11 @@ public class DelegatingImmutableManagementResourceRegistration implements Immuta
         return delegate.getOrderedChildTypes();
     }
 
+    @Override
+    public Set<String> getParallelBootChildTypes() {
+        return delegate.getParallelBootChildTypes();
+    }
+
     @Override
     public Set<RuntimeCapability> getCapabilities() {
         return delegate.getCapabilities();
@@ -331,6 +331,16 @@ public class DelegatingManagementResourceRegistration implements ManagementResou
         return getDelegate().isOrderedChildResource();
     }
 
+    @Override
+    public Set<String> getParallelBootChildTypes() {
+        return getDelegate().getParallelBootChildTypes();
+    }
+
+    @Override
+    public void registerParallelBootChildType(String childType) {
+        getDelegate().registerParallelBootChildType(childType);
+    }
+
     @Override
     public void registerCapability(RuntimeCapability capability) {
         getDelegate().registerCapability(capability);
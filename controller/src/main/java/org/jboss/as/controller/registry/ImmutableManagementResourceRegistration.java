@@ -23,6 +23,7 @@
 package org.jboss.as.controller.registry;
 
 import java.security.Permission;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -299,6 +300,18 @@ public interface ImmutableManagementResourceRegistration {
      */
     Set<String> getOrderedChildTypes();
 
+    /**
+     * Return the names of the child types whose resources were registered as independent of each other and of the
+     * rest of this resource, so that the runtime boot operations of each of them can be executed in parallel.
+     *
+     * @return the set of child types, or an empty set if there are none
+     *
+     * @see ManagementResourceRegistration#registerParallelBootChildType(String)
+     */
+    default Set<String> getParallelBootChildTypes() {
+        return Collections.emptySet();
+    }
+
     /**
      * Returns all capabilities provided by this resource. This will only include capabilities for which
      * this resource controls the registration of the capability. If any children of this resource are involved
@@ -297,6 +297,17 @@ public interface ManagementResourceRegistration extends ImmutableManagementResou
      */
     void unregisterNotification(String notificationType);
 
+    /**
+     * Registers a type of child resources which are independent of each other and of the rest of this resource,
+     * so that the runtime stage boot operations of each of them can be executed in parallel with the other boot
+     * operations of this resource. This is only used for the resources of subsystems. Registrations which do not
+     * support it ignore it.
+     *
+     * @param childType the type of the child resources. Cannot be {@code null}
+     */
+    default void registerParallelBootChildType(String childType) {
+    }
+
     /**
      * Registers passed capability on resource
      * @param capability a capability to register
@@ -25,7 +25,6 @@ package org.jboss.as.controller.registry;
 import java.util.Collection;
 import java.util.ListIterator;
 import java.util.Map;
-import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
 import org.jboss.as.controller.PathElement;
@@ -52,9 +51,9 @@ class NotificationHandlerNodeRegistry {
     private volatile Map<String, NotificationHandlerNodeSubregistry> children;
 
     /**
-     * The collection of ({@code NotificationHandler}, {@code NotificationFilter})
+     * The ({@code NotificationHandler}, {@code NotificationFilter}) entries, indexed by notification type
      */
-    private volatile Collection<ConcreteNotificationHandlerRegistration.NotificationHandlerEntry> entries;
+    private final ConcreteNotificationHandlerRegistration.EntryIndex entries = new ConcreteNotificationHandlerRegistration.EntryIndex();
 
     private static final AtomicMapFieldUpdater<NotificationHandlerNodeRegistry, String, NotificationHandlerNodeSubregistry> childrenUpdater = AtomicMapFieldUpdater.newMapUpdater(AtomicReferenceFieldUpdater.newUpdater(NotificationHandlerNodeRegistry.class, Map.class, "children"));
 
@@ -62,7 +61,13 @@ class NotificationHandlerNodeRegistry {
         this.value = value;
         this.parent = parent;
         childrenUpdater.clear(this);
-        entries = new CopyOnWriteArraySet<ConcreteNotificationHandlerRegistration.NotificationHandlerEntry>();
+    }
+
+    /**
+     * Whether no entry was ever registered in this registry or its children.
+     */
+    boolean isEmpty() {
+        return children.isEmpty() && entries.isEmpty();
     }
 
     /**
@@ -104,11 +109,7 @@ class NotificationHandlerNodeRegistry {
      */
     void findEntries(ListIterator<PathElement> iterator, Collection<NotificationHandler> handlers, Notification notification) {
         if (!iterator.hasNext()) {
-            for (ConcreteNotificationHandlerRegistration.NotificationHandlerEntry entry : entries) {
-                if (entry.getFilter().isNotificationEnabled(notification)) {
-                    handlers.add(entry.getHandler());
-                }
-            }
+            entries.findHandlers(notification, handlers);
             return;
         }
 
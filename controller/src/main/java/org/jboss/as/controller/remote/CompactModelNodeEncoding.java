@@ -0,0 +1,505 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.remote;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+import org.jboss.as.controller.logging.ControllerLogger;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.jboss.dmr.Property;
+import org.jboss.dmr.ValueExpression;
+
+/**
+ * A more compact alternative to {@link ModelNode#writeExternal(DataOutput)} for large model nodes such as the domain
+ * model sent to a slave host controller.
+ * <p>
+ * {@code writeExternal} writes every string in full. In a management model the same keys and values ("subsystem",
+ * "profile", "socket-binding", ...) occur thousands of times, so here each distinct string is written once per message
+ * and later occurrences refer to its position in a string table. Numbers and lengths are written as variable length
+ * integers, and a message whose encoding is above a threshold is additionally deflated. The message is written and
+ * read as a sequence of chunks, so neither side holds more than a chunk of the encoded form in memory.
+ * <p>
+ * Both sides have to support the encoding, so it must only be used once the peer has indicated that it can read the
+ * given {@link #VERSION}. Messages of any version up to that one can be read.
+ */
+public final class CompactModelNodeEncoding {
+
+    /** The version of the encoding written by this class */
+    public static final int VERSION = 1;
+
+    /** Encoded messages larger than this are deflated */
+    private static final int COMPRESSION_THRESHOLD = 16 * 1024;
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private static final byte FLAG_DEFLATED = 0x01;
+
+    private static final byte UNDEFINED = 0x00;
+    private static final byte TRUE = 0x01;
+    private static final byte FALSE = 0x02;
+    private static final byte INT = 0x03;
+    private static final byte LONG = 0x04;
+    private static final byte DOUBLE = 0x05;
+    private static final byte BIG_INTEGER = 0x06;
+    private static final byte BIG_DECIMAL = 0x07;
+    private static final byte STRING = 0x08;
+    private static final byte BYTES = 0x09;
+    private static final byte EXPRESSION = 0x0A;
+    private static final byte TYPE = 0x0B;
+    private static final byte LIST = 0x0C;
+    private static final byte OBJECT = 0x0D;
+    private static final byte PROPERTY = 0x0E;
+
+    private CompactModelNodeEncoding() {
+    }
+
+    /**
+     * Writes a model node.
+     *
+     * @param node the node to write
+     * @param output the output to write to
+     * @throws IOException if the node cannot be written
+     */
+    public static void writeModelNode(final ModelNode node, final DataOutput output) throws IOException {
+        output.writeByte(VERSION);
+        // Closing the message finishes it, but leaves the output open
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new MessageOutputStream(output), BUFFER_SIZE))) {
+            new Writer(out).write(node);
+        }
+    }
+
+    /**
+     * Reads a model node written by {@link #writeModelNode(ModelNode, DataOutput)}.
+     *
+     * @param input the input to read from
+     * @return the node
+     * @throws IOException if the node cannot be read
+     */
+    public static ModelNode readModelNode(final DataInput input) throws IOException {
+        final int version = input.readUnsignedByte();
+        if (version < 1 || version > VERSION) {
+            throw ControllerLogger.ROOT_LOGGER.unsupportedModelEncodingVersion(version);
+        }
+        final byte flags = input.readByte();
+        final ChunkInputStream chunks = new ChunkInputStream(input);
+        final Inflater inflater = (flags & FLAG_DEFLATED) != 0 ? new Inflater() : null;
+        try {
+            final InputStream message = inflater == null ? chunks : new InflaterInputStream(chunks, inflater, BUFFER_SIZE);
+            final ModelNode node = new ModelNode();
+            // Decoding straight from an inflating stream would cost a native call per byte
+            new Reader(new DataInputStream(new BufferedInputStream(message, BUFFER_SIZE))).read(node);
+            chunks.skipRemaining();
+            return node;
+        } finally {
+            if (inflater != null) {
+                inflater.end();
+            }
+        }
+    }
+
+    /**
+     * Holds back the start of a message until it is larger than the compression threshold, or complete. The flags
+     * are then written, followed by the chunks of the message, deflated if it was larger.
+     */
+    private static final class MessageOutputStream extends OutputStream {
+
+        private final DataOutput output;
+        private final ChunkOutputStream chunks;
+        private byte[] buffer = new byte[COMPRESSION_THRESHOLD];
+        private int count;
+        private Deflater deflater;
+        private DeflaterOutputStream deflated;
+
+        private MessageOutputStream(final DataOutput output) {
+            this.output = output;
+            this.chunks = new ChunkOutputStream(output);
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            if (deflated == null) {
+                if (len <= buffer.length - count) {
+                    System.arraycopy(b, off, buffer, count, len);
+                    count += len;
+                    return;
+                }
+                output.writeByte(FLAG_DEFLATED);
+                deflater = new Deflater(Deflater.BEST_SPEED);
+                deflated = new DeflaterOutputStream(chunks, deflater, BUFFER_SIZE);
+                deflated.write(buffer, 0, count);
+                buffer = null;
+            }
+            deflated.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (deflated != null) {
+                try {
+                    deflated.finish();
+                } finally {
+                    deflater.end();
+                }
+            } else if (buffer != null) {
+                output.writeByte(0);
+                chunks.write(buffer, 0, count);
+                buffer = null;
+            } else {
+                return;
+            }
+            chunks.close();
+        }
+    }
+
+    /**
+     * Writes each block of bytes as a chunk preceded by its length. Closing it writes the empty chunk ending the
+     * message.
+     */
+    private static final class ChunkOutputStream extends OutputStream {
+
+        private final DataOutput output;
+
+        private ChunkOutputStream(final DataOutput output) {
+            this.output = output;
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            if (len > 0) {
+                output.writeInt(len);
+                output.write(b, off, len);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            output.writeInt(0);
+        }
+    }
+
+    /**
+     * Reads the chunks written by a {@link ChunkOutputStream}, never reading past the empty chunk ending the message.
+     */
+    private static final class ChunkInputStream extends InputStream {
+
+        private final DataInput input;
+        private int remaining;
+        private boolean ended;
+
+        private ChunkInputStream(final DataInput input) {
+            this.input = input;
+        }
+
+        @Override
+        public int read() throws IOException {
+            final byte[] b = new byte[1];
+            return read(b, 0, 1) == -1 ? -1 : b[0] & 0xFF;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            while (remaining == 0) {
+                if (ended) {
+                    return -1;
+                }
+                remaining = input.readInt();
+                if (remaining < 0) {
+                    throw ControllerLogger.ROOT_LOGGER.invalidModelEncodingChunkLength(remaining);
+                }
+                ended = remaining == 0;
+            }
+            final int count = Math.min(len, remaining);
+            input.readFully(b, off, count);
+            remaining -= count;
+            return count;
+        }
+
+        /** Reads up to the end of the message, such as what follows the end of a deflated stream */
+        void skipRemaining() throws IOException {
+            final byte[] skipped = new byte[BUFFER_SIZE];
+            while (read(skipped, 0, skipped.length) != -1) {
+                // discard
+            }
+        }
+    }
+
+    private static final class Writer {
+
+        private final DataOutput out;
+        private final Map<String, Integer> strings = new HashMap<>();
+
+        private Writer(final DataOutput out) {
+            this.out = out;
+        }
+
+        void write(final ModelNode node) throws IOException {
+            final ModelType type = node.getType();
+            switch (type) {
+                case UNDEFINED:
+                    out.writeByte(UNDEFINED);
+                    break;
+                case BOOLEAN:
+                    out.writeByte(node.asBoolean() ? TRUE : FALSE);
+                    break;
+                case INT:
+                    out.writeByte(INT);
+                    writeVarLong(out, zigZag(node.asInt()));
+                    break;
+                case LONG:
+                    out.writeByte(LONG);
+                    writeVarLong(out, zigZag(node.asLong()));
+                    break;
+                case DOUBLE:
+                    out.writeByte(DOUBLE);
+                    out.writeDouble(node.asDouble());
+                    break;
+                case BIG_INTEGER:
+                    out.writeByte(BIG_INTEGER);
+                    writeBytes(node.asBigInteger().toByteArray());
+                    break;
+                case BIG_DECIMAL: {
+                    final BigDecimal value = node.asBigDecimal();
+                    out.writeByte(BIG_DECIMAL);
+                    writeBytes(value.unscaledValue().toByteArray());
+                    writeVarLong(out, zigZag(value.scale()));
+                    break;
+                }
+                case STRING:
+                    out.writeByte(STRING);
+                    writeString(node.asString());
+                    break;
+                case BYTES:
+                    out.writeByte(BYTES);
+                    writeBytes(node.asBytes());
+                    break;
+                case EXPRESSION:
+                    out.writeByte(EXPRESSION);
+                    writeString(node.asExpression().getExpressionString());
+                    break;
+                case TYPE:
+                    out.writeByte(TYPE);
+                    writeString(node.asType().name());
+                    break;
+                case LIST: {
+                    final List<ModelNode> elements = node.asList();
+                    out.writeByte(LIST);
+                    writeVarLong(out, elements.size());
+                    for (ModelNode element : elements) {
+                        write(element);
+                    }
+                    break;
+                }
+                case OBJECT: {
+                    out.writeByte(OBJECT);
+                    writeVarLong(out, node.keys().size());
+                    for (String key : node.keys()) {
+                        writeString(key);
+                        write(node.get(key));
+                    }
+                    break;
+                }
+                case PROPERTY: {
+                    final Property property = node.asProperty();
+                    out.writeByte(PROPERTY);
+                    writeString(property.getName());
+                    write(property.getValue());
+                    break;
+                }
+                default:
+                    throw new IllegalStateException(type.toString());
+            }
+        }
+
+        /** Writes the position of an already written string, or {@code 0} followed by a string not written yet */
+        private void writeString(final String value) throws IOException {
+            final Integer index = strings.get(value);
+            if (index != null) {
+                writeVarLong(out, index);
+            } else {
+                strings.put(value, strings.size() + 1);
+                out.writeByte(0);
+                writeBytes(value.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+
+        private void writeBytes(final byte[] bytes) throws IOException {
+            writeVarLong(out, bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    private static final class Reader {
+
+        private final DataInput in;
+        private final List<String> strings = new ArrayList<>();
+
+        private Reader(final DataInput in) {
+            this.in = in;
+        }
+
+        void read(final ModelNode node) throws IOException {
+            final byte type = in.readByte();
+            switch (type) {
+                case UNDEFINED:
+                    break;
+                case TRUE:
+                    node.set(true);
+                    break;
+                case FALSE:
+                    node.set(false);
+                    break;
+                case INT:
+                    node.set((int) unZigZag(readVarLong(in)));
+                    break;
+                case LONG:
+                    node.set(unZigZag(readVarLong(in)));
+                    break;
+                case DOUBLE:
+                    node.set(in.readDouble());
+                    break;
+                case BIG_INTEGER:
+                    node.set(new BigInteger(readBytes()));
+                    break;
+                case BIG_DECIMAL: {
+                    final BigInteger unscaled = new BigInteger(readBytes());
+                    node.set(new BigDecimal(unscaled, (int) unZigZag(readVarLong(in))));
+                    break;
+                }
+                case STRING:
+                    node.set(readString());
+                    break;
+                case BYTES:
+                    node.set(readBytes());
+                    break;
+                case EXPRESSION:
+                    node.set(new ValueExpression(readString()));
+                    break;
+                case TYPE:
+                    node.set(ModelType.valueOf(readString()));
+                    break;
+                case LIST: {
+                    final int size = (int) readVarLong(in);
+                    node.setEmptyList();
+                    for (int i = 0; i < size; i++) {
+                        read(node.add());
+                    }
+                    break;
+                }
+                case OBJECT: {
+                    final int size = (int) readVarLong(in);
+                    node.setEmptyObject();
+                    for (int i = 0; i < size; i++) {
+                        read(node.get(readString()));
+                    }
+                    break;
+                }
+                case PROPERTY: {
+                    final String name = readString();
+                    final ModelNode value = new ModelNode();
+                    read(value);
+                    node.set(name, value);
+                    break;
+                }
+                default:
+                    throw ControllerLogger.ROOT_LOGGER.invalidModelEncodingType(type);
+            }
+        }
+
+        private String readString() throws IOException {
+            final int index = (int) readVarLong(in);
+            if (index != 0) {
+                return strings.get(index - 1);
+            }
+            final String value = new String(readBytes(), StandardCharsets.UTF_8);
+            strings.add(value);
+            return value;
+        }
+
+        private byte[] readBytes() throws IOException {
+            final byte[] bytes = new byte[(int) readVarLong(in)];
+            in.readFully(bytes);
+            return bytes;
+        }
+    }
+
+    private static long zigZag(final long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(final long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static void writeVarLong(final DataOutput out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long readVarLong(final DataInput in) throws IOException {
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            final byte b = in.readByte();
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw ControllerLogger.ROOT_LOGGER.invalidModelEncodingVarLong();
+    }
+}
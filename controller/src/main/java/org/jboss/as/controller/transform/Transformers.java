@@ -119,6 +119,7 @@ public interface Transformers {
         private final ProcessType processType;
         private final RunningMode runningMode;
         private final TransformerOperationAttachment transformerOperationAttachment;
+        private final long modelGeneration;
 
         /**
          * Obtains a set of {@code TransformationInputs} from the given operation context. If the
@@ -152,7 +153,11 @@ public interface Transformers {
          * @param context  the operation context. Cannot be {@code null}
          */
         public TransformationInputs(OperationContext context) {
+            final long generation = context.getModelGeneration();
             this.originalModel = context.readResourceFromRoot(PathAddress.EMPTY_ADDRESS, true);
+            // The context reads the currently published model, so unless the caller holds a lock that keeps the model
+            // from being published, a newer model may be published while we read it and we don't know which one we read
+            this.modelGeneration = generation == context.getModelGeneration() ? generation : -1;
             this.registration = context.getRootResourceRegistration();
             this.processType = context.getProcessType();
             this.runningMode = context.getRunningMode();
@@ -200,6 +205,17 @@ public interface Transformers {
         public TransformerOperationAttachment getTransformerOperationAttachment() {
             return transformerOperationAttachment;
         }
+
+        /**
+         * Gets the {@link OperationContext#getModelGeneration() generation} of the model {@link #getRootResource()}
+         * is a copy of. Inputs with the same generation hold the same model. The generation is not known if a newer
+         * model was published while the inputs were created.
+         *
+         * @return the generation, or {@code -1} if it is not known
+         */
+        public long getModelGeneration() {
+            return modelGeneration;
+        }
     }
 
     /**
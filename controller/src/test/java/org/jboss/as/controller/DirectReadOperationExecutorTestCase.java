@@ -0,0 +1,345 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ATTRIBUTES_ONLY;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.BLOCKING_TIMEOUT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.CHILD_TYPE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.IF_NONE_MATCH_GENERATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.IF_NONE_MATCH_INSTANCE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.INCLUDE_DEFAULTS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.INCLUDE_MODEL_GENERATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.INCLUDE_RUNTIME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MODEL_GENERATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MODEL_INSTANCE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NOT_MODIFIED;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OPERATION_HEADERS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_CHILDREN_NAMES_OPERATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_RESOURCE_OPERATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RECURSIVE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RECURSIVE_DEPTH;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESPONSE_HEADERS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESULT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ROLES;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToIntFunction;
+
+import org.jboss.as.controller.access.management.DelegatingConfigurableAuthorizer;
+import org.jboss.as.controller.access.management.ManagementSecurityIdentitySupplier;
+import org.jboss.as.controller.descriptions.NonResolvingResourceDescriptionResolver;
+import org.jboss.as.controller.operations.common.Util;
+import org.jboss.as.controller.operations.global.GlobalNotifications;
+import org.jboss.as.controller.operations.global.GlobalOperationHandlers;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.as.controller.registry.Resource;
+import org.jboss.as.controller.test.AbstractControllerTestBase;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.jboss.dmr.ValueExpression;
+import org.junit.Test;
+
+/**
+ * Tests that simple reads served by {@link DirectReadOperationExecutor} produce the same responses as the
+ * standard operation execution, and that reads it cannot serve faithfully are left to the standard execution.
+ */
+public class DirectReadOperationExecutorTestCase extends AbstractControllerTestBase {
+
+    private static final PathElement CHILD_A = PathElement.pathElement("child", "a");
+    private static final PathElement CHILD_B = PathElement.pathElement("child", "b");
+    private static final PathElement OTHER = PathElement.pathElement("other", "x");
+    private static final PathElement HANDLED = PathElement.pathElement("handled", "y");
+
+    private static final AttributeDefinition PROP = new SimpleAttributeDefinitionBuilder("prop", ModelType.STRING, true)
+            .setAllowExpression(true)
+            .build();
+    private static final AttributeDefinition NUM = new SimpleAttributeDefinitionBuilder("num", ModelType.INT, true)
+            .setDefaultValue(new ModelNode(10))
+            .build();
+    private static final AttributeDefinition COMPUTED = new SimpleAttributeDefinitionBuilder("computed", ModelType.STRING, true)
+            .setStorageRuntime()
+            .build();
+    private static final AttributeDefinition COUNTER = new SimpleAttributeDefinitionBuilder("counter", ModelType.INT, true)
+            .build();
+
+    private final AtomicInteger counter = new AtomicInteger();
+
+    @Test
+    public void testReadAttribute() throws Exception {
+        ModelNode op = Util.getReadAttributeOperation(PathAddress.pathAddress(CHILD_A), PROP.getName());
+        assertSameAsStandard(op);
+
+        op = Util.getReadAttributeOperation(PathAddress.pathAddress(CHILD_A), NUM.getName());
+        assertSameAsStandard(op);
+        op.get(INCLUDE_DEFAULTS).set(false);
+        assertSameAsStandard(op);
+
+        op = Util.getReadAttributeOperation(PathAddress.pathAddress(CHILD_B), PROP.getName());
+        assertSameAsStandard(op);
+    }
+
+    @Test
+    public void testReadResource() throws Exception {
+        ModelNode op = Util.createEmptyOperation(READ_RESOURCE_OPERATION, PathAddress.pathAddress(CHILD_A));
+        assertSameAsStandard(op);
+        op.get(INCLUDE_DEFAULTS).set(false);
+        assertSameAsStandard(op);
+        op.get(ATTRIBUTES_ONLY).set(true);
+        assertSameAsStandard(op);
+
+        op = Util.createEmptyOperation(READ_RESOURCE_OPERATION, PathAddress.pathAddress(CHILD_B));
+        op.get(RECURSIVE).set("false");
+        assertSameAsStandard(op);
+    }
+
+    @Test
+    public void testReadChildrenNames() throws Exception {
+        ModelNode op = Util.createEmptyOperation(READ_CHILDREN_NAMES_OPERATION, PathAddress.EMPTY_ADDRESS);
+        op.get(CHILD_TYPE).set("child");
+        assertSameAsStandard(op);
+        op.get(CHILD_TYPE).set("other");
+        assertSameAsStandard(op);
+    }
+
+    @Test
+    public void testUnsupportedReads() throws Exception {
+        // runtime attribute with a read handler
+        assertNotDirect(Util.getReadAttributeOperation(PathAddress.EMPTY_ADDRESS, COMPUTED.getName()));
+        // the root has a runtime attribute
+        ModelNode op = Util.createEmptyOperation(READ_RESOURCE_OPERATION, PathAddress.EMPTY_ADDRESS);
+        op.get(INCLUDE_RUNTIME).set(true);
+        assertNotDirect(op);
+        op = Util.createEmptyOperation(READ_RESOURCE_OPERATION, PathAddress.pathAddress(CHILD_A));
+        op.get(RECURSIVE).set(true);
+        assertNotDirect(op);
+        // enhanced syntax
+        assertNotDirect(Util.getReadAttributeOperation(PathAddress.pathAddress(CHILD_A), "prop.length"));
+        // failures are reported by the standard handlers
+        assertNotDirect(Util.getReadAttributeOperation(PathAddress.pathAddress(CHILD_A), "unknown"));
+        assertNotDirect(Util.getReadAttributeOperation(PathAddress.pathAddress("child", "c"), PROP.getName()));
+        op = Util.createEmptyOperation(READ_CHILDREN_NAMES_OPERATION, PathAddress.EMPTY_ADDRESS);
+        op.get(CHILD_TYPE).set("unknown");
+        assertNotDirect(op);
+        // wildcard address
+        assertNotDirect(Util.getReadAttributeOperation(PathAddress.pathAddress("child", "*"), PROP.getName()));
+        // headers that affect execution
+        op = Util.getReadAttributeOperation(PathAddress.pathAddress(CHILD_A), PROP.getName());
+        op.get(OPERATION_HEADERS, ROLES).set("Monitor");
+        assertNotDirect(op);
+    }
+
+    @Test
+    public void testReadsPublishedModel() throws Exception {
+        executeCheckNoFailure(Util.getWriteAttributeOperation(PathAddress.pathAddress(CHILD_A), PROP.getName(), new ModelNode("updated")));
+        ModelNode op = Util.getReadAttributeOperation(PathAddress.pathAddress(CHILD_A), PROP.getName());
+        assertEquals("updated", executeDirect(op).get(RESULT).asString());
+        assertSameAsStandard(op);
+    }
+
+    @Test
+    public void testModelGeneration() throws Exception {
+        ModelControllerImpl controller = (ModelControllerImpl) getController();
+        ManagementModel before = controller.getModelSnapshot();
+        long generation = before.getGeneration();
+        ModelNode op = Util.getReadAttributeOperation(PathAddress.pathAddress(CHILD_A), PROP.getName());
+        op.get(OPERATION_HEADERS, INCLUDE_MODEL_GENERATION).set(true);
+        assertNotNull(executeDirect(op));
+        assertEquals(generation, controller.execute(op, null, null, null).get(RESPONSE_HEADERS, MODEL_GENERATION).asLong());
+        ModelNode standardOp = op.clone();
+        standardOp.get(OPERATION_HEADERS, BLOCKING_TIMEOUT).set(300);
+        assertEquals(generation, controller.execute(standardOp, null, null, null).get(RESPONSE_HEADERS, MODEL_GENERATION).asLong());
+
+        // reads do not publish a model
+        assertEquals(generation, controller.getModelSnapshot().getGeneration());
+
+        executeCheckNoFailure(Util.getWriteAttributeOperation(PathAddress.pathAddress(CHILD_A), PROP.getName(), new ModelNode("updated")));
+        assertEquals(generation + 1, controller.getModelSnapshot().getGeneration());
+        assertEquals(generation + 1, controller.getManagementModel().getGeneration());
+        assertEquals(generation + 1, controller.execute(op, null, null, null).get(RESPONSE_HEADERS, MODEL_GENERATION).asLong());
+
+        // the earlier snapshot is unaffected by the write
+        assertEquals(generation, before.getGeneration());
+        assertEquals("a", before.getRootResource().getChild(CHILD_A).getModel().get(PROP.getName()).asString());
+    }
+
+    @Test
+    public void testIfNoneMatchGeneration() throws Exception {
+        ModelControllerImpl controller = (ModelControllerImpl) getController();
+        long generation = controller.getModelSnapshot().getGeneration();
+        ModelNode op = Util.createEmptyOperation(READ_RESOURCE_OPERATION, PathAddress.pathAddress(CHILD_A));
+        op.get(RECURSIVE).set(true);
+        op.get(OPERATION_HEADERS, IF_NONE_MATCH_GENERATION).set(-1);
+        ModelNode response = controller.execute(op, null, null, null);
+        assertEquals("a", response.get(RESULT, PROP.getName()).asString());
+        assertEquals(generation, response.get(RESPONSE_HEADERS, MODEL_GENERATION).asLong());
+        assertFalse(response.get(RESPONSE_HEADERS).hasDefined(NOT_MODIFIED));
+        String instance = response.get(RESPONSE_HEADERS, MODEL_INSTANCE).asString();
+
+        // the generation alone does not identify the model
+        op.get(OPERATION_HEADERS, IF_NONE_MATCH_GENERATION).set(generation);
+        response = controller.execute(op, null, null, null);
+        assertEquals("a", response.get(RESULT, PROP.getName()).asString());
+        assertFalse(response.get(RESPONSE_HEADERS).hasDefined(NOT_MODIFIED));
+
+        op.get(OPERATION_HEADERS, IF_NONE_MATCH_INSTANCE).set(instance);
+        response = controller.execute(op, null, null, null);
+        assertTrue(response.get(RESPONSE_HEADERS, NOT_MODIFIED).asBoolean());
+        assertEquals(instance, response.get(RESPONSE_HEADERS, MODEL_INSTANCE).asString());
+        assertFalse(response.hasDefined(RESULT));
+
+        executeCheckNoFailure(Util.getWriteAttributeOperation(PathAddress.pathAddress(CHILD_A), PROP.getName(), new ModelNode("updated")));
+        response = controller.execute(op, null, null, null);
+        assertEquals("updated", response.get(RESULT, PROP.getName()).asString());
+        assertEquals(generation + 1, response.get(RESPONSE_HEADERS, MODEL_GENERATION).asLong());
+
+        // reads that depend on more than the model are always executed and report no generation
+        op = Util.createEmptyOperation(READ_RESOURCE_OPERATION, PathAddress.EMPTY_ADDRESS);
+        op.get(INCLUDE_RUNTIME).set(true);
+        op.get(OPERATION_HEADERS, IF_NONE_MATCH_GENERATION).set(generation + 1);
+        response = controller.execute(op, null, null, null);
+        assertEquals("computed", response.get(RESULT, COMPUTED.getName()).asString());
+        assertFalse(response.hasDefined(RESPONSE_HEADERS, MODEL_GENERATION));
+        op = Util.getReadAttributeOperation(PathAddress.EMPTY_ADDRESS, COMPUTED.getName());
+        op.get(OPERATION_HEADERS, IF_NONE_MATCH_GENERATION).set(generation + 1);
+        response = controller.execute(op, null, null, null);
+        assertEquals("computed", response.get(RESULT).asString());
+        assertFalse(response.hasDefined(RESPONSE_HEADERS, MODEL_GENERATION));
+    }
+
+    @Test
+    public void testIfNoneMatchReadHandler() throws Exception {
+        ModelControllerImpl controller = (ModelControllerImpl) getController();
+        long generation = controller.getModelSnapshot().getGeneration();
+        ModelNode op = Util.createEmptyOperation(READ_RESOURCE_OPERATION, PathAddress.pathAddress(CHILD_A));
+        op.get(OPERATION_HEADERS, IF_NONE_MATCH_GENERATION).set(-1);
+        String instance = controller.execute(op, null, null, null).get(RESPONSE_HEADERS, MODEL_INSTANCE).asString();
+
+        // the counter is computed by a read handler, so reads of it are never answered from the generation
+        op = Util.createEmptyOperation(READ_RESOURCE_OPERATION, PathAddress.pathAddress(OTHER, HANDLED));
+        op.get(OPERATION_HEADERS, IF_NONE_MATCH_GENERATION).set(generation);
+        op.get(OPERATION_HEADERS, IF_NONE_MATCH_INSTANCE).set(instance);
+        assertReadHandlerExecuted(controller, op, response -> response.get(RESULT, COUNTER.getName()).asInt());
+
+        op = Util.createEmptyOperation(READ_RESOURCE_OPERATION, PathAddress.pathAddress(OTHER));
+        op.get(RECURSIVE).set(true);
+        op.get(OPERATION_HEADERS, IF_NONE_MATCH_GENERATION).set(generation);
+        op.get(OPERATION_HEADERS, IF_NONE_MATCH_INSTANCE).set(instance);
+        assertReadHandlerExecuted(controller, op, response -> response.get(RESULT, HANDLED.getKey(), HANDLED.getValue(), COUNTER.getName()).asInt());
+        op.remove(RECURSIVE);
+        op.get(RECURSIVE_DEPTH).set(1);
+        assertReadHandlerExecuted(controller, op, response -> response.get(RESULT, HANDLED.getKey(), HANDLED.getValue(), COUNTER.getName()).asInt());
+
+        // without recursion the child is not read
+        op.remove(RECURSIVE_DEPTH);
+        assertTrue(controller.execute(op, null, null, null).get(RESPONSE_HEADERS, NOT_MODIFIED).asBoolean());
+    }
+
+    private void assertReadHandlerExecuted(ModelControllerImpl controller, ModelNode op, ToIntFunction<ModelNode> counterValue) {
+        ModelNode response = controller.execute(op, null, null, null);
+        assertFalse(response.get(RESPONSE_HEADERS).hasDefined(NOT_MODIFIED));
+        assertFalse(response.hasDefined(RESPONSE_HEADERS, MODEL_GENERATION));
+        int first = counterValue.applyAsInt(response);
+        response = controller.execute(op, null, null, null);
+        assertFalse(response.get(RESPONSE_HEADERS).hasDefined(NOT_MODIFIED));
+        assertEquals(first + 1, counterValue.applyAsInt(response));
+    }
+
+    @Test
+    public void testIfNoneMatchEarlierInstance() throws Exception {
+        ModelControllerImpl controller = (ModelControllerImpl) getController();
+        ModelNode op = Util.createEmptyOperation(READ_RESOURCE_OPERATION, PathAddress.pathAddress(CHILD_A));
+        op.get(OPERATION_HEADERS, IF_NONE_MATCH_GENERATION).set(-1);
+        ModelNode response = controller.execute(op, null, null, null);
+        long generation = response.get(RESPONSE_HEADERS, MODEL_GENERATION).asLong();
+        String instance = response.get(RESPONSE_HEADERS, MODEL_INSTANCE).asString();
+
+        // a controller started afresh publishes the same generations as the earlier one did
+        shutdownServiceContainer();
+        setupController();
+        ModelControllerImpl restarted = (ModelControllerImpl) getController();
+        assertEquals(generation, restarted.getModelSnapshot().getGeneration());
+
+        op.get(OPERATION_HEADERS, IF_NONE_MATCH_GENERATION).set(generation);
+        op.get(OPERATION_HEADERS, IF_NONE_MATCH_INSTANCE).set(instance);
+        response = restarted.execute(op, null, null, null);
+        assertFalse(response.get(RESPONSE_HEADERS).hasDefined(NOT_MODIFIED));
+        assertEquals("a", response.get(RESULT, PROP.getName()).asString());
+        assertEquals(generation, response.get(RESPONSE_HEADERS, MODEL_GENERATION).asLong());
+        assertNotEquals(instance, response.get(RESPONSE_HEADERS, MODEL_INSTANCE).asString());
+    }
+
+    private void assertSameAsStandard(ModelNode operation) {
+        ModelNode direct = executeDirect(operation);
+        assertNotNull(operation.toString(), direct);
+        ModelNode standardOp = operation.clone();
+        standardOp.get(OPERATION_HEADERS, BLOCKING_TIMEOUT).set(300);
+        ModelNode standard = getController().execute(standardOp, null, null, null);
+        assertEquals(standard.toString(), direct.toString());
+        assertEquals(standard, getController().execute(operation, null, null, null));
+    }
+
+    private void assertNotDirect(ModelNode operation) {
+        assertNull(operation.toString(), executeDirect(operation));
+    }
+
+    private ModelNode executeDirect(ModelNode operation) {
+        DirectReadOperationExecutor executor = new DirectReadOperationExecutor(processType, new ControlledProcessState(true),
+                new DelegatingConfigurableAuthorizer(), new ManagementSecurityIdentitySupplier());
+        return executor.execute(operation, ((ModelControllerImpl) getController()).getModelSnapshot());
+    }
+
+    @Override
+    protected void initModel(ManagementModel managementModel) {
+        ManagementResourceRegistration registration = managementModel.getRootResourceRegistration();
+        GlobalOperationHandlers.registerGlobalOperations(registration, processType);
+        GlobalNotifications.registerGlobalNotifications(registration, processType);
+        registration.registerReadOnlyAttribute(COMPUTED, (context, operation) -> context.getResult().set("computed"));
+
+        ManagementResourceRegistration child = registration.registerSubModel(
+                new SimpleResourceDefinition(PathElement.pathElement("child"), new NonResolvingResourceDescriptionResolver()));
+        child.registerReadWriteAttribute(PROP, null, new ModelOnlyWriteAttributeHandler(PROP));
+        child.registerReadWriteAttribute(NUM, null, new ModelOnlyWriteAttributeHandler(NUM));
+        ManagementResourceRegistration other = registration.registerSubModel(
+                new SimpleResourceDefinition(PathElement.pathElement("other"), new NonResolvingResourceDescriptionResolver()));
+        ManagementResourceRegistration handled = other.registerSubModel(
+                new SimpleResourceDefinition(PathElement.pathElement("handled"), new NonResolvingResourceDescriptionResolver()));
+        handled.registerReadWriteAttribute(COUNTER, (context, operation) -> context.getResult().set(counter.incrementAndGet()),
+                new ModelOnlyWriteAttributeHandler(COUNTER));
+
+        ModelNode model = new ModelNode();
+        model.get(PROP.getName()).set("a");
+        model.get(NUM.getName()).set(1);
+        managementModel.getRootResource().registerChild(CHILD_A, Resource.Factory.create());
+        managementModel.getRootResource().getChild(CHILD_A).getModel().set(model);
+        managementModel.getRootResource().registerChild(CHILD_B, Resource.Factory.create());
+        managementModel.getRootResource().getChild(CHILD_B).getModel().get(PROP.getName()).set(new ValueExpression("${b:b}"));
+        managementModel.getRootResource().registerChild(OTHER, Resource.Factory.create());
+        managementModel.getRootResource().getChild(OTHER).registerChild(HANDLED, Resource.Factory.create());
+    }
+}
@@ -444,6 +444,54 @@ public class ExpressionResolverUnitTestCase {
         }
     }
 
+    /**
+     * Test that resolving the same expression again reflects changes to the properties it refers to
+     */
+    @Test
+    public void testRepeatedResolution() throws OperationFailedException {
+        String expression = "a$$${test.property.repeated:one}-${test.property.repeated.other:two}$";
+        assertEquals("a$one-two$", ExpressionResolver.TEST_RESOLVER.resolveExpressions(expression(expression)).asString());
+        System.setProperty("test.property.repeated", "three");
+        try {
+            assertEquals("a$three-two$", ExpressionResolver.TEST_RESOLVER.resolveExpressions(expression(expression)).asString());
+            System.setProperty("test.property.repeated", "${test.property.repeated.other:four}");
+            assertEquals("a$four-two$", ExpressionResolver.TEST_RESOLVER.resolveExpressions(expression(expression)).asString());
+        } finally {
+            System.clearProperty("test.property.repeated");
+        }
+        assertEquals("a$one-two$", ExpressionResolver.TEST_RESOLVER.resolveExpressions(expression(expression)).asString());
+    }
+
+    @Test
+    public void testNoExpressionsResolvesToCopy() throws OperationFailedException {
+        ModelNode node = new ModelNode();
+        node.get("int").set(1);
+        node.get("map", "plain").set("a");
+        node.get("list").add("b");
+        ModelNode resolved = ExpressionResolver.TEST_RESOLVER.resolveExpressions(node);
+        assertEquals(node, resolved);
+        resolved.get("map", "plain").set("c");
+        assertEquals("a", node.get("map", "plain").asString());
+    }
+
+    /**
+     * Test that expressions keep resolving correctly once more distinct ones have been resolved than are cached
+     */
+    @Test
+    public void testResolutionPastCacheLimit() throws OperationFailedException {
+        for (int i = 0; i < 5000; i++) {
+            assertEquals(String.valueOf(i), ExpressionResolver.TEST_RESOLVER.resolveExpressions(expression("${test.property.many:" + i + "}")).asString());
+        }
+        System.setProperty("test.property.many", "set");
+        try {
+            for (int i = 0; i < 5000; i += 1000) {
+                assertEquals("set", ExpressionResolver.TEST_RESOLVER.resolveExpressions(expression("${test.property.many:" + i + "}")).asString());
+            }
+        } finally {
+            System.clearProperty("test.property.many");
+        }
+    }
+
     private ModelNode expression(String str) {
         return new ModelNode(new ValueExpression(str));
     }
@@ -31,6 +31,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.security.PrivilegedAction;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
@@ -46,6 +47,7 @@ import org.jboss.as.controller.client.ModelControllerClient;
 import org.jboss.as.controller.client.Operation;
 import org.jboss.as.controller.client.OperationAttachments;
 import org.jboss.as.controller.client.OperationBuilder;
+import org.jboss.as.controller.client.OperationResponse;
 import org.jboss.as.controller.client.OperationMessageHandler;
 import org.jboss.as.controller.client.impl.ExistingChannelModelControllerClient;
 import org.jboss.as.controller.client.impl.InputStreamEntry;
@@ -333,6 +335,114 @@ public class ModelControllerClientTestCase {
 
     }
 
+    @Test
+    public void testPipelinedOperations() throws Exception {
+        final int count = 50;
+        final int maxOutstanding = 5;
+        final CountDownLatch laterStarted = new CountDownLatch(1);
+        final AtomicInteger executing = new AtomicInteger();
+        final AtomicInteger maxExecuting = new AtomicInteger();
+        final BlockingQueue<Integer> completed = new LinkedBlockingQueue<>();
+        MockModelController controller = new MockModelController() {
+            @Override
+            public ModelNode execute(ModelNode operation, OperationMessageHandler handler, OperationTransactionControl control, OperationAttachments attachments) {
+                int current = executing.incrementAndGet();
+                maxExecuting.accumulateAndGet(current, Math::max);
+                try {
+                    int index = operation.get("test").asInt();
+                    if (index == 0) {
+                        // Only sent once an operation after the first window has completed
+                        laterStarted.await(10, TimeUnit.SECONDS);
+                    } else if (index == maxOutstanding) {
+                        laterStarted.countDown();
+                    }
+                    ModelNode result = new ModelNode();
+                    result.get("testing").set(index);
+                    completed.add(index);
+                    return result;
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                } finally {
+                    executing.decrementAndGet();
+                }
+            }
+        };
+
+        final ModelControllerClient client = setupTestClient(controller);
+        try {
+            List<Operation> operations = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                ModelNode operation = new ModelNode();
+                operation.get("operation").set("fake");
+                operation.get("test").set(i);
+                operations.add(Operation.Factory.create(operation));
+            }
+            List<AsyncFuture<OperationResponse>> results = client.executeOperationsAsync(operations, maxOutstanding);
+            assertEquals(count, results.size());
+            for (int i = 0; i < count; i++) {
+                assertEquals(i, results.get(i).get(10, TimeUnit.SECONDS).getResponseNode().get("testing").asInt());
+            }
+            Assert.assertTrue(laterStarted.await(0, TimeUnit.SECONDS));
+            Assert.assertTrue(maxExecuting.get() <= maxOutstanding);
+            // The first operation was held up until later ones had completed
+            Assert.assertNotEquals(Integer.valueOf(0), completed.poll());
+        } finally {
+            IoUtils.safeClose(client);
+        }
+    }
+
+    @Test
+    public void testPipelinedOperationsWithAttachments() throws Exception {
+        final int count = 10;
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger executing = new AtomicInteger();
+        MockModelController controller = new MockModelController() {
+            @Override
+            public ModelNode execute(ModelNode operation, OperationMessageHandler handler, OperationTransactionControl control, OperationAttachments attachments) {
+                executing.incrementAndGet();
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                    int read = 0;
+                    for (InputStream in : attachments.getInputStreams()) {
+                        while (in.read() != -1) {
+                            read++;
+                        }
+                    }
+                    ModelNode result = new ModelNode();
+                    result.get("testing").set(read);
+                    return result;
+                } catch (InterruptedException | IOException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        };
+
+        final ModelControllerClient client = setupTestClient(controller);
+        try {
+            List<Operation> operations = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                ModelNode operation = new ModelNode();
+                operation.get("operation").set("fake");
+                operations.add(OperationBuilder.create(operation).addInputStream(new ByteArrayInputStream(new byte[i])).build());
+            }
+            // Returns while every operation sent is still executing
+            List<AsyncFuture<OperationResponse>> results = client.executeOperationsAsync(operations, 2);
+            for (AsyncFuture<OperationResponse> result : results) {
+                assertEquals(AsyncFuture.Status.WAITING, result.getStatus());
+            }
+            Assert.assertTrue(executing.get() <= 2);
+            release.countDown();
+            for (int i = 0; i < count; i++) {
+                try (OperationResponse response = results.get(i).get(10, TimeUnit.SECONDS)) {
+                    assertEquals(i, response.getResponseNode().get("testing").asInt());
+                }
+            }
+            assertEquals(count, executing.get());
+        } finally {
+            IoUtils.safeClose(client);
+        }
+    }
+
     @Test
     public void testCloseInputStreamEntry() throws Exception {
         final MockModelController controller = new MockModelController() {
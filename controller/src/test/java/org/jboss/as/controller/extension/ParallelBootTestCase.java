@@ -0,0 +1,256 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.extension;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ADD;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.DEPLOYMENT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.DEPLOYMENT_OVERLAY;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.EXTENSION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OUTCOME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_RESOURCE_OPERATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RECURSIVE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESULT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUBSYSTEM;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUCCESS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.controller.AbstractAddStepHandler;
+import org.jboss.as.controller.ControlledProcessState;
+import org.jboss.as.controller.ManagementModel;
+import org.jboss.as.controller.ModelController;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.ProcessType;
+import org.jboss.as.controller.ReloadRequiredRemoveStepHandler;
+import org.jboss.as.controller.RunningMode;
+import org.jboss.as.controller.RunningModeControl;
+import org.jboss.as.controller.SimpleResourceDefinition;
+import org.jboss.as.controller.TestModelControllerService;
+import org.jboss.as.controller.descriptions.NonResolvingResourceDescriptionResolver;
+import org.jboss.as.controller.operations.common.Util;
+import org.jboss.as.controller.operations.global.GlobalNotifications;
+import org.jboss.as.controller.operations.global.GlobalOperationHandlers;
+import org.jboss.as.controller.persistence.AbstractConfigurationPersister;
+import org.jboss.as.controller.persistence.ConfigurationPersister;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.as.controller.registry.Resource;
+import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.ServiceContainer;
+import org.jboss.msc.service.ServiceName;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Tests the order in which the boot operations of a normal server are executed when subsystems are booted in
+ * parallel. Deployments and deployment overlays are not booted in parallel, and only run once all subsystem
+ * operations have been executed.
+ */
+public class ParallelBootTestCase {
+
+    private static final PathAddress SUBSYSTEM_A = PathAddress.pathAddress(SUBSYSTEM, "a");
+    private static final PathAddress SUBSYSTEM_B = PathAddress.pathAddress(SUBSYSTEM, "b");
+    private static final PathAddress CHILD_X = SUBSYSTEM_A.append("child", "x");
+    private static final PathAddress CHILD_Y = SUBSYSTEM_A.append("child", "y");
+    private static final PathAddress DEPLOYMENT_D = PathAddress.pathAddress(DEPLOYMENT, "d");
+    private static final PathAddress DEPLOYMENT_E = PathAddress.pathAddress(DEPLOYMENT, "e");
+    private static final PathAddress OVERLAY = PathAddress.pathAddress(DEPLOYMENT_OVERLAY, "o");
+    private static final PathAddress OVERLAY_DEPLOYMENT = OVERLAY.append(DEPLOYMENT, "d");
+
+    private final List<String> events = Collections.synchronizedList(new ArrayList<String>());
+    private ServiceContainer container;
+    private ExecutorService executor;
+
+    @After
+    public void shutdownServiceContainer() {
+        if (container != null) {
+            container.shutdown();
+            try {
+                container.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                e.printStackTrace();
+            } finally {
+                container = null;
+            }
+        }
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testBootOrder() throws Exception {
+        // like the server executor, the pool must not be bounded, as each task holds its thread until the boot commits
+        executor = Executors.newCachedThreadPool();
+        container = ServiceContainer.Factory.create("test");
+        ParallelBootModelControllerService svc = new ParallelBootModelControllerService();
+        svc.getExecutorServiceInjector().inject(executor);
+        container.subTarget().addService(ServiceName.of("ModelController"), svc).install();
+        svc.awaitStartup(30, TimeUnit.SECONDS);
+        ModelController controller = svc.getValue();
+
+        ModelNode op = Util.createEmptyOperation(READ_RESOURCE_OPERATION, PathAddress.EMPTY_ADDRESS);
+        op.get(RECURSIVE).set(true);
+        ModelNode response = controller.execute(op, null, null, null);
+        assertEquals(response.toString(), SUCCESS, response.get(OUTCOME).asString());
+        ModelNode model = response.get(RESULT);
+        assertEquals(Arrays.asList("a", "b"), new ArrayList<>(model.get(SUBSYSTEM).keys()));
+        assertEquals(Arrays.asList("x", "y"), new ArrayList<>(model.get(SUBSYSTEM, "a", "child").keys()));
+        assertEquals(Arrays.asList("d", "e"), new ArrayList<>(model.get(DEPLOYMENT).keys()));
+        assertTrue(model.get(DEPLOYMENT_OVERLAY, "o", DEPLOYMENT).hasDefined("d"));
+
+        // the deployment operations run in the order of the boot operations, after all the subsystem operations
+        List<String> modelEvents = events("model");
+        assertEquals(modelEvents.toString(), 8, modelEvents.size());
+        assertEquals(Arrays.asList(DEPLOYMENT_D.toString(), OVERLAY.toString(), OVERLAY_DEPLOYMENT.toString(), DEPLOYMENT_E.toString()),
+                modelEvents.subList(4, 8));
+        List<String> runtimeEvents = events("runtime");
+        assertEquals(runtimeEvents.toString(), 8, runtimeEvents.size());
+        assertEquals(Arrays.asList(DEPLOYMENT_D.toString(), OVERLAY.toString(), OVERLAY_DEPLOYMENT.toString(), DEPLOYMENT_E.toString()),
+                runtimeEvents.subList(4, 8));
+
+        // the independent children of a subsystem only start once all the subsystem tasks have prepared
+        assertTrue(runtimeEvents.toString(), runtimeEvents.subList(0, 2).containsAll(Arrays.asList(SUBSYSTEM_A.toString(), SUBSYSTEM_B.toString())));
+        assertTrue(runtimeEvents.toString(), runtimeEvents.subList(2, 4).containsAll(Arrays.asList(CHILD_X.toString(), CHILD_Y.toString())));
+    }
+
+    private List<String> events(String stage) {
+        List<String> result = new ArrayList<>();
+        synchronized (events) {
+            for (String event : events) {
+                if (event.startsWith(stage + " ")) {
+                    result.add(event.substring(stage.length() + 1));
+                }
+            }
+        }
+        return result;
+    }
+
+    private class ParallelBootModelControllerService extends TestModelControllerService {
+
+        ParallelBootModelControllerService() {
+            super(ProcessType.EMBEDDED_SERVER, new BootOperationsPersister(), new ControlledProcessState(true),
+                    new SimpleResourceDefinition(PathElement.pathElement("root"), new NonResolvingResourceDescriptionResolver()));
+        }
+
+        @Override
+        protected void initModel(ManagementModel managementModel, Resource modelControllerResource) {
+            ManagementResourceRegistration rootRegistration = managementModel.getRootResourceRegistration();
+            GlobalOperationHandlers.registerGlobalOperations(rootRegistration, processType);
+            GlobalNotifications.registerGlobalNotifications(rootRegistration, processType);
+
+            rootRegistration.registerSubModel(new SimpleResourceDefinition(PathElement.pathElement(EXTENSION),
+                    new NonResolvingResourceDescriptionResolver(), new FakeExtensionAddHandler(getMutableRootResourceRegistrationProvider()),
+                    ReloadRequiredRemoveStepHandler.INSTANCE));
+            rootRegistration.registerSubModel(resource(PathElement.pathElement(DEPLOYMENT)));
+            ManagementResourceRegistration overlay = rootRegistration.registerSubModel(resource(PathElement.pathElement(DEPLOYMENT_OVERLAY)));
+            overlay.registerSubModel(resource(PathElement.pathElement(DEPLOYMENT)));
+        }
+    }
+
+    private SimpleResourceDefinition resource(PathElement pathElement) {
+        return new SimpleResourceDefinition(pathElement, new NonResolvingResourceDescriptionResolver(),
+                new RecordingAddHandler(), ReloadRequiredRemoveStepHandler.INSTANCE);
+    }
+
+    private class FakeExtensionAddHandler extends ExtensionAddHandler {
+
+        private FakeExtensionAddHandler(MutableRootResourceRegistrationProvider rootResourceRegistrationProvider) {
+            super(new ExtensionRegistry(ProcessType.EMBEDDED_SERVER, new RunningModeControl(RunningMode.NORMAL)), true,
+                    ExtensionRegistryType.SERVER, rootResourceRegistrationProvider);
+        }
+
+        @Override
+        public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+            context.createResource(PathAddress.EMPTY_ADDRESS);
+        }
+
+        @Override
+        void initializeExtension(String module, ManagementResourceRegistration rootRegistration) {
+            for (String subsystem : Arrays.asList("a", "b")) {
+                ManagementResourceRegistration registration = rootRegistration.registerSubModel(resource(PathElement.pathElement(SUBSYSTEM, subsystem)));
+                registration.registerSubModel(resource(PathElement.pathElement("child")));
+                registration.registerParallelBootChildType("child");
+            }
+        }
+    }
+
+    private class RecordingAddHandler extends AbstractAddStepHandler {
+
+        @Override
+        protected void populateModel(OperationContext context, ModelNode operation, Resource resource) throws OperationFailedException {
+            events.add("model " + context.getCurrentAddress());
+        }
+
+        @Override
+        protected void performRuntime(OperationContext context, ModelNode operation, Resource resource) throws OperationFailedException {
+            events.add("runtime " + context.getCurrentAddress());
+        }
+    }
+
+    private static class BootOperationsPersister extends AbstractConfigurationPersister {
+
+        private BootOperationsPersister() {
+            super(null);
+        }
+
+        @Override
+        public PersistenceResource store(final ModelNode model, Set<PathAddress> affectedAddresses) {
+            return NullPersistenceResource.INSTANCE;
+        }
+
+        @Override
+        public List<ModelNode> load() {
+            final List<ModelNode> bootOps = new ArrayList<ModelNode>();
+            for (PathAddress address : Arrays.asList(PathAddress.pathAddress(EXTENSION, "test"), SUBSYSTEM_A, CHILD_X, CHILD_Y,
+                    SUBSYSTEM_B, DEPLOYMENT_D, OVERLAY, OVERLAY_DEPLOYMENT, DEPLOYMENT_E)) {
+                bootOps.add(Util.createEmptyOperation(ADD, address));
+            }
+            return bootOps;
+        }
+
+        private static class NullPersistenceResource implements ConfigurationPersister.PersistenceResource {
+
+            private static final NullPersistenceResource INSTANCE = new NullPersistenceResource();
+
+            @Override
+            public void commit() {
+            }
+
+            @Override
+            public void rollback() {
+            }
+        }
+    }
+}
@@ -28,10 +28,13 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 
 import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.registry.NotificationHandlerRegistration;
+import org.junit.Ignore;
 import org.junit.Test;
 
 /**
@@ -228,6 +231,127 @@ public class NotificationRegistryTestCase {
         assertTrue(handlers.contains(handler3));
     }
 
+    @Test
+    public void testFilterForTypes() {
+        NotificationHandlerRegistration registry = NotificationHandlerRegistration.Factory.create();
+
+        NotificationHandler handler1 = new SimpleNotificationHandler();
+        NotificationHandler handler2 = new SimpleNotificationHandler();
+        NotificationFilter filter = NotificationFilter.forTypes("foo", "bar");
+        PathAddress address = PathAddress.pathAddress("subsystem", "messaging");
+
+        registry.registerNotificationHandler(address, handler1, filter);
+        registry.registerNotificationHandler(ANY_ADDRESS, handler2, filter);
+
+        Collection<NotificationHandler> handlers = registry.findMatchingNotificationHandlers(new Notification("foo", address, "foo"));
+        assertEquals(2, handlers.size());
+        handlers = registry.findMatchingNotificationHandlers(new Notification("bar", address, "bar"));
+        assertEquals(2, handlers.size());
+        handlers = registry.findMatchingNotificationHandlers(new Notification("baz", address, "baz"));
+        assertTrue(handlers.isEmpty());
+
+        registry.unregisterNotificationHandler(address, handler1, filter);
+        registry.unregisterNotificationHandler(ANY_ADDRESS, handler2, filter);
+        handlers = registry.findMatchingNotificationHandlers(new Notification("foo", address, "foo"));
+        assertTrue(handlers.isEmpty());
+    }
+
+    /**
+     * Matches notifications against 10000 handlers registered like JMX listeners, one per resource.
+     */
+    @Test
+    public void testMatchingWithManyHandlers() {
+        final int resources = 10_000;
+        NotificationHandlerRegistration registry = NotificationHandlerRegistration.Factory.create();
+        List<PathAddress> addresses = new ArrayList<>();
+        List<NotificationFilter> filters = new ArrayList<>();
+        List<NotificationHandler> handlers = new ArrayList<>();
+        for (int i = 0; i < resources; i++) {
+            PathAddress address = PathAddress.pathAddress("subsystem", "messaging").append("queue", "queue-" + i);
+            NotificationFilter filter = NotificationFilter.forTypes("attribute-value-written");
+            NotificationHandler handler = new SimpleNotificationHandler();
+            registry.registerNotificationHandler(address, handler, filter);
+            addresses.add(address);
+            filters.add(filter);
+            handlers.add(handler);
+        }
+        NotificationHandler patternHandler = new SimpleNotificationHandler();
+        registry.registerNotificationHandler(PathAddress.pathAddress("subsystem", "*").append("queue", "*"), patternHandler, NotificationFilter.forTypes("resource-added"));
+
+        List<Notification> notifications = new ArrayList<>();
+        for (int i = 0; i < resources; i += 100) {
+            notifications.add(new Notification("attribute-value-written", addresses.get(i), "written"));
+        }
+        for (Notification notification : notifications) {
+            Collection<NotificationHandler> matching = registry.findMatchingNotificationHandlers(notification);
+            assertEquals(1, matching.size());
+            assertTrue(matching.contains(handlers.get(addresses.indexOf(notification.getSource()))));
+        }
+        assertTrue(registry.findMatchingNotificationHandlers(new Notification("resource-added", addresses.get(0), "added")).contains(patternHandler));
+
+        for (int i = 0; i < resources; i++) {
+            registry.unregisterNotificationHandler(addresses.get(i), handlers.get(i), filters.get(i));
+        }
+        for (Notification notification : notifications) {
+            assertTrue(registry.findMatchingNotificationHandlers(notification).isEmpty());
+        }
+    }
+
+    /**
+     * Compares matching notifications against 10000 handlers, registered like JMX listeners, with evaluating the filter
+     * of every handler. The timings depend on the machine, so this is only run manually.
+     */
+    @Test
+    @Ignore("benchmark, run manually")
+    public void benchmarkMatchingWithManyHandlers() {
+        final int resources = 10_000;
+        final int warmup = 20;
+        final int iterations = 100;
+        NotificationHandlerRegistration registry = NotificationHandlerRegistration.Factory.create();
+        List<PathAddress> addresses = new ArrayList<>();
+        List<NotificationFilter> filters = new ArrayList<>();
+        List<NotificationHandler> handlers = new ArrayList<>();
+        for (int i = 0; i < resources; i++) {
+            PathAddress address = PathAddress.pathAddress("subsystem", "messaging").append("queue", "queue-" + i);
+            NotificationFilter filter = NotificationFilter.forTypes("attribute-value-written");
+            NotificationHandler handler = new SimpleNotificationHandler();
+            registry.registerNotificationHandler(address, handler, filter);
+            addresses.add(address);
+            filters.add(filter);
+            handlers.add(handler);
+        }
+        List<Notification> notifications = new ArrayList<>();
+        for (int i = 0; i < resources; i += 100) {
+            notifications.add(new Notification("attribute-value-written", addresses.get(i), "written"));
+        }
+
+        long indexed = 0;
+        long scanned = 0;
+        int matched = 0;
+        for (int i = 0; i < warmup + iterations; i++) {
+            long start = System.nanoTime();
+            for (Notification notification : notifications) {
+                matched += registry.findMatchingNotificationHandlers(notification).size();
+            }
+            long end = System.nanoTime();
+            for (Notification notification : notifications) {
+                // what matching costs when the filter of every handler is evaluated
+                for (int j = 0; j < resources; j++) {
+                    if (addresses.get(j).equals(notification.getSource()) && filters.get(j).isNotificationEnabled(notification)) {
+                        matched++;
+                    }
+                }
+            }
+            if (i >= warmup) {
+                indexed += end - start;
+                scanned += System.nanoTime() - end;
+            }
+        }
+        assertEquals(2 * (warmup + iterations) * notifications.size(), matched);
+        System.out.printf("%d handlers: indexed matching %d ns, evaluating every filter %d ns per notification%n", resources,
+                indexed / (iterations * notifications.size()), scanned / (iterations * notifications.size()));
+    }
+
     private static class SimpleNotificationHandler implements NotificationHandler {
 
         @Override
@@ -31,9 +31,11 @@ import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import org.jboss.as.controller.registry.NotificationHandlerRegistration;
 import org.junit.Before;
@@ -58,6 +60,114 @@ public class NotificationSupportImplTestCase {
         doNotificationOrdering(null);
     }
 
+    @Test
+    public void testSlowHandlerDoesNotDelayOthers() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            NotificationSupport notificationSupport = NotificationSupport.Factory.create(executor);
+            BlockingNotificationHandler slowHandler = new BlockingNotificationHandler();
+            CountDownLatch latch = new CountDownLatch(10);
+            CountdownListBackedNotificationHandler handler = new CountdownListBackedNotificationHandler(latch);
+            notificationSupport.getNotificationRegistry().registerNotificationHandler(NotificationHandlerRegistration.ANY_ADDRESS, slowHandler, ALL);
+            notificationSupport.getNotificationRegistry().registerNotificationHandler(NotificationHandlerRegistration.ANY_ADDRESS, handler, ALL);
+
+            List<Notification> notifications = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                Notification notification = new Notification("foo", pathAddress("resource", "foo"), "foo" + i);
+                notifications.add(notification);
+                notificationSupport.emit(notification);
+            }
+
+            assertTrue(latch.await(5, SECONDS));
+            assertEquals(notifications, handler.getNotifications());
+            // the slow handler is still stuck on its first notification
+            assertTrue(slowHandler.entered.await(5, SECONDS));
+            assertEquals(1, slowHandler.notifications.size());
+            waitFor(() -> notificationSupport.getPendingNotificationCount() == 10);
+
+            slowHandler.release.countDown();
+            waitFor(() -> notificationSupport.getPendingNotificationCount() == 0);
+            assertEquals(notifications, slowHandler.notifications);
+            assertEquals(0, notificationSupport.getDiscardedNotificationCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testQueueOverflowDiscardNewest() throws Exception {
+        doQueueOverflow(NotificationSupport.OverflowPolicy.DISCARD_NEWEST, 1, 2);
+    }
+
+    @Test
+    public void testQueueOverflowDiscardOldest() throws Exception {
+        doQueueOverflow(NotificationSupport.OverflowPolicy.DISCARD_OLDEST, 3, 4);
+    }
+
+    private void doQueueOverflow(NotificationSupport.OverflowPolicy policy, int... delivered) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            NotificationSupport notificationSupport = NotificationSupport.Factory.create(executor, 2, policy);
+            BlockingNotificationHandler handler = new BlockingNotificationHandler();
+            notificationSupport.getNotificationRegistry().registerNotificationHandler(NotificationHandlerRegistration.ANY_ADDRESS, handler, ALL);
+
+            List<Notification> notifications = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                notifications.add(new Notification("foo", pathAddress("resource", "foo"), "foo" + i));
+            }
+            notificationSupport.emit(notifications.get(0));
+            assertTrue(handler.entered.await(5, SECONDS));
+            // the handler is busy with the 1st notification, its queue can only hold 2 of the 4 others
+            notificationSupport.emit(notifications.subList(1, 5).toArray(new Notification[4]));
+            waitFor(() -> notificationSupport.getDiscardedNotificationCount() == 2);
+            // the notification being handled is still pending
+            assertEquals(3, notificationSupport.getPendingNotificationCount());
+
+            handler.release.countDown();
+            waitFor(() -> notificationSupport.getPendingNotificationCount() == 0);
+            List<Notification> expected = new ArrayList<>();
+            expected.add(notifications.get(0));
+            for (int i : delivered) {
+                expected.add(notifications.get(i));
+            }
+            assertEquals(expected, handler.notifications);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void waitFor(Condition condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.isMet()) {
+            assertTrue("timed out", System.nanoTime() < deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    private interface Condition {
+        boolean isMet();
+    }
+
+    /**
+     * Records its notifications, blocking on the 1st one until it is released.
+     */
+    private static class BlockingNotificationHandler implements NotificationHandler {
+        final List<Notification> notifications = new CopyOnWriteArrayList<>();
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public void handleNotification(Notification notification) {
+            notifications.add(notification);
+            entered.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
     private void  doNotificationOrdering(ExecutorService executor) throws Exception {
         int numberOfNotificationsEmitted = 12;
         final CountDownLatch latch = new CountDownLatch(numberOfNotificationsEmitted);
@@ -0,0 +1,174 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.operation.global;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.INCLUDE_DEFAULTS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.INCLUDE_RUNTIME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_RESOURCE_OPERATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RECURSIVE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RECURSIVE_DEPTH;
+import static org.junit.Assert.assertEquals;
+
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.ManagementModel;
+import org.jboss.as.controller.ModelOnlyWriteAttributeHandler;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.SimpleResourceDefinition;
+import org.jboss.as.controller.descriptions.NonResolvingResourceDescriptionResolver;
+import org.jboss.as.controller.operations.common.Util;
+import org.jboss.as.controller.operations.global.GlobalNotifications;
+import org.jboss.as.controller.operations.global.GlobalOperationHandlers;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.as.controller.registry.Resource;
+import org.jboss.as.controller.test.AbstractControllerTestBase;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.jboss.dmr.ValueExpression;
+import org.junit.Test;
+
+/**
+ * Tests recursive {@code read-resource} over a model where most resources are read in a single pass and some
+ * still need {@code read-attribute} steps.
+ */
+public class RecursiveReadResourceTestCase extends AbstractControllerTestBase {
+
+    private static final int GROUPS = 50;
+    private static final int ITEMS = 1000;
+
+    private static final AttributeDefinition VALUE = new SimpleAttributeDefinitionBuilder("value", ModelType.STRING, true)
+            .setAllowExpression(true)
+            .build();
+    private static final AttributeDefinition SIZE = new SimpleAttributeDefinitionBuilder("size", ModelType.INT, true)
+            .setDefaultValue(new ModelNode(5))
+            .build();
+    private static final AttributeDefinition STATUS = new SimpleAttributeDefinitionBuilder("status", ModelType.STRING, true)
+            .setStorageRuntime()
+            .build();
+
+    @Test
+    public void testModelOnlyTree() throws Exception {
+        ModelNode op = Util.createEmptyOperation(READ_RESOURCE_OPERATION, PathAddress.pathAddress("group", "g1"));
+        op.get(RECURSIVE).set(true);
+        ModelNode result = executeForResult(op);
+        assertEquals(expectedGroup(1, true, false), result);
+
+        op.get(INCLUDE_DEFAULTS).set(false);
+        result = executeForResult(op);
+        assertEquals(expectedGroup(1, false, false), result);
+    }
+
+    @Test
+    public void testRecursiveDepth() throws Exception {
+        ModelNode op = Util.createEmptyOperation(READ_RESOURCE_OPERATION, PathAddress.EMPTY_ADDRESS);
+        op.get(RECURSIVE_DEPTH).set(1);
+        ModelNode result = executeForResult(op);
+        assertEquals(GROUPS, result.get("group").keys().size());
+        ModelNode group = result.get("group", "g7");
+        assertEquals("group-7", group.get(VALUE.getName()).asString());
+        assertEquals(ITEMS, group.get("item").keys().size());
+        // children are only named at this depth
+        assertEquals(ModelType.UNDEFINED, group.get("item", "i3").getType());
+        assertEquals(ModelType.UNDEFINED, group.get("monitor", "m").getType());
+    }
+
+    @Test
+    public void testRuntimeReadHandlers() throws Exception {
+        ModelNode op = Util.createEmptyOperation(READ_RESOURCE_OPERATION, PathAddress.pathAddress("group", "g2"));
+        op.get(RECURSIVE).set(true);
+        op.get(INCLUDE_RUNTIME).set(true);
+        ModelNode result = executeForResult(op);
+        assertEquals(expectedGroup(2, true, true), result);
+    }
+
+    @Test
+    public void testLargeModel() throws Exception {
+        ModelNode op = Util.createEmptyOperation(READ_RESOURCE_OPERATION, PathAddress.EMPTY_ADDRESS);
+        op.get(RECURSIVE).set(true);
+        ModelNode result = executeForResult(op);
+        ModelNode groups = result.get("group");
+        assertEquals(GROUPS, groups.keys().size());
+        for (int i = 0; i < GROUPS; i++) {
+            assertEquals(ITEMS, groups.get("g" + i, "item").keys().size());
+        }
+        assertEquals(expectedGroup(GROUPS - 1, true, false), groups.get("g" + (GROUPS - 1)));
+    }
+
+    private static ModelNode expectedGroup(int group, boolean defaults, boolean runtime) {
+        ModelNode expected = new ModelNode();
+        expected.get(SIZE.getName()).set(defaults ? new ModelNode(SIZE.getDefaultValue().asInt()) : new ModelNode());
+        if (runtime) {
+            expected.get(STATUS.getName()).set("running");
+        }
+        expected.get(VALUE.getName()).set("group-" + group);
+        for (int i = 0; i < ITEMS; i++) {
+            ModelNode item = expected.get("item", "i" + i);
+            item.get(SIZE.getName()).set(i);
+            item.get(VALUE.getName()).set(i % 2 == 0 ? new ModelNode(new ValueExpression("${item:" + i + "}")) : new ModelNode());
+        }
+        if (runtime) {
+            expected.get("monitor", "m").get(STATUS.getName()).set("running");
+        } else {
+            expected.get("monitor");
+        }
+        return expected;
+    }
+
+    @Override
+    protected void initModel(ManagementModel managementModel) {
+        ManagementResourceRegistration registration = managementModel.getRootResourceRegistration();
+        GlobalOperationHandlers.registerGlobalOperations(registration, processType);
+        GlobalNotifications.registerGlobalNotifications(registration, processType);
+
+        ManagementResourceRegistration group = registration.registerSubModel(
+                new SimpleResourceDefinition(PathElement.pathElement("group"), new NonResolvingResourceDescriptionResolver()));
+        group.registerReadWriteAttribute(VALUE, null, new ModelOnlyWriteAttributeHandler(VALUE));
+        group.registerReadWriteAttribute(SIZE, null, new ModelOnlyWriteAttributeHandler(SIZE));
+        group.registerReadOnlyAttribute(STATUS, (context, operation) -> context.getResult().set("running"));
+        ManagementResourceRegistration item = group.registerSubModel(
+                new SimpleResourceDefinition(PathElement.pathElement("item"), new NonResolvingResourceDescriptionResolver()));
+        item.registerReadWriteAttribute(VALUE, null, new ModelOnlyWriteAttributeHandler(VALUE));
+        item.registerReadWriteAttribute(SIZE, null, new ModelOnlyWriteAttributeHandler(SIZE));
+        ManagementResourceRegistration monitor = group.registerSubModel(new SimpleResourceDefinition(
+                new SimpleResourceDefinition.Parameters(PathElement.pathElement("monitor"), new NonResolvingResourceDescriptionResolver())
+                        .setRuntime()));
+        monitor.registerReadOnlyAttribute(STATUS, (context, operation) -> context.getResult().set("running"));
+
+        Resource root = managementModel.getRootResource();
+        for (int g = 0; g < GROUPS; g++) {
+            Resource groupResource = Resource.Factory.create();
+            groupResource.getModel().get(VALUE.getName()).set("group-" + g);
+            for (int i = 0; i < ITEMS; i++) {
+                Resource itemResource = Resource.Factory.create();
+                if (i % 2 == 0) {
+                    itemResource.getModel().get(VALUE.getName()).set(new ValueExpression("${item:" + i + "}"));
+                }
+                itemResource.getModel().get(SIZE.getName()).set(i);
+                groupResource.registerChild(PathElement.pathElement("item", "i" + i), itemResource);
+            }
+            groupResource.registerChild(PathElement.pathElement("monitor", "m"), Resource.Factory.create(true));
+            root.registerChild(PathElement.pathElement("group", "g" + g), groupResource);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.persistence;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ADD;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.EXTENSION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MODULE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SYSTEM_PROPERTY;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.VALUE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jboss.as.controller.PathAddress;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ValueExpression;
+import org.jboss.modules.Module;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests caching the boot operations parsed from a configuration file.
+ */
+public class BootOperationCacheTestCase {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testLoadUnchangedConfiguration() throws Exception {
+        final File configuration = write("standalone.xml", "<server/>");
+        final File cacheFile = new File(folder.getRoot(), "cache/standalone.xml.bin");
+        final List<ModelNode> operations = operations();
+
+        final BootOperationCache cache = new BootOperationCache(cacheFile, Module.getBootModuleLoader(), XmlConfigurationPersister.class);
+        assertNull(cache.load(configuration));
+        cache.store(configuration, operations);
+        assertEquals(operations, cache.load(configuration));
+        assertEquals(operations, new BootOperationCache(cacheFile, Module.getBootModuleLoader(), XmlConfigurationPersister.class).load(configuration));
+    }
+
+    @Test
+    public void testChangedConfigurationIsNotLoaded() throws Exception {
+        final File configuration = write("standalone.xml", "<server/>");
+        final File cacheFile = new File(folder.getRoot(), "standalone.xml.bin");
+        final BootOperationCache cache = new BootOperationCache(cacheFile, Module.getBootModuleLoader(), XmlConfigurationPersister.class);
+        cache.store(configuration, operations());
+
+        write("standalone.xml", "<server name=\"changed\"/>");
+        assertNull(cache.load(configuration));
+    }
+
+    @Test
+    public void testChangedParsersAreNotLoaded() throws Exception {
+        final File configuration = write("standalone.xml", "<server/>");
+        final File cacheFile = new File(folder.getRoot(), "standalone.xml.bin");
+        new BootOperationCache(cacheFile, Module.getBootModuleLoader(), XmlConfigurationPersister.class).store(configuration, operations());
+
+        assertNull(new BootOperationCache(cacheFile, Module.getBootModuleLoader(), BootOperationCacheTestCase.class).load(configuration));
+    }
+
+    @Test
+    public void testCorruptCacheIsNotLoaded() throws Exception {
+        final File configuration = write("standalone.xml", "<server/>");
+        final File cacheFile = write("standalone.xml.bin", "not a cache");
+        assertNull(new BootOperationCache(cacheFile, Module.getBootModuleLoader(), XmlConfigurationPersister.class).load(configuration));
+    }
+
+    private File write(final String name, final String content) throws IOException {
+        final File file = new File(folder.getRoot(), name);
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    private static List<ModelNode> operations() {
+        final List<ModelNode> operations = new ArrayList<>();
+        final ModelNode extension = new ModelNode();
+        extension.get(OP).set(ADD);
+        extension.get(OP_ADDR).set(PathAddress.pathAddress(EXTENSION, "org.jboss.as.missing").toModelNode());
+        extension.get(MODULE).set("org.jboss.as.missing");
+        operations.add(extension);
+        final ModelNode property = new ModelNode();
+        property.get(OP).set(ADD);
+        property.get(OP_ADDR).set(PathAddress.pathAddress(SYSTEM_PROPERTY, "foo").toModelNode());
+        property.get(VALUE).set(new ValueExpression("${bar:baz}"));
+        operations.add(property);
+        return operations;
+    }
+}
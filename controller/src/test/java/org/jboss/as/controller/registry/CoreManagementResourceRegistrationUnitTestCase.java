@@ -355,6 +355,18 @@ public class CoreManagementResourceRegistrationUnitTestCase {
         assertTrue(acds.contains(ApplicationTypeAccessConstraintDefinition.DEPLOYMENT));
     }
 
+    @Test
+    public void testParallelBootChildTypes() {
+        ManagementResourceRegistration child = rootRegistration.registerSubModel(new SimpleResourceDefinition(childElement, new NonResolvingResourceDescriptionResolver()));
+        assertTrue(child.getParallelBootChildTypes().isEmpty());
+
+        child.registerParallelBootChildType(grandchildElement.getKey());
+        assertEquals(1, child.getParallelBootChildTypes().size());
+        assertTrue(child.getParallelBootChildTypes().contains(grandchildElement.getKey()));
+        assertTrue(rootRegistration.getSubModel(fullChildAddress).getParallelBootChildTypes().contains(grandchildElement.getKey()));
+        assertTrue(rootRegistration.getParallelBootChildTypes().isEmpty());
+    }
+
     private static class TestHandler implements OperationStepHandler {
 
         private static TestHandler INSTANCE = new TestHandler();
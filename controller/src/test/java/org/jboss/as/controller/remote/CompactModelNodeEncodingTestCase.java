@@ -0,0 +1,196 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.remote;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.jboss.dmr.ValueExpression;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests of {@link CompactModelNodeEncoding}.
+ */
+public class CompactModelNodeEncodingTestCase {
+
+    @Test
+    public void testRoundTripAllTypes() throws IOException {
+        final ModelNode node = new ModelNode();
+        node.get("undefined");
+        node.get("true").set(true);
+        node.get("false").set(false);
+        node.get("int").set(Integer.MIN_VALUE);
+        node.get("small-int").set(-1);
+        node.get("long").set(Long.MAX_VALUE);
+        node.get("double").set(-1.5d);
+        node.get("big-integer").set(new BigInteger("-123456789012345678901234567890"));
+        node.get("big-decimal").set(new BigDecimal("12345.678901234567890"));
+        node.get("string").set("été ☃");
+        node.get("empty-string").set("");
+        node.get("bytes").set(new byte[] {0, 1, -1, 127, -128});
+        node.get("expression").set(new ValueExpression("${jboss.bind.address:127.0.0.1}"));
+        node.get("type").set(ModelType.OBJECT);
+        node.get("list").add("a").add(1).add(new ModelNode()).add("a");
+        node.get("empty-list").setEmptyList();
+        node.get("empty-object").setEmptyObject();
+        node.get("property").set("string", new ModelNode("string"));
+
+        final ModelNode read = roundTrip(node);
+        Assert.assertEquals(node, read);
+        Assert.assertEquals(ModelType.EXPRESSION, read.get("expression").getType());
+        Assert.assertEquals(ModelType.PROPERTY, read.get("property").getType());
+        Assert.assertEquals(ModelType.BIG_DECIMAL, read.get("big-decimal").getType());
+        Assert.assertFalse(read.get("undefined").isDefined());
+        Assert.assertTrue(read.has("undefined"));
+
+        Assert.assertEquals(new ModelNode(), roundTrip(new ModelNode()));
+        Assert.assertEquals(new ModelNode(42L), roundTrip(new ModelNode(42L)));
+    }
+
+    @Test
+    public void testRoundTripLargeModel() throws IOException {
+        final ModelNode model = createDomainModel(20, 30);
+        final byte[] compact = writeCompact(model);
+        // deflated
+        Assert.assertEquals(1, compact[1]);
+        Assert.assertEquals(model, readCompact(compact));
+    }
+
+    @Test(expected = IOException.class)
+    public void testUnsupportedVersion() throws IOException {
+        final byte[] bytes = writeCompact(new ModelNode("test"));
+        bytes[0] = CompactModelNodeEncoding.VERSION + 1;
+        readCompact(bytes);
+    }
+
+    @Test
+    public void testMalformedVarLong() throws IOException {
+        final byte[] bytes = writeCompact(new ModelNode(42L));
+        // the version, the flags, the chunk length, then the type of the value
+        final int value = 1 + 1 + 4 + 1;
+        final byte[] malformed = new byte[value + 10];
+        System.arraycopy(bytes, 0, malformed, 0, value);
+        malformed[5] = 10 + 1;
+        for (int i = value; i < malformed.length; i++) {
+            malformed[i] = (byte) 0x80;
+        }
+        try {
+            readCompact(malformed);
+            Assert.fail();
+        } catch (IOException e) {
+            Assert.assertTrue(e.getMessage(), e.getMessage().contains("variable length integer"));
+        }
+    }
+
+    /**
+     * Checks that reading a message, deflated or not, stops at its end.
+     */
+    @Test
+    public void testFollowedByOtherData() throws IOException {
+        for (ModelNode node : new ModelNode[] {new ModelNode("small"), createDomainModel(20, 30)}) {
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (DataOutputStream out = new DataOutputStream(bytes)) {
+                CompactModelNodeEncoding.writeModelNode(node, out);
+                out.writeUTF("after");
+            }
+            try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+                Assert.assertEquals(node, CompactModelNodeEncoding.readModelNode(in));
+                Assert.assertEquals("after", in.readUTF());
+                Assert.assertEquals(-1, in.read());
+            }
+        }
+    }
+
+    /**
+     * Compares the size of a domain-like model written with {@link ModelNode#writeExternal} and with the compact
+     * encoding.
+     */
+    @Test
+    public void testSize() throws IOException {
+        final ModelNode model = createDomainModel(10, 40);
+        Assert.assertTrue(writeCompact(model).length * 4 < writeExternal(model).length);
+    }
+
+    /** Creates a model shaped like a domain model, with many profiles of similar subsystems */
+    private static ModelNode createDomainModel(final int profiles, final int subsystems) {
+        final ModelNode model = new ModelNode();
+        for (int p = 0; p < profiles; p++) {
+            final ModelNode profile = model.get("profile", "profile-" + p);
+            for (int s = 0; s < subsystems; s++) {
+                final ModelNode subsystem = profile.get("subsystem", "subsystem-" + s);
+                subsystem.get("enabled").set(true);
+                subsystem.get("statistics-enabled").set(new ValueExpression("${wildfly.statistics-enabled:false}"));
+                subsystem.get("max-pool-size").set(s * 10);
+                subsystem.get("timeout").set(300000L);
+                for (int r = 0; r < 5; r++) {
+                    final ModelNode resource = subsystem.get("resource", "resource-" + r);
+                    resource.get("name").set("resource-" + r);
+                    resource.get("description").set("A resource of subsystem-" + s);
+                    resource.get("attributes").add("attribute-one").add("attribute-two");
+                }
+            }
+        }
+        final ModelNode sockets = model.get("socket-binding-group", "standard-sockets");
+        for (int i = 0; i < 50; i++) {
+            final ModelNode binding = sockets.get("socket-binding", "binding-" + i);
+            binding.get("interface").set("public");
+            binding.get("port").set(new ValueExpression("${jboss.port.offset.binding-" + i + ":" + (8000 + i) + "}"));
+            binding.get("fixed-port").set(false);
+        }
+        return model;
+    }
+
+    private static ModelNode roundTrip(final ModelNode node) throws IOException {
+        return readCompact(writeCompact(node));
+    }
+
+    private static byte[] writeCompact(final ModelNode node) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            CompactModelNodeEncoding.writeModelNode(node, out);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static ModelNode readCompact(final byte[] bytes) throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            return CompactModelNodeEncoding.readModelNode(in);
+        }
+    }
+
+    private static byte[] writeExternal(final ModelNode node) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            node.writeExternal(out);
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+
+package org.jboss.as.controller.transform;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.ProcessType;
+import org.jboss.as.controller.RunningMode;
+import org.jboss.as.controller.registry.Resource;
+import org.junit.Test;
+
+/**
+ * Tests the model generation of {@link Transformers.TransformationInputs}.
+ */
+public class TransformationInputsTestCase {
+
+    @Test
+    public void testModelGeneration() {
+        final Resource model = Resource.Factory.create();
+        final AtomicLong generation = new AtomicLong(5);
+        Transformers.TransformationInputs inputs = new Transformers.TransformationInputs(createContext(model, generation, false));
+        assertSame(model, inputs.getRootResource());
+        assertEquals(5, inputs.getModelGeneration());
+
+        // a model published while the model is read may be the one read
+        inputs = new Transformers.TransformationInputs(createContext(model, generation, true));
+        assertEquals(-1, inputs.getModelGeneration());
+    }
+
+    private static OperationContext createContext(final Resource model, final AtomicLong generation, final boolean publishOnRead) {
+        return (OperationContext) Proxy.newProxyInstance(OperationContext.class.getClassLoader(), new Class<?>[] {OperationContext.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getModelGeneration":
+                            return generation.get();
+                        case "readResourceFromRoot":
+                            if (publishOnRead) {
+                                generation.incrementAndGet();
+                            }
+                            return model;
+                        case "getProcessType":
+                            return ProcessType.HOST_CONTROLLER;
+                        case "getRunningMode":
+                            return RunningMode.NORMAL;
+                        default:
+                            return null;
+                    }
+                });
+    }
+}
@@ -0,0 +1,219 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.domain.http.server;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import io.undertow.util.HeaderMap;
+import io.undertow.util.HeaderValues;
+import io.undertow.util.Headers;
+import io.undertow.util.QValueParser;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * An {@link OutputStream} that compresses a response once it has grown beyond a threshold.
+ * <p>
+ * Until the threshold is reached the response is held back, so a small response can still be sent as is. As soon
+ * as it is exceeded the {@code Content-Encoding} header is set and everything written so far, and everything
+ * written after, passes through the compressor to the underlying stream.
+ */
+final class CompressingOutputStream extends OutputStream {
+
+    /** Responses up to this size are not worth compressing. */
+    static final int DEFAULT_THRESHOLD = 2048;
+
+    /** Set to {@code false} to never compress responses. */
+    private static final boolean ENABLED = Boolean.parseBoolean(
+            WildFlySecurityManager.getPropertyPrivileged("org.wildfly.management.http.compression", "true"));
+
+    /** The size, in bytes, a response must exceed to be compressed. */
+    private static final int THRESHOLD = Integer.parseInt(
+            WildFlySecurityManager.getPropertyPrivileged("org.wildfly.management.http.compression.threshold", String.valueOf(DEFAULT_THRESHOLD)));
+
+    private static final int BUFFER_SIZE = 8192;
+
+    enum Encoding {
+        GZIP(Headers.GZIP.toString()) {
+            @Override
+            OutputStream wrap(OutputStream out) throws IOException {
+                return new GZIPOutputStream(out, BUFFER_SIZE);
+            }
+        },
+        DEFLATE(Headers.DEFLATE.toString()) {
+            @Override
+            OutputStream wrap(OutputStream out) {
+                return new DeflaterOutputStream(out);
+            }
+        };
+
+        private final String name;
+
+        Encoding(String name) {
+            this.name = name;
+        }
+
+        abstract OutputStream wrap(OutputStream out) throws IOException;
+    }
+
+    private final OutputStream out;
+    private final Encoding encoding;
+    private final HeaderMap responseHeaders;
+    private byte[] buffer;
+    private int count;
+    private OutputStream compressed;
+
+    CompressingOutputStream(final OutputStream out, final Encoding encoding, final int threshold, final HeaderMap responseHeaders) {
+        this.out = out;
+        this.encoding = encoding;
+        this.responseHeaders = responseHeaders;
+        this.buffer = new byte[threshold];
+    }
+
+    /**
+     * Wraps the output stream of a response in a {@code CompressingOutputStream} if the client accepts one of the
+     * supported encodings. Compression can be turned off with the {@code org.wildfly.management.http.compression}
+     * system property and the size a response must exceed to be compressed set with
+     * {@code org.wildfly.management.http.compression.threshold}.
+     *
+     * @param out the stream the response is written to
+     * @param requestHeaders the headers of the request
+     * @param responseHeaders the headers of the response, not yet sent
+     * @return the stream to write the response to
+     */
+    static OutputStream wrap(final OutputStream out, final HeaderMap requestHeaders, final HeaderMap responseHeaders) {
+        return wrap(out, requestHeaders, responseHeaders, ENABLED, THRESHOLD);
+    }
+
+    /**
+     * As {@link #wrap(OutputStream, HeaderMap, HeaderMap)}, with the given settings rather than those of the system
+     * properties. A negative threshold turns compression off as well.
+     */
+    static OutputStream wrap(final OutputStream out, final HeaderMap requestHeaders, final HeaderMap responseHeaders,
+                             final boolean enabled, final int threshold) {
+        if (!enabled || threshold < 0) {
+            return out;
+        }
+        // Whether or not this response ends up compressed, a cached copy is only valid for the same Accept-Encoding
+        responseHeaders.add(Headers.VARY, Headers.ACCEPT_ENCODING_STRING);
+        Encoding encoding = negotiate(requestHeaders.get(Headers.ACCEPT_ENCODING));
+        return encoding == null ? out : new CompressingOutputStream(out, encoding, threshold, responseHeaders);
+    }
+
+    /**
+     * Picks the preferred supported encoding from an {@code Accept-Encoding} header.
+     *
+     * @param acceptEncoding the values of the header, may be {@code null}
+     * @return the encoding to use, or {@code null} if the response should not be compressed
+     */
+    static Encoding negotiate(final HeaderValues acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isEmpty()) {
+            return null;
+        }
+        // Groups are in decreasing order of preference
+        for (List<QValueParser.QValueResult> group : QValueParser.parse(acceptEncoding)) {
+            Encoding result = null;
+            boolean identity = false;
+            for (QValueParser.QValueResult value : group) {
+                if (value.isQValueZero()) {
+                    continue;
+                }
+                String name = value.getValue();
+                if (Encoding.GZIP.name.equalsIgnoreCase(name) || "*".equals(name)) {
+                    // gzip wins a tie
+                    return Encoding.GZIP;
+                } else if (Encoding.DEFLATE.name.equalsIgnoreCase(name)) {
+                    result = Encoding.DEFLATE;
+                } else if (Headers.IDENTITY.toString().equalsIgnoreCase(name)) {
+                    identity = true;
+                }
+            }
+            if (result != null) {
+                return result;
+            }
+            if (identity) {
+                // The client prefers the response as is over any supported coding it accepts
+                return null;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        if (compressed == null) {
+            if (count < buffer.length) {
+                buffer[count++] = (byte) b;
+                return;
+            }
+            startCompression();
+        }
+        compressed.write(b);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        if (compressed == null) {
+            if (len <= buffer.length - count) {
+                System.arraycopy(b, off, buffer, count, len);
+                count += len;
+                return;
+            }
+            startCompression();
+        }
+        compressed.write(b, off, len);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        // Nothing is sent until we know whether the response is compressed
+        if (compressed != null) {
+            compressed.flush();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (compressed != null) {
+            // finishes the compressed stream and closes the underlying one
+            compressed.close();
+        } else if (buffer != null) {
+            try {
+                out.write(buffer, 0, count);
+            } finally {
+                buffer = null;
+                out.close();
+            }
+        }
+    }
+
+    private void startCompression() throws IOException {
+        responseHeaders.put(Headers.CONTENT_ENCODING, encoding.name);
+        responseHeaders.remove(Headers.CONTENT_LENGTH);
+        compressed = encoding.wrap(out);
+        compressed.write(buffer, 0, count);
+        buffer = null;
+    }
+}
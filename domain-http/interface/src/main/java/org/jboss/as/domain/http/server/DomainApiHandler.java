@@ -28,6 +28,11 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.DOM
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.EXECUTE_FOR_COORDINATOR;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.FAILED;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.HOST;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.IF_NONE_MATCH_GENERATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.IF_NONE_MATCH_INSTANCE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MODEL_GENERATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MODEL_INSTANCE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NOT_MODIFIED;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OPERATION_HEADERS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
@@ -36,6 +41,7 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.REA
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_OPERATION_NAMES_OPERATION;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_RESOURCE_DESCRIPTION_OPERATION;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_RESOURCE_OPERATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESPONSE_HEADERS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SYNC_REMOVED_FOR_READD;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.USER;
 import static org.jboss.as.domain.http.server.DomainUtil.getStreamIndex;
@@ -61,6 +67,7 @@ import io.undertow.server.HttpServerExchange;
 import io.undertow.util.ETag;
 import io.undertow.util.ETagUtils;
 import io.undertow.util.HeaderMap;
+import io.undertow.util.HeaderValues;
 import io.undertow.util.Headers;
 import io.undertow.util.HexConverter;
 import io.undertow.util.Methods;
@@ -85,6 +92,17 @@ class DomainApiHandler implements HttpHandler {
 
     private static final String JSON_PRETTY = "json.pretty";
 
+    /*
+     * The ETag of a read of the model only is the controller instance and model generation it was read from, plus the
+     * representation of the response. It does not depend on the response content, so it can be checked without
+     * executing the read again. Generations restart with each controller instance, so both must match.
+     */
+    private static final String ETAG_GENERATION_SEPARATOR = ".";
+    private static final String ETAG_SEPARATOR = "-";
+    private static final String ETAG_VARIANT_JSON = "json";
+    private static final String ETAG_VARIANT_PRETTY = "json-pretty";
+    private static final String ETAG_VARIANT_ENCODED = "dmr";
+
     /**
      * Represents all possible management operations that can be executed using HTTP GET. Cacheable operations
      * have a {@code maxAge} property &gt; 0.
@@ -133,11 +151,13 @@ class DomainApiHandler implements HttpHandler {
 
         final HeaderMap requestHeaders = exchange.getRequestHeaders();
         final boolean cachable;
+        final boolean modelRead;
         final boolean get = exchange.getRequestMethod().equals(Methods.GET);
         final boolean encode = Common.APPLICATION_DMR_ENCODED.equals(requestHeaders.getFirst(Headers.ACCEPT))
                 || Common.APPLICATION_DMR_ENCODED.equals(requestHeaders.getFirst(Headers.CONTENT_TYPE));
         final OperationParameter.Builder operationParameterBuilder = new OperationParameter.Builder(get).encode(encode);
         final int streamIndex = getStreamIndex(exchange, requestHeaders);
+        final String variant;
 
         try {
             if (get) {
@@ -145,9 +165,11 @@ class DomainApiHandler implements HttpHandler {
                 operationParameterBuilder.maxAge(operation.getMaxAge());
                 dmr = convertGetRequest(exchange, operation);
                 cachable = operation.getMaxAge() > 0;
+                modelRead = operation == GetOperation.RESOURCE || operation == GetOperation.ATTRIBUTE;
             } else {
                 dmr = convertPostRequest(exchange, encode);
                 cachable = false;
+                modelRead = false;
             }
             //operationParameterBuilder.pretty(dmr.hasDefined("json.pretty") && dmr.get("json.pretty").asBoolean());
             boolean pretty = false;
@@ -156,6 +178,7 @@ class DomainApiHandler implements HttpHandler {
                 pretty = jsonPretty.equals("true") || jsonPretty.equals("1");
             }
             operationParameterBuilder.pretty(pretty);
+            variant = encode ? ETAG_VARIANT_ENCODED : pretty ? ETAG_VARIANT_PRETTY : ETAG_VARIANT_JSON;
 
         } catch (Exception e) {
             ROOT_LOGGER.debugf("Unable to construct ModelNode '%s'", e.getMessage());
@@ -209,7 +232,35 @@ class DomainApiHandler implements HttpHandler {
             if (headers.hasDefined(DOMAIN_UUID)) {
                 headers.remove(DOMAIN_UUID);
             }
+            final boolean generationTagged = modelRead && streamIndex < 0;
+            if (generationTagged) {
+                // If the response to a read of the model only is still current, the controller answers without
+                // executing the read again
+                setMatchedGeneration(headers, requestHeaders, variant);
+            } else {
+                if (headers.has(IF_NONE_MATCH_GENERATION)) {
+                    headers.remove(IF_NONE_MATCH_GENERATION);
+                }
+                if (headers.has(IF_NONE_MATCH_INSTANCE)) {
+                    headers.remove(IF_NONE_MATCH_INSTANCE);
+                }
+            }
             response = modelController.execute(new OperationBuilder(dmr).build(), OperationMessageHandler.logging, control);
+            final ModelNode responseNode = response.getResponseNode();
+            if (generationTagged && responseNode.hasDefined(RESPONSE_HEADERS, MODEL_GENERATION)
+                    && responseNode.hasDefined(RESPONSE_HEADERS, MODEL_INSTANCE)) {
+                final ModelNode responseHeaders = responseNode.get(RESPONSE_HEADERS);
+                ETag etag = new ETag(true, responseHeaders.get(MODEL_INSTANCE).asString() + ETAG_GENERATION_SEPARATOR
+                        + responseHeaders.get(MODEL_GENERATION).asLong() + ETAG_SEPARATOR + variant);
+                operationParameterBuilder.etag(etag);
+                if (responseHeaders.hasDefined(NOT_MODIFIED)) {
+                    exchange.setStatusCode(304);
+                    DomainUtil.writeCacheHeaders(exchange, 304, operationParameterBuilder.build());
+                    exchange.endExchange();
+                    StreamUtils.safeClose(response);
+                    return;
+                }
+            }
             if (cachable && streamIndex > -1) {
                 // Use the MD5 of the model nodes asString() method as ETag
                 MessageDigest md = MessageDigest.getInstance("MD5");
@@ -232,6 +283,47 @@ class DomainApiHandler implements HttpHandler {
         callback.sendResponse(response);
     }
 
+    /**
+     * Sets the controller instance and model generation of the response the client holds, as given by an ETag in its
+     * {@code If-None-Match} header for the same representation, as the headers of the read. A generation of
+     * {@code -1} without an instance is set if the client holds no such response, so the read still reports the
+     * generation it was made from.
+     */
+    static void setMatchedGeneration(ModelNode operationHeaders, HeaderMap requestHeaders, String variant) {
+        operationHeaders.get(IF_NONE_MATCH_GENERATION).set(-1);
+        if (operationHeaders.has(IF_NONE_MATCH_INSTANCE)) {
+            operationHeaders.remove(IF_NONE_MATCH_INSTANCE);
+        }
+        HeaderValues ifNoneMatch = requestHeaders.get(Headers.IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            String suffix = ETAG_SEPARATOR + variant;
+            for (String value : ifNoneMatch) {
+                List<ETag> etags = ETagUtils.parseETagList(value);
+                if (etags == null) {
+                    continue;
+                }
+                for (ETag etag : etags) {
+                    String tag = etag.getTag();
+                    if (tag.endsWith(suffix)) {
+                        int end = tag.length() - suffix.length();
+                        int separator = tag.lastIndexOf(ETAG_GENERATION_SEPARATOR, end);
+                        if (separator < 1) {
+                            // not one of ours
+                            continue;
+                        }
+                        try {
+                            operationHeaders.get(IF_NONE_MATCH_GENERATION).set(Long.parseLong(tag.substring(separator + 1, end)));
+                            operationHeaders.get(IF_NONE_MATCH_INSTANCE).set(tag.substring(0, separator));
+                            return;
+                        } catch (NumberFormatException e) {
+                            // not one of ours
+                        }
+                    }
+                }
+            }
+        }
+    }
+
     private GetOperation getOperation(HttpServerExchange exchange) {
         Map<String, Deque<String>> queryParameters = exchange.getQueryParameters();
 
@@ -31,6 +31,9 @@ import java.io.BufferedOutputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.Deque;
@@ -84,14 +87,40 @@ public class DomainUtil {
             response = response.get(RESULT);
         }
         try {
-            byte[] data = getResponseBytes(response, operationParameter);
-            responseHeaders.put(Headers.CONTENT_LENGTH, data.length);
-            exchange.getResponseSender().send(ByteBuffer.wrap(data));
+            if (exchange.isInIoThread()) {
+                // We can't block, so serialize up front and let the sender write it out asynchronously
+                byte[] data = getResponseBytes(response, operationParameter);
+                responseHeaders.put(Headers.CONTENT_LENGTH, data.length);
+                exchange.getResponseSender().send(ByteBuffer.wrap(data));
+            } else {
+                streamResponse(exchange, response, operationParameter);
+            }
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
     }
 
+    /**
+     * Serializes a response straight to the exchange as the model is walked, rather than to an intermediate byte array.
+     * The exchange output stream holds a single pooled buffer; if the whole response fits in it, it is sent with a
+     * content length, otherwise each time the buffer fills it is sent as a chunk. Responses above a small threshold
+     * are compressed as they are written if the client accepts gzip or deflate.
+     */
+    private static void streamResponse(final HttpServerExchange exchange, final ModelNode modelNode,
+                                       final OperationParameter operationParameter) throws IOException {
+        exchange.startBlocking();
+        try (OutputStream out = CompressingOutputStream.wrap(exchange.getOutputStream(), exchange.getRequestHeaders(),
+                exchange.getResponseHeaders())) {
+            if (operationParameter.isEncode()) {
+                modelNode.writeBase64(out);
+            } else {
+                PrintWriter writer = new PrintWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+                modelNode.writeJSONString(writer, !operationParameter.isPretty());
+                writer.flush();
+            }
+        }
+    }
+
 
     static void writeStreamResponse(final HttpServerExchange exchange,
                                      final OperationResponse operationResponse,
@@ -0,0 +1,151 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.domain.http.server;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import io.undertow.util.HeaderMap;
+import io.undertow.util.Headers;
+import org.jboss.as.domain.http.server.CompressingOutputStream.Encoding;
+import org.junit.Test;
+
+/**
+ * Tests negotiation and the size threshold of {@link CompressingOutputStream}.
+ */
+public class CompressingOutputStreamTestCase {
+
+    @Test
+    public void testNegotiate() {
+        assertNull(negotiate(null));
+        assertNull(negotiate("identity"));
+        assertNull(negotiate("br"));
+        assertNull(negotiate("gzip;q=0, deflate;q=0"));
+        assertSame(Encoding.GZIP, negotiate("gzip"));
+        assertSame(Encoding.GZIP, negotiate("deflate, gzip"));
+        assertSame(Encoding.GZIP, negotiate("*"));
+        assertSame(Encoding.DEFLATE, negotiate("deflate"));
+        assertSame(Encoding.DEFLATE, negotiate("gzip;q=0.5, deflate"));
+        assertSame(Encoding.DEFLATE, negotiate("gzip;q=0, deflate;q=0.1"));
+        assertNull(negotiate("identity;q=1, gzip;q=0.5"));
+        assertNull(negotiate("gzip;q=0.5, deflate;q=0.2, identity"));
+        assertSame(Encoding.GZIP, negotiate("identity;q=0.5, gzip;q=1"));
+        assertSame(Encoding.GZIP, negotiate("identity, gzip"));
+    }
+
+    @Test
+    public void testWrap() {
+        HeaderMap requestHeaders = new HeaderMap();
+        requestHeaders.put(Headers.ACCEPT_ENCODING, "gzip");
+        OutputStream target = new ByteArrayOutputStream();
+
+        HeaderMap responseHeaders = new HeaderMap();
+        OutputStream out = CompressingOutputStream.wrap(target, requestHeaders, responseHeaders, true, 10);
+        assertTrue(out instanceof CompressingOutputStream);
+        assertEquals(Headers.ACCEPT_ENCODING_STRING, responseHeaders.getFirst(Headers.VARY));
+
+        responseHeaders = new HeaderMap();
+        assertSame(target, CompressingOutputStream.wrap(target, requestHeaders, responseHeaders, false, 10));
+        assertNull(responseHeaders.getFirst(Headers.VARY));
+    }
+
+    @Test
+    public void testBelowThreshold() throws IOException {
+        HeaderMap responseHeaders = new HeaderMap();
+        ByteArrayOutputStream target = new ByteArrayOutputStream();
+        byte[] data = data(100);
+        try (OutputStream out = new CompressingOutputStream(target, Encoding.GZIP, 100, responseHeaders)) {
+            out.write(data, 0, 50);
+            out.flush();
+            assertEquals(0, target.size());
+            out.write(data, 50, 50);
+        }
+        assertNull(responseHeaders.getFirst(Headers.CONTENT_ENCODING));
+        assertArrayEquals(data, target.toByteArray());
+    }
+
+    @Test
+    public void testGzip() throws IOException {
+        HeaderMap responseHeaders = new HeaderMap();
+        ByteArrayOutputStream target = new ByteArrayOutputStream();
+        byte[] data = data(100000);
+        try (OutputStream out = new CompressingOutputStream(target, Encoding.GZIP, 100, responseHeaders)) {
+            out.write(data, 0, 60);
+            out.write(data[60]);
+            out.write(data, 61, data.length - 61);
+        }
+        assertEquals("gzip", responseHeaders.getFirst(Headers.CONTENT_ENCODING));
+        assertTrue(target.size() < data.length);
+        assertArrayEquals(data, read(new GZIPInputStream(new ByteArrayInputStream(target.toByteArray()))));
+    }
+
+    @Test
+    public void testDeflate() throws IOException {
+        HeaderMap responseHeaders = new HeaderMap();
+        ByteArrayOutputStream target = new ByteArrayOutputStream();
+        byte[] data = data(100000);
+        try (OutputStream out = new CompressingOutputStream(target, Encoding.DEFLATE, 100, responseHeaders)) {
+            for (byte b : data) {
+                out.write(b);
+            }
+        }
+        assertEquals("deflate", responseHeaders.getFirst(Headers.CONTENT_ENCODING));
+        assertArrayEquals(data, read(new InflaterInputStream(new ByteArrayInputStream(target.toByteArray()))));
+    }
+
+    private static Encoding negotiate(String acceptEncoding) {
+        HeaderMap requestHeaders = new HeaderMap();
+        if (acceptEncoding != null) {
+            requestHeaders.put(Headers.ACCEPT_ENCODING, acceptEncoding);
+        }
+        return CompressingOutputStream.negotiate(requestHeaders.get(Headers.ACCEPT_ENCODING));
+    }
+
+    private static byte[] data(int length) {
+        byte[] data = new byte[length];
+        for (int i = 0; i < length; i++) {
+            data[i] = (byte) ("{\"attribute\" => " + (i % 7) + "}").charAt(i % 16);
+        }
+        return data;
+    }
+
+    private static byte[] read(InputStream in) throws IOException {
+        ByteArrayOutputStream result = new ByteArrayOutputStream();
+        byte[] buffer = new byte[1024];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            result.write(buffer, 0, read);
+        }
+        return result.toByteArray();
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.domain.http.server;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.IF_NONE_MATCH_GENERATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.IF_NONE_MATCH_INSTANCE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import io.undertow.util.HeaderMap;
+import io.undertow.util.Headers;
+import org.jboss.dmr.ModelNode;
+import org.junit.Test;
+
+/**
+ * Tests how {@link DomainApiHandler} reads the model generation ETags of conditional requests.
+ */
+public class DomainApiHandlerTestCase {
+
+    private static final String INSTANCE = "0f8fad5b-d9cb-469f-a165-70867728950e";
+
+    @Test
+    public void testMatchedGeneration() {
+        ModelNode headers = matched("W/\"" + INSTANCE + ".12-json\"", "json");
+        assertEquals(12, headers.get(IF_NONE_MATCH_GENERATION).asLong());
+        assertEquals(INSTANCE, headers.get(IF_NONE_MATCH_INSTANCE).asString());
+
+        headers = matched("W/\"other.3-dmr\", W/\"" + INSTANCE + ".7-json-pretty\"", "json-pretty");
+        assertEquals(7, headers.get(IF_NONE_MATCH_GENERATION).asLong());
+        assertEquals(INSTANCE, headers.get(IF_NONE_MATCH_INSTANCE).asString());
+    }
+
+    @Test
+    public void testUnmatchedGeneration() {
+        assertUnmatched(null, "json");
+        // another representation
+        assertUnmatched("W/\"" + INSTANCE + ".12-json\"", "dmr");
+        // a generation without the controller instance it was published by
+        assertUnmatched("W/\"12-json\"", "json");
+        assertUnmatched("W/\".12-json\"", "json");
+        assertUnmatched("W/\"" + INSTANCE + ".x-json\"", "json");
+    }
+
+    @Test
+    public void testClientInstanceIgnored() {
+        ModelNode headers = new ModelNode();
+        headers.get(IF_NONE_MATCH_INSTANCE).set(INSTANCE);
+        DomainApiHandler.setMatchedGeneration(headers, new HeaderMap(), "json");
+        assertEquals(-1, headers.get(IF_NONE_MATCH_GENERATION).asLong());
+        assertFalse(headers.has(IF_NONE_MATCH_INSTANCE));
+    }
+
+    private static void assertUnmatched(String ifNoneMatch, String variant) {
+        ModelNode headers = matched(ifNoneMatch, variant);
+        assertEquals(-1, headers.get(IF_NONE_MATCH_GENERATION).asLong());
+        assertFalse(headers.has(IF_NONE_MATCH_INSTANCE));
+    }
+
+    private static ModelNode matched(String ifNoneMatch, String variant) {
+        HeaderMap requestHeaders = new HeaderMap();
+        if (ifNoneMatch != null) {
+            requestHeaders.put(Headers.IF_NONE_MATCH, ifNoneMatch);
+        }
+        ModelNode headers = new ModelNode();
+        DomainApiHandler.setMatchedGeneration(headers, requestHeaders, variant);
+        return headers;
+    }
+}
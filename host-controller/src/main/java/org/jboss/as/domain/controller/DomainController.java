@@ -138,6 +138,21 @@ public interface DomainController {
      */
     ModelNode getProfileOperations(String profileName);
 
+    /**
+     * Get the operations needed to create the given profile. Implementations may return the result of a previous
+     * invocation for the same profile if the domain model is still of the same generation, avoiding re-describing
+     * the profile for every server started from it.
+     *
+     * @param profileName the name of the profile
+     * @param modelGeneration the {@link org.jboss.as.controller.OperationContext#getModelGeneration() generation} of
+     *                        the model the profile is read from, or {@code -1} if not known
+     *
+     * @return the operations. The returned node must not be modified
+     */
+    default ModelNode getProfileOperations(String profileName, long modelGeneration) {
+        return getProfileOperations(profileName);
+    }
+
     /**
      * Gets the file repository backing this domain controller
      *
@@ -38,11 +38,24 @@ class ReadDomainModelHandler implements OperationStepHandler {
     private final Transformers transformers;
     private final Transformers.ResourceIgnoredTransformationRegistry ignoredTransformationRegistry;
     private final boolean lock;
+    private final TransformedDomainModelCache cache;
+    private final ModelNode transformation;
 
     public ReadDomainModelHandler(final Transformers.ResourceIgnoredTransformationRegistry ignoredTransformationRegistry, final Transformers transformers, final boolean lock) {
+        this(ignoredTransformationRegistry, transformers, lock, null, null);
+    }
+
+    /**
+     * @param cache the cache shared with the other hosts, or {@code null} if the model should always be transformed
+     * @param transformation describes what determines the transformation for {@code cache}, apart from the model itself
+     */
+    ReadDomainModelHandler(final Transformers.ResourceIgnoredTransformationRegistry ignoredTransformationRegistry, final Transformers transformers, final boolean lock,
+                           final TransformedDomainModelCache cache, final ModelNode transformation) {
         this.transformers = transformers;
         this.ignoredTransformationRegistry = ignoredTransformationRegistry != null ? ignoredTransformationRegistry : Transformers.DEFAULT;
         this.lock = lock;
+        this.cache = cache;
+        this.transformation = transformation;
     }
 
     public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
@@ -53,9 +66,13 @@ class ReadDomainModelHandler implements OperationStepHandler {
         }
 
         final Transformers.TransformationInputs transformationInputs = new Transformers.TransformationInputs(context);
-        final ReadMasterDomainModelUtil readUtil = ReadMasterDomainModelUtil.readMasterDomainResourcesForInitialConnect(transformers,
-                transformationInputs, ignoredTransformationRegistry, transformationInputs.getRootResource());
-        context.getResult().set(readUtil.getDescribedResources());
+        final TransformedDomainModelCache.Describer describer = () -> ReadMasterDomainModelUtil.readMasterDomainResourcesForInitialConnect(transformers,
+                transformationInputs, ignoredTransformationRegistry, transformationInputs.getRootResource()).getDescribedResources();
+        if (cache == null || transformationInputs.getTransformerOperationAttachment() != null) {
+            context.getResult().set(describer.describe());
+        } else {
+            context.getResult().set(cache.getDescribedResources(transformationInputs.getModelGeneration(), transformation, describer));
+        }
     }
 
 }
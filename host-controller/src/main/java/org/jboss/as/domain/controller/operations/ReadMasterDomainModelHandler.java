@@ -22,12 +22,26 @@
 
 package org.jboss.as.domain.controller.operations;
 
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.IGNORED_RESOURCES;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MANAGEMENT_MAJOR_VERSION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MANAGEMENT_MICRO_VERSION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MANAGEMENT_MINOR_VERSION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.PROFILE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SERVER_GROUP;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SOCKET_BINDING_GROUP;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUBSYSTEM;
+
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.jboss.as.controller.ModelVersion;
 import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationFailedException;
 import org.jboss.as.controller.OperationStepHandler;
 import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.extension.ExtensionRegistry;
 import org.jboss.as.controller.registry.Resource;
+import org.jboss.as.controller.transform.TransformationTarget;
 import org.jboss.as.controller.transform.Transformers;
 import org.jboss.as.host.controller.mgmt.HostInfo;
 import org.jboss.dmr.ModelNode;
@@ -49,12 +63,23 @@ public class ReadMasterDomainModelHandler implements OperationStepHandler {
     private final Transformers transformers;
     private final ExtensionRegistry extensionRegistry;
     private final boolean lock;
+    private final TransformedDomainModelCache cache;
 
     public ReadMasterDomainModelHandler(final HostInfo hostInfo, final Transformers transformers, final ExtensionRegistry extensionRegistry, boolean lock) {
+        this(hostInfo, transformers, extensionRegistry, lock, null);
+    }
+
+    /**
+     * @param cache the cache of transformed models shared between the registering hosts, or {@code null} if the model
+     *              should always be transformed
+     */
+    public ReadMasterDomainModelHandler(final HostInfo hostInfo, final Transformers transformers, final ExtensionRegistry extensionRegistry, boolean lock,
+                                        final TransformedDomainModelCache cache) {
         this.hostInfo = hostInfo;
         this.transformers = transformers;
         this.extensionRegistry = extensionRegistry;
         this.lock = lock;
+        this.cache = cache;
     }
 
     @Override
@@ -65,17 +90,58 @@ public class ReadMasterDomainModelHandler implements OperationStepHandler {
         }
 
         final Transformers.ResourceIgnoredTransformationRegistry ignoredTransformationRegistry;
+        final ModelNode transformation;
         final Resource resource = context.readResourceFromRoot(PathAddress.EMPTY_ADDRESS);
         // The host info is only null in the tests
         if (hostInfo == null) {
             ignoredTransformationRegistry = Transformers.DEFAULT;
+            transformation = null;
         } else {
             final ReadMasterDomainModelUtil.RequiredConfigurationHolder rc = hostInfo.populateRequiredConfigurationHolder(resource, extensionRegistry);
             ignoredTransformationRegistry = ReadMasterDomainModelUtil.createHostIgnoredRegistry(hostInfo, rc);
+            transformation = cache == null ? null : describeTransformation(rc);
         }
 
-        final OperationStepHandler handler = new ReadDomainModelHandler(ignoredTransformationRegistry, transformers, lock);
+        final OperationStepHandler handler = new ReadDomainModelHandler(ignoredTransformationRegistry, transformers, lock,
+                transformation == null ? null : cache, transformation);
         context.addStep(handler, OperationContext.Stage.MODEL);
     }
 
+    /**
+     * Describes everything the transformation of the domain model for our host depends on, apart from the model:
+     * the versions of the host and its subsystems and the resources the host ignores.
+     */
+    private ModelNode describeTransformation(final ReadMasterDomainModelUtil.RequiredConfigurationHolder rc) {
+        final TransformationTarget target = transformers.getTarget();
+        final ModelNode transformation = new ModelNode();
+        final ModelVersion version = target.getVersion();
+        transformation.get(MANAGEMENT_MAJOR_VERSION).set(version.getMajor());
+        transformation.get(MANAGEMENT_MINOR_VERSION).set(version.getMinor());
+        transformation.get(MANAGEMENT_MICRO_VERSION).set(version.getMicro());
+        final Set<String> subsystems = new TreeSet<>();
+        for (String moduleName : extensionRegistry.getExtensionModuleNames()) {
+            subsystems.addAll(extensionRegistry.getAvailableSubsystems(moduleName).keySet());
+        }
+        final ModelNode subsystemVersions = transformation.get(SUBSYSTEM).setEmptyObject();
+        for (String subsystem : subsystems) {
+            final ModelVersion subsystemVersion = target.getSubsystemVersion(subsystem);
+            subsystemVersions.get(subsystem).set(subsystemVersion == null ? new ModelNode() : new ModelNode(subsystemVersion.toString()));
+        }
+        transformation.get(IGNORED_RESOURCES).set(hostInfo.getIgnoredResourcesDescription());
+        if (hostInfo.isIgnoreUnaffectedConfig()) {
+            // The required configuration depends on the servers of the host
+            addSorted(transformation.get(PROFILE), rc.getProfiles());
+            addSorted(transformation.get(SERVER_GROUP), rc.getServerGroups());
+            addSorted(transformation.get(SOCKET_BINDING_GROUP), rc.getSocketBindings());
+        }
+        return transformation;
+    }
+
+    private static void addSorted(final ModelNode list, final Set<String> names) {
+        list.setEmptyList();
+        for (String name : new TreeSet<>(names)) {
+            list.add(name);
+        }
+    }
+
 }
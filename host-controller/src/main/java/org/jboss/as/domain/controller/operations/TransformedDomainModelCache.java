@@ -0,0 +1,93 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+
+package org.jboss.as.domain.controller.operations;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.dmr.ModelNode;
+
+/**
+ * Shares the transformed domain model sent to registering slave hosts between the hosts that get the same
+ * transformation. Slaves of the same version with the same ignored resources get identical models, so after a
+ * restart of the domain controller the model only needs to be transformed once per distinct kind of slave.
+ * <p>
+ * Entries are keyed by a description of the transformation and only kept for the most recent
+ * {@link org.jboss.as.controller.OperationContext#getModelGeneration() model generation}, any change to the domain
+ * model makes them stale.
+ */
+public final class TransformedDomainModelCache {
+
+    // guarded by this
+    private long generation = -1;
+    private final Map<ModelNode, Entry> entries = new HashMap<>();
+
+    /**
+     * Gets the resources describing the transformed domain model, describing them if no host with the same
+     * transformation got them for this generation of the model yet.
+     *
+     * @param generation the generation of the model, or {@code -1} if it is not known, in which case nothing is cached
+     * @param transformation describes what determines the transformation, apart from the model itself
+     * @param describer describes the resources if they are not cached
+     * @return the resources, which must not be modified
+     * @throws OperationFailedException if the transformation fails
+     */
+    List<ModelNode> getDescribedResources(final long generation, final ModelNode transformation,
+                                          final Describer describer) throws OperationFailedException {
+        if (generation < 0) {
+            return describer.describe();
+        }
+        final Entry entry;
+        synchronized (this) {
+            if (generation < this.generation) {
+                // the model was modified since the caller read it
+                return describer.describe();
+            } else if (generation > this.generation) {
+                entries.clear();
+                this.generation = generation;
+            }
+            entry = entries.computeIfAbsent(transformation, key -> new Entry());
+        }
+        // Hosts registering concurrently with the same transformation wait for the first one to describe the model
+        synchronized (entry) {
+            if (entry.resources == null) {
+                entry.resources = Collections.unmodifiableList(describer.describe());
+            }
+            return entry.resources;
+        }
+    }
+
+    @FunctionalInterface
+    interface Describer {
+        List<ModelNode> describe() throws OperationFailedException;
+    }
+
+    private static final class Entry {
+        // guarded by this
+        private List<ModelNode> resources;
+    }
+}
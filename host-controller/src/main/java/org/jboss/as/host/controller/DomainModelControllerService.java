@@ -227,6 +227,7 @@ public class DomainModelControllerService extends AbstractControllerService impl
     private final ConcurrentMap<String, ProxyController> hostProxies;
     private final DomainSlaveHostRegistrations slaveHostRegistrations = new DomainSlaveHostRegistrations();
     private final Map<String, ProxyController> serverProxies;
+    private final ProfileOperationsCache profileOperations = new ProfileOperationsCache();
     private final PrepareStepHandler prepareStepHandler;
     private final BootstrapListener bootstrapListener;
     private ManagementResourceRegistration modelNodeRegistration;
@@ -508,6 +509,13 @@ public class DomainModelControllerService extends AbstractControllerService impl
         return rsp.require(RESULT);
     }
 
+    @Override
+    public ModelNode getProfileOperations(String profileName, long modelGeneration) {
+        // The describe result only depends on the model, so it can be shared by all servers
+        // booting the same profile until the model changes
+        return profileOperations.getProfileOperations(profileName, modelGeneration, this::getProfileOperations);
+    }
+
     @Override
     public HostFileRepository getLocalFileRepository() {
         return localFileRepository;
@@ -1223,6 +1231,11 @@ public class DomainModelControllerService extends AbstractControllerService impl
             return getServerInventory().determineServerStatus(serverName);
         }
 
+        @Override
+        public long getServerStartupTime(String serverName) {
+            return getServerInventory().getServerStartupTime(serverName);
+        }
+
         @Override
         public ServerStatus startServer(String serverName, ModelNode domainModel) {
             return getServerInventory().startServer(serverName, domainModel);
@@ -1233,6 +1246,11 @@ public class DomainModelControllerService extends AbstractControllerService impl
             return getServerInventory().startServer(serverName, domainModel, blocking, suspend);
         }
 
+        @Override
+        public boolean awaitServerStarted(String serverName, long timeout, TimeUnit unit) {
+            return getServerInventory().awaitServerStarted(serverName, timeout, unit);
+        }
+
         @Override
         public void reconnectServer(String serverName, ModelNode domainModel, String authKey, boolean running, boolean stopping) {
             getServerInventory().reconnectServer(serverName, domainModel, authKey, running, stopping);
@@ -1553,6 +1571,11 @@ public class DomainModelControllerService extends AbstractControllerService impl
                 return ServerStatus.STOPPED;
             }
 
+            @Override
+            public long getServerStartupTime(String serverName) {
+                return -1L;
+            }
+
             @Override
             public ServerStatus startServer(String serverName, ModelNode domainModel) {
                 return ServerStatus.STOPPED;
@@ -1563,6 +1586,11 @@ public class DomainModelControllerService extends AbstractControllerService impl
                 return ServerStatus.STOPPED;
             }
 
+            @Override
+            public boolean awaitServerStarted(String serverName, long timeout, TimeUnit unit) {
+                return false;
+            }
+
             @Override
             public ServerStatus restartServer(String serverName, int gracefulTimeout, ModelNode domainModel) {
                 return ServerStatus.STOPPED;
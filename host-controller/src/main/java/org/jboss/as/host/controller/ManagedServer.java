@@ -42,6 +42,7 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 
 import org.jboss.as.controller.CurrentOperationIdHolder;
 import org.jboss.as.controller.PathAddress;
@@ -138,6 +139,8 @@ class ManagedServer {
     private volatile int operationID = CurrentOperationIdHolder.getCurrentOperationID();
     private volatile ManagedServerBootConfiguration bootConfiguration;
     private volatile boolean unstable;
+    private volatile long startRequestTime;
+    private volatile long startupTime = -1L;
 
     private final PathAddress address;
 
@@ -219,6 +222,15 @@ class ManagedServer {
         }
     }
 
+    /**
+     * Get how long the last start of the server took.
+     *
+     * @return the startup time in milliseconds, or {@code -1} if the server did not complete a start yet
+     */
+    long getStartupTime() {
+        return startupTime;
+    }
+
     boolean isRequiresReload() {
         return requiresReload;
     }
@@ -262,6 +274,7 @@ class ManagedServer {
         operationID = CurrentOperationIdHolder.getCurrentOperationID();
         bootConfiguration = factory.createConfiguration();
         requiredState = InternalState.SERVER_STARTED;
+        startRequestTime = System.nanoTime();
         ROOT_LOGGER.startingServer(serverName);
         transition();
     }
@@ -389,6 +402,45 @@ class ManagedServer {
         }
     }
 
+    /**
+     * Await a state for at most the given time.
+     *
+     * @param expected the expected state
+     * @param timeout the maximum time to wait
+     * @param unit the unit of {@code timeout}
+     * @return {@code true} if the state was reached, {@code false} otherwise
+     */
+    boolean awaitState(final InternalState expected, final long timeout, final TimeUnit unit) {
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        synchronized (this) {
+            final InternalState initialRequired = this.requiredState;
+            for(;;) {
+                final InternalState required = this.requiredState;
+                // Stop in case the server failed to reach the state
+                if(required == InternalState.FAILED) {
+                    return false;
+                // Stop in case the required state changed
+                } else if (initialRequired != required) {
+                    return false;
+                }
+                final InternalState current = this.internalState;
+                if(expected == current) {
+                    return true;
+                }
+                final long remaining = deadline - System.nanoTime();
+                if(remaining <= 0) {
+                    return false;
+                }
+                try {
+                    TimeUnit.NANOSECONDS.timedWait(this, remaining);
+                } catch(InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+        }
+    }
+
     /**
      * Notification that the process was added
      */
@@ -449,6 +501,10 @@ class ManagedServer {
 
     synchronized void serverStarted(final TransitionTask task) {
         internalSetState(task, InternalState.SERVER_STARTING, InternalState.SERVER_STARTED);
+        if (internalState == InternalState.SERVER_STARTED && startRequestTime != 0L) {
+            startupTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startRequestTime);
+            startRequestTime = 0L;
+        }
     }
 
     synchronized void serverStartFailed() {
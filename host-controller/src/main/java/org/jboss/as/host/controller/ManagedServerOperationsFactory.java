@@ -179,8 +179,25 @@ public final class ManagedServerOperationsFactory {
      */
     public static ModelNode createBootUpdates(final String serverName, final ModelNode domainModel, final ModelNode hostModel,
                                               final DomainController domainController, final ExpressionResolver expressionResolver) {
+        return createBootUpdates(serverName, domainModel, hostModel, domainController, expressionResolver, -1);
+    }
+
+    /**
+     * Create a list of operations required to a boot a managed server.
+     *
+     * @param serverName the server name
+     * @param domainModel the complete domain model
+     * @param hostModel the local host model
+     * @param domainController the domain controller
+     * @param modelGeneration the {@link org.jboss.as.controller.OperationContext#getModelGeneration() generation} of
+     *                        the domain model, or {@code -1} if not known
+     * @return the list of boot operations
+     */
+    public static ModelNode createBootUpdates(final String serverName, final ModelNode domainModel, final ModelNode hostModel,
+                                              final DomainController domainController, final ExpressionResolver expressionResolver,
+                                              final long modelGeneration) {
         final ManagedServerOperationsFactory factory = new ManagedServerOperationsFactory(serverName, domainModel,
-                hostModel, domainController, expressionResolver);
+                hostModel, domainController, expressionResolver, modelGeneration);
 
 
         return factory.getBootUpdates();
@@ -194,10 +211,13 @@ public final class ManagedServerOperationsFactory {
     private final String serverGroupName;
     private final String profileName;
     private final DomainController domainController;
+    private final long modelGeneration;
 
     ManagedServerOperationsFactory(final String serverName, final ModelNode domainModel, final ModelNode hostModel,
-                                   final DomainController domainController, final ExpressionResolver expressionResolver) {
+                                   final DomainController domainController, final ExpressionResolver expressionResolver,
+                                   final long modelGeneration) {
         this.serverName = serverName;
+        this.modelGeneration = modelGeneration;
         this.domainModel = domainModel;
         this.hostModel = hostModel;
         this.domainController = domainController;
@@ -771,7 +791,7 @@ public final class ManagedServerOperationsFactory {
         }
 
     private void addSubsystems(List<ModelNode> updates) {
-        ModelNode node = domainController.getProfileOperations(profileName);
+        ModelNode node = domainController.getProfileOperations(profileName, modelGeneration);
         updates.addAll(node.asList());
     }
 
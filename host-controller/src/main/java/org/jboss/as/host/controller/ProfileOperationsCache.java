@@ -0,0 +1,82 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+
+package org.jboss.as.host.controller;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.jboss.dmr.ModelNode;
+
+/**
+ * The operations describing each profile, shared by all the servers booted from it while the domain model stays
+ * the same. The model {@link org.jboss.as.controller.OperationContext#getModelGeneration() generation} tells when it
+ * changed: the operations cached for an earlier generation are then dropped, as any profile may have been written
+ * to or removed since.
+ */
+final class ProfileOperationsCache {
+
+    private volatile Generation current = new Generation(-1);
+
+    /**
+     * Gets the operations describing a profile.
+     *
+     * @param profileName the name of the profile
+     * @param modelGeneration the generation of the model the profile is read from, or {@code -1} if not known
+     * @param describer describes the profile if its operations are not cached
+     * @return the operations. The returned node must not be modified
+     */
+    ModelNode getProfileOperations(final String profileName, final long modelGeneration, final Function<String, ModelNode> describer) {
+        Generation cached = current;
+        if (modelGeneration < 0 || modelGeneration < cached.generation) {
+            // Not the latest model, so nothing to share it with
+            return describer.apply(profileName);
+        }
+        if (modelGeneration > cached.generation) {
+            cached = new Generation(modelGeneration);
+            current = cached;
+        }
+        return cached.operations.computeIfAbsent(profileName, name -> {
+            final ModelNode operations = describer.apply(name);
+            operations.protect();
+            return operations;
+        });
+    }
+
+    /**
+     * @return whether operations are cached for the given profile
+     */
+    boolean isCached(final String profileName) {
+        return current.operations.containsKey(profileName);
+    }
+
+    private static final class Generation {
+        private final long generation;
+        private final Map<String, ModelNode> operations = new ConcurrentHashMap<>();
+
+        private Generation(final long generation) {
+            this.generation = generation;
+        }
+    }
+}
@@ -43,6 +43,7 @@ import javax.security.auth.callback.CallbackHandler;
 
 import org.jboss.as.controller.RunningMode;
 import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
+import org.jboss.as.controller.remote.CompactModelNodeEncoding;
 import org.jboss.as.controller.remote.TransactionalProtocolClient;
 import org.jboss.as.domain.controller.SlaveRegistrationException;
 import org.jboss.as.domain.management.CallbackHandlerFactory;
@@ -377,6 +378,7 @@ class RemoteDomainConnection extends FutureManagementChannel {
              output.writeUTF(localHostName);
              ModelNode hostInfo = callback.createLocalHostInfo();
              hostInfo.get(RemoteDomainConnectionService.DOMAIN_CONNECTION_ID).set(pongHandler.getConnectionId());
+             hostInfo.get(RemoteDomainConnectionService.COMPACT_MODEL_ENCODING).set(CompactModelNodeEncoding.VERSION);
              hostInfo.writeExternal(output);
          }
 
@@ -452,15 +454,20 @@ class RemoteDomainConnection extends FutureManagementChannel {
          @Override
          public void handleRequest(final DataInput input, final ActiveOperation.ResultHandler<Void> resultHandler, final ManagementRequestContext<Void> context) throws IOException {
              byte param = input.readByte();
-             // If it failed
-             if(param != DomainControllerProtocol.PARAM_OK) {
+             final ModelNode domainModel;
+             if (param == DomainControllerProtocol.PARAM_COMPACT_MODEL) {
+                 // The master knows we can read this from our host info
+                 domainModel = CompactModelNodeEncoding.readModelNode(input);
+             } else if(param != DomainControllerProtocol.PARAM_OK) {
+                 // If it failed
                  final byte errorCode = input.readByte();
                  final String message =  input.readUTF();
                  resultHandler.failed(new SlaveRegistrationException(SlaveRegistrationException.ErrorCode.parseCode(errorCode), message));
                  return;
+             } else {
+                 domainModel = new ModelNode();
+                 domainModel.readExternal(input);
              }
-             final ModelNode domainModel = new ModelNode();
-             domainModel.readExternal(input);
              context.executeAsync(new ManagementRequestContext.AsyncTask<Void>() {
                  @Override
                  public void execute(ManagementRequestContext<Void> voidManagementRequestContext) throws Exception {
@@ -138,6 +138,8 @@ import org.xnio.Options;
 public class RemoteDomainConnectionService implements MasterDomainControllerClient, Service<MasterDomainControllerClient> {
 
     public static final String DOMAIN_CONNECTION_ID = "domain-connection-id";
+    /** Host info key for the highest {@link org.jboss.as.controller.remote.CompactModelNodeEncoding} version the slave can read */
+    public static final String COMPACT_MODEL_ENCODING = "compact-model-encoding";
 
     private static final int CONNECTION_TIMEOUT_DEFAULT = 30000;
     private static final String CONNECTION_TIMEOUT_PROPERTY = "jboss.host.domain.connection.timeout";
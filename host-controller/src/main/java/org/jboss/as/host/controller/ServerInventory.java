@@ -26,6 +26,7 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 import javax.security.auth.callback.CallbackHandler;
 
@@ -85,6 +86,16 @@ public interface ServerInventory {
      */
     ServerStatus determineServerStatus(final String serverName);
 
+    /**
+     * Get how long the last start of the server with the given name took, from the time the start was requested
+     * until the server reported it was started.
+     *
+     * @param serverName  the server name. Cannot be {@code null}
+     *
+     * @return the startup time in milliseconds, or {@code -1} if the server is unknown or has not completed a start
+     */
+    long getServerStartupTime(String serverName);
+
     /**
      * Start the server with the given name. Note that returning from this method does not mean the server
      * is completely started; it usually will only be in the process of starting, having received all startup instructions.
@@ -106,6 +117,17 @@ public interface ServerInventory {
      */
     ServerStatus startServer(String serverName, ModelNode domainModel, boolean blocking, boolean suspend);
 
+    /**
+     * Wait until the server with the given name reports it is started.
+     *
+     * @param serverName the name of the server
+     * @param timeout the maximum time to wait
+     * @param unit the unit of {@code timeout}
+     * @return {@code true} if the server is started, {@code false} if it failed, is no longer required to start or
+     *         did not start in time
+     */
+    boolean awaitServerStarted(String serverName, long timeout, TimeUnit unit);
+
     /**
      * Restart the server with the given name. Note that returning from this method does not mean the server
      * is completely started; it usually will only be in the process of starting, having received all startup instructions.
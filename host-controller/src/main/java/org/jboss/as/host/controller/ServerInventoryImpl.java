@@ -179,6 +179,15 @@ public class ServerInventoryImpl implements ServerInventory {
         return server.getState();
     }
 
+    @Override
+    public long getServerStartupTime(final String serverName) {
+        final ManagedServer server = servers.get(serverName);
+        if(server == null) {
+            return -1L;
+        }
+        return server.getStartupTime();
+    }
+
     @Override
     public ServerStatus startServer(final String serverName, final ModelNode domainModel) {
         return startServer(serverName, domainModel, false, false);
@@ -227,6 +236,12 @@ public class ServerInventoryImpl implements ServerInventory {
         return server.getState();
     }
 
+    @Override
+    public boolean awaitServerStarted(final String serverName, final long timeout, final TimeUnit unit) {
+        final ManagedServer server = servers.get(serverName);
+        return server != null && server.awaitState(ManagedServer.InternalState.SERVER_STARTED, timeout, unit);
+    }
+
     @Override
     public ServerStatus restartServer(final String serverName, final int gracefulTimeout, final ModelNode domainModel) {
         return restartServer(serverName, gracefulTimeout, domainModel, false, false);
@@ -1415,4 +1415,15 @@ public interface HostControllerLogger extends BasicLogger {
     @Message(id = 210, value = "A slave host controller may not be added using add(). Please add a host, omitting this parameter, and configure the remote domain controller using write-attribute.")
     OperationFailedException cannotAddSlaveHostAfterBoot();
 
+    /**
+     * Creates a message indicating a server did not report it was started.
+     *
+     * @param serverName the name of the server
+     * @param timeout    the time waited for the server, in seconds
+     *
+     * @return the message.
+     */
+    @Message(id = 211, value = "Server (%s) failed or did not report it was started within %d seconds")
+    String serverNotStarted(String serverName, long timeout);
+
 }
@@ -46,6 +46,8 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
 
 import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.PathElement;
@@ -125,7 +127,9 @@ public class HostInfo implements Transformers.ResourceIgnoredTransformationRegis
     private final String productName;
     private final String productVersion;
     private final Long remoteConnectionId;
+    private final int compactModelEncodingVersion;
     private final Transformers.ResourceIgnoredTransformationRegistry ignoredResources;
+    private final ModelNode ignoredResourcesDescription;
     private final boolean ignoreUnaffectedConfig;
     private final Set<ServerConfigInfo> serverConfigInfos;
     private final Set<String> domainIgnoredExtensions;
@@ -144,6 +148,8 @@ public class HostInfo implements Transformers.ResourceIgnoredTransformationRegis
         productVersion = hostInfo.hasDefined(PRODUCT_VERSION) ? hostInfo.require(PRODUCT_VERSION).asString() : null;
         remoteConnectionId = hostInfo.hasDefined(RemoteDomainConnectionService.DOMAIN_CONNECTION_ID)
                 ? hostInfo.get(RemoteDomainConnectionService.DOMAIN_CONNECTION_ID).asLong() : null;
+        compactModelEncodingVersion = hostInfo.hasDefined(RemoteDomainConnectionService.COMPACT_MODEL_ENCODING)
+                ? hostInfo.get(RemoteDomainConnectionService.COMPACT_MODEL_ENCODING).asInt() : 0;
 
         Set<String> domainIgnoredExtensions = null;
         Set<String> domainActiveServerGroups = null;
@@ -162,7 +168,9 @@ public class HostInfo implements Transformers.ResourceIgnoredTransformationRegis
         }
         this.domainIgnoredExtensions = domainIgnoredExtensions;
 
-        ignoredResources = createIgnoredRegistry(hostInfo, domainIgnoredExtensions);
+        final Map<String, IgnoredType> ignoredTypes = processIgnoredResource(hostInfo, domainIgnoredExtensions);
+        ignoredResources = createIgnoredRegistry(ignoredTypes);
+        ignoredResourcesDescription = describeIgnoredResources(ignoredTypes);
 
         hostDeclaredIgnoreUnaffected = hostInfo.hasDefined(IGNORE_UNUSED_CONFIG) && hostInfo.get(IGNORE_UNUSED_CONFIG).asBoolean();
         ignoreUnaffectedConfig = hostDeclaredIgnoreUnaffected || (domainActiveServerGroups != null && !domainActiveServerGroups.isEmpty());
@@ -217,12 +225,31 @@ public class HostInfo implements Transformers.ResourceIgnoredTransformationRegis
         return remoteConnectionId;
     }
 
+    /**
+     * Gets the highest version of {@link org.jboss.as.controller.remote.CompactModelNodeEncoding} the host can read.
+     *
+     * @return the version, or {@code 0} if the host can only read models written with {@link ModelNode#writeExternal}
+     */
+    public int getCompactModelEncodingVersion() {
+        return compactModelEncodingVersion;
+    }
+
     public boolean isResourceTransformationIgnored(final PathAddress address) {
         // This resource transformation is only used when registering the host
         // Future operations will send an updated list of ignored-resources
         return ignoredResources.isResourceTransformationIgnored(address);
     }
 
+    /**
+     * Describes the resources ignored by {@link #isResourceTransformationIgnored(PathAddress)}. Hosts with equal
+     * descriptions ignore the same resources.
+     *
+     * @return the description. Will not be {@code null}
+     */
+    public ModelNode getIgnoredResourcesDescription() {
+        return ignoredResourcesDescription;
+    }
+
     public boolean isIgnoreUnaffectedConfig() {
         return ignoreUnaffectedConfig;
     }
@@ -323,7 +350,10 @@ public class HostInfo implements Transformers.ResourceIgnoredTransformationRegis
 
     private static Transformers.ResourceIgnoredTransformationRegistry createIgnoredRegistry(final ModelNode modelNode,
                                                                                             Set<String> domainIgnoredExtensions) {
-        final Map<String, IgnoredType> ignoredResources = processIgnoredResource(modelNode, domainIgnoredExtensions);
+        return createIgnoredRegistry(processIgnoredResource(modelNode, domainIgnoredExtensions));
+    }
+
+    private static Transformers.ResourceIgnoredTransformationRegistry createIgnoredRegistry(final Map<String, IgnoredType> ignoredResources) {
         return new Transformers.ResourceIgnoredTransformationRegistry() {
             @Override
             public boolean isResourceTransformationIgnored(PathAddress address) {
@@ -341,6 +371,29 @@ public class HostInfo implements Transformers.ResourceIgnoredTransformationRegis
         };
     }
 
+    private static ModelNode describeIgnoredResources(final Map<String, IgnoredType> ignoredResources) {
+        final ModelNode description = new ModelNode();
+        description.setEmptyObject();
+        if (ignoredResources != null) {
+            // Sorted, so that equal configurations get equal descriptions
+            for (Map.Entry<String, IgnoredType> entry : new TreeMap<>(ignoredResources).entrySet()) {
+                final IgnoredType ignoredType = entry.getValue();
+                final ModelNode type = description.get(entry.getKey());
+                if (ignoredType.wildcard) {
+                    type.get(WILDCARD).set(true);
+                } else {
+                    type.get(NAMES).setEmptyList();
+                    if (ignoredType.names != null) {
+                        for (String name : new TreeSet<>(ignoredType.names)) {
+                            type.get(NAMES).add(name);
+                        }
+                    }
+                }
+            }
+        }
+        return description;
+    }
+
     private static Map<String, IgnoredType> processIgnoredResource(final ModelNode model, Set<String> domainIgnoredExtensions) {
         Map<String, IgnoredType> ignoredResources = null;
         if (model.hasDefined(IGNORED_RESOURCES)) {
@@ -24,7 +24,18 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SERVER_CONFIG;
 import static org.jboss.as.host.controller.logging.HostControllerLogger.ROOT_LOGGER;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 
 import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationDefinition;
@@ -35,6 +46,7 @@ import org.jboss.as.controller.RunningMode;
 import org.jboss.as.controller.SimpleOperationDefinitionBuilder;
 import org.jboss.as.controller.registry.Resource;
 import org.jboss.as.host.controller.HostControllerEnvironment;
+import org.jboss.as.host.controller.HostControllerService;
 import org.jboss.as.host.controller.logging.HostControllerLogger;
 import org.jboss.as.host.controller.HostRunningModeControl;
 import org.jboss.as.host.controller.RestartMode;
@@ -53,6 +65,17 @@ import org.wildfly.security.manager.WildFlySecurityManager;
 public class StartServersHandler implements OperationStepHandler {
 
     public static final boolean START_BLOCKING = Boolean.parseBoolean(WildFlySecurityManager.getPropertyPrivileged("org.jboss.as.host.start.servers.sequential", "false"));
+    /**
+     * The maximum number of auto-start servers that are started concurrently. Each server is only counted until it
+     * reports it is started, so the next server begins its start once an earlier one finished booting. A value of
+     * {@code 0} or less starts all servers at once.
+     */
+    public static final int MAX_CONCURRENT_STARTS = Integer.parseInt(WildFlySecurityManager.getPropertyPrivileged("org.jboss.as.host.start.servers.max-concurrent", "0"));
+    /**
+     * The time in seconds to wait for an auto-start server to report it is started, when the number of concurrent
+     * starts is limited.
+     */
+    public static final long START_TIMEOUT = Long.parseLong(WildFlySecurityManager.getPropertyPrivileged("org.jboss.as.host.start.servers.timeout", "300"));
     public static final String OPERATION_NAME = "start-servers";
 
   //Private method does not need resources for description
@@ -109,33 +132,116 @@ public class StartServersHandler implements OperationStepHandler {
     }
 
     private void cleanStartServers(final ModelNode servers, final ModelNode domainModel, OperationContext context) throws OperationFailedException {
+        final List<String> serverNames = new ArrayList<>();
         for(final Property serverProp : servers.asPropertyList()) {
             String serverName = serverProp.getName();
             if (ServerConfigResourceDefinition.AUTO_START.resolveModelAttribute(context, serverProp.getValue()).asBoolean(true)) {
-                try {
-                    serverInventory.startServer(serverName, domainModel, START_BLOCKING, false);
-                } catch (Exception e) {
-                    ROOT_LOGGER.failedToStartServer(e, serverName);
-                }
+                serverNames.add(serverName);
             }
         }
+        startServers(serverNames, servers, domainModel, context);
     }
 
-    private void restartedHcStartOrReconnectServers(final ModelNode servers, final ModelNode domainModel, final OperationContext context){
+    private void restartedHcStartOrReconnectServers(final ModelNode servers, final ModelNode domainModel, final OperationContext context) throws OperationFailedException {
         Map<String, ProcessInfo> processInfos = serverInventory.determineRunningProcesses();
+        final List<String> serverNames = new ArrayList<>();
         for(final String serverName : servers.keys()) {
             ProcessInfo info = processInfos.get(serverInventory.getServerProcessName(serverName));
             boolean auto = servers.get(serverName, AUTO_START).asBoolean(true);
             if (info == null && auto) {
+                serverNames.add(serverName);
+            } else if (info != null){
+                // Reconnect the server using the current authKey
+                serverInventory.reconnectServer(serverName, domainModel, info.getAuthKey(), info.isRunning(), info.isStopping());
+            }
+        }
+        startServers(serverNames, servers, domainModel, context);
+    }
+
+    private void startServers(final List<String> serverNames, final ModelNode servers, final ModelNode domainModel, final OperationContext context) throws OperationFailedException {
+        final Map<String, Integer> priorities = new HashMap<>();
+        for (String serverName : serverNames) {
+            priorities.put(serverName, ServerConfigResourceDefinition.START_PRIORITY.resolveModelAttribute(context, servers.get(serverName)).asInt());
+        }
+        sortByStartPriority(serverNames, priorities);
+
+        // Servers which could not be started are reported in the result
+        final ModelNode failures = context.getResult();
+        if (START_BLOCKING || MAX_CONCURRENT_STARTS <= 0 || serverNames.size() <= MAX_CONCURRENT_STARTS) {
+            for (String serverName : serverNames) {
                 try {
                     serverInventory.startServer(serverName, domainModel, START_BLOCKING, false);
                 } catch (Exception e) {
                     ROOT_LOGGER.failedToStartServer(e, serverName);
+                    failures.get(serverName).set(e.toString());
+                }
+            }
+        } else {
+            final ExecutorService executor = (ExecutorService) context.getServiceRegistry(false).getRequiredService(HostControllerService.HC_EXECUTOR_SERVICE_NAME).getValue();
+            startServers(serverNames, domainModel, executor, MAX_CONCURRENT_STARTS, START_TIMEOUT, failures);
+        }
+    }
+
+    /**
+     * Order servers by start-priority, highest first. The sort is stable so servers with the same priority keep the
+     * configured order.
+     */
+    static void sortByStartPriority(final List<String> serverNames, final Map<String, Integer> priorities) {
+        Collections.sort(serverNames, Comparator.comparing(priorities::get, Comparator.reverseOrder()));
+    }
+
+    /**
+     * Start the servers in order, with at most {@code maxConcurrent} of them booting at any time. The next server is
+     * started once an earlier one reports it is started, failed or the timeout elapsed. Servers are only started from
+     * the calling thread, so the domain model is not shared; the executor only waits for the servers.
+     *
+     * @param serverNames the servers in the order to start them
+     * @param domainModel the domain model
+     * @param executor the executor waiting for the servers
+     * @param maxConcurrent the maximum number of servers booting at the same time
+     * @param timeout the time in seconds to wait for a server
+     * @param failures node to record the servers which could not be started in
+     */
+    void startServers(final List<String> serverNames, final ModelNode domainModel, final ExecutorService executor,
+                      final int maxConcurrent, final long timeout, final ModelNode failures) {
+        final Semaphore permits = new Semaphore(maxConcurrent);
+        final Map<String, Future<Boolean>> starts = new LinkedHashMap<>();
+        try {
+            for (final String serverName : serverNames) {
+                permits.acquire();
+                try {
+                    serverInventory.startServer(serverName, domainModel, false, false);
+                } catch (Exception e) {
+                    permits.release();
+                    ROOT_LOGGER.failedToStartServer(e, serverName);
+                    failures.get(serverName).set(e.toString());
+                    continue;
+                }
+                starts.put(serverName, executor.submit(() -> {
+                    try {
+                        return serverInventory.awaitServerStarted(serverName, timeout, TimeUnit.SECONDS);
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+            for (final Map.Entry<String, Future<Boolean>> start : starts.entrySet()) {
+                final String serverName = start.getKey();
+                boolean started;
+                try {
+                    started = start.getValue().get();
+                } catch (ExecutionException e) {
+                    started = false;
+                }
+                if (!started) {
+                    final String message = ROOT_LOGGER.serverNotStarted(serverName, timeout);
+                    ROOT_LOGGER.warn(message);
+                    failures.get(serverName).set(message);
                 }
-            } else if (info != null){
-                // Reconnect the server using the current authKey
-                serverInventory.reconnectServer(serverName, domainModel, info.getAuthKey(), info.isRunning(), info.isStopping());
             }
+        } catch (InterruptedException e) {
+            // The servers started so far keep booting, just stop starting more of them
+            Thread.currentThread().interrupt();
         }
     }
 }
@@ -1230,6 +1230,10 @@ final class HostXml_7 extends CommonXml implements ManagementXmlDelegate {
                         ServerConfigResourceDefinition.UPDATE_AUTO_START_WITH_SERVER_STATUS.parseAndSetParameter(value, addUpdate, reader);
                         break;
                     }
+                    case START_PRIORITY: {
+                        ServerConfigResourceDefinition.START_PRIORITY.parseAndSetParameter(value, addUpdate, reader);
+                        break;
+                    }
                     default:
                         throw unexpectedAttribute(reader, i);
                 }
@@ -1557,6 +1561,7 @@ final class HostXml_7 extends CommonXml implements ManagementXmlDelegate {
             ServerConfigResourceDefinition.GROUP.marshallAsAttribute(server, writer);
             ServerConfigResourceDefinition.AUTO_START.marshallAsAttribute(server, writer);
             ServerConfigResourceDefinition.UPDATE_AUTO_START_WITH_SERVER_STATUS.marshallAsAttribute(server, writer);
+            ServerConfigResourceDefinition.START_PRIORITY.marshallAsAttribute(server, writer);
             if (server.hasDefined(PATH)) {
                 writePaths(writer, server.get(PATH), false);
             }
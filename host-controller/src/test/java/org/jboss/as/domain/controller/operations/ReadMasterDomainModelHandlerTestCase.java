@@ -115,6 +115,38 @@ public class ReadMasterDomainModelHandlerTestCase {
         Assert.assertFalse(transformed.get("profile").hasDefined("ignored"));
     }
 
+    @Test
+    public void testIgnoredResourcesDescription() {
+        ModelNode first = createHostInfo("first");
+        first.get(IGNORED_RESOURCES, PROFILE, NAMES).add("a");
+        first.get(IGNORED_RESOURCES, PROFILE, NAMES).add("b");
+        first.get(IGNORED_RESOURCES, EXTENSION, WILDCARD).set(true);
+
+        ModelNode second = createHostInfo("second");
+        second.get(IGNORED_RESOURCES, EXTENSION, WILDCARD).set(true);
+        second.get(IGNORED_RESOURCES, PROFILE, NAMES).add("b");
+        second.get(IGNORED_RESOURCES, PROFILE, NAMES).add("a");
+
+        ModelNode third = createHostInfo("third");
+        third.get(IGNORED_RESOURCES, PROFILE, NAMES).add("a");
+
+        ModelNode description = HostInfo.fromModelNode(first).getIgnoredResourcesDescription();
+        Assert.assertEquals(description, HostInfo.fromModelNode(second).getIgnoredResourcesDescription());
+        Assert.assertEquals(description.hashCode(), HostInfo.fromModelNode(second).getIgnoredResourcesDescription().hashCode());
+        Assert.assertNotEquals(description, HostInfo.fromModelNode(third).getIgnoredResourcesDescription());
+    }
+
+    private static ModelNode createHostInfo(String name) {
+        ModelNode hostInfo = new ModelNode();
+        hostInfo.get(NAME).set(name);
+        hostInfo.get(RELEASE_VERSION).set("8.0.0.Alpha1-SNAPSHOT");
+        hostInfo.get(RELEASE_CODENAME).set("TBD");
+        hostInfo.get(MANAGEMENT_MAJOR_VERSION).set(1);
+        hostInfo.get(MANAGEMENT_MINOR_VERSION).set(4);
+        hostInfo.get(MANAGEMENT_MICRO_VERSION).set(0);
+        return hostInfo;
+    }
+
     private Resource createProfile() {
         Resource profile = Resource.Factory.create();
         Resource subsystem = Resource.Factory.create();
@@ -42,6 +42,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 import javax.security.auth.callback.CallbackHandler;
 
@@ -542,6 +543,11 @@ public class ServerGroupAffectedResourceServerConfigOperationsTestCase extends A
             return ServerStatus.STARTED;
         }
 
+        @Override
+        public long getServerStartupTime(String serverName) {
+            return -1L;
+        }
+
         @Override
         public ServerStatus startServer(String serverName, ModelNode domainModel) {
             throw new UnsupportedOperationException("Not supported yet.");
@@ -552,6 +558,11 @@ public class ServerGroupAffectedResourceServerConfigOperationsTestCase extends A
             throw new UnsupportedOperationException("Not supported yet.");
         }
 
+        @Override
+        public boolean awaitServerStarted(String serverName, long timeout, TimeUnit unit) {
+            throw new UnsupportedOperationException("Not supported yet.");
+        }
+
         @Override
         public ServerStatus restartServer(String serverName, int gracefulTimeout, ModelNode domainModel) {
             throw new UnsupportedOperationException("Not supported yet.");
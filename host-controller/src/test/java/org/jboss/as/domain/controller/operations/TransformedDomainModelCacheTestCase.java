@@ -0,0 +1,96 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+
+package org.jboss.as.domain.controller.operations;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.dmr.ModelNode;
+import org.junit.Test;
+
+public class TransformedDomainModelCacheTestCase {
+
+    private final TransformedDomainModelCache cache = new TransformedDomainModelCache();
+    private final AtomicInteger described = new AtomicInteger();
+
+    @Test
+    public void testSharedForSameTransformation() throws OperationFailedException {
+        List<ModelNode> first = cache.getDescribedResources(1, transformation("1.8.0"), this::describe);
+        List<ModelNode> second = cache.getDescribedResources(1, transformation("1.8.0"), this::describe);
+        assertSame(first, second);
+        assertEquals(1, described.get());
+
+        cache.getDescribedResources(1, transformation("4.0.0"), this::describe);
+        assertEquals(2, described.get());
+    }
+
+    @Test
+    public void testModelGeneration() throws OperationFailedException {
+        cache.getDescribedResources(1, transformation("1.8.0"), this::describe);
+        cache.getDescribedResources(2, transformation("1.8.0"), this::describe);
+        assertEquals(2, described.get());
+        cache.getDescribedResources(2, transformation("1.8.0"), this::describe);
+        assertEquals(2, described.get());
+
+        // an older model than the cached one is not cached, and does not evict the cached one
+        List<ModelNode> old = cache.getDescribedResources(1, transformation("1.8.0"), this::describe);
+        assertEquals(3, described.get());
+        assertEquals(3, old.get(0).asInt());
+        cache.getDescribedResources(2, transformation("1.8.0"), this::describe);
+        assertEquals(3, described.get());
+
+        // unknown generations are never cached
+        cache.getDescribedResources(-1, transformation("1.8.0"), this::describe);
+        cache.getDescribedResources(-1, transformation("1.8.0"), this::describe);
+        assertEquals(5, described.get());
+    }
+
+    @Test
+    public void testFailureNotCached() throws OperationFailedException {
+        try {
+            cache.getDescribedResources(1, transformation("1.8.0"), () -> {
+                throw new OperationFailedException("failed");
+            });
+        } catch (OperationFailedException expected) {
+            // expected
+        }
+        cache.getDescribedResources(1, transformation("1.8.0"), this::describe);
+        assertEquals(1, described.get());
+    }
+
+    private List<ModelNode> describe() {
+        return Collections.singletonList(new ModelNode(described.incrementAndGet()));
+    }
+
+    private static ModelNode transformation(String version) {
+        ModelNode transformation = new ModelNode();
+        transformation.get("version").set(version);
+        return transformation;
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+
+package org.jboss.as.host.controller;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.jboss.dmr.ModelNode;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests of {@link ProfileOperationsCache}.
+ */
+public class ProfileOperationsCacheTestCase {
+
+    private final Map<String, String> profiles = new HashMap<>();
+    private final AtomicInteger described = new AtomicInteger();
+    private final Function<String, ModelNode> describer = name -> {
+        described.incrementAndGet();
+        return new ModelNode().add(profiles.get(name));
+    };
+
+    @Test
+    public void testHit() {
+        final ProfileOperationsCache cache = new ProfileOperationsCache();
+        profiles.put("default", "one");
+        profiles.put("ha", "two");
+
+        final ModelNode operations = cache.getProfileOperations("default", 1, describer);
+        Assert.assertEquals("one", operations.get(0).asString());
+        Assert.assertSame(operations, cache.getProfileOperations("default", 1, describer));
+        Assert.assertEquals("two", cache.getProfileOperations("ha", 1, describer).get(0).asString());
+        Assert.assertSame(operations, cache.getProfileOperations("default", 1, describer));
+        Assert.assertEquals(2, described.get());
+    }
+
+    @Test
+    public void testInvalidationAfterWrite() {
+        final ProfileOperationsCache cache = new ProfileOperationsCache();
+        profiles.put("default", "one");
+        Assert.assertEquals("one", cache.getProfileOperations("default", 1, describer).get(0).asString());
+
+        // a write to the profile publishes a new generation of the model
+        profiles.put("default", "changed");
+        Assert.assertEquals("changed", cache.getProfileOperations("default", 2, describer).get(0).asString());
+        Assert.assertEquals(2, described.get());
+
+        // an operation still reading the earlier model neither uses nor replaces the cached operations
+        profiles.put("default", "one");
+        Assert.assertEquals("one", cache.getProfileOperations("default", 1, describer).get(0).asString());
+        profiles.put("default", "changed");
+        Assert.assertEquals("changed", cache.getProfileOperations("default", 2, describer).get(0).asString());
+        Assert.assertEquals(3, described.get());
+
+        // nor is anything cached if the generation is not known
+        cache.getProfileOperations("default", -1, describer);
+        Assert.assertEquals(4, described.get());
+    }
+
+    @Test
+    public void testRemoval() {
+        final ProfileOperationsCache cache = new ProfileOperationsCache();
+        profiles.put("default", "one");
+        profiles.put("ha", "two");
+        cache.getProfileOperations("default", 1, describer);
+        cache.getProfileOperations("ha", 1, describer);
+        Assert.assertTrue(cache.isCached("ha"));
+
+        profiles.remove("ha");
+        cache.getProfileOperations("default", 2, describer);
+        Assert.assertFalse(cache.isCached("ha"));
+        Assert.assertTrue(cache.isCached("default"));
+    }
+}
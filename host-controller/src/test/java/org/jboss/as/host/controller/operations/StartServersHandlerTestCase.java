@@ -0,0 +1,150 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+
+package org.jboss.as.host.controller.operations;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.as.controller.client.helpers.domain.ServerStatus;
+import org.jboss.as.host.controller.ServerInventory;
+import org.jboss.dmr.ModelNode;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the order and the concurrency of starting the auto-start servers.
+ */
+public class StartServersHandlerTestCase {
+
+    private ExecutorService executor;
+
+    @Before
+    public void setUp() {
+        executor = Executors.newCachedThreadPool();
+    }
+
+    @After
+    public void tearDown() throws InterruptedException {
+        executor.shutdownNow();
+        Assert.assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testStartPriorityOrder() {
+        final List<String> serverNames = new ArrayList<>(Arrays.asList("a", "b", "c", "d", "e"));
+        final Map<String, Integer> priorities = new HashMap<>();
+        priorities.put("a", 0);
+        priorities.put("b", 10);
+        priorities.put("c", 0);
+        priorities.put("d", 5);
+        priorities.put("e", 10);
+
+        StartServersHandler.sortByStartPriority(serverNames, priorities);
+
+        // highest priority first, equal priorities keep the configured order
+        Assert.assertEquals(Arrays.asList("b", "e", "d", "a", "c"), serverNames);
+    }
+
+    @Test
+    public void testMaxConcurrentStarts() {
+        final RecordingInventory inventory = new RecordingInventory(Collections.<String>emptyList());
+        final StartServersHandler handler = new StartServersHandler(null, inventory.proxy(), null);
+        final List<String> serverNames = Arrays.asList("s0", "s1", "s2", "s3", "s4", "s5", "s6", "s7", "s8", "s9");
+        final ModelNode failures = new ModelNode();
+
+        handler.startServers(serverNames, new ModelNode(), executor, 3, 10, failures);
+
+        Assert.assertEquals(serverNames, inventory.started);
+        Assert.assertEquals(3, inventory.maxBooting.get());
+        Assert.assertEquals(0, inventory.booting.get());
+        Assert.assertFalse(failures.isDefined());
+    }
+
+    @Test
+    public void testFailedStartsAreReported() {
+        final RecordingInventory inventory = new RecordingInventory(Arrays.asList("s1", "s3"));
+        final StartServersHandler handler = new StartServersHandler(null, inventory.proxy(), null);
+        final List<String> serverNames = Arrays.asList("s0", "s1", "s2", "s3", "s4");
+        final ModelNode failures = new ModelNode();
+
+        handler.startServers(serverNames, new ModelNode(), executor, 2, 10, failures);
+
+        // a failed server does not keep the others from starting
+        Assert.assertEquals(serverNames, inventory.started);
+        Assert.assertTrue(inventory.maxBooting.get() <= 2);
+        Assert.assertEquals(new HashSet<>(Arrays.asList("s1", "s3")), failures.keys());
+    }
+
+    /**
+     * Inventory recording the order servers are started in, and how many of them boot at the same time.
+     */
+    private static class RecordingInventory implements InvocationHandler {
+
+        private final List<String> failing;
+        private final List<String> started = Collections.synchronizedList(new ArrayList<String>());
+        private final AtomicInteger booting = new AtomicInteger();
+        private final AtomicInteger maxBooting = new AtomicInteger();
+
+        RecordingInventory(List<String> failing) {
+            this.failing = failing;
+        }
+
+        ServerInventory proxy() {
+            return (ServerInventory) Proxy.newProxyInstance(ServerInventory.class.getClassLoader(), new Class<?>[] {ServerInventory.class}, this);
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            final String serverName = (String) args[0];
+            switch (method.getName()) {
+                case "startServer":
+                    started.add(serverName);
+                    final int count = booting.incrementAndGet();
+                    maxBooting.accumulateAndGet(count, Math::max);
+                    return ServerStatus.STARTING;
+                case "awaitServerStarted":
+                    // simulate the boot
+                    Thread.sleep(20);
+                    booting.decrementAndGet();
+                    return !failing.contains(serverName);
+                default:
+                    throw new UnsupportedOperationException(method.getName());
+            }
+        }
+    }
+}
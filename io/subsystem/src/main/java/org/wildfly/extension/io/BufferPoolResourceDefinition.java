@@ -24,6 +24,7 @@
 package org.wildfly.extension.io;
 
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.PROFILE;
 
 import java.util.Arrays;
 import java.util.Collection;
@@ -34,12 +35,15 @@ import org.jboss.as.controller.AttributeDefinition;
 import org.jboss.as.controller.ModelVersion;
 import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationStepHandler;
 import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.PersistentResourceDefinition;
 import org.jboss.as.controller.ReloadRequiredRemoveStepHandler;
 import org.jboss.as.controller.SimpleAttributeDefinition;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.capability.RuntimeCapability;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
+import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
 import org.jboss.as.controller.operations.validation.IntRangeValidator;
 import org.jboss.as.controller.registry.AttributeAccess;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
@@ -47,10 +51,12 @@ import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
 import org.jboss.msc.service.Service;
 import org.jboss.msc.service.ServiceController;
+import org.jboss.msc.service.ServiceName;
 import org.jboss.msc.service.StartContext;
 import org.jboss.msc.service.StartException;
 import org.jboss.msc.service.StopContext;
 import org.jboss.msc.value.InjectedValue;
+import org.wildfly.extension.io.logging.IOLogger;
 import org.xnio.Pool;
 
 import io.undertow.connector.ByteBufferPool;
@@ -107,6 +113,23 @@ class BufferPoolResourceDefinition extends PersistentResourceDefinition {
             .setFlags(AttributeAccess.Flag.RESTART_ALL_SERVICES)
             .setAllowExpression(true)
             .build();
+    static final SimpleAttributeDefinition THREAD_LOCAL_CACHE_SIZE = new SimpleAttributeDefinitionBuilder(Constants.THREAD_LOCAL_CACHE_SIZE, ModelType.INT, true)
+            .setFlags(AttributeAccess.Flag.RESTART_ALL_SERVICES)
+            .setAllowExpression(true)
+            .setValidator(new IntRangeValidator(0, true, true))
+            .build();
+
+    private static final AttributeDefinition ALLOCATED_SLICES = new SimpleAttributeDefinitionBuilder("allocated-slices", ModelType.LONG).setStorageRuntime()
+            .setUndefinedMetricValue(new ModelNode(0L)).build();
+    private static final AttributeDefinition BUFFERS_IN_USE = new SimpleAttributeDefinitionBuilder("buffers-in-use", ModelType.INT).setStorageRuntime()
+            .setUndefinedMetricValue(new ModelNode(0)).build();
+    private static final AttributeDefinition PEAK_BUFFERS_IN_USE = new SimpleAttributeDefinitionBuilder("peak-buffers-in-use", ModelType.INT).setStorageRuntime()
+            .setUndefinedMetricValue(new ModelNode(0)).build();
+    private static final AttributeDefinition ALLOCATION_FAILURES = new SimpleAttributeDefinitionBuilder("allocation-failures", ModelType.LONG).setStorageRuntime()
+            .setUndefinedMetricValue(new ModelNode(0L)).build();
+    private static final AttributeDefinition DIRECT_BYTES_RESERVED = new SimpleAttributeDefinitionBuilder("direct-bytes-reserved", ModelType.LONG).setStorageRuntime()
+            .setMeasurementUnit(MeasurementUnit.BYTES)
+            .setUndefinedMetricValue(new ModelNode(0L)).build();
 
 
     /*<buffer-pool name="default" buffer-size="1024" buffers-per-slice="1024"/>*/
@@ -114,7 +137,8 @@ class BufferPoolResourceDefinition extends PersistentResourceDefinition {
     static List<SimpleAttributeDefinition> ATTRIBUTES = Arrays.asList(
             BUFFER_SIZE,
             BUFFER_PER_SLICE,
-            DIRECT_BUFFERS
+            DIRECT_BUFFERS,
+            THREAD_LOCAL_CACHE_SIZE
     );
 
 
@@ -136,6 +160,17 @@ class BufferPoolResourceDefinition extends PersistentResourceDefinition {
         return (Collection) ATTRIBUTES;
     }
 
+    @Override
+    public void registerAttributes(ManagementResourceRegistration resourceRegistration) {
+        super.registerAttributes(resourceRegistration);
+        BufferPoolMetricsHandler metricsHandler = new BufferPoolMetricsHandler();
+        resourceRegistration.registerMetric(ALLOCATED_SLICES, metricsHandler);
+        resourceRegistration.registerMetric(BUFFERS_IN_USE, metricsHandler);
+        resourceRegistration.registerMetric(PEAK_BUFFERS_IN_USE, metricsHandler);
+        resourceRegistration.registerMetric(ALLOCATION_FAILURES, metricsHandler);
+        resourceRegistration.registerMetric(DIRECT_BYTES_RESERVED, metricsHandler);
+    }
+
     @Override
     public void registerCapabilities(ManagementResourceRegistration resourceRegistration) {
         resourceRegistration.registerCapability(IO_POOL_RUNTIME_CAPABILITY);
@@ -155,12 +190,14 @@ class BufferPoolResourceDefinition extends PersistentResourceDefinition {
             final ModelNode bufferSizeModel = BUFFER_SIZE.resolveModelAttribute(context, model);
             final ModelNode bufferPerSliceModel = BUFFER_PER_SLICE.resolveModelAttribute(context, model);
             final ModelNode directModel = DIRECT_BUFFERS.resolveModelAttribute(context, model);
+            final ModelNode threadLocalCacheSizeModel = THREAD_LOCAL_CACHE_SIZE.resolveModelAttribute(context, model);
 
             final int bufferSize = bufferSizeModel.isDefined() ? bufferSizeModel.asInt() : defaultBufferSize;
             final int bufferPerSlice = bufferPerSliceModel.isDefined() ? bufferPerSliceModel.asInt() : defaultBuffersPerRegion;
             final boolean direct = directModel.isDefined() ? directModel.asBoolean() : defaultDirectBuffers;
+            final int threadLocalCacheSize = threadLocalCacheSizeModel.isDefined() ? threadLocalCacheSizeModel.asInt() : -1;
 
-            final BufferPoolService service = new BufferPoolService(bufferSize, bufferPerSlice, direct);
+            final BufferPoolService service = new BufferPoolService(bufferSize, bufferPerSlice, direct, threadLocalCacheSize);
             context.getCapabilityServiceTarget().addCapability(IO_POOL_RUNTIME_CAPABILITY, service)
                     .setInitialMode(ServiceController.Mode.ON_DEMAND)
                     .install();
@@ -175,6 +212,47 @@ class BufferPoolResourceDefinition extends PersistentResourceDefinition {
         }
     }
 
+    private static class BufferPoolMetricsHandler implements OperationStepHandler {
+
+        @Override
+        public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+            // No services back a pool in a domain profile
+            if (!PROFILE.equals(context.getCurrentAddress().getElement(0).getKey())) {
+                context.addStep((ctx, op) -> {
+                    InstrumentedBufferPool pool = getBufferPool(ctx);
+                    if (pool != null) {
+                        ctx.getResult().set(getMetricValue(op.require(ModelDescriptionConstants.NAME).asString(), pool));
+                    }
+                }, OperationContext.Stage.RUNTIME);
+            }
+        }
+
+        private static InstrumentedBufferPool getBufferPool(OperationContext context) {
+            ServiceName serviceName = IO_POOL_RUNTIME_CAPABILITY.getCapabilityServiceName(context.getCurrentAddressValue());
+            ServiceController<?> controller = context.getServiceRegistry(false).getService(serviceName);
+            if (controller == null || controller.getState() != ServiceController.State.UP) {
+                return null;
+            }
+            return ((BufferPoolService) controller.getService()).getInstrumentedPool();
+        }
+
+        private static ModelNode getMetricValue(String attributeName, InstrumentedBufferPool pool) throws OperationFailedException {
+            if (ALLOCATED_SLICES.getName().equals(attributeName)) {
+                return new ModelNode(pool.getAllocatedSlices());
+            } else if (BUFFERS_IN_USE.getName().equals(attributeName)) {
+                return new ModelNode(pool.getBuffersInUse());
+            } else if (PEAK_BUFFERS_IN_USE.getName().equals(attributeName)) {
+                return new ModelNode(pool.getPeakBuffersInUse());
+            } else if (ALLOCATION_FAILURES.getName().equals(attributeName)) {
+                return new ModelNode(pool.getAllocationFailures());
+            } else if (DIRECT_BYTES_RESERVED.getName().equals(attributeName)) {
+                return new ModelNode(pool.getDirectBytesReserved());
+            } else {
+                throw new OperationFailedException(IOLogger.ROOT_LOGGER.noMetrics());
+            }
+        }
+    }
+
     private static final class ByteBufferPoolService implements Service<ByteBufferPool> {
 
         final InjectedValue<Pool> bufferPool = new InjectedValue<>();
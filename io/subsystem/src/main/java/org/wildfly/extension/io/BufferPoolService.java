@@ -30,29 +30,33 @@ import org.jboss.msc.service.Service;
 import org.jboss.msc.service.StartContext;
 import org.jboss.msc.service.StartException;
 import org.jboss.msc.service.StopContext;
-import org.xnio.BufferAllocator;
-import org.xnio.ByteBufferSlicePool;
 import org.xnio.Pool;
 
 /**
  * @author <a href="mailto:tomaz.cerar@redhat.com">Tomaz Cerar</a> (c) 2013 Red Hat Inc.
  */
 public class BufferPoolService implements Service<Pool<ByteBuffer>> {
-    private volatile Pool<ByteBuffer> bufferPool;
+    private volatile InstrumentedBufferPool bufferPool;
     /*<buffer-pool name="default" buffer-size="2048" buffers-per-slice="512"/>*/
     private final int bufferSize;
     private final int buffersPerSlice;
     private final boolean directBuffers;
+    private final int threadLocalCacheSize;
 
     public BufferPoolService(int bufferSize, int buffersPerSlice, final boolean directBuffers) {
+        this(bufferSize, buffersPerSlice, directBuffers, -1);
+    }
+
+    BufferPoolService(int bufferSize, int buffersPerSlice, final boolean directBuffers, final int threadLocalCacheSize) {
         this.bufferSize = bufferSize;
         this.buffersPerSlice = buffersPerSlice;
         this.directBuffers = directBuffers;
+        this.threadLocalCacheSize = threadLocalCacheSize;
     }
 
     @Override
     public void start(StartContext context) throws StartException {
-        bufferPool = new ByteBufferSlicePool(directBuffers ? BufferAllocator.DIRECT_BYTE_BUFFER_ALLOCATOR : BufferAllocator.BYTE_BUFFER_ALLOCATOR, bufferSize, buffersPerSlice * bufferSize);
+        bufferPool = new InstrumentedBufferPool(bufferSize, buffersPerSlice, directBuffers, threadLocalCacheSize);
     }
 
     @Override
@@ -64,4 +68,8 @@ public class BufferPoolService implements Service<Pool<ByteBuffer>> {
     public Pool<ByteBuffer> getValue() throws IllegalStateException, IllegalArgumentException {
         return bufferPool;
     }
+
+    InstrumentedBufferPool getInstrumentedPool() {
+        return bufferPool;
+    }
 }
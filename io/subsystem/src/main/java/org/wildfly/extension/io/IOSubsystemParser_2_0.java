@@ -34,7 +34,7 @@ class IOSubsystemParser_2_0 extends PersistentResourceXMLParser {
 
     @Override
     public PersistentResourceXMLDescription getParserDescription() {
-        return builder(IORootDefinition.INSTANCE.getPathElement(), Namespace.CURRENT.getUriString())
+        return builder(IORootDefinition.INSTANCE.getPathElement(), Namespace.IO_2_0.getUriString())
                 .addChild(
                         builder(WorkerResourceDefinition.INSTANCE.getPathElement())
                                 .addAttributes(
@@ -24,6 +24,7 @@ import org.jboss.as.controller.transform.ExtensionTransformerRegistration;
 import org.jboss.as.controller.transform.SubsystemTransformerRegistration;
 import org.jboss.as.controller.transform.description.AttributeConverter;
 import org.jboss.as.controller.transform.description.ChainedTransformationDescriptionBuilder;
+import org.jboss.as.controller.transform.description.DiscardAttributeChecker;
 import org.jboss.as.controller.transform.description.RejectAttributeChecker;
 import org.jboss.as.controller.transform.description.ResourceTransformationDescriptionBuilder;
 import org.jboss.as.controller.transform.description.TransformationDescriptionBuilder;
@@ -33,6 +34,7 @@ import org.jboss.as.controller.transform.description.TransformationDescriptionBu
  */
 public class IOSubsystemTransformers implements ExtensionTransformerRegistration {
     static final ModelVersion VERSION_2_0 = ModelVersion.create(2, 0);
+    static final ModelVersion VERSION_4_0 = ModelVersion.create(4, 0);
 
 
     @Override
@@ -44,10 +46,25 @@ public class IOSubsystemTransformers implements ExtensionTransformerRegistration
     public void registerTransformers(SubsystemTransformerRegistration registration) {
         ChainedTransformationDescriptionBuilder chainedBuilder = TransformationDescriptionBuilder.Factory.createChainedSubystemInstance(registration.getCurrentSubsystemVersion());
 
-        // Current 3.0.0 to 2.0.0, aka EAP 7.0.0
-        buildTransformers_2_0(chainedBuilder.createBuilder(registration.getCurrentSubsystemVersion(), VERSION_2_0));
+        // Current 5.0.0 to 4.0.0, aka EAP 7.1.0
+        buildTransformers_4_0(chainedBuilder.createBuilder(registration.getCurrentSubsystemVersion(), VERSION_4_0));
+        // 4.0.0 to 2.0.0, aka EAP 7.0.0
+        buildTransformers_2_0(chainedBuilder.createBuilder(VERSION_4_0, VERSION_2_0));
 
-        chainedBuilder.buildAndRegister(registration, new ModelVersion[]{VERSION_2_0});
+        chainedBuilder.buildAndRegister(registration, new ModelVersion[]{VERSION_2_0, VERSION_4_0});
+    }
+
+    private void buildTransformers_4_0(ResourceTransformationDescriptionBuilder builder) {
+        builder.addChildResource(WorkerResourceDefinition.INSTANCE.getPathElement())
+                .getAttributeBuilder()
+                .setDiscard(DiscardAttributeChecker.UNDEFINED, WorkerResourceDefinition.WORKER_TASK_MAX_THREADS_LIMIT)
+                .addRejectCheck(RejectAttributeChecker.DEFINED, WorkerResourceDefinition.WORKER_TASK_MAX_THREADS_LIMIT)
+                .end();
+        builder.addChildResource(BufferPoolResourceDefinition.INSTANCE.getPathElement())
+                .getAttributeBuilder()
+                .setDiscard(DiscardAttributeChecker.UNDEFINED, BufferPoolResourceDefinition.THREAD_LOCAL_CACHE_SIZE)
+                .addRejectCheck(RejectAttributeChecker.DEFINED, BufferPoolResourceDefinition.THREAD_LOCAL_CACHE_SIZE)
+                .end();
     }
 
     private void buildTransformers_2_0(ResourceTransformationDescriptionBuilder builder) {
@@ -0,0 +1,166 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.io;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.xnio.BufferAllocator;
+import org.xnio.ByteBufferSlicePool;
+import org.xnio.Pool;
+import org.xnio.Pooled;
+
+/**
+ * A {@link ByteBufferSlicePool} which keeps track of its slices and of the buffers handed out, for the runtime
+ * attributes of a buffer pool.
+ */
+final class InstrumentedBufferPool implements Pool<ByteBuffer> {
+
+    private final Pool<ByteBuffer> delegate;
+    private final boolean direct;
+    // slices are only allocated when the pool runs dry, buffers on every allocation
+    private final LongAdder slices = new LongAdder();
+    private final LongAdder sliceBytes = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    // counted apart so that threads allocating and freeing buffers do not contend on a shared counter
+    private final LongAdder buffersAllocated = new LongAdder();
+    private final LongAdder buffersFreed = new LongAdder();
+    // only sampled, see getPeakBuffersInUse()
+    private final AtomicInteger peakBuffersInUse = new AtomicInteger();
+
+    /**
+     * @param bufferSize the size of a buffer
+     * @param buffersPerSlice the number of buffers allocated at once
+     * @param direct whether to use direct buffers
+     * @param threadLocalCacheSize the number of buffers freed by a thread kept for its next allocations, or
+     *                             {@code -1} for the XNIO default
+     */
+    InstrumentedBufferPool(final int bufferSize, final int buffersPerSlice, final boolean direct, final int threadLocalCacheSize) {
+        final BufferAllocator<ByteBuffer> allocator = direct ? BufferAllocator.DIRECT_BYTE_BUFFER_ALLOCATOR : BufferAllocator.BYTE_BUFFER_ALLOCATOR;
+        final BufferAllocator<ByteBuffer> countingAllocator = size -> {
+            final ByteBuffer slice;
+            try {
+                slice = allocator.allocate(size);
+            } catch (OutOfMemoryError e) {
+                failures.increment();
+                throw e;
+            }
+            slices.increment();
+            sliceBytes.add(size);
+            // the pool ran dry, so this is when the most buffers are in use
+            samplePeakBuffersInUse();
+            return slice;
+        };
+        this.delegate = threadLocalCacheSize < 0
+                ? new ByteBufferSlicePool(countingAllocator, bufferSize, buffersPerSlice * bufferSize)
+                : new ByteBufferSlicePool(countingAllocator, bufferSize, buffersPerSlice * bufferSize, threadLocalCacheSize);
+        this.direct = direct;
+    }
+
+    @Override
+    public Pooled<ByteBuffer> allocate() {
+        final Pooled<ByteBuffer> pooled = delegate.allocate();
+        buffersAllocated.increment();
+        return new CountingPooled(pooled, buffersFreed);
+    }
+
+    /** The number of slices allocated by the pool */
+    long getAllocatedSlices() {
+        return slices.sum();
+    }
+
+    /** The number of buffers currently allocated and not freed yet */
+    int getBuffersInUse() {
+        // a buffer is counted as allocated before it can be counted as freed, so sum the freed ones first
+        final long freed = buffersFreed.sum();
+        return (int) (buffersAllocated.sum() - freed);
+    }
+
+    /**
+     * The highest number of buffers in use at the same time. Rather than on every allocation, the number in use is
+     * sampled when the pool allocates a slice, as it does once all its buffers are in use, and when this is read.
+     */
+    int getPeakBuffersInUse() {
+        return samplePeakBuffersInUse();
+    }
+
+    private int samplePeakBuffersInUse() {
+        return peakBuffersInUse.accumulateAndGet(getBuffersInUse(), Math::max);
+    }
+
+    /** The number of slices which could not be allocated */
+    long getAllocationFailures() {
+        return failures.sum();
+    }
+
+    /** The memory held by the slices of a direct pool, which is not freed until the pool is collected */
+    long getDirectBytesReserved() {
+        return direct ? sliceBytes.sum() : 0L;
+    }
+
+    private static final class CountingPooled implements Pooled<ByteBuffer> {
+
+        private static final AtomicIntegerFieldUpdater<CountingPooled> releasedUpdater = AtomicIntegerFieldUpdater.newUpdater(CountingPooled.class, "released");
+
+        private final Pooled<ByteBuffer> pooled;
+        private final LongAdder buffersFreed;
+        @SuppressWarnings("unused")
+        private volatile int released;
+
+        private CountingPooled(final Pooled<ByteBuffer> pooled, final LongAdder buffersFreed) {
+            this.pooled = pooled;
+            this.buffersFreed = buffersFreed;
+        }
+
+        @Override
+        public void discard() {
+            release();
+            pooled.discard();
+        }
+
+        @Override
+        public void free() {
+            release();
+            pooled.free();
+        }
+
+        @Override
+        public ByteBuffer getResource() throws IllegalStateException {
+            return pooled.getResource();
+        }
+
+        @Override
+        public void close() {
+            free();
+        }
+
+        private void release() {
+            // the buffer can be freed more than once, possibly by different threads
+            if (releasedUpdater.compareAndSet(this, 0, 1)) {
+                buffersFreed.increment();
+            }
+        }
+    }
+}
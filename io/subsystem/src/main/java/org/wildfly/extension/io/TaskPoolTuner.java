@@ -0,0 +1,125 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.io;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.wildfly.extension.io.logging.IOLogger;
+import org.xnio.Options;
+import org.xnio.XnioExecutor;
+import org.xnio.XnioWorker;
+import org.xnio.management.XnioWorkerMXBean;
+
+/**
+ * Grows the task pool of a worker above its configured size while tasks are queuing up, and shrinks it back once
+ * the pool has been idle for a while. The pool never grows above the limit nor shrinks below the configured size.
+ * <p>
+ * Samples are taken on the first I/O thread of the worker; resizing is a cheap call on the task pool.
+ */
+final class TaskPoolTuner implements Runnable {
+
+    static final long INTERVAL_MILLIS = 1000;
+    // number of consecutive idle samples before the pool shrinks
+    static final int SHRINK_AFTER = 10;
+
+    private final XnioWorker worker;
+    private volatile int configuredMaxThreads;
+    private volatile int limit;
+    private int idleSamples;
+    private XnioExecutor.Key key;
+
+    /**
+     * @param worker the worker to tune
+     * @param configuredMaxThreads the size the pool is configured with, which it is shrunk back to
+     * @param limit the size the pool may grow to
+     */
+    TaskPoolTuner(final XnioWorker worker, final int configuredMaxThreads, final int limit) {
+        this.worker = worker;
+        this.configuredMaxThreads = configuredMaxThreads;
+        this.limit = limit;
+    }
+
+    synchronized void start() {
+        if (key == null) {
+            key = worker.getIoThread(0).executeAtInterval(this, INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    synchronized void stop() {
+        if (key != null) {
+            key.remove();
+            key = null;
+        }
+    }
+
+    int getConfiguredMaxThreads() {
+        return configuredMaxThreads;
+    }
+
+    /**
+     * Changes the configured size of the pool, the pool is resized to it right away.
+     */
+    synchronized void setConfiguredMaxThreads(final int configuredMaxThreads) throws IOException {
+        this.configuredMaxThreads = configuredMaxThreads;
+        idleSamples = 0;
+        resize(configuredMaxThreads);
+    }
+
+    synchronized void setLimit(final int limit) throws IOException {
+        this.limit = limit;
+        final int size = worker.getMXBean().getMaxWorkerPoolSize();
+        if (size > Math.max(limit, configuredMaxThreads)) {
+            resize(Math.max(limit, configuredMaxThreads));
+        }
+    }
+
+    @Override
+    public synchronized void run() {
+        final XnioWorkerMXBean metrics = worker.getMXBean();
+        final int size = metrics.getMaxWorkerPoolSize();
+        final int configured = configuredMaxThreads;
+        try {
+            if (metrics.getWorkerQueueSize() > 0) {
+                idleSamples = 0;
+                if (size < limit) {
+                    resize(Math.min(limit, size + Math.max(1, size / 4)));
+                }
+            } else if (size > configured && metrics.getBusyWorkerThreadCount() < size / 2) {
+                if (++idleSamples >= SHRINK_AFTER) {
+                    idleSamples = 0;
+                    resize(Math.max(configured, size - Math.max(1, size / 4)));
+                }
+            } else {
+                idleSamples = 0;
+            }
+        } catch (IOException | RuntimeException e) {
+            IOLogger.ROOT_LOGGER.debugf(e, "Failed to resize the task pool of worker %s", worker.getName());
+        }
+    }
+
+    private void resize(final int size) throws IOException {
+        IOLogger.ROOT_LOGGER.debugf("Resizing the task pool of worker %s to %d threads", worker.getName(), size);
+        worker.setOption(Options.WORKER_TASK_MAX_THREADS, size);
+    }
+}
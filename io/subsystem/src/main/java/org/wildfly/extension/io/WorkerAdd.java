@@ -30,13 +30,18 @@ import static org.wildfly.extension.io.WorkerResourceDefinition.ATTRIBUTES;
 import static org.wildfly.extension.io.WorkerResourceDefinition.IO_WORKER_RUNTIME_CAPABILITY;
 import static org.wildfly.extension.io.WorkerResourceDefinition.WORKER_IO_THREADS;
 import static org.wildfly.extension.io.WorkerResourceDefinition.WORKER_TASK_MAX_THREADS;
+import static org.wildfly.extension.io.WorkerResourceDefinition.WORKER_TASK_MAX_THREADS_LIMIT;
 
 import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 import javax.management.MBeanServerConnection;
 import javax.management.ObjectName;
 
 import org.jboss.as.controller.AbstractAddStepHandler;
+import org.jboss.as.controller.AttributeDefinition;
 import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationFailedException;
 import org.jboss.as.controller.PathAddress;
@@ -60,7 +65,13 @@ class WorkerAdd extends AbstractAddStepHandler {
     static final WorkerAdd INSTANCE = new WorkerAdd();
 
     private WorkerAdd() {
-        super(ATTRIBUTES);
+        super(getAddAttributes());
+    }
+
+    private static List<AttributeDefinition> getAddAttributes() {
+        List<AttributeDefinition> attributes = new ArrayList<>(Arrays.asList(ATTRIBUTES));
+        attributes.add(WORKER_TASK_MAX_THREADS_LIMIT);
+        return attributes;
     }
 
     private static int getMaxDescriptorCount() {
@@ -210,9 +221,12 @@ class WorkerAdd extends AbstractAddStepHandler {
             }
         }
 
-        registerMax(context, name, workerThreads);
+        ModelNode taskMaxThreadsLimitModel = WORKER_TASK_MAX_THREADS_LIMIT.resolveModelAttribute(context, model);
+        int taskMaxThreadsLimit = taskMaxThreadsLimitModel.isDefined() ? taskMaxThreadsLimitModel.asInt() : -1;
+        // the task pool may be tuned up to the limit
+        registerMax(context, name, Math.max(workerThreads, taskMaxThreadsLimit));
 
-        final WorkerService workerService = new WorkerService(builder);
+        final WorkerService workerService = new WorkerService(builder, taskMaxThreadsLimit);
         context.getCapabilityServiceTarget().addCapability(IO_WORKER_RUNTIME_CAPABILITY, workerService)
                 .setInitialMode(ServiceController.Mode.ON_DEMAND)
                 .install();
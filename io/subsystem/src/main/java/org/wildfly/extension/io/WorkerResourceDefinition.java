@@ -27,15 +27,22 @@ package org.wildfly.extension.io;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.PROFILE;
 
 import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import org.jboss.as.controller.AbstractWriteAttributeHandler;
 import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.ObjectListAttributeDefinition;
+import org.jboss.as.controller.ObjectTypeAttributeDefinition;
 import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationFailedException;
 import org.jboss.as.controller.OperationStepHandler;
@@ -43,11 +50,13 @@ import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.PathElement;
 import org.jboss.as.controller.PersistentResourceDefinition;
 import org.jboss.as.controller.ReloadRequiredRemoveStepHandler;
+import org.jboss.as.controller.SimpleAttributeDefinition;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.capability.RuntimeCapability;
 import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
 import org.jboss.as.controller.operations.validation.IntRangeValidator;
 import org.jboss.as.controller.operations.validation.LongRangeValidator;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
 import org.jboss.as.controller.registry.AttributeAccess;
 import org.jboss.as.controller.registry.DelegatingResource;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
@@ -62,6 +71,7 @@ import org.jboss.msc.service.ServiceRegistry;
 import org.wildfly.extension.io.logging.IOLogger;
 import org.xnio.Option;
 import org.xnio.Options;
+import org.xnio.XnioIoThread;
 import org.xnio.XnioWorker;
 import org.xnio.management.XnioServerMXBean;
 import org.xnio.management.XnioWorkerMXBean;
@@ -103,6 +113,11 @@ class WorkerResourceDefinition extends PersistentResourceDefinition {
             WORKER_TASK_MAX_THREADS,
             STACK_SIZE
     };
+    static final SimpleAttributeDefinition WORKER_TASK_MAX_THREADS_LIMIT = new SimpleAttributeDefinitionBuilder(Constants.WORKER_TASK_MAX_THREADS_LIMIT, ModelType.INT)
+            .setRequired(false)
+            .setValidator(new IntRangeValidator(1, true, true))
+            .setAllowExpression(true)
+            .build();
 
     private static final AttributeDefinition SHUTDOWN_REQUESTED = new SimpleAttributeDefinitionBuilder("shutdown-requested", ModelType.BOOLEAN).setStorageRuntime()
             .setUndefinedMetricValue(new ModelNode(false)).build();
@@ -116,6 +131,19 @@ class WorkerResourceDefinition extends PersistentResourceDefinition {
             .setUndefinedMetricValue(new ModelNode(0)).build();
     private static final AttributeDefinition BUSY_WORKER_THREAD_COUNT = new SimpleAttributeDefinitionBuilder("busy-task-thread-count", ModelType.INT).setStorageRuntime()
             .setUndefinedMetricValue(new ModelNode(0)).build();
+    private static final AttributeDefinition IO_THREAD_NAME = new SimpleAttributeDefinitionBuilder("name", ModelType.STRING).build();
+    private static final AttributeDefinition IO_THREAD_CPU_TIME = new SimpleAttributeDefinitionBuilder("cpu-time", ModelType.LONG)
+            .setRequired(false)
+            .setMeasurementUnit(MeasurementUnit.NANOSECONDS).build();
+    private static final AttributeDefinition IO_THREAD_TASK_LATENCY = new SimpleAttributeDefinitionBuilder("task-latency", ModelType.LONG)
+            .setRequired(false)
+            .setMeasurementUnit(MeasurementUnit.MICROSECONDS).build();
+    private static final AttributeDefinition IO_THREAD_LOAD = new ObjectListAttributeDefinition.Builder("io-thread-load",
+            ObjectTypeAttributeDefinition.Builder.of("io-thread", IO_THREAD_NAME, IO_THREAD_CPU_TIME, IO_THREAD_TASK_LATENCY).build())
+            .setStorageRuntime()
+            .build();
+    // how long reading io-thread-load waits for the I/O threads to run the latency probes
+    private static final long IO_THREAD_PROBE_TIMEOUT_MILLIS = 1000;
 
 
     static final Map<String, OptionAttributeDefinition> ATTRIBUTES_BY_XMLNAME;
@@ -143,7 +171,9 @@ class WorkerResourceDefinition extends PersistentResourceDefinition {
     @SuppressWarnings("unchecked")
     @Override
     public Collection<AttributeDefinition> getAttributes() {
-        return (Collection) ATTRIBUTES_BY_XMLNAME.values();
+        Collection<AttributeDefinition> attributes = new ArrayList<>(ATTRIBUTES_BY_XMLNAME.values());
+        attributes.add(WORKER_TASK_MAX_THREADS_LIMIT);
+        return attributes;
     }
 
     @Override
@@ -154,13 +184,76 @@ class WorkerResourceDefinition extends PersistentResourceDefinition {
     @Override
     public void registerAttributes(ManagementResourceRegistration resourceRegistration) {
         resourceRegistration.registerReadWriteAttribute(WORKER_TASK_MAX_THREADS,
-                new WorkerReadAttributeHandler(WORKER_TASK_MAX_THREADS.getOption()),
+                new WorkerReadAttributeHandler(WORKER_TASK_MAX_THREADS.getOption()) {
+                    @Override
+                    void executeWithWorker(OperationContext context, ModelNode operation, XnioWorker worker) throws OperationFailedException {
+                        // report the configured size rather than the one the pool has been tuned to
+                        TaskPoolTuner tuner = getTaskPoolTuner(context);
+                        if (tuner != null) {
+                            context.getResult().set(tuner.getConfiguredMaxThreads());
+                        } else {
+                            super.executeWithWorker(context, operation, worker);
+                        }
+                    }
+                },
                 new WorkerWriteAttributeHandler(WORKER_TASK_MAX_THREADS){
+                    @Override
+                    protected boolean applyUpdateToRuntime(OperationContext context, ModelNode operation, String attributeName, ModelNode value, ModelNode currentValue, HandbackHolder handbackHolder) throws OperationFailedException {
+                        TaskPoolTuner tuner = getTaskPoolTuner(context);
+                        if (tuner == null || !value.isDefined()) {
+                            return super.applyUpdateToRuntime(context, operation, attributeName, value, currentValue, handbackHolder);
+                        }
+                        try {
+                            tuner.setConfiguredMaxThreads(value.asInt());
+                        } catch (IOException e) {
+                            throw new OperationFailedException(e);
+                        }
+                        return false;
+                    }
+
+                    @Override
+                    protected void revertUpdateToRuntime(OperationContext context, ModelNode operation, String attributeName, ModelNode valueToRestore, ModelNode valueToRevert, Object handback) throws OperationFailedException {
+                        TaskPoolTuner tuner = getTaskPoolTuner(context);
+                        if (tuner == null || !valueToRestore.isDefined()) {
+                            super.revertUpdateToRuntime(context, operation, attributeName, valueToRestore, valueToRevert, handback);
+                            return;
+                        }
+                        try {
+                            tuner.setConfiguredMaxThreads(valueToRestore.asInt());
+                        } catch (IOException e) {
+                            throw new OperationFailedException(e);
+                        }
+                    }
+
                     @Override
                     boolean setValue(XnioWorker worker, ModelNode value) throws IOException {
                         return worker.setOption(Options.WORKER_TASK_MAX_THREADS, value.asInt()) == null;
                     }
                 });
+        resourceRegistration.registerReadWriteAttribute(WORKER_TASK_MAX_THREADS_LIMIT, null, new AbstractWriteAttributeHandler<Void>(WORKER_TASK_MAX_THREADS_LIMIT) {
+            @Override
+            protected boolean applyUpdateToRuntime(OperationContext context, ModelNode operation, String attributeName, ModelNode resolvedValue, ModelNode currentValue, HandbackHolder<Void> handbackHolder) throws OperationFailedException {
+                setLimit(context, resolvedValue);
+                return false;
+            }
+
+            @Override
+            protected void revertUpdateToRuntime(OperationContext context, ModelNode operation, String attributeName, ModelNode valueToRestore, ModelNode valueToRevert, Void handback) throws OperationFailedException {
+                setLimit(context, WORKER_TASK_MAX_THREADS_LIMIT.resolveValue(context, valueToRestore));
+            }
+
+            private void setLimit(OperationContext context, ModelNode limit) throws OperationFailedException {
+                WorkerService service = getWorkerService(context);
+                if (service == null) {
+                    return;
+                }
+                try {
+                    service.setTaskMaxThreadsLimit(limit.isDefined() ? limit.asInt() : -1);
+                } catch (IOException e) {
+                    throw new OperationFailedException(e);
+                }
+            }
+        });
         resourceRegistration.registerReadWriteAttribute(WORKER_TASK_KEEPALIVE,
                 new WorkerReadAttributeHandler(WORKER_TASK_KEEPALIVE.getOption()),
                 new WorkerWriteAttributeHandler(WORKER_TASK_KEEPALIVE){
@@ -193,6 +286,7 @@ class WorkerResourceDefinition extends PersistentResourceDefinition {
         resourceRegistration.registerMetric(IO_THREAD_COUNT, metricsHandler);
         resourceRegistration.registerMetric(QUEUE_SIZE, metricsHandler);
         resourceRegistration.registerMetric(BUSY_WORKER_THREAD_COUNT, metricsHandler);
+        resourceRegistration.registerMetric(IO_THREAD_LOAD, new IoThreadLoadHandler());
     }
 
     @Override
@@ -300,7 +394,70 @@ class WorkerResourceDefinition extends PersistentResourceDefinition {
         }
     }
 
-    static XnioWorker getXnioWorker(OperationContext context) {
+    /**
+     * Reports the CPU time of each I/O thread of the worker, and how long a task submitted to it waits before it
+     * runs, which grows with the number of tasks queued on the I/O thread and the time it spends handling channels.
+     */
+    private static class IoThreadLoadHandler extends AbstractWorkerAttributeHandler {
+
+        @Override
+        void executeWithWorker(OperationContext context, ModelNode operation, XnioWorker worker) throws OperationFailedException {
+            final int count = worker.getIoThreadCount();
+            final long[] latencies = new long[count];
+            final CountDownLatch latch = new CountDownLatch(count);
+            for (int i = 0; i < count; i++) {
+                final int index = i;
+                final long submitted = System.nanoTime();
+                latencies[index] = -1;
+                worker.getIoThread(i).execute(() -> {
+                    latencies[index] = System.nanoTime() - submitted;
+                    latch.countDown();
+                });
+            }
+            boolean probed;
+            try {
+                probed = latch.await(IO_THREAD_PROBE_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                probed = false;
+            }
+            final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+            final boolean cpuTime = threads.isThreadCpuTimeSupported() && threads.isThreadCpuTimeEnabled();
+            final ModelNode result = context.getResult().setEmptyList();
+            for (int i = 0; i < count; i++) {
+                final XnioIoThread thread = worker.getIoThread(i);
+                final ModelNode load = new ModelNode();
+                load.get(IO_THREAD_NAME.getName()).set(thread.getName());
+                if (cpuTime) {
+                    long time = threads.getThreadCpuTime(thread.getId());
+                    if (time > -1) {
+                        load.get(IO_THREAD_CPU_TIME.getName()).set(time);
+                    }
+                }
+                // a probe which did not run in time leaves the latency undefined
+                if (probed) {
+                    load.get(IO_THREAD_TASK_LATENCY.getName()).set(TimeUnit.NANOSECONDS.toMicros(latencies[i]));
+                }
+                result.add(load);
+            }
+        }
+    }
+
+    private static TaskPoolTuner getTaskPoolTuner(OperationContext context) {
+        WorkerService service = getWorkerService(context);
+        return service == null ? null : service.getTaskPoolTuner();
+    }
+
+    private static WorkerService getWorkerService(OperationContext context) {
+        ServiceName serviceName = IO_WORKER_RUNTIME_CAPABILITY.getCapabilityServiceName(getWorkerName(context), XnioWorker.class);
+        ServiceController<?> controller = context.getServiceRegistry(false).getService(serviceName);
+        if (controller == null || controller.getState() != ServiceController.State.UP) {
+            return null;
+        }
+        return (WorkerService) controller.getService();
+    }
+
+    private static String getWorkerName(OperationContext context) {
         String name = context.getCurrentAddressValue();
         if (!context.getCurrentAddress().getLastElement().getKey().equals(IOExtension.WORKER_PATH.getKey())) { //we are somewhere deeper, lets find worker name
             for (PathElement pe : context.getCurrentAddress()) {
@@ -310,7 +467,11 @@ class WorkerResourceDefinition extends PersistentResourceDefinition {
                 }
             }
         }
-        return getXnioWorker(context.getServiceRegistry(false), name);
+        return name;
+    }
+
+    static XnioWorker getXnioWorker(OperationContext context) {
+        return getXnioWorker(context.getServiceRegistry(false), getWorkerName(context));
     }
 
     static XnioWorker getXnioWorker(ServiceRegistry serviceRegistry, String name) {
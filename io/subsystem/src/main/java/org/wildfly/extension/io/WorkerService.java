@@ -24,6 +24,7 @@
 
 package org.wildfly.extension.io;
 
+import java.io.IOException;
 import java.net.InetSocketAddress;
 
 import org.jboss.msc.service.Service;
@@ -32,6 +33,7 @@ import org.jboss.msc.service.StartException;
 import org.jboss.msc.service.StopContext;
 import org.wildfly.common.net.CidrAddressTable;
 import org.xnio.OptionMap;
+import org.xnio.Options;
 import org.xnio.Xnio;
 import org.xnio.XnioWorker;
 
@@ -42,6 +44,8 @@ public class WorkerService implements Service<XnioWorker> {
     private final XnioWorker.Builder builder;
     private XnioWorker worker;
     private volatile StopContext stopContext;
+    private volatile int taskMaxThreadsLimit;
+    private volatile TaskPoolTuner tuner;
 
     /**
      * @deprecated Use {@link #WorkerService(XnioWorker.Builder)} instead to allow setting of full range of options.
@@ -51,17 +55,35 @@ public class WorkerService implements Service<XnioWorker> {
     }
 
     public WorkerService(XnioWorker.Builder builder) {
+        this(builder, -1);
+    }
+
+    /**
+     * @param taskMaxThreadsLimit the size the task pool may be grown to while tasks are queuing up, or {@code -1}
+     *                            to keep it at its configured size
+     */
+    WorkerService(XnioWorker.Builder builder, int taskMaxThreadsLimit) {
         this.builder = builder;
+        this.taskMaxThreadsLimit = taskMaxThreadsLimit;
     }
 
     @Override
-    public void start(StartContext startContext) throws StartException {
+    public synchronized void start(StartContext startContext) throws StartException {
         builder.setTerminationTask(this::stopDone);
         worker = builder.build();
+        if (taskMaxThreadsLimit > -1) {
+            tuner = new TaskPoolTuner(worker, builder.getMaxWorkerPoolSize(), taskMaxThreadsLimit);
+            tuner.start();
+        }
     }
 
     @Override
-    public void stop(StopContext context) {
+    public synchronized void stop(StopContext context) {
+        final TaskPoolTuner tuner = this.tuner;
+        if (tuner != null) {
+            tuner.stop();
+            this.tuner = null;
+        }
         this.stopContext = context;
         context.asynchronous();
         worker.shutdown();
@@ -75,6 +97,38 @@ public class WorkerService implements Service<XnioWorker> {
         stopContext.complete();
     }
 
+    /**
+     * Returns the tuner of the task pool, or {@code null} if the task pool keeps its configured size.
+     */
+    TaskPoolTuner getTaskPoolTuner() {
+        return tuner;
+    }
+
+    /**
+     * Changes the size the task pool may be grown to at runtime. {@code -1} stops tuning and brings the pool back to
+     * its configured size.
+     */
+    synchronized void setTaskMaxThreadsLimit(int taskMaxThreadsLimit) throws IOException {
+        this.taskMaxThreadsLimit = taskMaxThreadsLimit;
+        final XnioWorker worker = this.worker;
+        if (worker == null) {
+            return;
+        }
+        final TaskPoolTuner tuner = this.tuner;
+        if (taskMaxThreadsLimit > -1) {
+            if (tuner == null) {
+                this.tuner = new TaskPoolTuner(worker, worker.getOption(Options.WORKER_TASK_MAX_THREADS), taskMaxThreadsLimit);
+                this.tuner.start();
+            } else {
+                tuner.setLimit(taskMaxThreadsLimit);
+            }
+        } else if (tuner != null) {
+            tuner.stop();
+            this.tuner = null;
+            worker.setOption(Options.WORKER_TASK_MAX_THREADS, tuner.getConfiguredMaxThreads());
+        }
+    }
+
     CidrAddressTable<InetSocketAddress> getBindingsTable() {
         return builder.getBindAddressConfigurations();
     }
@@ -25,6 +25,11 @@
 package org.wildfly.extension.io;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import org.jboss.as.controller.ExpressionResolver;
 import org.jboss.as.controller.PathAddress;
@@ -42,8 +47,12 @@ import org.junit.Test;
 import org.wildfly.common.cpu.ProcessorInfo;
 import org.xnio.OptionMap;
 import org.xnio.Options;
+import org.xnio.Pool;
+import org.xnio.Pooled;
 import org.xnio.Sequence;
+import org.xnio.Xnio;
 import org.xnio.XnioWorker;
+import org.xnio.management.XnioWorkerMXBean;
 
 /**
  * @author <a href="mailto:tomaz.cerar@redhat.com">Tomaz Cerar</a>
@@ -57,12 +66,12 @@ public class IOSubsystemTestCase extends AbstractSubsystemBaseTest {
 
     @Override
     protected String getSubsystemXml() throws IOException {
-        return readResource("io-2.0.xml");
+        return readResource("io-3.0.xml");
     }
 
     @Override
     protected String getSubsystemXsdPath() throws Exception {
-        return "schema/wildfly-io_2_0.xsd";
+        return "schema/wildfly-io_3_0.xsd";
     }
 
     @Override
@@ -98,6 +107,137 @@ public class IOSubsystemTestCase extends AbstractSubsystemBaseTest {
         mainServices.executeOperation(op);
     }
 
+    @Test
+    public void testBufferPoolMetrics() throws Exception {
+        KernelServicesBuilder builder = createKernelServicesBuilder(createAdditionalInitialization())
+                .setSubsystemXml(getSubsystemXml());
+        KernelServices mainServices = builder.build();
+        if (!mainServices.isSuccessfulBoot()) {
+            Assert.fail(String.valueOf(mainServices.getBootError()));
+        }
+        ServiceController<Pool<ByteBuffer>> poolServiceController = (ServiceController<Pool<ByteBuffer>>) mainServices.getContainer().getService(
+                BufferPoolResourceDefinition.IO_POOL_RUNTIME_CAPABILITY.getCapabilityServiceName("cached"));
+        poolServiceController.setMode(ServiceController.Mode.ACTIVE);
+        Pool<ByteBuffer> pool = poolServiceController.awaitValue();
+
+        List<Pooled<ByteBuffer>> buffers = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            buffers.add(pool.allocate());
+        }
+        PathAddress addr = PathAddress.parseCLIStyleAddress("/subsystem=io/buffer-pool=cached");
+        Assert.assertEquals(20, readMetric(mainServices, addr, "peak-buffers-in-use").asInt());
+        for (int i = 0; i < 5; i++) {
+            buffers.remove(0).free();
+        }
+        // freeing twice must not be counted twice
+        Pooled<ByteBuffer> freed = buffers.remove(0);
+        freed.free();
+        freed.close();
+
+        // 20 buffers of 1024 bytes need two slices of 16
+        Assert.assertEquals(2L, readMetric(mainServices, addr, "allocated-slices").asLong());
+        Assert.assertEquals(14, readMetric(mainServices, addr, "buffers-in-use").asInt());
+        Assert.assertEquals(20, readMetric(mainServices, addr, "peak-buffers-in-use").asInt());
+        Assert.assertEquals(0L, readMetric(mainServices, addr, "allocation-failures").asLong());
+        Assert.assertEquals(2L * 16 * 1024, readMetric(mainServices, addr, "direct-bytes-reserved").asLong());
+        for (Pooled<ByteBuffer> buffer : buffers) {
+            buffer.free();
+        }
+        Assert.assertEquals(0, readMetric(mainServices, addr, "buffers-in-use").asInt());
+    }
+
+    @Test
+    public void testTaskPoolTuning() throws Exception {
+        KernelServicesBuilder builder = createKernelServicesBuilder(createAdditionalInitialization())
+                .setSubsystemXml(getSubsystemXml());
+        KernelServices mainServices = builder.build();
+        if (!mainServices.isSuccessfulBoot()) {
+            Assert.fail(String.valueOf(mainServices.getBootError()));
+        }
+        ServiceController<XnioWorker> workerServiceController = (ServiceController<XnioWorker>) mainServices.getContainer().getService(IOServices.WORKER.append("third-worker"));
+        workerServiceController.setMode(ServiceController.Mode.ACTIVE);
+        XnioWorker worker = workerServiceController.awaitValue();
+        Assert.assertNotNull(((WorkerService) workerServiceController.getService()).getTaskPoolTuner());
+
+        PathAddress addr = PathAddress.parseCLIStyleAddress("/subsystem=io/worker=third-worker");
+        Assert.assertEquals(50, readMetric(mainServices, addr, "task-max-threads").asInt());
+        ModelNode result = mainServices.executeOperation(Util.getWriteAttributeOperation(addr, "task-max-threads", 60));
+        Assert.assertEquals(result.toString(), "success", result.get("outcome").asString());
+        Assert.assertFalse(result.toString(), result.hasDefined("response-headers"));
+        Assert.assertEquals(60, worker.getOption(Options.WORKER_TASK_MAX_THREADS).intValue());
+        Assert.assertEquals(60, readMetric(mainServices, addr, "task-max-threads").asInt());
+
+        result = mainServices.executeOperation(Util.getUndefineAttributeOperation(addr, "task-max-threads-limit"));
+        Assert.assertEquals(result.toString(), "success", result.get("outcome").asString());
+        Assert.assertFalse(result.toString(), result.hasDefined("response-headers"));
+        Assert.assertNull(((WorkerService) workerServiceController.getService()).getTaskPoolTuner());
+        Assert.assertEquals(60, worker.getOption(Options.WORKER_TASK_MAX_THREADS).intValue());
+
+        List<ModelNode> load = readMetric(mainServices, addr, "io-thread-load").asList();
+        Assert.assertEquals(worker.getIoThreadCount(), load.size());
+        for (ModelNode thread : load) {
+            Assert.assertTrue(thread.toString(), thread.get("name").isDefined());
+            Assert.assertTrue(thread.toString(), thread.get("task-latency").asLong() >= 0);
+        }
+    }
+
+    @Test
+    public void testTaskPoolTuner() throws Exception {
+        XnioWorker worker = Xnio.getInstance().createWorkerBuilder()
+                .setWorkerIoThreads(1)
+                .setCoreWorkerPoolSize(2)
+                .setMaxWorkerPoolSize(2)
+                .build();
+        try {
+            XnioWorkerMXBean metrics = worker.getMXBean();
+            TaskPoolTuner tuner = new TaskPoolTuner(worker, 2, 4);
+            CountDownLatch release = new CountDownLatch(1);
+            for (int i = 0; i < 4; i++) {
+                worker.execute(() -> {
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            }
+            Assert.assertTrue(metrics.getWorkerQueueSize() > 0);
+            tuner.run();
+            Assert.assertEquals(3, metrics.getMaxWorkerPoolSize());
+            tuner.run();
+            tuner.run();
+            // never above the limit
+            Assert.assertEquals(4, metrics.getMaxWorkerPoolSize());
+
+            release.countDown();
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (metrics.getWorkerQueueSize() > 0 || metrics.getBusyWorkerThreadCount() > 0) {
+                Assert.assertTrue(System.nanoTime() < deadline);
+                Thread.sleep(10);
+            }
+            for (int i = 0; i < TaskPoolTuner.SHRINK_AFTER - 1; i++) {
+                tuner.run();
+            }
+            Assert.assertEquals(4, metrics.getMaxWorkerPoolSize());
+            tuner.run();
+            Assert.assertEquals(3, metrics.getMaxWorkerPoolSize());
+            for (int i = 0; i < 3 * TaskPoolTuner.SHRINK_AFTER; i++) {
+                tuner.run();
+            }
+            // never below the configured size
+            Assert.assertEquals(2, metrics.getMaxWorkerPoolSize());
+        } finally {
+            worker.shutdown();
+        }
+    }
+
+    private static ModelNode readMetric(KernelServices services, PathAddress address, String name) {
+        ModelNode op = Util.getReadAttributeOperation(address, name);
+        ModelNode result = services.executeOperation(op);
+        Assert.assertEquals(result.toString(), "success", result.get("outcome").asString());
+        return result.get("result");
+    }
+
     @Override
     protected AdditionalInitialization createAdditionalInitialization() {
         return new AdditionalInitialization() {
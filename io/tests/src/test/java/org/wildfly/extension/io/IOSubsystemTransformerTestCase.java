@@ -20,7 +20,9 @@ package org.wildfly.extension.io;
 
 import static org.jboss.as.model.test.ModelTestControllerVersion.EAP_7_0_0;
 import static org.jboss.as.model.test.ModelTestControllerVersion.EAP_7_1_0;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.wildfly.extension.io.IOExtension.BUFFER_POOL_PATH;
 import static org.wildfly.extension.io.IOExtension.SUBSYSTEM_PATH;
 import static org.wildfly.extension.io.IOExtension.WORKER_PATH;
 
@@ -30,6 +32,7 @@ import java.util.List;
 import org.jboss.as.controller.ModelVersion;
 import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.operations.common.Util;
 import org.jboss.as.model.test.FailedOperationTransformationConfig;
 import org.jboss.as.model.test.ModelTestControllerVersion;
 import org.jboss.as.model.test.ModelTestUtils;
@@ -100,24 +103,8 @@ public class IOSubsystemTransformerTestCase extends AbstractSubsystemBaseTest {
 
     @Test
     public void testRejectingTransformersEAP_7_0_0() throws Exception {
-        testRejectingTransformers(EAP_7_0_0);
-    }
-
-    private void testRejectingTransformers(ModelTestControllerVersion controllerVersion) throws Exception {
-        ModelVersion modelVersion = controllerVersion.getSubsystemModelVersion(getMainSubsystemName());
-        //Boot up empty controllers with the resources needed for the ops coming from the xml to work
-        KernelServicesBuilder builder = createKernelServicesBuilder(createAdditionalInitialization());
-        builder.createLegacyKernelServicesBuilder(createAdditionalInitialization(), controllerVersion, modelVersion)
-                .addMavenResourceURL(controllerVersion.getCoreMavenGroupId() + ":wildfly-io:" + controllerVersion.getCoreVersion())
-                .dontPersistXml();
-
-        KernelServices mainServices = builder.build();
-        assertTrue(mainServices.isSuccessfulBoot());
-        assertTrue(mainServices.getLegacyServices(modelVersion).isSuccessfulBoot());
-
-        List<ModelNode> ops = builder.parseXmlResource("io-1.1-reject.xml");
         PathAddress subsystemAddress = PathAddress.pathAddress(SUBSYSTEM_PATH);
-        ModelTestUtils.checkFailedTransformedBootOperations(mainServices, modelVersion, ops, new FailedOperationTransformationConfig()
+        testRejectingTransformers(EAP_7_0_0, "io-1.1-reject.xml", new FailedOperationTransformationConfig()
                 .addFailedAttribute(subsystemAddress.append(WORKER_PATH),
                         new FailedOperationTransformationConfig.RejectExpressionsConfig(
                                 WorkerResourceDefinition.STACK_SIZE,
@@ -132,4 +119,46 @@ public class IOSubsystemTransformerTestCase extends AbstractSubsystemBaseTest {
         );
     }
 
+    @Test
+    public void testRejectingTransformersEAP_7_1_0() throws Exception {
+        PathAddress subsystemAddress = PathAddress.pathAddress(SUBSYSTEM_PATH);
+        KernelServices mainServices = testRejectingTransformers(EAP_7_1_0, "io-3.0-reject.xml", new FailedOperationTransformationConfig()
+                .addFailedAttribute(subsystemAddress.append(WORKER_PATH),
+                        new FailedOperationTransformationConfig.NewAttributesConfig(WorkerResourceDefinition.WORKER_TASK_MAX_THREADS_LIMIT)
+                )
+                .addFailedAttribute(subsystemAddress.append(BUFFER_POOL_PATH),
+                        new FailedOperationTransformationConfig.NewAttributesConfig(BufferPoolResourceDefinition.THREAD_LOCAL_CACHE_SIZE)
+                )
+        );
+
+        // undefined values are discarded
+        ModelVersion modelVersion = EAP_7_1_0.getSubsystemModelVersion(getMainSubsystemName());
+        ModelNode op = Util.createAddOperation(subsystemAddress.append(WORKER_PATH.getKey(), "undefined-limit"));
+        op.get(WorkerResourceDefinition.WORKER_TASK_MAX_THREADS_LIMIT.getName());
+        ModelNode transformed = mainServices.transformOperation(modelVersion, op).getTransformedOperation();
+        assertFalse(transformed.has(WorkerResourceDefinition.WORKER_TASK_MAX_THREADS_LIMIT.getName()));
+        op = Util.createAddOperation(subsystemAddress.append(BUFFER_POOL_PATH.getKey(), "undefined-cache"));
+        op.get(BufferPoolResourceDefinition.THREAD_LOCAL_CACHE_SIZE.getName());
+        transformed = mainServices.transformOperation(modelVersion, op).getTransformedOperation();
+        assertFalse(transformed.has(BufferPoolResourceDefinition.THREAD_LOCAL_CACHE_SIZE.getName()));
+    }
+
+    private KernelServices testRejectingTransformers(ModelTestControllerVersion controllerVersion, String xmlResource,
+                                                     FailedOperationTransformationConfig config) throws Exception {
+        ModelVersion modelVersion = controllerVersion.getSubsystemModelVersion(getMainSubsystemName());
+        //Boot up empty controllers with the resources needed for the ops coming from the xml to work
+        KernelServicesBuilder builder = createKernelServicesBuilder(createAdditionalInitialization());
+        builder.createLegacyKernelServicesBuilder(createAdditionalInitialization(), controllerVersion, modelVersion)
+                .addMavenResourceURL(controllerVersion.getCoreMavenGroupId() + ":wildfly-io:" + controllerVersion.getCoreVersion())
+                .dontPersistXml();
+
+        KernelServices mainServices = builder.build();
+        assertTrue(mainServices.isSuccessfulBoot());
+        assertTrue(mainServices.getLegacyServices(modelVersion).isSuccessfulBoot());
+
+        List<ModelNode> ops = builder.parseXmlResource(xmlResource);
+        ModelTestUtils.checkFailedTransformedBootOperations(mainServices, modelVersion, ops, config);
+        return mainServices;
+    }
+
 }
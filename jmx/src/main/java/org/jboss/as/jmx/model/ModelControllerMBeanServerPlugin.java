@@ -24,6 +24,8 @@ package org.jboss.as.jmx.model;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ATTRIBUTES;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESOURCE_ADDED_NOTIFICATION;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicLong;
@@ -435,8 +437,16 @@ public class ModelControllerMBeanServerPlugin extends BaseMBeanServerPlugin {
         public boolean isNotificationEnabled(Notification notification) {
             return isResourceAddedOrRemovedNotification(notification);
         }
+
+        @Override
+        public Set<String> getNotificationTypes() {
+            return RESOURCE_ADDED_OR_REMOVED_NOTIFICATIONS;
+        }
     }
 
+    private static final Set<String> RESOURCE_ADDED_OR_REMOVED_NOTIFICATIONS = Collections.unmodifiableSet(new HashSet<>(
+            Arrays.asList(RESOURCE_ADDED_NOTIFICATION, ModelDescriptionConstants.RESOURCE_REMOVED_NOTIFICATION)));
+
     private static boolean isResourceAddedOrRemovedNotification(Notification notification) {
         return notification.getType().equals(RESOURCE_ADDED_NOTIFICATION) ||
                 notification.getType().equals(ModelDescriptionConstants.RESOURCE_REMOVED_NOTIFICATION);
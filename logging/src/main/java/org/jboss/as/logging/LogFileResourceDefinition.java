@@ -22,6 +22,7 @@
 
 package org.jboss.as.logging;
 
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.UUID;
 import static org.jboss.as.logging.CommonAttributes.ENCODING;
 
 import java.io.BufferedReader;
@@ -30,18 +31,22 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.FileVisitOption;
 import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardOpenOption;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.jboss.as.controller.AttributeDefinition;
@@ -60,12 +65,14 @@ import org.jboss.as.controller.access.constraint.SensitivityClassification;
 import org.jboss.as.controller.access.management.AccessConstraintDefinition;
 import org.jboss.as.controller.access.management.SensitiveTargetAccessConstraintDefinition;
 import org.jboss.as.controller.operations.validation.IntRangeValidator;
+import org.jboss.as.controller.operations.validation.LongRangeValidator;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.as.controller.services.path.PathManager;
 import org.jboss.as.logging.logging.LoggingLogger;
 import org.jboss.as.server.ServerEnvironment;
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
+import org.wildfly.security.manager.WildFlySecurityManager;
 
 /**
  * @author <a href="mailto:jperkins@redhat.com">James R. Perkins</a>
@@ -124,6 +131,45 @@ class LogFileResourceDefinition extends SimpleResourceDefinition {
             .setRuntimeOnly()
             .build();
 
+    static final SimpleAttributeDefinition OFFSET = SimpleAttributeDefinitionBuilder.create("offset", ModelType.LONG, true)
+            .setAllowExpression(true)
+            .setDefaultValue(new ModelNode(0L))
+            .build();
+
+    static final SimpleAttributeDefinition LENGTH = SimpleAttributeDefinitionBuilder.create("length", ModelType.LONG, true)
+            .setAllowExpression(true)
+            .setDefaultValue(new ModelNode(-1L))
+            .setValidator(new LongRangeValidator(-1L, true))
+            .build();
+
+    static final SimpleAttributeDefinition FOLLOW_TIMEOUT = SimpleAttributeDefinitionBuilder.create("follow-timeout", ModelType.INT, true)
+            .setAllowExpression(true)
+            .setDefaultValue(new ModelNode(0))
+            .setValidator(new IntRangeValidator(0, true, true))
+            .build();
+
+    static final SimpleOperationDefinition READ_LOG_FILE_RANGE = new SimpleOperationDefinitionBuilder("read-log-file-range", LoggingExtension.getResourceDescriptionResolver(LOG_FILE))
+            .addAccessConstraint(VIEW_SERVER_LOGS)
+            .setParameters(OFFSET, LENGTH, FOLLOW_TIMEOUT)
+            .setReplyParameters(
+                    SimpleAttributeDefinitionBuilder.create(UUID, ModelType.STRING, false).build(),
+                    SimpleAttributeDefinitionBuilder.create(OFFSET.getName(), ModelType.LONG, false).build(),
+                    SimpleAttributeDefinitionBuilder.create(LENGTH.getName(), ModelType.LONG, false).build())
+            .setReadOnly()
+            .setRuntimeOnly()
+            .build();
+
+    /**
+     * The system property setting the maximum time, in milliseconds, a {@code read-log-file-range} operation waits for
+     * a log file to grow. Longer {@code follow-timeout} values are reduced to it.
+     */
+    static final String MAX_FOLLOW_TIMEOUT_PROPERTY = "org.jboss.as.logging.read-log-file-range.max-follow-timeout";
+
+    /**
+     * The interval, in milliseconds, the file size is checked while waiting for new content in follow mode.
+     */
+    private static final long FOLLOW_POLL_INTERVAL = 100L;
+
     static final PathElement LOG_FILE_PATH = PathElement.pathElement("log-file");
 
     private final PathManager pathManager;
@@ -139,6 +185,7 @@ class LogFileResourceDefinition extends SimpleResourceDefinition {
     public void registerOperations(final ManagementResourceRegistration resourceRegistration) {
         super.registerOperations(resourceRegistration);
         resourceRegistration.registerOperationHandler(READ_LOG_FILE, new ReadLogFileOperation(pathManager));
+        resourceRegistration.registerOperationHandler(READ_LOG_FILE_RANGE, new ReadLogFileRangeOperation(pathManager));
 
     }
 
@@ -292,6 +339,152 @@ class LogFileResourceDefinition extends SimpleResourceDefinition {
         }
     }
 
+    /**
+     * Attaches a byte range of a log file to the response as a stream. The contents are never loaded into a
+     * {@link ModelNode}, the attachment reads directly from the file as the response is written.
+     * <p/>
+     * A negative {@code offset} is relative to the end of the file. If a {@code follow-timeout} is defined and there are
+     * no bytes available at the offset the operation waits, up to the timeout, for the file to grow. The timeout is
+     * limited by the {@value #MAX_FOLLOW_TIMEOUT_PROPERTY} system property, one minute by default, so a client cannot
+     * hold a management thread for longer. The result contains the {@code uuid} of the attached stream and the absolute
+     * {@code offset} and {@code length} of the attached range, allowing a client to follow the file by requesting the
+     * next range from {@code offset + length}.
+     */
+    static class ReadLogFileRangeOperation implements OperationStepHandler {
+
+        private final PathManager pathManager;
+
+        private ReadLogFileRangeOperation(final PathManager pathManager) {
+            this.pathManager = pathManager;
+        }
+
+        @Override
+        public void execute(final OperationContext context, final ModelNode operation) throws OperationFailedException {
+            final String fileName = LoggingOperations.getAddressName(operation);
+            final String logDir = pathManager.getPathEntry(ServerEnvironment.SERVER_LOG_DIR).resolvePath();
+            validateFile(context, logDir, fileName);
+            for (AttributeDefinition attribute : READ_LOG_FILE_RANGE.getParameters()) {
+                attribute.validateOperation(operation);
+            }
+            final long offset = OFFSET.resolveModelAttribute(context, operation).asLong();
+            final long length = LENGTH.resolveModelAttribute(context, operation).asLong();
+            final long followTimeout = Math.min(FOLLOW_TIMEOUT.resolveModelAttribute(context, operation).asInt(), getMaxFollowTimeout());
+            final Path path = Paths.get(logDir, fileName);
+
+            // The file must exist
+            if (Files.notExists(path)) {
+                throw LoggingLogger.ROOT_LOGGER.logFileNotFound(fileName, logDir);
+            }
+
+            try {
+                long size = Files.size(path);
+                final long start = (offset < 0L ? Math.max(0L, size + offset) : offset);
+                if (followTimeout > 0L && start == size) {
+                    size = waitForContent(path, start, followTimeout);
+                }
+                // If the file was truncated or rotated the offset may be past the end, in which case nothing is attached
+                final long available = Math.max(0L, size - start);
+                final long count = (length < 0L ? available : Math.min(length, available));
+                final String uuid = context.attachResultStream("text/plain", new RangeFileInputStream(path, start, count));
+                final ModelNode result = context.getResult();
+                result.get(UUID).set(uuid);
+                result.get(OFFSET.getName()).set(start);
+                result.get(LENGTH.getName()).set(count);
+            } catch (IOException e) {
+                throw LoggingLogger.ROOT_LOGGER.failedToReadLogFile(e, fileName);
+            }
+            context.completeStep(ResultHandler.NOOP_RESULT_HANDLER);
+        }
+
+        private static long getMaxFollowTimeout() {
+            try {
+                return Math.max(0L, Long.parseLong(WildFlySecurityManager.getPropertyPrivileged(MAX_FOLLOW_TIMEOUT_PROPERTY, "60000")));
+            } catch (NumberFormatException e) {
+                return 60000L;
+            }
+        }
+
+        /**
+         * Waits, up to the timeout, for the file to change size from the given one.
+         *
+         * @return the size of the file
+         */
+        private static long waitForContent(final Path path, final long size, final long timeout) throws IOException {
+            final long end = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout);
+            long current = Files.size(path);
+            try {
+                long remaining;
+                while (current == size && (remaining = end - System.nanoTime()) > 0L) {
+                    TimeUnit.NANOSECONDS.sleep(Math.min(TimeUnit.MILLISECONDS.toNanos(FOLLOW_POLL_INTERVAL), remaining));
+                    current = Files.size(path);
+                }
+            } catch (InterruptedException e) {
+                // The operation was cancelled, return what is currently available
+                Thread.currentThread().interrupt();
+            }
+            return current;
+        }
+    }
+
+    /**
+     * An input stream which reads a fixed range of a file using positional reads on a {@link FileChannel}. The range
+     * is fixed when the stream is created, so content appended to the file afterwards is not included.
+     */
+    static final class RangeFileInputStream extends InputStream {
+        private final FileChannel channel;
+        private final long end;
+        private long pos;
+
+        RangeFileInputStream(final Path path, final long start, final long count) throws IOException {
+            channel = FileChannel.open(path, StandardOpenOption.READ);
+            pos = start;
+            end = start + count;
+        }
+
+        @Override
+        public int read() throws IOException {
+            final byte[] b = new byte[1];
+            final int read = read(b, 0, 1);
+            return (read == -1 ? -1 : b[0] & 0xff);
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            final long remaining = end - pos;
+            if (remaining <= 0L) {
+                return -1;
+            }
+            final int read = channel.read(ByteBuffer.wrap(b, off, (int) Math.min(len, remaining)), pos);
+            if (read == -1) {
+                // The file was truncated while reading
+                pos = end;
+                return -1;
+            }
+            pos += read;
+            return read;
+        }
+
+        @Override
+        public long skip(final long n) throws IOException {
+            final long skipped = Math.max(0L, Math.min(n, end - pos));
+            pos += skipped;
+            return skipped;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return (int) Math.min(Integer.MAX_VALUE, end - pos);
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
     static final class LifoFileInputStream extends InputStream {
         private final RandomAccessFile raf;
         private final long len;
@@ -24,12 +24,19 @@ package org.jboss.as.logging;
 
 import static org.junit.Assert.*;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
+import org.jboss.as.controller.ModelController.OperationTransactionControl;
+import org.jboss.as.controller.client.OperationBuilder;
+import org.jboss.as.controller.client.OperationResponse;
 import org.jboss.as.subsystem.test.AdditionalInitialization;
 import org.jboss.as.subsystem.test.KernelServices;
 import org.jboss.as.subsystem.test.SubsystemOperations;
@@ -131,6 +138,109 @@ public class RootSubsystemOperationsTestCase extends AbstractOperationsTestCase
 
     }
 
+    @Test
+    public void testReadLogFileRange() throws Exception {
+        final KernelServices kernelServices = boot();
+        final Logger logger = getLogger();
+        for (int i = 0; i < 50; i++) {
+            logger.info(msg + i);
+        }
+        final Path logFile = LoggingTestEnvironment.get().getLogDir().toPath().resolve("simple.log");
+        final byte[] contents = Files.readAllBytes(logFile);
+        assertTrue("Expected the log file to have content", contents.length > 100);
+
+        final ModelNode address = SUBSYSTEM_ADDRESS.append("log-file", "simple.log").toModelNode();
+        final ModelNode op = SubsystemOperations.createOperation("read-log-file-range", address);
+        // Read the whole file
+        assertArrayEquals(contents, readLogFileRange(kernelServices, op, 0L, contents.length));
+
+        // Read a range from the middle of the file
+        op.get("offset").set(10L);
+        op.get("length").set(50L);
+        assertArrayEquals(Arrays.copyOfRange(contents, 10, 60), readLogFileRange(kernelServices, op, 10L, 50L));
+
+        // Read the last 100 bytes
+        op.get("offset").set(-100L);
+        op.remove("length");
+        assertArrayEquals(Arrays.copyOfRange(contents, contents.length - 100, contents.length),
+                readLogFileRange(kernelServices, op, contents.length - 100L, 100L));
+
+        // Reading at the end of the file attaches an empty range, without waiting
+        op.get("offset").set((long) contents.length);
+        assertArrayEquals(new byte[0], readLogFileRange(kernelServices, op, contents.length, 0L));
+
+        // Following the file waits up to the timeout for content
+        op.get("follow-timeout").set(200);
+        long start = System.nanoTime();
+        assertArrayEquals(new byte[0], readLogFileRange(kernelServices, op, contents.length, 0L));
+        final long waited = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assertTrue("Expected to wait for content, waited " + waited + " ms", waited >= 200L);
+
+        // The server limits the timeout
+        System.setProperty(LogFileResourceDefinition.MAX_FOLLOW_TIMEOUT_PROPERTY, "100");
+        try {
+            op.get("follow-timeout").set(60000);
+            start = System.nanoTime();
+            assertArrayEquals(new byte[0], readLogFileRange(kernelServices, op, contents.length, 0L));
+            assertTrue("Expected the timeout to be limited", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 30000L);
+        } finally {
+            System.clearProperty(LogFileResourceDefinition.MAX_FOLLOW_TIMEOUT_PROPERTY);
+        }
+
+        // Follow the file from the end of the previous range, the content is written while the operation waits
+        final Thread writer = new Thread(() -> {
+            try {
+                Thread.sleep(200L);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            for (int i = 50; i < 60; i++) {
+                logger.info(msg + i);
+            }
+        });
+        writer.start();
+        final byte[] followed;
+        try {
+            op.get("follow-timeout").set(30000);
+            start = System.nanoTime();
+            followed = readLogFileRange(kernelServices, op, contents.length, -1L);
+            assertTrue("Expected the content to be returned once written", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 30000L);
+        } finally {
+            writer.join();
+        }
+        final byte[] updated = Files.readAllBytes(logFile);
+        assertTrue("Expected the log file to grow", followed.length > 0 && updated.length >= contents.length + followed.length);
+        assertArrayEquals(Arrays.copyOfRange(updated, contents.length, contents.length + followed.length), followed);
+
+        // Follow on from the content returned
+        op.get("offset").set((long) contents.length + followed.length);
+        op.get("follow-timeout").set(0);
+        assertArrayEquals(Arrays.copyOfRange(updated, contents.length + followed.length, updated.length),
+                readLogFileRange(kernelServices, op, contents.length + followed.length, updated.length - contents.length - followed.length));
+    }
+
+    private static byte[] readLogFileRange(final KernelServices kernelServices, final ModelNode op, final long expectedOffset,
+                                           final long expectedLength) throws IOException {
+        try (OperationResponse response = kernelServices.executeOperation(OperationBuilder.create(op).build(), OperationTransactionControl.COMMIT)) {
+            final ModelNode result = SubsystemOperations.readResult(response.getResponseNode());
+            assertEquals(expectedOffset, result.get("offset").asLong());
+            if (expectedLength >= 0L) {
+                assertEquals(expectedLength, result.get("length").asLong());
+            }
+            final OperationResponse.StreamEntry entry = response.getInputStream(result.get("uuid").asString());
+            assertNotNull("Expected a stream to be attached: " + result, entry);
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            try (InputStream in = entry.getStream()) {
+                final byte[] buffer = new byte[64];
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    out.write(buffer, 0, read);
+                }
+            }
+            return out.toByteArray();
+        }
+    }
+
     @Test
     @Deprecated
     public void testListLogFiles() throws Exception {
@@ -27,6 +27,8 @@ import java.util.List;
 import org.jboss.as.controller.ModelController.OperationTransactionControl;
 import org.jboss.as.controller.ModelVersion;
 import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.client.Operation;
+import org.jboss.as.controller.client.OperationResponse;
 import org.jboss.as.controller.registry.ImmutableManagementResourceRegistration;
 import org.jboss.as.controller.transform.OperationTransformer.TransformedOperation;
 import org.jboss.as.controller.transform.TransformerOperationAttachment;
@@ -149,6 +151,15 @@ public interface ModelTestKernelServices<T extends ModelTestKernelServices<T>> {
 
     ModelNode executeOperation(ModelNode operation, OperationTransactionControl txControl);
 
+    /**
+     * Execute an operation in the model controller, keeping any streams attached to the response
+     *
+     * @param operation the operation to execute
+     * @param txControl the transaction control
+     * @return the response of the operation, the caller has to close it
+     */
+    OperationResponse executeOperation(Operation operation, OperationTransactionControl txControl);
+
     ModelNode executeForResult(ModelNode operation, InputStream... inputStreams) throws OperationFailedException;
 
     /**
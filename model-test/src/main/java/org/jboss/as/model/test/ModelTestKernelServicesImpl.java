@@ -53,6 +53,7 @@ import org.jboss.as.controller.client.ModelControllerClient;
 import org.jboss.as.controller.client.Operation;
 import org.jboss.as.controller.client.OperationBuilder;
 import org.jboss.as.controller.client.OperationMessageHandler;
+import org.jboss.as.controller.client.OperationResponse;
 import org.jboss.as.controller.operations.validation.OperationValidator;
 import org.jboss.as.controller.registry.ImmutableManagementResourceRegistration;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
@@ -230,6 +231,11 @@ public abstract class ModelTestKernelServicesImpl<T extends ModelTestKernelServi
         return controller.execute(operation, null, txControl, null);
     }
 
+    @Override
+    public OperationResponse executeOperation(Operation operation, OperationTransactionControl txControl) {
+        return controller.execute(operation, null, txControl);
+    }
+
     @Override
     public ModelNode executeForResult(ModelNode operation, InputStream...inputStreams) throws OperationFailedException {
         ModelNode rsp = executeOperation(operation, inputStreams);
@@ -31,8 +31,8 @@ import java.io.OutputStream;
 import java.security.DigestOutputStream;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
-import java.util.Map;
-import java.util.TreeMap;
+import java.util.Arrays;
+import java.util.Comparator;
 
 /**
  * @author Emanuel Muckenhuber
@@ -43,41 +43,59 @@ public class HashUtils {
 
     private static final char[] TABLE = "0123456789abcdef".toCharArray();
 
-    private static final MessageDigest DIGEST;
-    static {
-        try {
-            DIGEST = MessageDigest.getInstance("SHA-1");
-        } catch (NoSuchAlgorithmException e) {
-            throw new RuntimeException(e);
+    // MessageDigest is not thread safe, patching hashes content from several threads
+    private static final ThreadLocal<MessageDigest> DIGEST = new ThreadLocal<MessageDigest>() {
+        @Override
+        protected MessageDigest initialValue() {
+            try {
+                return MessageDigest.getInstance("SHA-1");
+            } catch (NoSuchAlgorithmException e) {
+                throw new RuntimeException(e);
+            }
         }
-    }
+    };
 
-    public static byte[] hashFile(File file) throws IOException {
-        synchronized (DIGEST) {
-            DIGEST.reset();
-            updateDigest(DIGEST, file);
-            return DIGEST.digest();
+    private static final Comparator<File> BY_NAME = new Comparator<File>() {
+        @Override
+        public int compare(File o1, File o2) {
+            return o1.getName().compareTo(o2.getName());
         }
+    };
+
+    public static byte[] hashFile(File file) throws IOException {
+        final MessageDigest digest = DIGEST.get();
+        digest.reset();
+        updateDigest(digest, file, new byte[8192]);
+        return digest.digest();
+    }
+
+    /**
+     * Hash the content of a single file, unlike {@link #hashFile(File)} this does not skip jar index files.
+     *
+     * @param file the file
+     * @return the hash
+     */
+    static byte[] hashContent(File file) throws IOException {
+        final MessageDigest digest = DIGEST.get();
+        digest.reset();
+        updateContentDigest(digest, file, new byte[8192]);
+        return digest.digest();
     }
 
     public static byte[] hashBytes(byte[] bytes) throws IOException {
-        synchronized (DIGEST) {
-            DIGEST.reset();
-            DIGEST.update(bytes);
-            return DIGEST.digest();
-        }
+        final MessageDigest digest = DIGEST.get();
+        digest.reset();
+        digest.update(bytes);
+        return digest.digest();
     }
 
-    private static void updateDigest(MessageDigest digest, File file) throws IOException {
+    private static void updateDigest(MessageDigest digest, File file, byte[] buffer) throws IOException {
         if (file.isDirectory()) {
             File[] childList = file.listFiles();
             if (childList != null) {
-                Map<String, File> sortedChildren = new TreeMap<String, File>();
+                Arrays.sort(childList, BY_NAME);
                 for (File child : childList) {
-                    sortedChildren.put(child.getName(), child);
-                }
-                for (File child : sortedChildren.values()) {
-                    updateDigest(digest, child);
+                    updateDigest(digest, child, buffer);
                 }
             }
         } else {
@@ -87,30 +105,27 @@ public class HashUtils {
             if (file.getName().endsWith(".jar.index")) {
                 return;
             }
-            try (FileInputStream fis = new FileInputStream(file);
-                 BufferedInputStream bis = new BufferedInputStream(fis)){
+            updateContentDigest(digest, file, buffer);
+        }
+    }
 
-                byte[] bytes = new byte[8192];
-                int read;
-                while ((read = bis.read(bytes)) > -1) {
-                    digest.update(bytes, 0, read);
-                }
+    private static void updateContentDigest(MessageDigest digest, File file, byte[] buffer) throws IOException {
+        try (FileInputStream fis = new FileInputStream(file)) {
+            int read;
+            while ((read = fis.read(buffer)) > -1) {
+                digest.update(buffer, 0, read);
             }
-
         }
     }
 
     public static byte[] copyAndGetHash(final InputStream is, final OutputStream os) throws IOException {
-        byte[] sha1Bytes;
-        synchronized (DIGEST) {
-            DIGEST.reset();
-            try (BufferedInputStream bis = new BufferedInputStream(is);
-                 DigestOutputStream dos = new DigestOutputStream(os, DIGEST)) {
-                IoUtils.copyStream(bis, dos);
-            }
-            sha1Bytes = DIGEST.digest();
+        final MessageDigest digest = DIGEST.get();
+        digest.reset();
+        try (BufferedInputStream bis = new BufferedInputStream(is);
+             DigestOutputStream dos = new DigestOutputStream(os, digest)) {
+            IoUtils.copyStream(bis, dos);
         }
-        return sha1Bytes;
+        return digest.digest();
     }
 
     /**
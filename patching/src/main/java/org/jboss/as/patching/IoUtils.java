@@ -30,6 +30,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
 import java.util.zip.ZipFile;
 
@@ -106,7 +107,8 @@ public class IoUtils {
         } else {
             File parent = targetFile.getParentFile();
             if (!parent.exists()) {
-                if (!parent.mkdirs()) {
+                // another task may be creating the same parent concurrently
+                if (!parent.mkdirs() && !parent.isDirectory()) {
                     throw PatchLogger.ROOT_LOGGER.cannotCreateDirectory(parent.getAbsolutePath());
                 }
             }
@@ -124,7 +126,7 @@ public class IoUtils {
             if (!targetDir.isDirectory()) {
                 throw PatchLogger.ROOT_LOGGER.notADirectory(targetDir.getAbsolutePath());
             }
-        } else if (!targetDir.mkdirs()) {
+        } else if (!targetDir.mkdirs() && !targetDir.isDirectory()) {
             throw PatchLogger.ROOT_LOGGER.cannotCreateDirectory(targetDir.getAbsolutePath());
         }
 
@@ -154,6 +156,53 @@ public class IoUtils {
         }
     }
 
+    /**
+     * Create a backup of a file which is going to be deleted. The backup is a hard link to the file where the file
+     * system supports it, and a copy otherwise. Since both names may refer to the same content, this must not be used
+     * for files which are changed in place. If the file is not deleted after all, use {@link #detach(File, File)}.
+     *
+     * @param source the file
+     * @param backup the backup location
+     * @return the hash of the content
+     * @throws IOException for any error
+     */
+    public static byte[] backup(File source, File backup) throws IOException {
+        final File parent = backup.getParentFile();
+        if (!parent.mkdirs() && !parent.isDirectory()) {
+            throw PatchLogger.ROOT_LOGGER.cannotCreateDirectory(parent.getAbsolutePath());
+        }
+        try {
+            Files.deleteIfExists(backup.toPath());
+            Files.createLink(backup.toPath(), source.toPath());
+        } catch (IOException | UnsupportedOperationException | SecurityException e) {
+            // e.g. the history is on another file store, or links are not supported
+            PatchLogger.ROOT_LOGGER.tracef(e, "cannot link %s to %s", backup, source);
+            return copy(source, backup);
+        }
+        return HashUtils.hashContent(source);
+    }
+
+    /**
+     * Turn a backup created by {@link #backup(File, File)} into a copy, if it is still linked to the file.
+     *
+     * @param source the file
+     * @param backup the backup
+     * @throws IOException for any error
+     */
+    public static void detach(File source, File backup) throws IOException {
+        if (!source.isFile() || !backup.isFile() || !Files.isSameFile(source.toPath(), backup.toPath())) {
+            return;
+        }
+        final Path path = backup.toPath();
+        final Path tmp = Files.createTempFile(path.getParent(), backup.getName(), ".tmp");
+        try {
+            Files.copy(path, tmp, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
     public static void safeClose(final Closeable closeable) {
         if(closeable != null) {
             try {
@@ -64,7 +64,7 @@ abstract class AbstractFileTask extends AbstractPatchingTask<MiscContentItem> {
     @Override
     byte[] backup(PatchingTaskContext context) throws IOException {
         if(target.isFile()) {
-            // Backup the original in the history directory
+            // Backup the original in the history directory, as a copy since apply() writes to the target in place
             final byte[] backupHash = IoUtils.copy(target, backup);
             return backupHash;
         } else if (contentItem.isDirectory() && target.isDirectory()) {
@@ -89,7 +89,7 @@ abstract class AbstractFileTask extends AbstractPatchingTask<MiscContentItem> {
             }
             final InputStream is = loader.openContentStream(item);
             try {
-                // Replace the file
+                // Replace the content, writing in place keeps the owner, permissions, ACLs and labels of the file
                 return copy(is, target);
             } finally {
                 safeClose(is);
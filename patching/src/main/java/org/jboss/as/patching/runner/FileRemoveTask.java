@@ -23,7 +23,6 @@
 package org.jboss.as.patching.runner;
 
 import static org.jboss.as.patching.IoUtils.NO_CONTENT;
-import static org.jboss.as.patching.IoUtils.copy;
 
 import java.io.File;
 import java.io.IOException;
@@ -102,6 +101,10 @@ class FileRemoveTask implements PatchingTask {
     public void execute(PatchingTaskContext context) throws IOException {
         // delete the file or directory recursively
         boolean ok = IoUtils.recursiveDelete(target);
+        if (! ok) {
+            // Undo copies the backups back to the remaining files, so they must not be the same files
+            detach(target, backup);
+        }
         for(ContentModification mod : rollback) {
             // Add the rollback (add actions)
             // We skip the change - misc files are reused in the processed patch
@@ -112,6 +115,19 @@ class FileRemoveTask implements PatchingTask {
         }
     }
 
+    static void detach(final File root, final File backupLocation) throws IOException {
+        if (root.isDirectory()) {
+            final File[] files = root.listFiles();
+            if (files != null) {
+                for (File file : files) {
+                    detach(file, new File(backupLocation, file.getName()));
+                }
+            }
+        } else {
+            IoUtils.detach(root, backupLocation);
+        }
+    }
+
     void backup(final File root, final File backupLocation, final List<String> path, final List<ContentModification> rollback, final PatchingTaskContext context) throws IOException {
         if(!root.exists()) {
             // Perhaps an error condition?
@@ -131,8 +147,8 @@ class FileRemoveTask implements PatchingTask {
                 }
             }
         } else {
-            // Copy and record the backup action
-            final byte[] hash = copy(root, backupLocation);
+            // Backup and record the backup action, the file is deleted so the backup can be a link
+            final byte[] hash = IoUtils.backup(root, backupLocation);
             rollback.add(createRollbackItem(root.getName(), path, hash, false));
         }
     }
@@ -817,7 +817,10 @@ class IdentityPatchContext implements PatchContentProvider {
             final List<File> files = listFiles(moduleRoot);
             if (files != null && files.size() > 0) {
                 for (final File file : files) {
-                    moduleInvalidations.add(file);
+                    // tasks are prepared concurrently
+                    synchronized (moduleInvalidations) {
+                        moduleInvalidations.add(file);
+                    }
                     if (mode == Mode.ROLLBACK) {
                         // For rollback we need to restore the file before calculating the hash
                         PatchModuleInvalidationUtils.processFile(null, file, mode);
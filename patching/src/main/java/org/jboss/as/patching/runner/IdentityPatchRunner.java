@@ -15,6 +15,16 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.xml.stream.XMLStreamException;
 
@@ -32,6 +42,7 @@ import org.jboss.as.patching.metadata.ContentModification;
 import org.jboss.as.patching.metadata.ContentType;
 import org.jboss.as.patching.metadata.Identity;
 import org.jboss.as.patching.metadata.LayerType;
+import org.jboss.as.patching.metadata.MiscContentItem;
 import org.jboss.as.patching.metadata.ModuleItem;
 import org.jboss.as.patching.metadata.Patch;
 import org.jboss.as.patching.metadata.Patch.PatchType;
@@ -56,6 +67,7 @@ class IdentityPatchRunner implements InstallationManager.ModificationCompletionC
 
     private static final String DIRECTORY_SUFFIX = "jboss-as-patch-";
     private static final File TEMP_DIR = new File(SecurityActions.getSystemProperty("java.io.tmpdir"));
+    private static final int TASK_THREADS = Math.min(8, Runtime.getRuntime().availableProcessors());
 
     private final InstalledImage installedImage;
 
@@ -622,69 +634,149 @@ class IdentityPatchRunner implements InstallationManager.ModificationCompletionC
 
     /**
      * Execute all recorded tasks.
+     * <p>
+     * Tasks are prepared, which backs up and hashes the existing content, concurrently. Module and bundle tasks each
+     * write their own overlay directory and are executed concurrently as well, whereas misc tasks are executed in
+     * order since they can work on the same directories. Changes are recorded in task order once every task is done, so
+     * the history and the rollback information are the same as for a sequential run.
      *
      * @param context  the patch context
      * @param callback the finalization callback
      * @throws Exception
      */
     static PatchingResult executeTasks(final IdentityPatchContext context, final IdentityPatchContext.FinalizeCallback callback) throws Exception {
-        final List<PreparedTask> tasks = new ArrayList<PreparedTask>();
-        final List<ContentItem> conflicts = new ArrayList<ContentItem>();
-        // Identity
-        prepareTasks(context.getIdentityEntry(), context, tasks, conflicts);
-        // Layers
-        for (final IdentityPatchContext.PatchEntry layer : context.getLayers()) {
-            prepareTasks(layer, context, tasks, conflicts);
-        }
-        // AddOns
-        for (final IdentityPatchContext.PatchEntry addOn : context.getAddOns()) {
-            prepareTasks(addOn, context, tasks, conflicts);
-        }
-        // If there were problems report them
-        if (!conflicts.isEmpty()) {
-            throw PatchLogger.ROOT_LOGGER.conflictsDetected(conflicts);
-        }
-        // Execute the tasks
-        for (final PreparedTask task : tasks) {
-            // Unless it's excluded by the user
-            final ContentItem item = task.getContentItem();
-            if (item != null && context.isExcluded(item)) {
-                continue;
+        final ExecutorService executor = Executors.newFixedThreadPool(TASK_THREADS, new TaskThreadFactory());
+        try {
+            final List<PreparedTask> tasks = new ArrayList<PreparedTask>();
+            final List<ContentItem> conflicts = new ArrayList<ContentItem>();
+            // Identity
+            prepareTasks(context.getIdentityEntry(), context, tasks, executor);
+            // Layers
+            for (final IdentityPatchContext.PatchEntry layer : context.getLayers()) {
+                prepareTasks(layer, context, tasks, executor);
+            }
+            // AddOns
+            for (final IdentityPatchContext.PatchEntry addOn : context.getAddOns()) {
+                prepareTasks(addOn, context, tasks, executor);
+            }
+            // Wait for all backups before reporting any failure
+            Exception failure = null;
+            for (final PreparedTask task : tasks) {
+                try {
+                    if (!task.awaitPrepared()) {
+                        // Unless it a content item was manually ignored (or excluded)
+                        final ContentItem item = task.getContentItem();
+                        if (!context.isIgnored(item)) {
+                            conflicts.add(item);
+                        }
+                    }
+                } catch (Exception e) {
+                    if (failure == null) {
+                        failure = e;
+                    }
+                }
+            }
+            if (failure != null) {
+                throw failure;
             }
-            // Run the task
-            task.execute();
+            // If there were problems report them
+            if (!conflicts.isEmpty()) {
+                throw PatchLogger.ROOT_LOGGER.conflictsDetected(conflicts);
+            }
+            // Execute the tasks
+            final List<PreparedTask> miscTasks = new ArrayList<PreparedTask>();
+            for (final PreparedTask task : tasks) {
+                // Unless it's excluded by the user
+                final ContentItem item = task.getContentItem();
+                if (item != null && context.isExcluded(item)) {
+                    continue;
+                }
+                if (item != null && item.getContentType() != ContentType.MISC) {
+                    task.submit(executor);
+                } else {
+                    miscTasks.add(task);
+                }
+            }
+            for (final PreparedTask task : miscTasks) {
+                try {
+                    task.execute();
+                } catch (Exception e) {
+                    failure = e;
+                    break;
+                }
+            }
+            // Record the changes of everything that ran, so that a failure undoes all of it
+            for (final PreparedTask task : tasks) {
+                try {
+                    task.awaitExecuted();
+                } catch (Exception e) {
+                    if (failure == null) {
+                        failure = e;
+                    }
+                }
+                task.recordChanges();
+            }
+            if (failure != null) {
+                throw failure;
+            }
+        } finally {
+            // Don't let the caller undo changes while tasks are still running
+            executor.shutdown();
+            awaitTermination(executor);
         }
         return context.finalize(callback);
     }
 
+    private static void awaitTermination(final ExecutorService executor) {
+        boolean interrupted = false;
+        try {
+            while (!executor.isTerminated()) {
+                try {
+                    executor.awaitTermination(1, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Creates named daemon threads, so that a pool which is not shut down can never keep the process alive.
+     */
+    private static class TaskThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(final Runnable r) {
+            final Thread thread = new Thread(r, "patching-task-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
     /**
      * Prepare all tasks.
      *
      * @param entry     the patch entry
      * @param context   the patch context
      * @param tasks     a list for prepared tasks
-     * @param conflicts a list for conflicting content items
+     * @param executor  the executor preparing the tasks
      * @throws PatchingException
      */
-    static void prepareTasks(final IdentityPatchContext.PatchEntry entry, final IdentityPatchContext context, final List<PreparedTask> tasks, final List<ContentItem> conflicts) throws PatchingException {
+    static void prepareTasks(final IdentityPatchContext.PatchEntry entry, final IdentityPatchContext context, final List<PreparedTask> tasks, final ExecutorService executor) throws PatchingException {
         for (final PatchingTasks.ContentTaskDefinition definition : entry.getTaskDefinitions()) {
             final PatchingTask task = createTask(definition, context, entry);
             if(!task.isRelevant(entry)) {
                 continue;
             }
-            try {
-                // backup and validate content
-                if (!task.prepare(entry) || definition.hasConflicts()) {
-                    // Unless it a content item was manually ignored (or excluded)
-                    final ContentItem item = task.getContentItem();
-                    if (!context.isIgnored(item)) {
-                        conflicts.add(item);
-                    }
-                }
-                tasks.add(new PreparedTask(task, entry));
-            } catch (IOException e) {
-                throw new PatchingException(e);
-            }
+            final PreparedTask prepared = new PreparedTask(task, definition, entry);
+            prepared.prepare(executor);
+            tasks.add(prepared);
         }
     }
 
@@ -705,21 +797,165 @@ class IdentityPatchRunner implements InstallationManager.ModificationCompletionC
     static class PreparedTask {
 
         private final PatchingTask task;
+        private final PatchingTasks.ContentTaskDefinition definition;
         private final IdentityPatchContext.PatchEntry entry;
+        private final RecordingTaskContext recorder;
+        private Future<Boolean> prepared;
+        private Future<Void> executed;
 
-        PreparedTask(PatchingTask task, IdentityPatchContext.PatchEntry entry) {
+        PreparedTask(PatchingTask task, PatchingTasks.ContentTaskDefinition definition, IdentityPatchContext.PatchEntry entry) {
             this.task = task;
+            this.definition = definition;
             this.entry = entry;
+            this.recorder = new RecordingTaskContext(entry);
         }
 
         ContentItem getContentItem() {
             return task.getContentItem();
         }
 
+        void prepare(final Executor executor) {
+            final FutureTask<Boolean> future = new FutureTask<Boolean>(new Callable<Boolean>() {
+                @Override
+                public Boolean call() throws Exception {
+                    // backup and validate content
+                    return task.prepare(entry) && !definition.hasConflicts();
+                }
+            });
+            executor.execute(future);
+            prepared = future;
+        }
+
+        /**
+         * Wait until the content is backed up and validated.
+         *
+         * @return {@code false} if the task conflicts with the existing content
+         */
+        boolean awaitPrepared() throws PatchingException {
+            return await(prepared);
+        }
+
+        void submit(final Executor executor) {
+            final FutureTask<Void> future = new FutureTask<Void>(new Callable<Void>() {
+                @Override
+                public Void call() throws Exception {
+                    execute();
+                    return null;
+                }
+            });
+            executor.execute(future);
+            executed = future;
+        }
+
+        void awaitExecuted() throws PatchingException {
+            if (executed != null) {
+                await(executed);
+            }
+        }
+
         protected void execute() throws IOException {
-            task.execute(entry);
+            task.execute(recorder);
+        }
+
+        /**
+         * Add the changes made by the task to the patch entry.
+         */
+        void recordChanges() {
+            recorder.replay();
+        }
+
+        private static <T> T await(final Future<T> future) throws PatchingException {
+            boolean interrupted = false;
+            try {
+                for (;;) {
+                    try {
+                        return future.get();
+                    } catch (InterruptedException e) {
+                        // the content has to be in a known state before we can go on
+                        interrupted = true;
+                    } catch (ExecutionException e) {
+                        final Throwable cause = e.getCause();
+                        if (cause instanceof PatchingException) {
+                            throw (PatchingException) cause;
+                        } else if (cause instanceof RuntimeException) {
+                            throw (RuntimeException) cause;
+                        } else if (cause instanceof Error) {
+                            throw (Error) cause;
+                        }
+                        throw new PatchingException(cause);
+                    }
+                }
+            } finally {
+                if (interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+    }
+
+    /**
+     * Holds back the changes recorded by a task running concurrently with others, see {@link PreparedTask#recordChanges()}.
+     */
+    static class RecordingTaskContext implements PatchingTaskContext {
+
+        private final PatchingTaskContext delegate;
+        private final List<ContentModification[]> changes = new ArrayList<ContentModification[]>();
+
+        RecordingTaskContext(PatchingTaskContext delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Mode getCurrentMode() {
+            return delegate.getCurrentMode();
+        }
+
+        @Override
+        public File getTargetFile(ContentItem item) {
+            return delegate.getTargetFile(item);
+        }
+
+        @Override
+        public File getBackupFile(MiscContentItem item) {
+            return delegate.getBackupFile(item);
+        }
+
+        @Override
+        public boolean isExcluded(ContentItem contentItem) {
+            return delegate.isExcluded(contentItem);
         }
 
+        @Override
+        public void recordChange(ContentModification change, ContentModification rollbackAction) {
+            synchronized (changes) {
+                changes.add(new ContentModification[] {change, rollbackAction});
+            }
+        }
+
+        @Override
+        public void invalidateRoot(File root) throws IOException {
+            delegate.invalidateRoot(root);
+        }
+
+        @Override
+        public File[] getTargetBundlePath() {
+            return delegate.getTargetBundlePath();
+        }
+
+        @Override
+        public File[] getTargetModulePath() {
+            return delegate.getTargetModulePath();
+        }
+
+        void replay() {
+            synchronized (changes) {
+                for (final ContentModification[] change : changes) {
+                    delegate.recordChange(change[0], change[1]);
+                }
+                changes.clear();
+            }
+        }
     }
 
     static Patch loadPatchInformation(final String patchId, final InstalledImage installedImage) throws PatchingException, IOException, XMLStreamException {
@@ -35,11 +35,16 @@ import static org.jboss.as.patching.runner.TestUtils.createZippedPatchFile;
 import static org.jboss.as.patching.runner.TestUtils.dump;
 import static org.jboss.as.patching.runner.TestUtils.randomString;
 import static org.jboss.as.patching.runner.TestUtils.touch;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.attribute.BasicFileAttributes;
 
+import org.jboss.as.patching.IoUtils;
 import org.jboss.as.patching.installation.Identity;
 import org.jboss.as.patching.metadata.ContentItem;
 import org.jboss.as.patching.metadata.ContentModification;
@@ -128,6 +133,8 @@ public class FileTaskTestCase extends AbstractTaskTestCase {
         String fileName = "standalone.sh";
         File standaloneShellFile = touch(binDir, fileName);
         dump(standaloneShellFile, "original script to run standalone AS7");
+        boolean executable = standaloneShellFile.setExecutable(true);
+        Object fileKey = Files.readAttributes(standaloneShellFile.toPath(), BasicFileAttributes.class).fileKey();
 
         // build a one-off patch for the base installation
         // with 1 updated file
@@ -155,9 +162,73 @@ public class FileTaskTestCase extends AbstractTaskTestCase {
         // and it's the new one
         assertFileExists(standaloneShellFile);
         assertFileContent(fileModified.getItem().getContentHash(), standaloneShellFile);
+        if (executable) {
+            assertTrue(standaloneShellFile.canExecute());
+        }
+        // the file has been written in place, which keeps all its attributes
+        if (fileKey != null) {
+            assertEquals(fileKey, Files.readAttributes(standaloneShellFile.toPath(), BasicFileAttributes.class).fileKey());
+        }
         // the existing file has been backed up
         File backupFile = assertFileExists(env.getInstalledImage().getPatchHistoryDir(patchID), "misc", "bin", fileName);
         assertFileContent(fileModified.getTargetHash(), backupFile);
+        assertFalse(Files.isSameFile(standaloneShellFile.toPath(), backupFile.toPath()));
+    }
+
+    @Test
+    public void testUpdateFileWithExistingContent() throws Exception {
+
+        // start from a base installation
+        // with a file which already has the patched content
+        File binDir = mkdir(env.getInstalledImage().getJbossHome(), "bin");
+        String fileName = "standalone.sh";
+        File standaloneShellFile = touch(binDir, fileName);
+        dump(standaloneShellFile, "updated script");
+
+        String patchID = randomString();
+        File patchDir = mkdir(tempDir, patchID);
+
+        ContentModification fileModified = ContentModificationUtils.modifyMisc(patchDir, patchID, "updated script", standaloneShellFile, "bin", "standalone.sh");
+
+        Patch patch = PatchBuilder.create()
+                .setPatchId(patchID)
+                .setDescription(randomString())
+                .oneOffPatchIdentity(productConfig.getProductName(), productConfig.getProductVersion())
+                   .getParent()
+                .addContentModification(fileModified)
+                .build();
+
+        createPatchXMLFile(patchDir, patch);
+        File zippedPatch = createZippedPatchFile(patchDir, patch.getPatchId());
+
+        PatchingResult result = executePatch(zippedPatch);
+        assertPatchHasBeenApplied(result, patch);
+
+        File backupFile = assertFileExists(env.getInstalledImage().getPatchHistoryDir(patchID), "misc", "bin", fileName);
+        assertFileContent(fileModified.getTargetHash(), backupFile);
+        // later changes to the installation must not change the backup
+        dump(standaloneShellFile, "edited script");
+        assertFileContent(fileModified.getTargetHash(), backupFile);
+    }
+
+    @Test
+    public void testDetachBackupOfRemainingFile() throws Exception {
+
+        // a file which was backed up for removal, but could not be deleted
+        File binDir = mkdir(env.getInstalledImage().getJbossHome(), "bin");
+        File standaloneShellFile = touch(binDir, "standalone.sh");
+        dump(standaloneShellFile, "original script");
+        File backupDir = new File(tempDir, "backup");
+        File backupFile = new File(backupDir, "standalone.sh");
+        byte[] backupHash = IoUtils.backup(standaloneShellFile, backupFile);
+        assertArrayEquals(hashFile(standaloneShellFile), backupHash);
+
+        FileRemoveTask.detach(binDir, backupDir);
+
+        assertFalse(Files.isSameFile(standaloneShellFile.toPath(), backupFile.toPath()));
+        assertFileContent(backupHash, backupFile);
+        dump(standaloneShellFile, "edited script");
+        assertFileContent(backupHash, backupFile);
     }
 
     @Test
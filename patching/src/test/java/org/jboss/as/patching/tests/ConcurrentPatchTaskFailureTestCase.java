@@ -0,0 +1,150 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+
+package org.jboss.as.patching.tests;
+
+import static org.jboss.as.patching.runner.TestUtils.createModule0;
+import static org.jboss.as.patching.runner.TestUtils.dump;
+import static org.jboss.as.patching.runner.TestUtils.randomString;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.jboss.as.patching.HashUtils;
+import org.jboss.as.patching.PatchingException;
+import org.jboss.as.patching.installation.InstalledIdentity;
+import org.jboss.as.patching.installation.PatchableTarget;
+import org.jboss.byteman.contrib.bmunit.BMRule;
+import org.jboss.byteman.contrib.bmunit.BMUnitRunner;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Test that a task failing while other tasks are executed concurrently undoes the changes of every task.
+ */
+@RunWith(BMUnitRunner.class)
+public class ConcurrentPatchTaskFailureTestCase extends AbstractPatchingTest {
+
+    private static final int COUNT = 8;
+
+    @Test
+    @BMRule(name = "Fail a concurrent module task",
+            targetClass = "org.jboss.as.patching.runner.IdentityPatchRunner$PreparedTask",
+            targetMethod = "execute",
+            targetLocation = "AT EXIT",
+            condition = "\"org.jboss.test.module3\".equals($0.getContentItem().getName())",
+            action = "throw new java.io.IOException(\"module task failure\")"
+    )
+    public void testModuleTaskFailure() throws Exception {
+        applyAndAssertRestored("module task failure");
+    }
+
+    @Test
+    @BMRule(name = "Fail a misc task",
+            targetClass = "org.jboss.as.patching.runner.IdentityPatchRunner$PreparedTask",
+            targetMethod = "execute",
+            targetLocation = "AT EXIT",
+            condition = "\"file5\".equals($0.getContentItem().getName())",
+            action = "throw new java.io.IOException(\"misc task failure\")"
+    )
+    public void testMiscTaskFailure() throws Exception {
+        applyAndAssertRestored("misc task failure");
+    }
+
+    private void applyAndAssertRestored(final String message) throws Exception {
+        final PatchingTestBuilder builder = createDefaultBuilder();
+        final File installation = builder.getFile();
+        final File moduleRoot = builder.getFile("modules", "system", "layers", "base");
+
+        final PatchingTestStepBuilder step = builder.createStepBuilder();
+        final PatchElementTestStepBuilder element = step.oneOffPatchIdentity(PRODUCT_VERSION)
+                .setPatchId("oo1")
+                .oneOffPatchElement("base-patch-001", "base", false);
+        for (int i = 0; i < COUNT; i++) {
+            final File module = createModule0(moduleRoot, "org.jboss.test.module" + i, randomString());
+            final byte[] moduleHash = HashUtils.hashFile(module);
+            element.updateModuleWithRandomContent("org.jboss.test.module" + i, Arrays.copyOf(moduleHash, moduleHash.length), null);
+            final File file = builder.getFile("bin", "file" + i);
+            file.getParentFile().mkdirs();
+            dump(file, randomString());
+            final byte[] fileHash = HashUtils.hashFile(file);
+            step.updateFileWithRandomContent(Arrays.copyOf(fileHash, fileHash.length), null, "bin", "file" + i);
+        }
+        step.addFileWithRandomContent(null, "bin", "added");
+
+        final Map<String, byte[]> before = snapshot(installation);
+        try {
+            apply(step);
+            Assert.fail("should have failed");
+        } catch (PatchingException e) {
+            Assert.assertTrue(String.valueOf(e), contains(e, message));
+        }
+
+        Assert.assertFalse(builder.hasFile("bin", "added"));
+        final InstalledIdentity identity = loadInstallationManager().getDefaultIdentity();
+        Assert.assertFalse(identity.getAllInstalledPatches().contains("oo1"));
+        final PatchableTarget base = identity.getLayer("base");
+        Assert.assertFalse(base.getDirectoryStructure().getModulePatchDirectory("base-patch-001").exists());
+        Assert.assertFalse(identity.getInstalledImage().getPatchHistoryDir("oo1").exists());
+
+        final Map<String, byte[]> after = snapshot(installation);
+        Assert.assertEquals(before.keySet(), after.keySet());
+        for (final Map.Entry<String, byte[]> entry : before.entrySet()) {
+            Assert.assertArrayEquals(entry.getKey(), entry.getValue(), after.get(entry.getKey()));
+        }
+    }
+
+    private static boolean contains(Throwable t, final String message) {
+        for (; t != null; t = t.getCause()) {
+            if (message.equals(t.getMessage())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The content of every file in the installation, the empty patching directories are left behind anyway.
+     */
+    private static Map<String, byte[]> snapshot(final File root) throws IOException {
+        final Map<String, byte[]> files = new TreeMap<String, byte[]>();
+        snapshot(root, root.getPath().length() + 1, files);
+        return files;
+    }
+
+    private static void snapshot(final File file, final int prefix, final Map<String, byte[]> files) throws IOException {
+        if (file.isDirectory()) {
+            for (final File child : file.listFiles()) {
+                snapshot(child, prefix, files);
+            }
+        } else {
+            files.put(file.getPath().substring(prefix), Files.readAllBytes(file.toPath()));
+        }
+    }
+
+}
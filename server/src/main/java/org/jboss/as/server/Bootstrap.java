@@ -22,6 +22,7 @@
 
 package org.jboss.as.server;
 
+import java.io.File;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
 
@@ -36,8 +37,10 @@ import org.jboss.as.controller.extension.ExtensionRegistry;
 import org.jboss.as.controller.extension.RuntimeHostControllerInfoAccessor;
 import org.jboss.as.controller.parsing.Namespace;
 import org.jboss.as.controller.persistence.BackupXmlConfigurationPersister;
+import org.jboss.as.controller.persistence.BootOperationCache;
 import org.jboss.as.controller.persistence.ConfigurationFile;
 import org.jboss.as.controller.persistence.ExtensibleConfigurationPersister;
+import org.jboss.as.controller.persistence.XmlConfigurationPersister;
 import org.jboss.as.server.parsing.StandaloneXml;
 import org.jboss.modules.Module;
 import org.jboss.modules.ModuleLoader;
@@ -45,6 +48,7 @@ import org.jboss.msc.service.ServiceActivator;
 import org.jboss.msc.service.ServiceContainer;
 import org.jboss.threads.AsyncFuture;
 import org.wildfly.security.auth.server.SecurityIdentity;
+import org.wildfly.security.manager.WildFlySecurityManager;
 
 /**
  * The application server bootstrap interface.  Get a new instance via {@link Factory#newInstance()}.
@@ -87,6 +91,9 @@ public interface Bootstrap {
      */
     final class Configuration {
 
+        /** Enables caching the boot operations parsed from the configuration file, see {@link BootOperationCache} */
+        private static final String BOOT_OPERATION_CACHE = "org.jboss.as.server.boot-operation-cache";
+
         private final ServerEnvironment serverEnvironment;
         private final RunningModeControl runningModeControl;
         private final ExtensionRegistry extensionRegistry;
@@ -214,6 +221,10 @@ public interface Bootstrap {
                                 persister.registerAdditionalRootElement(new QName(namespace.getUriString(), "server"), parser);
                             }
                         }
+                        if (Boolean.parseBoolean(WildFlySecurityManager.getPropertyPrivileged(BOOT_OPERATION_CACHE, "false"))) {
+                            final File cacheFile = new File(new File(serverEnvironment.getServerDataDir(), "boot-operations"), configurationFile.getBootFile().getName() + ".bin");
+                            persister.setBootOperationCache(new BootOperationCache(cacheFile, Module.getBootModuleLoader(), StandaloneXml.class, XmlConfigurationPersister.class));
+                        }
                         extensionRegistry.setWriterRegistry(persister);
                         return persister;
                     }
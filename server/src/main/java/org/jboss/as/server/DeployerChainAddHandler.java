@@ -133,6 +133,7 @@ public class DeployerChainAddHandler implements OperationStepHandler {
                 @Override
                 public void handleRollback(OperationContext context, ModelNode operation) {
                     context.removeService(Services.JBOSS_DEPLOYMENT_CHAINS);
+                    context.removeService(Services.JBOSS_DEPLOYMENT_EXECUTOR);
                 }
             });
         }
@@ -153,6 +153,32 @@ public class DeploymentAttributes {
             .addFlag(AttributeAccess.Flag.RUNTIME_SERVICE_NOT_REQUIRED)
             .build();
 
+    public static final SimpleAttributeDefinition PROCESSOR_TIMING_DEPLOYMENT = SimpleAttributeDefinitionBuilder.create(ModelDescriptionConstants.DEPLOYMENT, ModelType.STRING, false)
+            .build();
+    public static final SimpleAttributeDefinition PROCESSOR_TIMING_PHASE = SimpleAttributeDefinitionBuilder.create("phase", ModelType.STRING, false)
+            .build();
+    public static final SimpleAttributeDefinition PROCESSOR_TIMING_PROCESSOR = SimpleAttributeDefinitionBuilder.create("processor", ModelType.STRING, false)
+            .build();
+    public static final SimpleAttributeDefinition PROCESSOR_TIMING_SUBSYSTEM = SimpleAttributeDefinitionBuilder.create(ModelDescriptionConstants.SUBSYSTEM, ModelType.STRING, true)
+            .build();
+    public static final SimpleAttributeDefinition PROCESSOR_TIMING_WALL_TIME = SimpleAttributeDefinitionBuilder.create("wall-time", ModelType.LONG, false)
+            .setMeasurementUnit(MeasurementUnit.NANOSECONDS)
+            .build();
+    public static final SimpleAttributeDefinition PROCESSOR_TIMING_CPU_TIME = SimpleAttributeDefinitionBuilder.create("cpu-time", ModelType.LONG, true)
+            .setMeasurementUnit(MeasurementUnit.NANOSECONDS)
+            .build();
+    public static final SimpleAttributeDefinition PROCESSOR_TIMING_ALLOCATED_BYTES = SimpleAttributeDefinitionBuilder.create("allocated-bytes", ModelType.LONG, true)
+            .setMeasurementUnit(MeasurementUnit.BYTES)
+            .build();
+
+    public static final ObjectListAttributeDefinition PROCESSOR_TIMINGS = new ObjectListAttributeDefinition.Builder("processor-timings",
+            ObjectTypeAttributeDefinition.Builder.of("processor-timing", PROCESSOR_TIMING_DEPLOYMENT, PROCESSOR_TIMING_PHASE,
+                    PROCESSOR_TIMING_PROCESSOR, PROCESSOR_TIMING_SUBSYSTEM, PROCESSOR_TIMING_WALL_TIME, PROCESSOR_TIMING_CPU_TIME,
+                    PROCESSOR_TIMING_ALLOCATED_BYTES).build())
+            .setRequired(false)
+            .setStorageRuntime()
+            .build();
+
     //Managed content value attributes
     public static final AttributeDefinition EMPTY =
             createContentValueTypeAttribute(ModelDescriptionConstants.EMPTY, ModelType.BOOLEAN, new ModelTypeValidator(ModelType.BOOLEAN, true), false,
@@ -326,7 +352,7 @@ public class DeploymentAttributes {
 
 
     /** Attributes for server deployment resource */
-    public static final AttributeDefinition[] SERVER_RESOURCE_ATTRIBUTES = new AttributeDefinition[] {NAME, RUNTIME_NAME, CONTENT_RESOURCE_ALL, ENABLED, PERSISTENT, OWNER, STATUS, ENABLED_TIME, ENABLED_TIMESTAMP, DISABLED_TIME, DISABLED_TIMESTAMP, MANAGED};
+    public static final AttributeDefinition[] SERVER_RESOURCE_ATTRIBUTES = new AttributeDefinition[] {NAME, RUNTIME_NAME, CONTENT_RESOURCE_ALL, ENABLED, PERSISTENT, OWNER, STATUS, ENABLED_TIME, ENABLED_TIMESTAMP, DISABLED_TIME, DISABLED_TIMESTAMP, MANAGED, PROCESSOR_TIMINGS};
 
     /** Attributes for server deployment add */
     public static final AttributeDefinition[] SERVER_ADD_ATTRIBUTES = new AttributeDefinition[] { RUNTIME_NAME_NILLABLE, CONTENT_PARAM_ALL, ENABLED};// 'hide' the persistent and owner attributes from users
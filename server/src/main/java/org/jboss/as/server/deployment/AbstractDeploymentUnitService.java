@@ -24,6 +24,7 @@ package org.jboss.as.server.deployment;
 
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
 import java.util.function.Consumer;
 
 import org.jboss.as.controller.capability.CapabilityServiceSupport;
@@ -93,6 +94,7 @@ public abstract class AbstractDeploymentUnitService implements Service<Deploymen
             DeploymentUnitPhaseService<?> phaseService = DeploymentUnitPhaseService.create(this.deploymentUnit, Phase.values()[0]);
             startContext.getChildTarget().addService(serviceName, phaseService)
                     .addDependency(Services.JBOSS_DEPLOYMENT_CHAINS, DeployerChains.class, phaseService.getDeployerChainsInjector())
+                    .addDependency(Services.JBOSS_DEPLOYMENT_EXECUTOR, ExecutorService.class, phaseService.getExecutorInjector())
                     .install();
         };
 
@@ -312,6 +312,11 @@ public final class Attachments {
      */
     public static final AttachmentKey<AttachmentList<ServiceName>> DEPLOYMENT_COMPLETE_SERVICES = AttachmentKey.createList(ServiceName.class);
 
+    /**
+     * The time spent by each deployment unit processor on the deployment unit.
+     */
+    public static final AttachmentKey<DeploymentProcessorTimings> PROCESSOR_TIMINGS = AttachmentKey.create(DeploymentProcessorTimings.class);
+
     //
     // CLEANUP
     //
@@ -43,6 +43,7 @@ public class DeployerChainsService implements Service<DeployerChains> {
         final DeployerChains deployerChains = new DeployerChains(phases);
         serviceTarget.addService(Services.JBOSS_DEPLOYMENT_CHAINS, new DeployerChainsService(deployerChains))
             .install();
+        DeploymentExecutorService.addService(serviceTarget);
     }
 
     public DeployerChainsService(DeployerChains deployerChains) {
@@ -0,0 +1,112 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.deployment;
+
+import static java.security.AccessController.doPrivileged;
+
+import java.security.PrivilegedAction;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.server.logging.ServerLogger;
+import org.jboss.msc.service.Service;
+import org.jboss.msc.service.ServiceTarget;
+import org.jboss.msc.service.StartContext;
+import org.jboss.msc.service.StartException;
+import org.jboss.msc.service.StopContext;
+import org.jboss.threads.JBossThreadFactory;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * The executor running the {@link DeploymentUnitPhaseService#CONCURRENT_PHASES concurrent deployment phases}. The
+ * processors of these phases are mostly busy on the CPU, so running them on a bounded pool keeps the deployments from
+ * starving the other services at boot. Its threads time out once the deployments are done.
+ * <p>
+ * The pool is only used if its size is set with the {@value #POOL_SIZE_PROPERTY} system property. Otherwise, or if
+ * the size is {@code 0}, every phase runs on the service container threads.
+ */
+final class DeploymentExecutorService implements Service<ExecutorService> {
+
+    static final String POOL_SIZE_PROPERTY = "org.jboss.as.server.deployment.threads";
+
+    private ExecutorService executorService;
+
+    static void addService(final ServiceTarget serviceTarget) {
+        serviceTarget.addService(Services.JBOSS_DEPLOYMENT_EXECUTOR, new DeploymentExecutorService())
+                .install();
+    }
+
+    @Override
+    public synchronized void start(StartContext context) throws StartException {
+        final int poolSize = getPoolSize();
+        if (poolSize == 0) {
+            return;
+        }
+        final ThreadGroup threadGroup = new ThreadGroup("Deployment ThreadGroup");
+        final ThreadFactory threadFactory = doPrivileged(new PrivilegedAction<ThreadFactory>() {
+            public ThreadFactory run() {
+                return new JBossThreadFactory(threadGroup, Boolean.FALSE, null, "Deployment Thread -- %t", null, null);
+            }
+        });
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(poolSize, poolSize, 30L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), threadFactory);
+        executor.allowCoreThreadTimeOut(true);
+        executorService = executor;
+    }
+
+    @Override
+    public synchronized void stop(StopContext context) {
+        // the phase services depending on this one are down, so no task is left
+        if (executorService != null) {
+            executorService.shutdown();
+            executorService = null;
+        }
+    }
+
+    /**
+     * @return the executor, or {@code null} if the concurrent phases run on the service container threads
+     */
+    @Override
+    public synchronized ExecutorService getValue() throws IllegalStateException, IllegalArgumentException {
+        return executorService;
+    }
+
+    private static int getPoolSize() {
+        final String val = WildFlySecurityManager.getPropertyPrivileged(POOL_SIZE_PROPERTY, null);
+        if (val != null) {
+            try {
+                final int result = Integer.parseInt(val);
+                if (result >= 0) {
+                    return result;
+                }
+            } catch (NumberFormatException ignored) {
+                // fall through
+            }
+            ServerLogger.ROOT_LOGGER.invalidPoolCoreSize(val, POOL_SIZE_PROPERTY);
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,271 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.deployment;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.DEPLOYMENT;
+import static org.jboss.as.server.controller.resources.DeploymentAttributes.ENABLED;
+import static org.jboss.as.server.controller.resources.DeploymentAttributes.PROCESSOR_TIMING_ALLOCATED_BYTES;
+import static org.jboss.as.server.controller.resources.DeploymentAttributes.PROCESSOR_TIMING_CPU_TIME;
+import static org.jboss.as.server.controller.resources.DeploymentAttributes.PROCESSOR_TIMING_DEPLOYMENT;
+import static org.jboss.as.server.controller.resources.DeploymentAttributes.PROCESSOR_TIMING_PHASE;
+import static org.jboss.as.server.controller.resources.DeploymentAttributes.PROCESSOR_TIMING_PROCESSOR;
+import static org.jboss.as.server.controller.resources.DeploymentAttributes.PROCESSOR_TIMING_SUBSYSTEM;
+import static org.jboss.as.server.controller.resources.DeploymentAttributes.PROCESSOR_TIMING_WALL_TIME;
+import static org.jboss.as.server.controller.resources.DeploymentAttributes.RUNTIME_NAME;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.ObjectListAttributeDefinition;
+import org.jboss.as.controller.ObjectTypeAttributeDefinition;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationStepHandler;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.SimpleAttributeDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.SimpleOperationDefinition;
+import org.jboss.as.controller.SimpleOperationDefinitionBuilder;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
+import org.jboss.as.controller.operations.validation.IntRangeValidator;
+import org.jboss.as.controller.registry.Resource;
+import org.jboss.as.server.controller.descriptions.ServerDescriptions;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+
+/**
+ * Aggregates the time spent by the deployment unit processors on all the running deployments, to find out which
+ * deployments and which processors slow down the boot or a deployment.
+ */
+public class DeploymentProcessorReportHandler implements OperationStepHandler {
+
+    public static final String OPERATION_NAME = "read-deployment-processor-report";
+    private static final String PROCESSOR_REPORT = "processor-report";
+
+    static final String DEPLOYMENTS = "deployments";
+    static final String PHASES = "phases";
+    static final String PROCESSORS = "processors";
+    static final String COUNT = "count";
+    static final String MAX_WALL_TIME = "max-wall-time";
+    static final String ELAPSED_TIME = "elapsed-time";
+    static final String QUEUE_TIME = "queue-time";
+    static final String LONGEST_DEPLOYMENT_TIME = "longest-deployment-time";
+
+    private static final SimpleAttributeDefinition MAX_ENTRIES = new SimpleAttributeDefinitionBuilder("max-entries", ModelType.INT, true)
+            .setValidator(new IntRangeValidator(1, true))
+            .setDefaultValue(new ModelNode(20))
+            .build();
+
+    private static final SimpleAttributeDefinition TOTAL_COUNT = new SimpleAttributeDefinitionBuilder(COUNT, ModelType.INT).build();
+    private static final SimpleAttributeDefinition TOTAL_MAX_WALL_TIME = new SimpleAttributeDefinitionBuilder(MAX_WALL_TIME, ModelType.LONG)
+            .setMeasurementUnit(MeasurementUnit.NANOSECONDS)
+            .build();
+    private static final SimpleAttributeDefinition TOTAL_ELAPSED_TIME = new SimpleAttributeDefinitionBuilder(ELAPSED_TIME, ModelType.LONG)
+            .setMeasurementUnit(MeasurementUnit.NANOSECONDS)
+            .build();
+    private static final SimpleAttributeDefinition DEPLOYMENT_ELAPSED_TIME = new SimpleAttributeDefinitionBuilder(ELAPSED_TIME, ModelType.LONG, true)
+            .setMeasurementUnit(MeasurementUnit.NANOSECONDS)
+            .build();
+    private static final SimpleAttributeDefinition DEPLOYMENT_QUEUE_TIME = new SimpleAttributeDefinitionBuilder(QUEUE_TIME, ModelType.LONG)
+            .setMeasurementUnit(MeasurementUnit.NANOSECONDS)
+            .build();
+    private static final SimpleAttributeDefinition TOTAL_LONGEST_DEPLOYMENT_TIME = new SimpleAttributeDefinitionBuilder(LONGEST_DEPLOYMENT_TIME, ModelType.LONG)
+            .setMeasurementUnit(MeasurementUnit.NANOSECONDS)
+            .build();
+
+    private static final AttributeDefinition DEPLOYMENT_TOTALS = new ObjectListAttributeDefinition.Builder(DEPLOYMENTS,
+            ObjectTypeAttributeDefinition.Builder.of(DEPLOYMENT, PROCESSOR_TIMING_DEPLOYMENT, DEPLOYMENT_ELAPSED_TIME, DEPLOYMENT_QUEUE_TIME,
+                    TOTAL_COUNT, PROCESSOR_TIMING_WALL_TIME, TOTAL_MAX_WALL_TIME, PROCESSOR_TIMING_CPU_TIME, PROCESSOR_TIMING_ALLOCATED_BYTES).build())
+            .build();
+    private static final AttributeDefinition PHASE_TOTALS = new ObjectListAttributeDefinition.Builder(PHASES,
+            ObjectTypeAttributeDefinition.Builder.of(PROCESSOR_TIMING_PHASE.getName(), PROCESSOR_TIMING_PHASE, TOTAL_COUNT, PROCESSOR_TIMING_WALL_TIME,
+                    TOTAL_MAX_WALL_TIME, PROCESSOR_TIMING_CPU_TIME, PROCESSOR_TIMING_ALLOCATED_BYTES).build())
+            .build();
+    private static final AttributeDefinition PROCESSOR_TOTALS = new ObjectListAttributeDefinition.Builder(PROCESSORS,
+            ObjectTypeAttributeDefinition.Builder.of(PROCESSOR_TIMING_PROCESSOR.getName(), PROCESSOR_TIMING_PHASE, PROCESSOR_TIMING_PROCESSOR,
+                    PROCESSOR_TIMING_SUBSYSTEM, TOTAL_COUNT, PROCESSOR_TIMING_WALL_TIME, TOTAL_MAX_WALL_TIME, PROCESSOR_TIMING_CPU_TIME,
+                    PROCESSOR_TIMING_ALLOCATED_BYTES).build())
+            .build();
+
+    public static final SimpleOperationDefinition DEFINITION = new SimpleOperationDefinitionBuilder(OPERATION_NAME, ServerDescriptions.getResourceDescriptionResolver(PROCESSOR_REPORT))
+            .setParameters(MAX_ENTRIES)
+            .setReplyType(ModelType.OBJECT)
+            .setReplyParameters(PROCESSOR_TIMING_WALL_TIME, TOTAL_ELAPSED_TIME, TOTAL_LONGEST_DEPLOYMENT_TIME, DEPLOYMENT_TOTALS, PHASE_TOTALS, PROCESSOR_TOTALS)
+            .setReadOnly()
+            .setRuntimeOnly()
+            .build();
+
+    public static final OperationStepHandler INSTANCE = new DeploymentProcessorReportHandler();
+
+    private DeploymentProcessorReportHandler() {
+    }
+
+    @Override
+    public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+        final int maxEntries = MAX_ENTRIES.resolveModelAttribute(context, operation).asInt();
+        final List<String> runtimeNames = new ArrayList<>();
+        for (Resource.ResourceEntry deployment : context.readResource(PathAddress.EMPTY_ADDRESS).getChildren(DEPLOYMENT)) {
+            final ModelNode model = deployment.getModel();
+            if (ENABLED.resolveModelAttribute(context, model).asBoolean()) {
+                runtimeNames.add(RUNTIME_NAME.resolveModelAttribute(context, model).asString());
+            }
+        }
+        context.addStep(new OperationStepHandler() {
+            @Override
+            public void execute(final OperationContext context, final ModelNode operation) throws OperationFailedException {
+                final Map<String, List<DeploymentUnit>> deployments = new LinkedHashMap<>();
+                for (String runtimeName : runtimeNames) {
+                    final List<DeploymentUnit> units = DeploymentProcessorTimingsHandler.getDeploymentUnits(context, runtimeName);
+                    if (!units.isEmpty()) {
+                        deployments.put(runtimeName, units);
+                    }
+                }
+                context.getResult().set(createReport(deployments, maxEntries));
+            }
+        }, OperationContext.Stage.RUNTIME);
+    }
+
+    /**
+     * Sums up the timings of the deployment units.
+     *
+     * @param deployments the units of each top level deployment, keyed by the deployment runtime name
+     * @param maxEntries the maximum number of deployments and of processors to report
+     * @return the totals of each deployment and each phase, and of the processors which took the longest, along with
+     *         the time elapsed from the start of the first deployment to the end of the last one and the time taken
+     *         by the longest deployment
+     */
+    static ModelNode createReport(final Map<String, List<DeploymentUnit>> deployments, final int maxEntries) {
+        final List<Total> deploymentTotals = new ArrayList<>();
+        final Map<Phase, Total> phaseTotals = new EnumMap<>(Phase.class);
+        final Map<String, Total> processorTotals = new HashMap<>();
+        long start = Long.MAX_VALUE;
+        long end = Long.MIN_VALUE;
+        long longestDeploymentTime = 0;
+        for (Map.Entry<String, List<DeploymentUnit>> deployment : deployments.entrySet()) {
+            final Total deploymentTotal = new Total();
+            deploymentTotal.fields.get(PROCESSOR_TIMING_DEPLOYMENT.getName()).set(deployment.getKey());
+            long deploymentStart = Long.MAX_VALUE;
+            long deploymentEnd = Long.MIN_VALUE;
+            long queueTime = 0;
+            for (DeploymentUnit unit : deployment.getValue()) {
+                final DeploymentProcessorTimings timings = unit.getAttachment(Attachments.PROCESSOR_TIMINGS);
+                if (timings == null) {
+                    continue;
+                }
+                if (timings.getStartTime() >= 0 && timings.getEndTime() >= 0) {
+                    deploymentStart = Math.min(deploymentStart, timings.getStartTime());
+                    deploymentEnd = Math.max(deploymentEnd, timings.getEndTime());
+                }
+                queueTime += timings.getQueueTime();
+                for (DeploymentProcessorTimings.Timing timing : timings.getTimings()) {
+                    deploymentTotal.add(timing);
+                    phaseTotals.computeIfAbsent(timing.getPhase(), phase -> {
+                        final Total total = new Total();
+                        total.fields.get(PROCESSOR_TIMING_PHASE.getName()).set(phase.name());
+                        return total;
+                    }).add(timing);
+                    processorTotals.computeIfAbsent(timing.getPhase() + ":" + timing.getProcessor(), key -> {
+                        final Total total = new Total();
+                        total.fields.get(PROCESSOR_TIMING_PHASE.getName()).set(timing.getPhase().name());
+                        total.fields.get(PROCESSOR_TIMING_PROCESSOR.getName()).set(timing.getProcessor());
+                        if (timing.getSubsystemName() != null) {
+                            total.fields.get(PROCESSOR_TIMING_SUBSYSTEM.getName()).set(timing.getSubsystemName());
+                        }
+                        return total;
+                    }).add(timing);
+                }
+            }
+            if (deploymentStart <= deploymentEnd) {
+                final long elapsedTime = deploymentEnd - deploymentStart;
+                deploymentTotal.fields.get(ELAPSED_TIME).set(elapsedTime);
+                start = Math.min(start, deploymentStart);
+                end = Math.max(end, deploymentEnd);
+                longestDeploymentTime = Math.max(longestDeploymentTime, elapsedTime);
+            }
+            deploymentTotal.fields.get(QUEUE_TIME).set(queueTime);
+            deploymentTotals.add(deploymentTotal);
+        }
+
+        final ModelNode report = new ModelNode();
+        long wallTime = 0;
+        for (Total total : deploymentTotals) {
+            wallTime += total.wallTime;
+        }
+        report.get(PROCESSOR_TIMING_WALL_TIME.getName()).set(wallTime);
+        // the deployments run concurrently, so the boot waits for the longest one
+        report.get(ELAPSED_TIME).set(start <= end ? end - start : 0);
+        report.get(LONGEST_DEPLOYMENT_TIME).set(longestDeploymentTime);
+        addSlowest(report.get(DEPLOYMENTS).setEmptyList(), deploymentTotals, maxEntries);
+        final ModelNode phases = report.get(PHASES).setEmptyList();
+        for (Total total : phaseTotals.values()) {
+            phases.add(total.toModelNode());
+        }
+        addSlowest(report.get(PROCESSORS).setEmptyList(), new ArrayList<>(processorTotals.values()), maxEntries);
+        return report;
+    }
+
+    private static void addSlowest(final ModelNode list, final List<Total> totals, final int maxEntries) {
+        totals.sort((a, b) -> Long.compare(b.wallTime, a.wallTime));
+        for (int i = 0; i < totals.size() && i < maxEntries; i++) {
+            list.add(totals.get(i).toModelNode());
+        }
+    }
+
+    private static final class Total {
+        // the fields identifying the total, or which are not sums of timings
+        private final ModelNode fields = new ModelNode();
+        private int count;
+        private long wallTime;
+        private long maxWallTime;
+        // -1 once a timing could not be measured
+        private long cpuTime;
+        private long allocatedBytes;
+
+        void add(final DeploymentProcessorTimings.Timing timing) {
+            count++;
+            wallTime += timing.getWallTime();
+            maxWallTime = Math.max(maxWallTime, timing.getWallTime());
+            cpuTime = cpuTime < 0 || timing.getCpuTime() < 0 ? -1 : cpuTime + timing.getCpuTime();
+            allocatedBytes = allocatedBytes < 0 || timing.getAllocatedBytes() < 0 ? -1 : allocatedBytes + timing.getAllocatedBytes();
+        }
+
+        ModelNode toModelNode() {
+            final ModelNode node = fields.clone();
+            node.get(COUNT).set(count);
+            node.get(PROCESSOR_TIMING_WALL_TIME.getName()).set(wallTime);
+            node.get(MAX_WALL_TIME).set(maxWallTime);
+            if (cpuTime >= 0) {
+                node.get(PROCESSOR_TIMING_CPU_TIME.getName()).set(cpuTime);
+            }
+            if (allocatedBytes >= 0) {
+                node.get(PROCESSOR_TIMING_ALLOCATED_BYTES.getName()).set(allocatedBytes);
+            }
+            return node;
+        }
+    }
+}
@@ -0,0 +1,246 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.deployment;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The time spent and the memory allocated by each deployment unit processor while deploying a deployment unit.
+ * <p>
+ * Wall time is always recorded. CPU time and allocated bytes are recorded when the JVM supports measuring them for
+ * the current thread, and are {@code -1} otherwise.
+ */
+public final class DeploymentProcessorTimings {
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+    private static final boolean CPU_TIME_SUPPORTED;
+    // (long threadId)long, bound to the platform bean, or null if the JVM cannot measure allocations
+    private static final MethodHandle ALLOCATED_BYTES;
+
+    static {
+        boolean cpuTimeSupported;
+        try {
+            cpuTimeSupported = THREADS.isCurrentThreadCpuTimeSupported() && THREADS.isThreadCpuTimeEnabled();
+        } catch (UnsupportedOperationException | SecurityException e) {
+            cpuTimeSupported = false;
+        }
+        CPU_TIME_SUPPORTED = cpuTimeSupported;
+        MethodHandle allocatedBytes = null;
+        try {
+            // not visible to this module, so load it from the boot class loader
+            final Class<?> type = Class.forName("com.sun.management.ThreadMXBean", false, null);
+            if (type.isInstance(THREADS)) {
+                final MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+                final MethodHandle supported = lookup.findVirtual(type, "isThreadAllocatedMemoryEnabled", MethodType.methodType(boolean.class));
+                if ((boolean) supported.invoke(THREADS)) {
+                    allocatedBytes = lookup.findVirtual(type, "getThreadAllocatedBytes", MethodType.methodType(long.class, long.class)).bindTo(THREADS);
+                }
+            }
+        } catch (Throwable ignored) {
+            // not a HotSpot based JVM
+        }
+        ALLOCATED_BYTES = allocatedBytes;
+    }
+
+    // guarded by this
+    private final List<Timing> timings = new ArrayList<>();
+    private long startTime = -1;
+    private long endTime = -1;
+    private long queueTime;
+
+    /**
+     * Starts measuring a processor on the current thread.
+     *
+     * @return the probe to {@link Probe#stop(Phase, RegisteredDeploymentUnitProcessor) stop} once the processor returns
+     */
+    public Probe start() {
+        return new Probe();
+    }
+
+    /**
+     * @return a snapshot of the recorded timings, in the order the processors ran
+     */
+    public synchronized List<Timing> getTimings() {
+        return new ArrayList<>(timings);
+    }
+
+    /**
+     * Records that a phase starts running its processors.
+     *
+     * @param queueTime the time in nanoseconds the phase waited for a thread to run on
+     */
+    synchronized void phaseStarted(final long queueTime) {
+        if (startTime < 0) {
+            startTime = System.nanoTime();
+        }
+        this.queueTime += queueTime;
+    }
+
+    /**
+     * Records that a phase is done running its processors.
+     */
+    synchronized void phaseCompleted() {
+        endTime = System.nanoTime();
+    }
+
+    /**
+     * @return the {@link System#nanoTime()} the first phase started at, or {@code -1} if no phase has run yet
+     */
+    public synchronized long getStartTime() {
+        return startTime;
+    }
+
+    /**
+     * @return the {@link System#nanoTime()} the last phase completed at, or {@code -1} if no phase has completed yet
+     */
+    public synchronized long getEndTime() {
+        return endTime;
+    }
+
+    /**
+     * @return the time in nanoseconds the phases waited for a thread of the deployment executor
+     */
+    public synchronized long getQueueTime() {
+        return queueTime;
+    }
+
+    private synchronized void add(final Timing timing) {
+        timings.add(timing);
+    }
+
+    /**
+     * Gets the timings attached to a deployment unit, attaching new ones if there are none yet. The phases of a
+     * deployment unit run one after the other, so this is not called concurrently for the same unit.
+     */
+    static DeploymentProcessorTimings of(final DeploymentUnit deploymentUnit) {
+        DeploymentProcessorTimings timings = deploymentUnit.getAttachment(Attachments.PROCESSOR_TIMINGS);
+        if (timings == null) {
+            timings = new DeploymentProcessorTimings();
+            deploymentUnit.putAttachment(Attachments.PROCESSOR_TIMINGS, timings);
+        }
+        return timings;
+    }
+
+    private static long cpuTime() {
+        return CPU_TIME_SUPPORTED ? THREADS.getCurrentThreadCpuTime() : -1;
+    }
+
+    private static long allocatedBytes() {
+        if (ALLOCATED_BYTES != null) {
+            try {
+                return (long) ALLOCATED_BYTES.invokeExact(Thread.currentThread().getId());
+            } catch (Throwable ignored) {
+                // fall through
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * A measurement in progress.
+     */
+    public final class Probe {
+        private final long startWallTime = System.nanoTime();
+        private final long startCpuTime = cpuTime();
+        private final long startAllocatedBytes = allocatedBytes();
+
+        private Probe() {
+        }
+
+        /**
+         * Stops measuring and records the timing of the processor.
+         */
+        public void stop(final Phase phase, final RegisteredDeploymentUnitProcessor processor) {
+            final long wallTime = System.nanoTime() - startWallTime;
+            final long cpuTime = startCpuTime < 0 ? -1 : cpuTime() - startCpuTime;
+            final long allocatedBytes = startAllocatedBytes < 0 ? -1 : allocatedBytes() - startAllocatedBytes;
+            add(new Timing(phase, processor.getProcessor().getClass().getName(), processor.getSubsystemName(), wallTime, cpuTime, allocatedBytes));
+        }
+    }
+
+    /**
+     * The time spent by a processor in a phase.
+     */
+    public static final class Timing {
+        private final Phase phase;
+        private final String processor;
+        private final String subsystemName;
+        private final long wallTime;
+        private final long cpuTime;
+        private final long allocatedBytes;
+
+        Timing(final Phase phase, final String processor, final String subsystemName, final long wallTime, final long cpuTime, final long allocatedBytes) {
+            this.phase = phase;
+            this.processor = processor;
+            this.subsystemName = subsystemName;
+            this.wallTime = wallTime;
+            this.cpuTime = cpuTime;
+            this.allocatedBytes = allocatedBytes;
+        }
+
+        public Phase getPhase() {
+            return phase;
+        }
+
+        /**
+         * @return the class name of the processor
+         */
+        public String getProcessor() {
+            return processor;
+        }
+
+        /**
+         * @return the name of the subsystem which registered the processor, or {@code null}
+         */
+        public String getSubsystemName() {
+            return subsystemName;
+        }
+
+        /**
+         * @return the elapsed time in nanoseconds
+         */
+        public long getWallTime() {
+            return wallTime;
+        }
+
+        /**
+         * @return the CPU time in nanoseconds, or {@code -1} if it could not be measured
+         */
+        public long getCpuTime() {
+            return cpuTime;
+        }
+
+        /**
+         * @return the number of bytes allocated on the heap, or {@code -1} if it could not be measured
+         */
+        public long getAllocatedBytes() {
+            return allocatedBytes;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.deployment;
+
+import static org.jboss.as.server.controller.resources.DeploymentAttributes.ENABLED;
+import static org.jboss.as.server.controller.resources.DeploymentAttributes.PROCESSOR_TIMING_ALLOCATED_BYTES;
+import static org.jboss.as.server.controller.resources.DeploymentAttributes.PROCESSOR_TIMING_CPU_TIME;
+import static org.jboss.as.server.controller.resources.DeploymentAttributes.PROCESSOR_TIMING_DEPLOYMENT;
+import static org.jboss.as.server.controller.resources.DeploymentAttributes.PROCESSOR_TIMING_PHASE;
+import static org.jboss.as.server.controller.resources.DeploymentAttributes.PROCESSOR_TIMING_PROCESSOR;
+import static org.jboss.as.server.controller.resources.DeploymentAttributes.PROCESSOR_TIMING_SUBSYSTEM;
+import static org.jboss.as.server.controller.resources.DeploymentAttributes.PROCESSOR_TIMING_WALL_TIME;
+import static org.jboss.as.server.controller.resources.DeploymentAttributes.RUNTIME_NAME;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationStepHandler;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.ServiceController;
+
+/**
+ * Reads the time spent by each deployment unit processor on a deployment and its subdeployments.
+ */
+public class DeploymentProcessorTimingsHandler implements OperationStepHandler {
+
+    public static final OperationStepHandler INSTANCE = new DeploymentProcessorTimingsHandler();
+
+    private DeploymentProcessorTimingsHandler() {
+    }
+
+    @Override
+    public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+        final ModelNode deployment = context.readResource(PathAddress.EMPTY_ADDRESS).getModel();
+        if (!ENABLED.resolveModelAttribute(context, deployment).asBoolean()) {
+            return;
+        }
+        final String runtimeName = RUNTIME_NAME.resolveModelAttribute(context, deployment).asString();
+        context.addStep(new OperationStepHandler() {
+            @Override
+            public void execute(final OperationContext context, final ModelNode operation) throws OperationFailedException {
+                final List<DeploymentUnit> units = getDeploymentUnits(context, runtimeName);
+                if (units.isEmpty()) {
+                    return;
+                }
+                final ModelNode result = context.getResult().setEmptyList();
+                for (DeploymentUnit unit : units) {
+                    final DeploymentProcessorTimings timings = unit.getAttachment(Attachments.PROCESSOR_TIMINGS);
+                    if (timings != null) {
+                        for (DeploymentProcessorTimings.Timing timing : timings.getTimings()) {
+                            result.add(toModelNode(unit.getName(), timing));
+                        }
+                    }
+                }
+            }
+        }, OperationContext.Stage.RUNTIME);
+    }
+
+    /**
+     * Gets the unit of a running top level deployment followed by the units of its subdeployments.
+     *
+     * @return the deployment units, or an empty list if the deployment is not running
+     */
+    static List<DeploymentUnit> getDeploymentUnits(final OperationContext context, final String runtimeName) {
+        final ServiceController<?> controller = context.getServiceRegistry(false).getService(Services.deploymentUnitName(runtimeName));
+        if (controller == null) {
+            return Collections.emptyList();
+        }
+        final DeploymentUnit unit = ((AbstractDeploymentUnitService) controller.getService()).getValue();
+        if (unit == null) {
+            return Collections.emptyList();
+        }
+        final List<DeploymentUnit> units = new ArrayList<>();
+        units.add(unit);
+        units.addAll(unit.getAttachmentList(Attachments.SUB_DEPLOYMENTS));
+        return units;
+    }
+
+    static ModelNode toModelNode(final String deploymentName, final DeploymentProcessorTimings.Timing timing) {
+        final ModelNode node = new ModelNode();
+        node.get(PROCESSOR_TIMING_DEPLOYMENT.getName()).set(deploymentName);
+        node.get(PROCESSOR_TIMING_PHASE.getName()).set(timing.getPhase().name());
+        node.get(PROCESSOR_TIMING_PROCESSOR.getName()).set(timing.getProcessor());
+        if (timing.getSubsystemName() != null) {
+            node.get(PROCESSOR_TIMING_SUBSYSTEM.getName()).set(timing.getSubsystemName());
+        }
+        node.get(PROCESSOR_TIMING_WALL_TIME.getName()).set(timing.getWallTime());
+        if (timing.getCpuTime() >= 0) {
+            node.get(PROCESSOR_TIMING_CPU_TIME.getName()).set(timing.getCpuTime());
+        }
+        if (timing.getAllocatedBytes() >= 0) {
+            node.get(PROCESSOR_TIMING_ALLOCATED_BYTES.getName()).set(timing.getAllocatedBytes());
+        }
+        return node;
+    }
+}
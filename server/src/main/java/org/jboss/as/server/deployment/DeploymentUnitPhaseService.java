@@ -23,10 +23,14 @@
 package org.jboss.as.server.deployment;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.jboss.as.server.logging.ServerLogger;
@@ -53,7 +57,15 @@ import org.jboss.msc.value.InjectedValue;
  */
 final class DeploymentUnitPhaseService<T> implements Service<T> {
 
+    /**
+     * The phases which run on the {@link Services#JBOSS_DEPLOYMENT_EXECUTOR deployment executor}. Their processors
+     * mostly parse and index the deployment content, so they are busy on the CPU and safe to run off the service
+     * container threads.
+     */
+    static final Set<Phase> CONCURRENT_PHASES = Collections.unmodifiableSet(EnumSet.of(Phase.STRUCTURE, Phase.PARSE, Phase.DEPENDENCIES));
+
     private final InjectedValue<DeployerChains> deployerChainsInjector = new InjectedValue<DeployerChains>();
+    private final InjectedValue<ExecutorService> executorInjector = new InjectedValue<ExecutorService>();
     private final DeploymentUnit deploymentUnit;
     private final Phase phase;
     private final AttachmentKey<T> valueKey;
@@ -79,7 +91,6 @@ final class DeploymentUnitPhaseService<T> implements Service<T> {
         return create(deploymentUnit, phase, phase.getPhaseKey());
     }
 
-    @SuppressWarnings("unchecked")
     public synchronized void start(final StartContext context) throws StartException {
         if(runOnce.get()) {
             ServerLogger.DEPLOYMENT_LOGGER.deploymentRestartDetected(deploymentUnit.getName());
@@ -110,6 +121,37 @@ final class DeploymentUnitPhaseService<T> implements Service<T> {
             return;
         }
         runOnce.set(true);
+        final ExecutorService executor = executorInjector.getOptionalValue();
+        if (executor != null && CONCURRENT_PHASES.contains(phase)) {
+            final long queued = System.nanoTime();
+            final Runnable task = () -> {
+                try {
+                    deploy(context, System.nanoTime() - queued);
+                    context.complete();
+                } catch (StartException e) {
+                    context.failed(e);
+                } catch (Throwable t) {
+                    context.failed(ServerLogger.ROOT_LOGGER.deploymentPhaseFailed(phase, deploymentUnit, t));
+                }
+            };
+            context.asynchronous();
+            try {
+                executor.execute(task);
+            } catch (RejectedExecutionException e) {
+                task.run();
+            }
+        } else {
+            deploy(context, 0);
+        }
+    }
+
+    /**
+     * Runs the processors of this phase and installs the service of the next phase.
+     *
+     * @param queueTime the time in nanoseconds this phase waited for a thread of the deployment executor
+     */
+    @SuppressWarnings("unchecked")
+    private synchronized void deploy(final StartContext context, final long queueTime) throws StartException {
         final DeployerChains chains = deployerChainsInjector.getValue();
         final DeploymentUnit deploymentUnit = this.deploymentUnit;
         final List<RegisteredDeploymentUnitProcessor> list = chains.getChain(phase);
@@ -137,19 +179,12 @@ final class DeploymentUnitPhaseService<T> implements Service<T> {
             }
         }
 
-        while (iterator.hasNext()) {
-            final RegisteredDeploymentUnitProcessor processor = iterator.next();
-            try {
-                if (shouldRun(deploymentUnit, processor)) {
-                    processor.getProcessor().deploy(processorContext);
-                }
-            } catch (Throwable e) {
-                while (iterator.hasPrevious()) {
-                    final RegisteredDeploymentUnitProcessor prev = iterator.previous();
-                    safeUndeploy(deploymentUnit, phase, prev);
-                }
-                throw ServerLogger.ROOT_LOGGER.deploymentPhaseFailed(phase, deploymentUnit, e);
-            }
+        final DeploymentProcessorTimings timings = DeploymentProcessorTimings.of(deploymentUnit);
+        timings.phaseStarted(queueTime);
+        try {
+            runProcessors(processorContext, iterator, timings);
+        } finally {
+            timings.phaseCompleted();
         }
 
         final Phase nextPhase = phase.next();
@@ -163,6 +198,7 @@ final class DeploymentUnitPhaseService<T> implements Service<T> {
             }
 
             phaseServiceBuilder.addDependency(Services.JBOSS_DEPLOYMENT_CHAINS, DeployerChains.class, phaseService.getDeployerChainsInjector());
+            phaseServiceBuilder.addDependency(Services.JBOSS_DEPLOYMENT_EXECUTOR, ExecutorService.class, phaseService.getExecutorInjector());
             phaseServiceBuilder.addDependency(context.getController().getName());
 
             final List<ServiceName> nextPhaseDeps = processorContext.getAttachment(Attachments.NEXT_PHASE_DEPS);
@@ -194,6 +230,29 @@ final class DeploymentUnitPhaseService<T> implements Service<T> {
         }
     }
 
+    private void runProcessors(final DeploymentPhaseContext processorContext, final ListIterator<RegisteredDeploymentUnitProcessor> iterator,
+                               final DeploymentProcessorTimings timings) throws StartException {
+        while (iterator.hasNext()) {
+            final RegisteredDeploymentUnitProcessor processor = iterator.next();
+            try {
+                if (shouldRun(deploymentUnit, processor)) {
+                    final DeploymentProcessorTimings.Probe probe = timings.start();
+                    try {
+                        processor.getProcessor().deploy(processorContext);
+                    } finally {
+                        probe.stop(phase, processor);
+                    }
+                }
+            } catch (Throwable e) {
+                while (iterator.hasPrevious()) {
+                    final RegisteredDeploymentUnitProcessor prev = iterator.previous();
+                    safeUndeploy(deploymentUnit, phase, prev);
+                }
+                throw ServerLogger.ROOT_LOGGER.deploymentPhaseFailed(phase, deploymentUnit, e);
+            }
+        }
+    }
+
     public synchronized void stop(final StopContext context) {
         final DeploymentUnit deploymentUnitContext = deploymentUnit;
         final DeployerChains chains = deployerChainsInjector.getValue();
@@ -223,6 +282,10 @@ final class DeploymentUnitPhaseService<T> implements Service<T> {
         return deployerChainsInjector;
     }
 
+    InjectedValue<ExecutorService> getExecutorInjector() {
+        return executorInjector;
+    }
+
     private static boolean shouldRun(final DeploymentUnit unit, final RegisteredDeploymentUnitProcessor deployer) {
         Set<String> shouldNotRun = unit.getAttachment(Attachments.EXCLUDED_SUBSYSTEMS);
         if (shouldNotRun == null) {
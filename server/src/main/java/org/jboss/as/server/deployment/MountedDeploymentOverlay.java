@@ -1,5 +1,6 @@
 package org.jboss.as.server.deployment;
 
+import org.jboss.as.server.deployment.module.MappedZipFileSystem;
 import org.jboss.vfs.TempFileProvider;
 import org.jboss.vfs.VFS;
 import org.jboss.vfs.VirtualFile;
@@ -31,7 +32,7 @@ public class MountedDeploymentOverlay implements Closeable {
         if(expanded) {
             closeable = VFS.mountZipExpanded(realFile, mountPoint, tempFileProvider);
         } else {
-            closeable = VFS.mountZip(realFile, mountPoint, tempFileProvider);
+            closeable = MappedZipFileSystem.mountZip(realFile, mountPoint, tempFileProvider);
         }
     }
 
@@ -47,6 +47,10 @@ public final class Services {
      * The service name of the deployment chains service.
      */
     public static final ServiceName JBOSS_DEPLOYMENT_CHAINS = JBOSS_DEPLOYMENT.append("chains");
+    /**
+     * The service name of the executor running the concurrent deployment phases.
+     */
+    public static final ServiceName JBOSS_DEPLOYMENT_EXECUTOR = JBOSS_DEPLOYMENT.append("executor");
     /**
      * The service name of the deployment extension index service.
      */
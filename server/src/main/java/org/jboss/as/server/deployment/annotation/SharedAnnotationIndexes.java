@@ -0,0 +1,158 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.deployment.annotation;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+import org.jboss.as.controller.HashUtil;
+import org.jboss.jandex.Index;
+import org.jboss.vfs.VirtualFile;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * Shares the annotation indexes of resource roots with identical classes, such as the same library bundled in several
+ * deployments, so that such a library is only indexed once and only one copy of its index is held in memory.
+ * <p>
+ * Only resource roots mounted from an archive are shared. They are identified by a SHA-1 digest of the archive and of
+ * the class files indexed from it. An index is kept as long as a deployment holds on to it, which is until the end of
+ * the deployment. This is disabled by default, as computing the digest reads each archive before it is indexed.
+ */
+final class SharedAnnotationIndexes {
+
+    static final String ENABLED_PROPERTY = "org.jboss.as.server.deployment.share-annotation-indexes";
+    static final boolean ENABLED = Boolean.parseBoolean(WildFlySecurityManager.getPropertyPrivileged(ENABLED_PROPERTY, "false"));
+
+    private static final SharedAnnotationIndexes INSTANCE = new SharedAnnotationIndexes();
+
+    private final ConcurrentMap<String, IndexReference> indexes = new ConcurrentHashMap<>();
+    private final ReferenceQueue<Index> queue = new ReferenceQueue<>();
+
+    static SharedAnnotationIndexes getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Gets the index of classes with the given digest, creating it if no deployment holds it.
+     *
+     * @param digest the digest of the classes, see {@link #digest(File, VirtualFile, List)}
+     * @param indexer creates the index when none is shared
+     * @return the shared index
+     */
+    Index getIndex(final String digest, final Supplier<Index> indexer) {
+        expunge();
+        final IndexReference existing = indexes.get(digest);
+        Index index = existing == null ? null : existing.get();
+        if (index != null) {
+            return index;
+        }
+        // concurrent deployments may both index the same classes, the first one wins
+        index = indexer.get();
+        final IndexReference reference = new IndexReference(digest, index, queue);
+        while (true) {
+            final IndexReference current = indexes.putIfAbsent(digest, reference);
+            if (current == null) {
+                return index;
+            }
+            final Index shared = current.get();
+            if (shared != null) {
+                return shared;
+            }
+            if (indexes.replace(digest, current, reference)) {
+                return index;
+            }
+        }
+    }
+
+    int size() {
+        expunge();
+        return indexes.size();
+    }
+
+    private void expunge() {
+        IndexReference reference;
+        while ((reference = (IndexReference) queue.poll()) != null) {
+            indexes.remove(reference.digest, reference);
+        }
+    }
+
+    /**
+     * Computes the digest of an archive mounted as a resource root and of the class files indexed from it. The archive
+     * is read once, sequentially, while only the paths, sizes and timestamps of the class files are added to the
+     * digest, so that classes which are ignored or replaced by a deployment overlay still give a different digest.
+     *
+     * @param archive the archive mounted as the resource root
+     * @param root the resource root
+     * @param classFiles the class files of the resource root
+     * @return the digest as a hexadecimal string
+     */
+    static String digest(final File archive, final VirtualFile root, final List<VirtualFile> classFiles) throws IOException {
+        final MessageDigest messageDigest;
+        try {
+            messageDigest = MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        final byte[] buffer = new byte[8192];
+        try (InputStream in = new FileInputStream(archive)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                messageDigest.update(buffer, 0, read);
+            }
+        }
+        final List<VirtualFile> sorted = new ArrayList<>(classFiles);
+        Collections.sort(sorted, (a, b) -> a.getPathNameRelativeTo(root).compareTo(b.getPathNameRelativeTo(root)));
+        final ByteBuffer attributes = ByteBuffer.allocate(2 * Long.BYTES);
+        for (VirtualFile classFile : sorted) {
+            messageDigest.update(classFile.getPathNameRelativeTo(root).getBytes(StandardCharsets.UTF_8));
+            messageDigest.update((byte) 0);
+            attributes.clear();
+            attributes.putLong(classFile.getSize()).putLong(classFile.getLastModified());
+            messageDigest.update(attributes.array());
+        }
+        return HashUtil.bytesToHexString(messageDigest.digest());
+    }
+
+    private static final class IndexReference extends WeakReference<Index> {
+        private final String digest;
+
+        IndexReference(final String digest, final Index index, final ReferenceQueue<Index> queue) {
+            super(index, queue);
+            this.digest = digest;
+        }
+    }
+}
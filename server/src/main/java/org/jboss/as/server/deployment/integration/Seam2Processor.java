@@ -35,6 +35,7 @@ import org.jboss.as.server.deployment.DeploymentPhaseContext;
 import org.jboss.as.server.deployment.DeploymentUnit;
 import org.jboss.as.server.deployment.DeploymentUnitProcessingException;
 import org.jboss.as.server.deployment.DeploymentUnitProcessor;
+import org.jboss.as.server.deployment.module.MappedZipFileSystem;
 import org.jboss.as.server.deployment.module.ModuleDependency;
 import org.jboss.as.server.deployment.module.ModuleSpecification;
 import org.jboss.as.server.deployment.module.MountHandle;
@@ -101,7 +102,7 @@ public class Seam2Processor implements DeploymentUnitProcessor {
 
                 File file = new File(url.toURI());
                 VirtualFile vf = VFS.getChild(file.toURI());
-                final Closeable mountHandle = VFS.mountZip(file, vf, TempFileProviderService.provider());
+                final Closeable mountHandle = MappedZipFileSystem.mountZip(file, vf, TempFileProviderService.provider());
                 Service<Closeable> mountHandleService = new Service<Closeable>() {
                     public void start(StartContext startContext) throws StartException {
                     }
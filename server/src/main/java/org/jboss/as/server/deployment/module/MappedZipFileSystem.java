@@ -0,0 +1,773 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.deployment.module;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.security.AccessController;
+import java.security.CodeSigner;
+import java.security.PrivilegedAction;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+
+import org.jboss.as.server.logging.ServerLogger;
+import org.jboss.vfs.TempDir;
+import org.jboss.vfs.TempFileProvider;
+import org.jboss.vfs.VFS;
+import org.jboss.vfs.VFSUtils;
+import org.jboss.vfs.VirtualFile;
+import org.jboss.vfs.spi.FileSystem;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * A read-only file system serving the entries of a zip archive from a memory mapping of the archive, instead of
+ * copying the archive and extracting the entries to be accessed as files to temporary directories.
+ * <p>
+ * The central directory of the archive is read once when it is mounted. Stored entries are served as slices of the
+ * mapping and deflated entries are inflated from it as they are read. A nested archive stored uncompressed in an
+ * archive mounted by this file system is in turn mounted in place, as a slice of the enclosing mapping; a compressed
+ * one has to be inflated, which is done once to a temporary file that is then mapped. Entries are only extracted to
+ * a temporary directory if their physical file is asked for.
+ * <p>
+ * A mapping is unmapped once the archive is unmounted and the streams opened on its entries and the nested archives
+ * mounted from it are closed, so the archive file is not held open after it is undeployed. Archives are not mapped by
+ * a JVM which does not allow mappings to be unmapped.
+ * <p>
+ * This is disabled by default. Signed archives and archives using zip64 extensions are always mounted by
+ * {@link VFS#mountZip(VirtualFile, VirtualFile, TempFileProvider)}.
+ */
+public final class MappedZipFileSystem implements FileSystem {
+
+    public static final String ENABLED_PROPERTY = "org.jboss.as.server.deployment.mapped-zip";
+    static final boolean ENABLED = Boolean.parseBoolean(WildFlySecurityManager.getPropertyPrivileged(ENABLED_PROPERTY, "false"));
+
+    private static final int LOCAL_HEADER_SIGNATURE = 0x04034b50;
+    private static final int CENTRAL_HEADER_SIGNATURE = 0x02014b50;
+    private static final int END_SIGNATURE = 0x06054b50;
+    private static final int LOCAL_HEADER_SIZE = 30;
+    private static final int CENTRAL_HEADER_SIZE = 46;
+    private static final int END_SIZE = 22;
+    private static final long ZIP64_MAGIC = 0xffffffffL;
+
+    // unmaps a mapping, or null if this JVM does not allow it
+    private static final Consumer<ByteBuffer> UNMAPPER = AccessController.doPrivileged((PrivilegedAction<Consumer<ByteBuffer>>) MappedZipFileSystem::getUnmapper);
+
+    // the mounted file systems by the handle which unmounts them, to find the archive a nested archive is served from
+    private static final ConcurrentMap<Closeable, MappedZipFileSystem> MOUNTED = new ConcurrentHashMap<>();
+
+    private final MappedArchive mapped;
+    private final ByteBuffer archive;
+    private final File archiveFile;
+    private final VirtualFile mountPoint;
+    private final TempFileProvider tempFileProvider;
+    private final Node root;
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private volatile TempDir contentsDir;
+
+    private MappedZipFileSystem(final MappedArchive mapped, final ByteBuffer archive, final File archiveFile, final long lastModified,
+                                final VirtualFile mountPoint, final TempFileProvider tempFileProvider) throws ZipException {
+        this.mapped = mapped;
+        this.archive = archive.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        this.archiveFile = archiveFile;
+        this.mountPoint = mountPoint;
+        this.tempFileProvider = tempFileProvider;
+        this.root = readCentralDirectory(lastModified);
+    }
+
+    /**
+     * Mounts a zip archive, through this file system if it is enabled and can serve the archive, or through
+     * {@link VFS#mountZip(VirtualFile, VirtualFile, TempFileProvider)} otherwise.
+     *
+     * @param zipFile the zip archive to mount
+     * @param mountPoint the point at which the archive is mounted
+     * @param tempFileProvider the provider of the temporary files needed to serve the archive
+     * @return the handle which unmounts the archive
+     * @throws IOException if the archive cannot be mounted
+     */
+    public static Closeable mountZip(final VirtualFile zipFile, final VirtualFile mountPoint, final TempFileProvider tempFileProvider) throws IOException {
+        if (ENABLED) {
+            final Closeable handle = mountMapped(zipFile, mountPoint, tempFileProvider);
+            if (handle != null) {
+                return handle;
+            }
+        }
+        return VFS.mountZip(zipFile, mountPoint, tempFileProvider);
+    }
+
+    /**
+     * Mounts a zip archive, through this file system if it is enabled and can serve the archive, or through
+     * {@link VFS#mountZip(File, VirtualFile, TempFileProvider)} otherwise.
+     *
+     * @param zipFile the zip archive to mount
+     * @param mountPoint the point at which the archive is mounted
+     * @param tempFileProvider the provider of the temporary files needed to serve the archive
+     * @return the handle which unmounts the archive
+     * @throws IOException if the archive cannot be mounted
+     */
+    public static Closeable mountZip(final File zipFile, final VirtualFile mountPoint, final TempFileProvider tempFileProvider) throws IOException {
+        if (ENABLED) {
+            final Closeable handle = mountMapped(zipFile, mountPoint, tempFileProvider);
+            if (handle != null) {
+                return handle;
+            }
+        }
+        return VFS.mountZip(zipFile, mountPoint, tempFileProvider);
+    }
+
+    /**
+     * @return the handle which unmounts the archive, or {@code null} if it cannot be served by this file system
+     */
+    static Closeable mountMapped(final VirtualFile zipFile, final VirtualFile mountPoint, final TempFileProvider tempFileProvider) throws IOException {
+        if (UNMAPPER == null) {
+            return null;
+        }
+        MappedArchive mapped = null;
+        Closeable handle = null;
+        try {
+            final ByteBuffer archive;
+            File archiveFile = null;
+            final Node entry = getEnclosingEntry(zipFile);
+            if (entry != null && entry.method == ZipEntry.STORED) {
+                mapped = entry.getFileSystem().mapped.retainNested();
+                archive = entry.getData();
+            } else if (entry != null) {
+                final TempDir archiveDir = tempFileProvider.createTempDir(zipFile.getName());
+                final File inflated = archiveDir.getFile(zipFile.getName());
+                try (InputStream in = zipFile.openStream()) {
+                    Files.copy(in, inflated.toPath());
+                    mapped = new MappedArchive(map(inflated), archiveDir);
+                } finally {
+                    if (mapped == null) {
+                        VFSUtils.safeClose(archiveDir);
+                    }
+                }
+                archive = mapped.mapping;
+            } else {
+                archiveFile = zipFile.getPhysicalFile();
+                mapped = new MappedArchive(map(archiveFile), null);
+                archive = mapped.mapping;
+            }
+            handle = mount(new MappedZipFileSystem(mapped, archive, archiveFile, zipFile.getLastModified(), mountPoint, tempFileProvider));
+            return handle;
+        } catch (ZipException e) {
+            ServerLogger.DEPLOYMENT_LOGGER.debugf(e, "Cannot map %s, mounting it as a zip file", zipFile);
+            return null;
+        } finally {
+            if (handle == null && mapped != null) {
+                // the archive is not served by this file system
+                mapped.release();
+            }
+        }
+    }
+
+    /**
+     * @return the handle which unmounts the archive, or {@code null} if it cannot be served by this file system
+     */
+    static Closeable mountMapped(final File zipFile, final VirtualFile mountPoint, final TempFileProvider tempFileProvider) throws IOException {
+        if (UNMAPPER == null) {
+            return null;
+        }
+        MappedArchive mapped = null;
+        Closeable handle = null;
+        try {
+            mapped = new MappedArchive(map(zipFile), null);
+            handle = mount(new MappedZipFileSystem(mapped, mapped.mapping, zipFile, zipFile.lastModified(), mountPoint, tempFileProvider));
+            return handle;
+        } catch (ZipException e) {
+            ServerLogger.DEPLOYMENT_LOGGER.debugf(e, "Cannot map %s, mounting it as a zip file", zipFile);
+            return null;
+        } finally {
+            if (handle == null && mapped != null) {
+                // the archive is not served by this file system
+                mapped.release();
+            }
+        }
+    }
+
+    /**
+     * @return the handle which unmounts the file system, or {@code null} if it cannot serve the archive
+     */
+    private static Closeable mount(final MappedZipFileSystem fileSystem) throws IOException {
+        if (fileSystem.isSigned()) {
+            return null;
+        }
+        final MappedMountHandle handle = new MappedMountHandle(fileSystem, VFS.mount(fileSystem.mountPoint, fileSystem));
+        MOUNTED.put(handle, fileSystem);
+        return handle;
+    }
+
+    /**
+     * @return the entry of a mapped archive which is the given file, or {@code null} if it is not served from one
+     */
+    private static Node getEnclosingEntry(final VirtualFile file) {
+        for (VirtualFile parent = file.getParent(); parent != null; parent = parent.getParent()) {
+            for (MappedZipFileSystem fileSystem : MOUNTED.values()) {
+                if (fileSystem.mountPoint.equals(parent)) {
+                    // the file may be served by another file system mounted below this one
+                    final Node node = fileSystem.getNode(parent, file);
+                    return node == null || node.isDirectory() ? null : node;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static ByteBuffer map(final File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new ZipException("Archive too large to be mapped");
+            }
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    private static Consumer<ByteBuffer> getUnmapper() {
+        try {
+            // Java 9 and later
+            final Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            final Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+            final Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            final Object unsafe = theUnsafe.get(null);
+            return buffer -> invoke(invokeCleaner, unsafe, buffer);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // Java 8
+        }
+        try {
+            final Method cleaner = Class.forName("sun.nio.ch.DirectBuffer").getMethod("cleaner");
+            final Method clean = Class.forName("sun.misc.Cleaner").getMethod("clean");
+            return buffer -> {
+                final Object bufferCleaner = invoke(cleaner, buffer);
+                if (bufferCleaner != null) {
+                    invoke(clean, bufferCleaner);
+                }
+            };
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            ServerLogger.DEPLOYMENT_LOGGER.debugf(e, "Mapped files cannot be unmapped, zip archives will not be mapped");
+            return null;
+        }
+    }
+
+    private static Object invoke(final Method method, final Object target, final Object... args) {
+        try {
+            return method.invoke(target, args);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            // the mapping is left to be unmapped once it is garbage collected
+            ServerLogger.DEPLOYMENT_LOGGER.debugf(e, "Failed to unmap a zip archive");
+            return null;
+        }
+    }
+
+    private Node readCentralDirectory(final long lastModified) throws ZipException {
+        final int end = findEnd();
+        final int count = archive.getShort(end + 10) & 0xffff;
+        final long offset = archive.getInt(end + 16) & 0xffffffffL;
+        if (count == 0xffff || offset == ZIP64_MAGIC) {
+            throw new ZipException("Zip64 archives are not supported");
+        }
+        final Node root = new Node(lastModified);
+        int position = (int) offset;
+        for (int i = 0; i < count; i++) {
+            if (position + CENTRAL_HEADER_SIZE > end || archive.getInt(position) != CENTRAL_HEADER_SIGNATURE) {
+                throw new ZipException("Invalid central directory header");
+            }
+            final int nameLength = archive.getShort(position + 28) & 0xffff;
+            final int extraLength = archive.getShort(position + 30) & 0xffff;
+            final int commentLength = archive.getShort(position + 32) & 0xffff;
+            final byte[] name = new byte[nameLength];
+            final ByteBuffer nameBuffer = archive.duplicate();
+            nameBuffer.position(position + CENTRAL_HEADER_SIZE);
+            nameBuffer.get(name);
+            root.add(new String(name, StandardCharsets.UTF_8), position);
+            position += CENTRAL_HEADER_SIZE + nameLength + extraLength + commentLength;
+        }
+        return root;
+    }
+
+    private int findEnd() throws ZipException {
+        // the end record is followed by a comment of at most 64k
+        final int last = archive.limit() - END_SIZE;
+        for (int position = last; position >= 0 && position >= last - 0xffff; position--) {
+            if (archive.getInt(position) == END_SIGNATURE) {
+                return position;
+            }
+        }
+        throw new ZipException("No end of central directory record");
+    }
+
+    private boolean isSigned() {
+        final Node metaInf = root.children.get("META-INF");
+        if (metaInf != null && metaInf.isDirectory()) {
+            for (String name : metaInf.children.keySet()) {
+                final String upperCase = name.toUpperCase(Locale.ENGLISH);
+                if (upperCase.endsWith(".SF") || upperCase.endsWith(".RSA") || upperCase.endsWith(".DSA") || upperCase.endsWith(".EC")) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private Node getNode(final VirtualFile mountPoint, final VirtualFile target) {
+        if (target.equals(mountPoint)) {
+            return root;
+        }
+        final VirtualFile parent = target.getParent();
+        final Node parentNode = parent == null ? null : getNode(mountPoint, parent);
+        return parentNode == null || !parentNode.isDirectory() ? null : parentNode.children.get(target.getName());
+    }
+
+    private Node getExistingNode(final VirtualFile mountPoint, final VirtualFile target) throws FileNotFoundException {
+        final Node node = getNode(mountPoint, target);
+        if (node == null) {
+            throw new FileNotFoundException(target.getPathName());
+        }
+        return node;
+    }
+
+    @Override
+    public File getFile(final VirtualFile mountPoint, final VirtualFile target) throws IOException {
+        final Node node = getExistingNode(mountPoint, target);
+        synchronized (node) {
+            if (node.file == null) {
+                final File file = new File(getContentsDir().getRoot(), target.getPathNameRelativeTo(mountPoint));
+                if (node.isDirectory()) {
+                    file.mkdirs();
+                } else {
+                    file.getParentFile().mkdirs();
+                    try (InputStream in = node.openStream()) {
+                        Files.copy(in, file.toPath());
+                    }
+                }
+                node.file = file;
+            }
+            return node.file;
+        }
+    }
+
+    private TempDir getContentsDir() throws IOException {
+        TempDir dir = contentsDir;
+        if (dir == null) {
+            synchronized (this) {
+                dir = contentsDir;
+                if (dir == null) {
+                    contentsDir = dir = tempFileProvider.createTempDir(mountPoint.getName());
+                }
+            }
+        }
+        return dir;
+    }
+
+    @Override
+    public InputStream openInputStream(final VirtualFile mountPoint, final VirtualFile target) throws IOException {
+        final Node node = getExistingNode(mountPoint, target);
+        if (node.isDirectory()) {
+            throw new FileNotFoundException(target.getPathName());
+        }
+        return node.openStream();
+    }
+
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+
+    @Override
+    public boolean delete(final VirtualFile mountPoint, final VirtualFile target) {
+        return false;
+    }
+
+    @Override
+    public long getSize(final VirtualFile mountPoint, final VirtualFile target) {
+        final Node node = getNode(mountPoint, target);
+        return node == null || node.isDirectory() ? 0L : node.size;
+    }
+
+    @Override
+    public long getLastModified(final VirtualFile mountPoint, final VirtualFile target) {
+        final Node node = getNode(mountPoint, target);
+        return node == null ? 0L : node.lastModified;
+    }
+
+    @Override
+    public boolean exists(final VirtualFile mountPoint, final VirtualFile target) {
+        return getNode(mountPoint, target) != null;
+    }
+
+    @Override
+    public boolean isFile(final VirtualFile mountPoint, final VirtualFile target) {
+        final Node node = getNode(mountPoint, target);
+        return node != null && !node.isDirectory();
+    }
+
+    @Override
+    public boolean isDirectory(final VirtualFile mountPoint, final VirtualFile target) {
+        final Node node = getNode(mountPoint, target);
+        return node != null && node.isDirectory();
+    }
+
+    @Override
+    public List<String> getDirectoryEntries(final VirtualFile mountPoint, final VirtualFile target) {
+        final Node node = getNode(mountPoint, target);
+        return node == null || !node.isDirectory() ? new ArrayList<>() : new ArrayList<>(node.children.keySet());
+    }
+
+    @Override
+    public CodeSigner[] getCodeSigners(final VirtualFile mountPoint, final VirtualFile target) {
+        // signed archives are not served by this file system
+        return null;
+    }
+
+    /**
+     * Releases the mapping of the archive, which is unmapped once the streams opened on its entries and the nested
+     * archives mounted from it are closed.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed.compareAndSet(false, true)) {
+            VFSUtils.safeClose(contentsDir);
+            mapped.release();
+        }
+    }
+
+    /**
+     * @return the archive, or {@code null} for a nested archive which only exists within the enclosing archive
+     */
+    @Override
+    public File getMountSource() {
+        return archiveFile;
+    }
+
+    @Override
+    public URI getRootURI() throws URISyntaxException {
+        return archiveFile == null ? mountPoint.toURI() : new URI("jar", archiveFile.toURI().toString() + "!/", null);
+    }
+
+    private static long toJavaTime(final long dosTime) {
+        try {
+            return LocalDateTime.of((int) ((dosTime >> 25) & 0x7f) + 1980, (int) ((dosTime >> 21) & 0x0f), (int) ((dosTime >> 16) & 0x1f),
+                    (int) ((dosTime >> 11) & 0x1f), (int) ((dosTime >> 5) & 0x3f), (int) ((dosTime << 1) & 0x3e))
+                    .atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        } catch (DateTimeException e) {
+            return 0L;
+        }
+    }
+
+    /**
+     * A directory, or an entry whose data is read from the mapping on demand.
+     */
+    private final class Node {
+        // null for an entry
+        final Map<String, Node> children;
+        final int header;
+        final int method;
+        final long compressedSize;
+        final long size;
+        long lastModified;
+        File file;
+
+        Node(final long lastModified) {
+            this.children = new LinkedHashMap<>();
+            this.header = -1;
+            this.method = -1;
+            this.compressedSize = 0L;
+            this.size = 0L;
+            this.lastModified = lastModified;
+        }
+
+        Node(final int header) throws ZipException {
+            this.children = null;
+            this.header = header;
+            this.method = archive.getShort(header + 10) & 0xffff;
+            this.compressedSize = archive.getInt(header + 20) & 0xffffffffL;
+            this.size = archive.getInt(header + 24) & 0xffffffffL;
+            if (compressedSize == ZIP64_MAGIC || size == ZIP64_MAGIC || (archive.getInt(header + 42) & 0xffffffffL) == ZIP64_MAGIC) {
+                throw new ZipException("Zip64 archives are not supported");
+            }
+            this.lastModified = toJavaTime(archive.getInt(header + 12) & 0xffffffffL);
+        }
+
+        boolean isDirectory() {
+            return children != null;
+        }
+
+        MappedZipFileSystem getFileSystem() {
+            return MappedZipFileSystem.this;
+        }
+
+        void add(final String name, final int header) throws ZipException {
+            final String[] segments = name.split("/");
+            Node parent = this;
+            for (int i = 0; i < segments.length; i++) {
+                final String segment = segments[i];
+                if (segment.isEmpty() || segment.equals(".")) {
+                    continue;
+                }
+                final boolean last = i == segments.length - 1;
+                Node node = parent.children.get(segment);
+                if (last && !name.endsWith("/")) {
+                    parent.children.put(segment, new Node(header));
+                } else if (node == null || !node.isDirectory()) {
+                    node = new Node(lastModified);
+                    if (last) {
+                        node.lastModified = toJavaTime(archive.getInt(header + 12) & 0xffffffffL);
+                    }
+                    parent.children.put(segment, node);
+                }
+                parent = node;
+            }
+        }
+
+        ByteBuffer getData() throws ZipException {
+            final int local = archive.getInt(header + 42);
+            if (local < 0 || local + LOCAL_HEADER_SIZE > archive.limit() || archive.getInt(local) != LOCAL_HEADER_SIGNATURE) {
+                throw new ZipException("Invalid local file header");
+            }
+            final int start = local + LOCAL_HEADER_SIZE + (archive.getShort(local + 26) & 0xffff) + (archive.getShort(local + 28) & 0xffff);
+            if (start + compressedSize > archive.limit()) {
+                throw new ZipException("Truncated entry");
+            }
+            final ByteBuffer data = archive.duplicate();
+            data.limit(start + (int) compressedSize).position(start);
+            return data.slice();
+        }
+
+        InputStream openStream() throws IOException {
+            if (method != ZipEntry.STORED && method != ZipEntry.DEFLATED) {
+                throw new ZipException("Unsupported compression method " + method);
+            }
+            mapped.retain();
+            final ByteBufferInputStream data;
+            try {
+                // the inflater needs an extra byte at the end of raw deflated data
+                data = new ByteBufferInputStream(getData(), method == ZipEntry.DEFLATED, mapped);
+            } catch (ZipException e) {
+                mapped.release();
+                throw e;
+            }
+            switch (method) {
+                case ZipEntry.STORED:
+                    return data;
+                default: {
+                    final Inflater inflater = new Inflater(true);
+                    return new InflaterInputStream(data, inflater, 8192) {
+                        private boolean closed;
+
+                        @Override
+                        public void close() throws IOException {
+                            if (!closed) {
+                                closed = true;
+                                inflater.end();
+                                super.close();
+                            }
+                        }
+                    };
+                }
+            }
+        }
+    }
+
+    /**
+     * A mapping, which is unmapped once it is no longer used by the file system serving it, the streams opened on its
+     * entries and the file systems of the nested archives served from it.
+     */
+    private static final class MappedArchive {
+        // null for a nested archive served from the mapping of the enclosing archive
+        final ByteBuffer mapping;
+        final TempDir mappedDir;
+        final MappedArchive enclosing;
+        final AtomicInteger references = new AtomicInteger(1);
+
+        MappedArchive(final ByteBuffer mapping, final TempDir mappedDir) {
+            this.mapping = mapping;
+            this.mappedDir = mappedDir;
+            this.enclosing = null;
+        }
+
+        private MappedArchive(final MappedArchive enclosing) {
+            this.mapping = null;
+            this.mappedDir = null;
+            this.enclosing = enclosing;
+        }
+
+        void retain() throws ZipException {
+            for (;;) {
+                final int count = references.get();
+                if (count == 0) {
+                    throw new ZipException("Archive is unmounted");
+                }
+                if (references.compareAndSet(count, count + 1)) {
+                    return;
+                }
+            }
+        }
+
+        MappedArchive retainNested() throws ZipException {
+            retain();
+            return new MappedArchive(this);
+        }
+
+        void release() {
+            if (references.decrementAndGet() == 0) {
+                if (enclosing != null) {
+                    enclosing.release();
+                } else {
+                    UNMAPPER.accept(mapping);
+                    VFSUtils.safeClose(mappedDir);
+                }
+            }
+        }
+    }
+
+    /**
+     * A handle which unmounts a file system and releases its mapping.
+     */
+    private static final class MappedMountHandle implements org.jboss.vfs.spi.MountHandle {
+        private final MappedZipFileSystem fileSystem;
+        private final Closeable mount;
+
+        MappedMountHandle(final MappedZipFileSystem fileSystem, final Closeable mount) {
+            this.fileSystem = fileSystem;
+            this.mount = mount;
+        }
+
+        @Override
+        public File getMountSource() {
+            return fileSystem.getMountSource();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (MOUNTED.remove(this) != null) {
+                try {
+                    mount.close();
+                } finally {
+                    fileSystem.close();
+                }
+            }
+        }
+    }
+
+    private static final class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+        private final MappedArchive mapped;
+        private boolean padding;
+        private boolean closed;
+
+        ByteBufferInputStream(final ByteBuffer buffer, final boolean padding, final MappedArchive mapped) {
+            this.buffer = buffer;
+            this.padding = padding;
+            this.mapped = mapped;
+        }
+
+        private void checkOpen() throws IOException {
+            // the mapping may have been unmapped once this stream is closed
+            if (closed) {
+                throw new IOException("Stream closed");
+            }
+        }
+
+        @Override
+        public int read() throws IOException {
+            checkOpen();
+            if (buffer.hasRemaining()) {
+                return buffer.get() & 0xff;
+            }
+            if (padding) {
+                padding = false;
+                return 0;
+            }
+            return -1;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            checkOpen();
+            if (len == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                if (padding) {
+                    padding = false;
+                    b[off] = 0;
+                    return 1;
+                }
+                return -1;
+            }
+            final int count = Math.min(len, buffer.remaining());
+            buffer.get(b, off, count);
+            return count;
+        }
+
+        @Override
+        public long skip(final long n) throws IOException {
+            checkOpen();
+            final int count = (int) Math.max(0L, Math.min(n, buffer.remaining()));
+            buffer.position(buffer.position() + count);
+            return count;
+        }
+
+        @Override
+        public int available() throws IOException {
+            checkOpen();
+            return buffer.remaining();
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                mapped.release();
+            }
+        }
+    }
+}
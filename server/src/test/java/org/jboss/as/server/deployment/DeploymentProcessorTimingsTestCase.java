@@ -0,0 +1,155 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.deployment;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jboss.dmr.ModelNode;
+import org.junit.Test;
+
+/**
+ * Tests the recording and the aggregation of the time spent by deployment unit processors.
+ */
+public class DeploymentProcessorTimingsTestCase {
+
+    private static final RegisteredDeploymentUnitProcessor FAST = new RegisteredDeploymentUnitProcessor(1, new FastProcessor(), "fast");
+    private static final RegisteredDeploymentUnitProcessor SLOW = new RegisteredDeploymentUnitProcessor(2, new SlowProcessor(), null);
+
+    @Test
+    public void testRecordTimings() throws Exception {
+        final DeploymentUnit unit = new DeploymentUnitImpl(null, "test.war", null);
+        final DeploymentProcessorTimings timings = DeploymentProcessorTimings.of(unit);
+        assertSame(timings, DeploymentProcessorTimings.of(unit));
+
+        run(timings, Phase.PARSE, FAST);
+        run(timings, Phase.PARSE, SLOW);
+
+        final List<DeploymentProcessorTimings.Timing> recorded = timings.getTimings();
+        assertEquals(2, recorded.size());
+        assertEquals(Phase.PARSE, recorded.get(0).getPhase());
+        assertEquals(FastProcessor.class.getName(), recorded.get(0).getProcessor());
+        assertEquals("fast", recorded.get(0).getSubsystemName());
+        assertEquals(SlowProcessor.class.getName(), recorded.get(1).getProcessor());
+        assertTrue(recorded.get(1).getWallTime() >= 10_000_000L);
+
+        final ModelNode node = DeploymentProcessorTimingsHandler.toModelNode(unit.getName(), recorded.get(1));
+        assertEquals("test.war", node.get("deployment").asString());
+        assertEquals("PARSE", node.get("phase").asString());
+        assertFalse(node.hasDefined("subsystem"));
+        assertEquals(recorded.get(1).getWallTime(), node.get("wall-time").asLong());
+        assertEquals(recorded.get(1).getCpuTime() >= 0, node.hasDefined("cpu-time"));
+    }
+
+    @Test
+    public void testReport() throws Exception {
+        final DeploymentUnit ear = new DeploymentUnitImpl(null, "test.ear", null);
+        final DeploymentUnit war = new DeploymentUnitImpl(ear, "web.war", null);
+        final DeploymentUnit jar = new DeploymentUnitImpl(null, "test.jar", null);
+        run(DeploymentProcessorTimings.of(ear), Phase.STRUCTURE, FAST);
+        run(DeploymentProcessorTimings.of(war), Phase.PARSE, FAST);
+        run(DeploymentProcessorTimings.of(war), Phase.PARSE, SLOW);
+        run(DeploymentProcessorTimings.of(jar), Phase.PARSE, FAST);
+        for (DeploymentUnit unit : Arrays.asList(ear, war, jar)) {
+            DeploymentProcessorTimings.of(unit).phaseStarted(1000);
+            DeploymentProcessorTimings.of(unit).phaseCompleted();
+        }
+
+        final Map<String, List<DeploymentUnit>> deployments = new LinkedHashMap<>();
+        deployments.put("test.jar", Collections.singletonList(jar));
+        deployments.put("test.ear", Arrays.asList(ear, war));
+        final ModelNode report = DeploymentProcessorReportHandler.createReport(deployments, 1);
+
+        // only the slowest deployment and processor are reported
+        final List<ModelNode> deploymentTotals = report.get(DeploymentProcessorReportHandler.DEPLOYMENTS).asList();
+        assertEquals(1, deploymentTotals.size());
+        assertEquals("test.ear", deploymentTotals.get(0).get("deployment").asString());
+        assertEquals(3, deploymentTotals.get(0).get(DeploymentProcessorReportHandler.COUNT).asInt());
+        assertEquals(2000, deploymentTotals.get(0).get(DeploymentProcessorReportHandler.QUEUE_TIME).asLong());
+        final long elapsedTime = deploymentTotals.get(0).get(DeploymentProcessorReportHandler.ELAPSED_TIME).asLong();
+        assertTrue(elapsedTime >= 0);
+        assertTrue(report.get(DeploymentProcessorReportHandler.LONGEST_DEPLOYMENT_TIME).asLong() >= elapsedTime);
+        assertTrue(report.get(DeploymentProcessorReportHandler.ELAPSED_TIME).asLong() >= report.get(DeploymentProcessorReportHandler.LONGEST_DEPLOYMENT_TIME).asLong());
+
+        final List<ModelNode> processorTotals = report.get(DeploymentProcessorReportHandler.PROCESSORS).asList();
+        assertEquals(1, processorTotals.size());
+        assertEquals(SlowProcessor.class.getName(), processorTotals.get(0).get("processor").asString());
+        assertEquals(1, processorTotals.get(0).get(DeploymentProcessorReportHandler.COUNT).asInt());
+
+        // phases are all reported, in order
+        final List<ModelNode> phaseTotals = report.get(DeploymentProcessorReportHandler.PHASES).asList();
+        assertEquals(2, phaseTotals.size());
+        assertEquals("STRUCTURE", phaseTotals.get(0).get("phase").asString());
+        assertEquals("PARSE", phaseTotals.get(1).get("phase").asString());
+        assertEquals(3, phaseTotals.get(1).get(DeploymentProcessorReportHandler.COUNT).asInt());
+
+        long wallTime = 0;
+        for (ModelNode phase : phaseTotals) {
+            wallTime += phase.get("wall-time").asLong();
+        }
+        assertEquals(wallTime, report.get("wall-time").asLong());
+    }
+
+    private static void run(final DeploymentProcessorTimings timings, final Phase phase, final RegisteredDeploymentUnitProcessor processor) throws DeploymentUnitProcessingException {
+        final DeploymentProcessorTimings.Probe probe = timings.start();
+        try {
+            processor.getProcessor().deploy(null);
+        } finally {
+            probe.stop(phase, processor);
+        }
+    }
+
+    private static class FastProcessor implements DeploymentUnitProcessor {
+        @Override
+        public void deploy(DeploymentPhaseContext phaseContext) {
+        }
+
+        @Override
+        public void undeploy(DeploymentUnit context) {
+        }
+    }
+
+    private static class SlowProcessor implements DeploymentUnitProcessor {
+        @Override
+        public void deploy(DeploymentPhaseContext phaseContext) throws DeploymentUnitProcessingException {
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new DeploymentUnitProcessingException(e);
+            }
+        }
+
+        @Override
+        public void undeploy(DeploymentUnit context) {
+        }
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.deployment;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.msc.service.ServiceContainer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests that the concurrent phases run on the deployment executor once it is enabled.
+ */
+public class DeploymentUnitPhaseServiceTestCase {
+
+    private static final String[] DEPLOYMENTS = {"one.war", "two.war", "three.war"};
+
+    private final Map<String, String> threads = new ConcurrentHashMap<>();
+    private ServiceContainer container;
+
+    @Before
+    public void setup() {
+        container = ServiceContainer.Factory.create("test");
+    }
+
+    @After
+    public void shutdown() throws InterruptedException {
+        container.shutdown();
+        container.awaitTermination(10, TimeUnit.SECONDS);
+        System.clearProperty(DeploymentExecutorService.POOL_SIZE_PROPERTY);
+    }
+
+    @Test
+    public void testConcurrentPhases() throws Exception {
+        System.setProperty(DeploymentExecutorService.POOL_SIZE_PROPERTY, "2");
+        deploy(true);
+    }
+
+    @Test
+    public void testExecutorDisabledByDefault() throws Exception {
+        System.clearProperty(DeploymentExecutorService.POOL_SIZE_PROPERTY);
+        deploy(false);
+    }
+
+    private void deploy(final boolean executorEnabled) throws Exception {
+        final EnumMap<Phase, List<RegisteredDeploymentUnitProcessor>> chains = new EnumMap<>(Phase.class);
+        for (Phase phase : Phase.values()) {
+            chains.put(phase, Collections.singletonList(new RegisteredDeploymentUnitProcessor(0, new ThreadRecordingProcessor(phase), null)));
+        }
+        DeployerChainsService.addService(container, chains);
+
+        final DeploymentUnit[] units = new DeploymentUnit[DEPLOYMENTS.length];
+        for (int i = 0; i < DEPLOYMENTS.length; i++) {
+            units[i] = new DeploymentUnitImpl(null, DEPLOYMENTS[i], container);
+            final DeploymentUnitPhaseService<?> phaseService = DeploymentUnitPhaseService.create(units[i], Phase.STRUCTURE);
+            container.addService(DeploymentUtils.getDeploymentUnitPhaseServiceName(units[i], Phase.STRUCTURE), phaseService)
+                    .addDependency(Services.JBOSS_DEPLOYMENT_CHAINS, DeployerChains.class, phaseService.getDeployerChainsInjector())
+                    .addDependency(Services.JBOSS_DEPLOYMENT_EXECUTOR, ExecutorService.class, phaseService.getExecutorInjector())
+                    .install();
+        }
+        container.awaitStability();
+
+        assertEquals(DEPLOYMENTS.length * Phase.values().length, threads.size());
+        for (DeploymentUnit unit : units) {
+            for (Phase phase : Phase.values()) {
+                final String thread = threads.get(unit.getName() + ":" + phase);
+                assertEquals(thread, executorEnabled && DeploymentUnitPhaseService.CONCURRENT_PHASES.contains(phase), thread.startsWith("Deployment Thread"));
+            }
+            final DeploymentProcessorTimings timings = unit.getAttachment(Attachments.PROCESSOR_TIMINGS);
+            assertEquals(Phase.values().length, timings.getTimings().size());
+            assertTrue(timings.getStartTime() <= timings.getEndTime());
+            assertTrue(timings.getQueueTime() >= 0);
+        }
+    }
+
+    private class ThreadRecordingProcessor implements DeploymentUnitProcessor {
+        private final Phase phase;
+
+        ThreadRecordingProcessor(final Phase phase) {
+            this.phase = phase;
+        }
+
+        @Override
+        public void deploy(DeploymentPhaseContext phaseContext) {
+            threads.put(phaseContext.getDeploymentUnit().getName() + ":" + phase, Thread.currentThread().getName());
+        }
+
+        @Override
+        public void undeploy(DeploymentUnit context) {
+        }
+    }
+}
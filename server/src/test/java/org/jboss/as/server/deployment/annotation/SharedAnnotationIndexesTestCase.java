@@ -0,0 +1,138 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.deployment.annotation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import org.jboss.as.server.deployment.module.MountHandle;
+import org.jboss.jandex.DotName;
+import org.jboss.jandex.Index;
+import org.jboss.vfs.TempFileProvider;
+import org.jboss.vfs.VFS;
+import org.jboss.vfs.VFSUtils;
+import org.jboss.vfs.VirtualFile;
+import org.jboss.vfs.VisitorAttributes;
+import org.jboss.vfs.util.SuffixMatchFilter;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests sharing the annotation indexes of archives with identical classes.
+ */
+public class SharedAnnotationIndexesTestCase {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private ScheduledExecutorService executor;
+    private TempFileProvider tempFileProvider;
+    private final Map<VirtualFile, MountHandle> mounts = new HashMap<>();
+
+    @Before
+    public void setUp() throws IOException {
+        executor = Executors.newSingleThreadScheduledExecutor();
+        tempFileProvider = TempFileProvider.create("shared-indexes", executor, true);
+    }
+
+    @After
+    public void tearDown() {
+        mounts.values().forEach(MountHandle::close);
+        VFSUtils.safeClose(tempFileProvider);
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testShareIdenticalArchives() throws Exception {
+        final VirtualFile first = mount("first.jar", SharedAnnotationIndexesTestCase.class);
+        final VirtualFile second = mount("second.jar", SharedAnnotationIndexesTestCase.class);
+        final VirtualFile other = mount("other.jar", SharedAnnotationIndexes.class);
+
+        final String digest = digest(first, classFiles(first));
+        assertEquals(digest, digest(second, classFiles(second)));
+        assertNotEquals(digest, digest(other, classFiles(other)));
+        // ignoring classes of the same archive gives a different index
+        assertNotEquals(digest, digest(first, new ArrayList<>()));
+
+        final SharedAnnotationIndexes indexes = new SharedAnnotationIndexes();
+        final Index index = indexes.getIndex(digest, () -> ResourceRootIndexer.index(first, classFiles(first)));
+        assertNotNull(index.getClassByName(DotName.createSimple(SharedAnnotationIndexesTestCase.class.getName())));
+        assertSame(index, indexes.getIndex(digest, () -> {
+            throw new AssertionError("the index should be shared");
+        }));
+        assertEquals(1, indexes.size());
+    }
+
+    private VirtualFile mount(final String name, final Class<?> type) throws IOException {
+        final File archive = new File(folder.getRoot(), name);
+        final String path = type.getName().replace('.', '/') + ".class";
+        try (JarOutputStream out = new JarOutputStream(new FileOutputStream(archive));
+             InputStream in = type.getClassLoader().getResourceAsStream(path)) {
+            final JarEntry entry = new JarEntry(path);
+            // identical archives only differ by their location
+            entry.setTime(0);
+            out.putNextEntry(entry);
+            final byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            out.closeEntry();
+        }
+        final VirtualFile root = VFS.getChild(archive.getAbsolutePath());
+        mounts.put(root, new MountHandle(VFS.mountZip(root, root, tempFileProvider)));
+        return root;
+    }
+
+    private String digest(final VirtualFile root, final List<VirtualFile> classFiles) throws IOException {
+        final File archive = mounts.get(root).getMountSource();
+        assertEquals(root.getName(), archive.getName());
+        return SharedAnnotationIndexes.digest(archive, root, classFiles);
+    }
+
+    private static List<VirtualFile> classFiles(final VirtualFile root) {
+        try {
+            return root.getChildren(new SuffixMatchFilter(".class", VisitorAttributes.RECURSE_LEAVES_ONLY));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,233 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2018, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.deployment.module;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.jboss.vfs.TempFileProvider;
+import org.jboss.vfs.VFS;
+import org.jboss.vfs.VFSUtils;
+import org.jboss.vfs.VirtualFile;
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests serving zip archives and their nested archives from memory mappings.
+ */
+public class MappedZipFileSystemTestCase {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private ScheduledExecutorService executor;
+    private TempFileProvider tempFileProvider;
+
+    @Before
+    public void setUp() throws IOException {
+        executor = Executors.newSingleThreadScheduledExecutor();
+        tempFileProvider = TempFileProvider.create("mapped-zip", executor, true);
+    }
+
+    @After
+    public void tearDown() {
+        VFSUtils.safeClose(tempFileProvider);
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testReadEntries() throws Exception {
+        final byte[] nested = zip(entry("x.txt", "nested", true));
+        final File archive = write("outer.ear", zip(entry("META-INF/MANIFEST.MF", "Manifest-Version: 1.0\n", true),
+                entry("a/b.txt", "deflated", true), entry("a/c.txt", "stored", false),
+                entry("lib/stored.jar", nested, false), entry("lib/deflated.jar", nested, true)));
+        final VirtualFile root = VFS.getChild(archive.getAbsolutePath());
+        final Closeable handle = MappedZipFileSystem.mountMapped(root, root, tempFileProvider);
+        assertNotNull(handle);
+        try {
+            assertTrue(root.isDirectory());
+            assertTrue(root.getChild("a").isDirectory());
+            assertEquals(2, root.getChild("a").getChildren().size());
+            assertEquals("deflated", read(root.getChild("a/b.txt")));
+            assertEquals("stored", read(root.getChild("a/c.txt")));
+            assertEquals(8, root.getChild("a/b.txt").getSize());
+            assertFalse(root.getChild("a/d.txt").exists());
+            assertEquals("deflated", new String(Files.readAllBytes(root.getChild("a/b.txt").getPhysicalFile().toPath()), StandardCharsets.UTF_8));
+
+            for (String name : new String[] {"lib/stored.jar", "lib/deflated.jar"}) {
+                final VirtualFile jar = root.getChild(name);
+                assertTrue(jar.isFile());
+                final Closeable nestedHandle = MappedZipFileSystem.mountMapped(jar, jar, tempFileProvider);
+                assertNotNull(nestedHandle);
+                try {
+                    assertTrue(jar.isDirectory());
+                    assertEquals("nested", read(jar.getChild("x.txt")));
+                } finally {
+                    nestedHandle.close();
+                }
+                assertTrue(jar.isFile());
+            }
+        } finally {
+            handle.close();
+        }
+        assertTrue(root.isFile());
+    }
+
+    @Test
+    public void testMountFile() throws Exception {
+        final File archive = write("file.jar", zip(entry("a.txt", "deflated", true), entry("b.txt", "stored", false)));
+        final VirtualFile mountPoint = VFS.getChild(archive.getAbsolutePath());
+        final Closeable handle = MappedZipFileSystem.mountMapped(archive, mountPoint, tempFileProvider);
+        assertNotNull(handle);
+        try {
+            assertEquals(archive, new MountHandle(handle).getMountSource());
+            assertEquals("deflated", read(mountPoint.getChild("a.txt")));
+            assertEquals("stored", read(mountPoint.getChild("b.txt")));
+        } finally {
+            handle.close();
+        }
+        assertTrue(mountPoint.isFile());
+    }
+
+    @Test
+    public void testUnmountReleasesMapping() throws Exception {
+        final File maps = new File("/proc/self/maps");
+        Assume.assumeTrue("The mappings of the process cannot be read", maps.canRead());
+        final File archive = write("unmapped.jar", zip(entry("a.txt", "deflated", true), entry("b.txt", "stored", false)));
+        final String path = archive.getCanonicalPath();
+        final VirtualFile root = VFS.getChild(archive.getAbsolutePath());
+        final Closeable handle = MappedZipFileSystem.mountMapped(root, root, tempFileProvider);
+        assertNotNull(handle);
+        final File extracted;
+        final InputStream in;
+        try {
+            assertTrue(isMapped(maps, path));
+            extracted = root.getChild("a.txt").getPhysicalFile();
+            assertTrue(extracted.exists());
+            in = root.getChild("b.txt").openStream();
+        } finally {
+            handle.close();
+        }
+        assertFalse(extracted.exists());
+        // the open stream still reads from the mapping
+        assertTrue(isMapped(maps, path));
+        try {
+            assertEquals('s', in.read());
+        } finally {
+            in.close();
+        }
+        assertFalse(isMapped(maps, path));
+        // a handle only unmounts once
+        handle.close();
+    }
+
+    @Test
+    public void testSignedArchiveIsNotMapped() throws Exception {
+        final File archive = write("signed.jar", zip(entry("META-INF/MANIFEST.MF", "Manifest-Version: 1.0\n", true),
+                entry("META-INF/SIGNER.SF", "Signature-Version: 1.0\n", true)));
+        final VirtualFile root = VFS.getChild(archive.getAbsolutePath());
+        assertNull(MappedZipFileSystem.mountMapped(root, root, tempFileProvider));
+    }
+
+    @Test
+    public void testInvalidArchiveIsNotMapped() throws Exception {
+        final File archive = write("invalid.jar", "not a zip archive".getBytes(StandardCharsets.UTF_8));
+        final VirtualFile root = VFS.getChild(archive.getAbsolutePath());
+        assertNull(MappedZipFileSystem.mountMapped(root, root, tempFileProvider));
+    }
+
+    private File write(final String name, final byte[] content) throws IOException {
+        final File file = folder.newFile(name);
+        try (FileOutputStream out = new FileOutputStream(file)) {
+            out.write(content);
+        }
+        return file;
+    }
+
+    private static boolean isMapped(final File maps, final String path) throws IOException {
+        for (String mapping : Files.readAllLines(maps.toPath(), StandardCharsets.UTF_8)) {
+            if (mapping.endsWith(path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String read(final VirtualFile file) throws IOException {
+        try (InputStream in = file.openStream()) {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            VFSUtils.copyStream(in, out);
+            return new String(out.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static Object[] entry(final String name, final String content, final boolean deflated) {
+        return entry(name, content.getBytes(StandardCharsets.UTF_8), deflated);
+    }
+
+    private static Object[] entry(final String name, final byte[] content, final boolean deflated) {
+        return new Object[] {name, content, deflated};
+    }
+
+    private static byte[] zip(final Object[]... entries) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ZipOutputStream out = new ZipOutputStream(bytes)) {
+            for (Object[] entry : entries) {
+                final byte[] content = (byte[]) entry[1];
+                final ZipEntry zipEntry = new ZipEntry((String) entry[0]);
+                if (!(Boolean) entry[2]) {
+                    final CRC32 crc = new CRC32();
+                    crc.update(content);
+                    zipEntry.setMethod(ZipEntry.STORED);
+                    zipEntry.setSize(content.length);
+                    zipEntry.setCrc(crc.getValue());
+                }
+                out.putNextEntry(zipEntry);
+                out.write(content);
+                out.closeEntry();
+            }
+        }
+        return bytes.toByteArray();
+    }
+}